@@ -0,0 +1,388 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Completion policy that adapts the commit interval of a chunk step at runtime.
+ * <p>
+ * The time from the start of a chunk to its commit is measured, and the next commit interval is chosen so that a chunk
+ * takes about {@code targetLatencyMillis}. The interval is kept between {@code minInterval} and {@code maxInterval},
+ * and changes at most by the factor of {@value #MAX_GROWTH} per chunk. When an item size estimator is set, a chunk is
+ * also completed when the estimated size of the read items reaches {@code maxChunkBytes}.
+ * </p>
+ * <p>
+ * The chosen interval is saved in the step execution context. A restarted step starts from the saved interval, and a
+ * new job instance starts from the interval of the step of the same name in the previous job instance when
+ * {@code jobExplorer} is set.
+ * </p>
+ * <p>
+ * This policy holds the state of one step execution, so define it in the step scope and register it also as a listener
+ * of the step.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class AdaptiveCompletionPolicy implements CompletionPolicy, StepExecutionListener, ChunkListener,
+                                      ItemReadListener<Object> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveCompletionPolicy.class);
+
+    /**
+     * Key of the execution context to save the commit interval.
+     */
+    public static final String INTERVAL_KEY = "adaptiveChunk.interval";
+
+    /**
+     * Maximum factor by which the interval changes per chunk.
+     */
+    private static final int MAX_GROWTH = 2;
+
+    /**
+     * Weight of the latest measurement in the moving average.
+     */
+    private static final double SMOOTHING = 0.5;
+
+    /**
+     * Target time of a chunk in milliseconds.
+     */
+    private long targetLatencyMillis = 1000L;
+
+    /**
+     * Minimum commit interval.
+     */
+    private int minInterval = 1;
+
+    /**
+     * Maximum commit interval.
+     */
+    private int maxInterval = 1000;
+
+    /**
+     * Commit interval of the first chunk when no interval is saved.
+     */
+    private int initialInterval = 10;
+
+    /**
+     * Maximum estimated size of the items of a chunk in bytes. 0 means no limit.
+     */
+    private long maxChunkBytes;
+
+    /**
+     * Function to estimate the size of an item in bytes. Null if the size is not estimated.
+     */
+    private ToLongFunction<Object> itemSizeEstimator;
+
+    /**
+     * Job explorer to find the interval of the previous job instance. Null if it is not inherited.
+     */
+    private JobExplorer jobExplorer;
+
+    /**
+     * Commit interval of the current chunk.
+     */
+    private int interval;
+
+    /**
+     * Moving average of the time per item in nanoseconds. Negative before the first measurement.
+     */
+    private double nanosPerItem = -1;
+
+    /**
+     * Moving average of the size per item in bytes. Negative before the first measurement.
+     */
+    private double bytesPerItem = -1;
+
+    /**
+     * Start time of the current chunk.
+     */
+    private long chunkStartNanos;
+
+    /**
+     * Context of the current chunk.
+     */
+    private ChunkRepeatContext currentContext;
+
+    /**
+     * Determine the first commit interval.
+     *
+     * @param stepExecution Step execution.
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Assert.isTrue(minInterval > 0 && minInterval <= maxInterval,
+                "minInterval must be greater than 0 and less than or equal to maxInterval.");
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        Integer saved = executionContext.containsKey(INTERVAL_KEY)
+                ? Integer.valueOf(executionContext.getInt(INTERVAL_KEY))
+                : findPreviousInterval(stepExecution);
+        interval = clamp(saved != null ? saved : initialInterval);
+        nanosPerItem = -1;
+        bytesPerItem = -1;
+        currentContext = null;
+        logger.info("Adaptive chunk started. step:{}, interval:{}, inherited:{}", stepExecution.getStepName(),
+                interval, saved != null);
+    }
+
+    /**
+     * Save the last commit interval.
+     *
+     * @param stepExecution Step execution.
+     * @return Null to keep the exit status.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (interval > 0) {
+            stepExecution.getExecutionContext().putInt(INTERVAL_KEY, interval);
+        }
+        logger.info("Adaptive chunk finished. step:{}, interval:{}", stepExecution.getStepName(), interval);
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Choose the next commit interval from the time and the item size of the committed chunk.
+     *
+     * @param context Chunk context.
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ChunkRepeatContext chunk = currentContext;
+        if (chunk == null || chunk.getStartedCount() == 0) {
+            return;
+        }
+        int count = chunk.getStartedCount();
+        double nanos = (double) (System.nanoTime() - chunkStartNanos) / count;
+        nanosPerItem = nanosPerItem < 0 ? nanos : SMOOTHING * nanos + (1 - SMOOTHING) * nanosPerItem;
+        if (itemSizeEstimator != null) {
+            double bytes = (double) chunk.bytes / count;
+            bytesPerItem = bytesPerItem < 0 ? bytes : SMOOTHING * bytes + (1 - SMOOTHING) * bytesPerItem;
+        }
+
+        long next = nanosPerItem > 0 ? (long) (targetLatencyMillis * 1_000_000L / nanosPerItem) : maxInterval;
+        if (maxChunkBytes > 0 && bytesPerItem > 0) {
+            next = Math.min(next, (long) (maxChunkBytes / bytesPerItem));
+        }
+        next = Math.max(interval / MAX_GROWTH, Math.min((long) interval * MAX_GROWTH, next));
+        int previous = interval;
+        interval = clamp(next);
+        context.getStepContext().getStepExecution().getExecutionContext().putInt(INTERVAL_KEY, interval);
+        if (previous != interval) {
+            logger.debug("Commit interval changed. items:{}, nanosPerItem:{}, bytesPerItem:{}, interval:{} -> {}",
+                    count, (long) nanosPerItem, (long) bytesPerItem, previous, interval);
+        }
+    }
+
+    /**
+     * Add the estimated size of the item to the current chunk.
+     *
+     * @param item Read item.
+     */
+    @Override
+    public void afterRead(Object item) {
+        if (itemSizeEstimator != null && currentContext != null) {
+            currentContext.bytes += itemSizeEstimator.applyAsLong(item);
+        }
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        if (result != null && !result.isContinuable()) {
+            return true;
+        }
+        return isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        ChunkRepeatContext chunk = (ChunkRepeatContext) context;
+        if (chunk.getStartedCount() >= chunk.interval) {
+            return true;
+        }
+        return maxChunkBytes > 0 && chunk.bytes >= maxChunkBytes;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        currentContext = new ChunkRepeatContext(parent, interval);
+        return currentContext;
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((ChunkRepeatContext) context).increment();
+    }
+
+    /**
+     * Current commit interval.
+     *
+     * @return Current commit interval.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Target time of a chunk in milliseconds.
+     *
+     * @param targetLatencyMillis Target time of a chunk in milliseconds. The default is 1000.
+     */
+    public void setTargetLatencyMillis(long targetLatencyMillis) {
+        Assert.isTrue(targetLatencyMillis > 0, "targetLatencyMillis must be greater than 0.");
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    /**
+     * Minimum commit interval.
+     *
+     * @param minInterval Minimum commit interval. The default is 1.
+     */
+    public void setMinInterval(int minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * Maximum commit interval.
+     *
+     * @param maxInterval Maximum commit interval. The default is 1000.
+     */
+    public void setMaxInterval(int maxInterval) {
+        this.maxInterval = maxInterval;
+    }
+
+    /**
+     * Commit interval of the first chunk when no interval is saved.
+     *
+     * @param initialInterval Initial commit interval. The default is 10.
+     */
+    public void setInitialInterval(int initialInterval) {
+        this.initialInterval = initialInterval;
+    }
+
+    /**
+     * Maximum estimated size of the items of a chunk in bytes.
+     * <p>
+     * It takes effect only when {@link #setItemSizeEstimator(ToLongFunction)} is set.
+     * </p>
+     *
+     * @param maxChunkBytes Maximum size in bytes. 0 means no limit, which is the default.
+     */
+    public void setMaxChunkBytes(long maxChunkBytes) {
+        this.maxChunkBytes = maxChunkBytes;
+    }
+
+    /**
+     * Function to estimate the size of an item in bytes.
+     *
+     * @param itemSizeEstimator Function to estimate the size of an item.
+     */
+    public void setItemSizeEstimator(ToLongFunction<Object> itemSizeEstimator) {
+        this.itemSizeEstimator = itemSizeEstimator;
+    }
+
+    /**
+     * Job explorer to find the interval of the previous job instance.
+     *
+     * @param jobExplorer Job explorer.
+     */
+    public void setJobExplorer(JobExplorer jobExplorer) {
+        this.jobExplorer = jobExplorer;
+    }
+
+    /**
+     * Find the interval saved by the step of the same name in the latest previous job instance.
+     *
+     * @param stepExecution Step execution.
+     * @return Saved interval, or null if it is not found.
+     */
+    private Integer findPreviousInterval(StepExecution stepExecution) {
+        if (jobExplorer == null) {
+            return null;
+        }
+        JobExecution jobExecution = stepExecution.getJobExecution();
+        String jobName = jobExecution.getJobInstance().getJobName();
+        List<JobInstance> instances = jobExplorer.getJobInstances(jobName, 0, 2);
+        for (JobInstance instance : instances) {
+            if (instance.getInstanceId() == jobExecution.getJobInstance().getInstanceId()) {
+                continue;
+            }
+            StepExecution latest = null;
+            for (JobExecution previous : jobExplorer.getJobExecutions(instance)) {
+                for (StepExecution candidate : previous.getStepExecutions()) {
+                    if (candidate.getStepName().equals(stepExecution.getStepName())
+                            && candidate.getExecutionContext().containsKey(INTERVAL_KEY)
+                            && (latest == null || candidate.getId() > latest.getId())) {
+                        latest = candidate;
+                    }
+                }
+            }
+            return latest == null ? null : latest.getExecutionContext().getInt(INTERVAL_KEY);
+        }
+        return null;
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(minInterval, Math.min(maxInterval, value));
+    }
+
+    /**
+     * Repeat context of a chunk.
+     */
+    private static class ChunkRepeatContext extends RepeatContextSupport {
+
+        /**
+         * Commit interval of this chunk.
+         */
+        private final int interval;
+
+        /**
+         * Estimated size of the read items.
+         */
+        private long bytes;
+
+        ChunkRepeatContext(RepeatContext parent, int interval) {
+            super(parent);
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Task executor that can run each task on its own virtual thread.
+ * <p>
+ * When {@code virtualThreads} is false, this executor is an ordinary {@link ThreadPoolTaskExecutor}. When it is true,
+ * the pool is not used. Each task is started on a new virtual thread, and the number of tasks is controlled by
+ * semaphores instead of the pool:
+ * </p>
+ * <ul>
+ * <li>at most {@code maxPoolSize} tasks run at the same time, and the other admitted tasks wait for a permit.</li>
+ * <li>at most {@code maxPoolSize + queueCapacity} tasks are admitted, and {@link TaskRejectedException} is thrown
+ * beyond that, in the same way as the pool whose queue is full.</li>
+ * </ul>
+ * <p>
+ * Therefore the pool size and queue capacity keep their meaning in both modes. For example, a queue capacity of 0
+ * limits the number of concurrent jobs of the asynchronous batch daemon in both modes. {@link #getActiveCount()} and
+ * {@link #getPoolSize()} return the number of running tasks.
+ * </p>
+ * <p>
+ * Virtual threads require Java 21 or later at runtime. Note that a virtual thread does not increase the number of
+ * connections of a data source, so the concurrency of JDBC bound tasks is still limited by the connection pool.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class AdmissionControlledTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether each task runs on its own virtual thread.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Executor that starts virtual threads.
+     */
+    private transient SimpleAsyncTaskExecutor virtualThreadExecutor;
+
+    /**
+     * Permits of admitted tasks.
+     */
+    private transient Semaphore admissionPermits;
+
+    /**
+     * Permits of running tasks.
+     */
+    private transient Semaphore runningPermits;
+
+    /**
+     * Whether each task runs on its own virtual thread.
+     * <p>
+     * Unlike {@link ThreadPoolTaskExecutor}, virtual threads are not pooled.
+     * </p>
+     *
+     * @param virtualThreads Whether each task runs on its own virtual thread. The default is false.
+     */
+    @Override
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Whether each task runs on its own virtual thread.
+     *
+     * @return Returns true if each task runs on its own virtual thread.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Create the executor.
+     *
+     * @param threadFactory Thread factory of the pool.
+     * @param rejectedExecutionHandler Handler of the pool.
+     * @return Executor service to be shut down with this executor.
+     */
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+            RejectedExecutionHandler rejectedExecutionHandler) {
+        ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+        if (virtualThreads) {
+            int running = getMaxPoolSize();
+            int admission = (int) Math.min(Integer.MAX_VALUE, (long) running + getQueueCapacity());
+            virtualThreadExecutor = new SimpleAsyncTaskExecutor(getThreadNamePrefix());
+            virtualThreadExecutor.setVirtualThreads(true);
+            admissionPermits = new Semaphore(admission);
+            runningPermits = new Semaphore(running, true);
+        }
+        return executorService;
+    }
+
+    /**
+     * Execute the task.
+     *
+     * @param task Task.
+     * @throws TaskRejectedException If the number of admitted tasks reaches the limit.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!virtualThreads) {
+            super.execute(task);
+            return;
+        }
+        if (!admissionPermits.tryAcquire()) {
+            throw new TaskRejectedException("The number of admitted tasks has reached the limit. limit:"
+                    + (getMaxPoolSize() + getQueueCapacity()) + ", task:" + task);
+        }
+        try {
+            virtualThreadExecutor.execute(() -> run(task));
+        } catch (TaskRejectedException e) {
+            admissionPermits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        if (!virtualThreads) {
+            return super.submit(task);
+        }
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        if (!virtualThreads) {
+            return super.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Deprecated
+    @SuppressWarnings("removal")
+    @Override
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        if (!virtualThreads) {
+            return super.submitListenable(task);
+        }
+        ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Deprecated
+    @SuppressWarnings("removal")
+    @Override
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        if (!virtualThreads) {
+            return super.submitListenable(task);
+        }
+        ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Number of running tasks.
+     *
+     * @return Number of running tasks.
+     */
+    @Override
+    public int getActiveCount() {
+        if (!virtualThreads || runningPermits == null) {
+            return super.getActiveCount();
+        }
+        return getMaxPoolSize() - runningPermits.availablePermits();
+    }
+
+    /**
+     * Number of threads that run tasks.
+     *
+     * @return Number of threads that run tasks.
+     */
+    @Override
+    public int getPoolSize() {
+        if (!virtualThreads || runningPermits == null) {
+            return super.getPoolSize();
+        }
+        return getActiveCount();
+    }
+
+    /**
+     * Number of admitted tasks waiting for a running permit.
+     *
+     * @return Number of waiting tasks.
+     */
+    @Override
+    public int getQueueSize() {
+        if (!virtualThreads || runningPermits == null) {
+            return super.getQueueSize();
+        }
+        return runningPermits.getQueueLength();
+    }
+
+    /**
+     * Stop accepting tasks and shut down the executor.
+     */
+    @Override
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.close();
+        }
+        super.shutdown();
+    }
+
+    private void run(Runnable task) {
+        try {
+            runningPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admissionPermits.release();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            runningPermits.release();
+            admissionPermits.release();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+/**
+ * {@link LineAggregator} that appends the line of an item to a buffer of the writer.
+ * <p>
+ * A writer that accumulates the lines of a chunk, such as {@link AsyncFileChannelItemWriter}, calls
+ * {@link #aggregate(Object, StringBuilder)} so that no {@link String} is created for each line. Other writers call
+ * {@link #aggregate(Object)}.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public interface AppendableLineAggregator<T> extends LineAggregator<T> {
+
+    /**
+     * Append the line of an item.
+     *
+     * @param item Item.
+     * @param line Buffer to which the line is appended, without a line separator.
+     */
+    void aggregate(T item, StringBuilder line);
+
+    /**
+     * Create the line of an item.
+     *
+     * @param item Item.
+     * @return Line.
+     */
+    @Override
+    default String aggregate(T item) {
+        StringBuilder line = new StringBuilder();
+        aggregate(item, line);
+        return line.toString();
+    }
+}
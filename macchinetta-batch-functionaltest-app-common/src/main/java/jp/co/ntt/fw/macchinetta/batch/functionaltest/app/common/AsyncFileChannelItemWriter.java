@@ -0,0 +1,742 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.FlatFileFooterCallback;
+import org.springframework.batch.item.file.FlatFileHeaderCallback;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.util.FileUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Flat file writer that writes the lines to a {@link FileChannel} on a background thread, from pooled direct buffers.
+ * <p>
+ * {@code FlatFileItemWriter} builds the lines of a chunk as a {@link String}, and writes it through a {@code Writer} on
+ * the step thread at commit. This writer encodes the lines of a chunk with a {@link CharsetEncoder} into a reused heap
+ * buffer, where the encoder of the JDK runs its fast path, and copies the bytes into direct buffers taken from a pool.
+ * An {@link AppendableLineAggregator} appends each line to the pending characters without creating a {@link String}.
+ * A single background thread writes the direct buffers at their file offsets with no further copy, and returns them
+ * to the pool.
+ * </p>
+ * <p>
+ * Each buffer is handed to the background thread as soon as it is full, so that the bytes of a chunk are written while
+ * the rest of the chunk is encoded, and the last buffer is handed over at the end of the chunk. At most
+ * {@code poolSize} buffers are allocated, and the step thread waits for a buffer to be written when all of them are in
+ * use. {@link #update(ExecutionContext)} and the commit of the transaction wait until all the bytes of the chunk are
+ * written, so a chunk is committed only after its bytes are in the file, and a failure of the write fails the commit
+ * of that chunk and the step. When the transaction is rolled back, the file is truncated to the offset at the
+ * beginning of the transaction. Outside of a transaction, or if {@code transactional} is false, the file is truncated
+ * when the items of a chunk cannot be encoded, and a failure of the write is reported by the next call of
+ * {@link #update(ExecutionContext)} or {@link #write(Chunk)}, which waits for the previous chunk to be written.
+ * </p>
+ * <p>
+ * The byte offset and the number of written lines are stored in the execution context in the same way as
+ * {@code FlatFileItemWriter}, after the bytes are written, and a restarted step truncates the file to the offset.
+ * </p>
+ * <p>
+ * The encoding of each chunk is completed on its own, so a stateful charset such as ISO-2022-JP returns to the initial
+ * state at the end of each chunk, and a charset that writes a byte order mark, such as UTF-16, is not supported.
+ * A character that cannot be encoded fails the chunk, as with {@code FlatFileItemWriter}.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class AsyncFileChannelItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T>,
+                                       InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AsyncFileChannelItemWriter.class);
+
+    /**
+     * Key of the byte offset of the end of the written lines.
+     */
+    private static final String RESTART_DATA_NAME = "current.count";
+
+    /**
+     * Key of the number of written lines.
+     */
+    private static final String WRITTEN_STATISTICS_NAME = "written";
+
+    /**
+     * Default size of a buffer.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Minimum size of a buffer, which holds a character of any charset with its shift sequences.
+     */
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    /**
+     * Default number of pooled buffers.
+     */
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    /**
+     * Output file.
+     */
+    private WritableResource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Aggregator from an item to a line.
+     */
+    private LineAggregator<T> lineAggregator;
+
+    /**
+     * Line separator.
+     */
+    private String lineSeparator = System.lineSeparator();
+
+    /**
+     * Callback to write the header.
+     */
+    private FlatFileHeaderCallback headerCallback;
+
+    /**
+     * Callback to write the footer.
+     */
+    private FlatFileFooterCallback footerCallback;
+
+    /**
+     * Whether the lines are written before the commit of the transaction, and discarded on rollback.
+     */
+    private boolean transactional = true;
+
+    /**
+     * Whether the written bytes are forced to the storage device.
+     */
+    private boolean forceSync = false;
+
+    /**
+     * Whether an existing file is deleted.
+     */
+    private boolean shouldDeleteIfExists = true;
+
+    /**
+     * Whether the lines are appended to an existing file.
+     */
+    private boolean append = false;
+
+    /**
+     * Size of a buffer in bytes.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Maximum number of buffers kept in the pool.
+     */
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Key of the state of the file at the beginning of the current transaction.
+     */
+    private final Object transactionKey = new Object();
+
+    private FileChannel channel;
+
+    private ExecutorService flusher;
+
+    private BlockingQueue<ByteBuffer> pool;
+
+    private CharsetEncoder encoder;
+
+    private StringBuilder lines;
+
+    private char[] chars;
+
+    private ByteBuffer encoded;
+
+    private List<ByteBuffer> group;
+
+    private int allocated;
+
+    private CompletableFuture<Void> inFlight;
+
+    private long position;
+
+    private long linesWritten;
+
+    /**
+     * Constructor.
+     */
+    public AsyncFileChannelItemWriter() {
+        setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+    }
+
+    /**
+     * Output file.
+     *
+     * @param resource Output file.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Aggregator from an item to a line.
+     *
+     * @param lineAggregator Aggregator from an item to a line.
+     */
+    public void setLineAggregator(LineAggregator<T> lineAggregator) {
+        this.lineAggregator = lineAggregator;
+    }
+
+    /**
+     * Line separator.
+     *
+     * @param lineSeparator Line separator. The default is the line separator of the system.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Callback to write the header.
+     *
+     * @param headerCallback Callback to write the header. It is called only when the file is empty.
+     */
+    public void setHeaderCallback(FlatFileHeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Callback to write the footer.
+     *
+     * @param footerCallback Callback to write the footer on close.
+     */
+    public void setFooterCallback(FlatFileFooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Whether the lines are written before the commit of the transaction, and discarded on rollback.
+     *
+     * @param transactional Whether the lines are written before the commit. The default is true.
+     */
+    public void setTransactional(boolean transactional) {
+        this.transactional = transactional;
+    }
+
+    /**
+     * Whether the written bytes are forced to the storage device after each write.
+     *
+     * @param forceSync Whether the written bytes are forced. The default is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    /**
+     * Whether an existing file is deleted.
+     *
+     * @param shouldDeleteIfExists Whether an existing file is deleted. The default is true.
+     */
+    public void setShouldDeleteIfExists(boolean shouldDeleteIfExists) {
+        this.shouldDeleteIfExists = shouldDeleteIfExists;
+    }
+
+    /**
+     * Whether the lines are appended to an existing file.
+     *
+     * @param append Whether the lines are appended. The default is false.
+     */
+    public void setAppendAllowed(boolean append) {
+        this.append = append;
+    }
+
+    /**
+     * Size of a buffer in bytes.
+     *
+     * @param bufferSize Size of a buffer, at least 64 bytes. The default is 256KB.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Maximum number of buffers. The step thread waits for a buffer to be written when all of them are in use.
+     *
+     * @param poolSize Maximum number of buffers, at least 2. The default is 8.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(lineAggregator, "lineAggregator must be set.");
+        Assert.notNull(lineSeparator, "lineSeparator must be set.");
+        Assert.isTrue(bufferSize >= MIN_BUFFER_SIZE, "bufferSize must be at least " + MIN_BUFFER_SIZE + ".");
+        Assert.isTrue(poolSize > 1, "poolSize must be greater than 1.");
+        Assert.isTrue("\n\n".getBytes(charset).length == "\n".getBytes(charset).length * 2,
+                "encoding must not write a byte order mark. encoding:" + charset);
+    }
+
+    /**
+     * Open the file, truncate it to the saved byte offset, and write the header to an empty file.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        boolean restarted = executionContext.containsKey(getExecutionContextKey(RESTART_DATA_NAME));
+        try {
+            File file = resource.getFile();
+            FileUtils.setUpOutputFile(file, restarted, append, shouldDeleteIfExists);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+            if (restarted) {
+                position = executionContext.getLong(getExecutionContextKey(RESTART_DATA_NAME));
+                linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), 0L);
+                if (channel.size() < position) {
+                    throw new ItemStreamException("Current file size is smaller than size at last commit");
+                }
+                channel.truncate(position);
+            } else {
+                position = channel.size();
+                linesWritten = 0;
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw new ItemStreamException("Failed to initialize writer", e);
+        } catch (ItemStreamException e) {
+            closeChannel();
+            throw e;
+        }
+        pool = new ArrayBlockingQueue<>(poolSize);
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        lines = new StringBuilder();
+        chars = new char[0];
+        encoded = ByteBuffer.allocate(bufferSize);
+        group = new ArrayList<>();
+        allocated = 0;
+        inFlight = CompletableFuture.completedFuture(null);
+        String threadName = getName() + "-flusher";
+        flusher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (headerCallback != null && position == 0) {
+            try {
+                StringWriter header = new StringWriter();
+                headerCallback.writeHeader(header);
+                lines.append(header.getBuffer()).append(lineSeparator);
+                encodeLines(true);
+                submit();
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw new ItemStreamException("Could not write headers.  The file may be corrupt.", e);
+            }
+        }
+    }
+
+    /**
+     * Wait until the bytes written so far are in the file, and store the byte offset and the number of lines.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws WriteFailedException If the bytes cannot be written.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        Assert.state(channel != null, "ItemStream not open or already closed.");
+        awaitInFlight();
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(RESTART_DATA_NAME), position);
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), linesWritten);
+        }
+    }
+
+    /**
+     * Write the footer and the remaining bytes, and close the file.
+     *
+     * @throws ItemStreamException If a write failed.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (footerCallback != null) {
+                StringWriter footer = new StringWriter();
+                footerCallback.writeFooter(footer);
+                lines.append(footer.getBuffer());
+                encodeLines(true);
+                submit();
+            }
+            awaitInFlight();
+        } catch (IOException | RuntimeException e) {
+            throw new ItemStreamException("Unable to close the ItemWriter", e);
+        } finally {
+            flusher.shutdown();
+            closeChannel();
+            pool = null;
+            group = null;
+        }
+    }
+
+    /**
+     * Encode the lines of the items, and hand the bytes to the background thread.
+     *
+     * @param chunk Items.
+     * @throws CharacterCodingException If a line cannot be encoded. No line of the items is written.
+     * @throws WriteFailedException If the previous chunk outside of a transaction cannot be written.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Assert.state(channel != null, "Writer must be open before it can be written to");
+        boolean inTransaction = transactional && TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction) {
+            beginTransaction();
+        } else {
+            awaitInFlight();
+        }
+        Mark mark = inTransaction ? null : new Mark();
+        AppendableLineAggregator<T> appendable = lineAggregator instanceof AppendableLineAggregator
+                ? (AppendableLineAggregator<T>) lineAggregator : null;
+        try {
+            for (T item : chunk) {
+                if (appendable != null) {
+                    appendable.aggregate(item, lines);
+                    lines.append(lineSeparator);
+                } else {
+                    lines.append(lineAggregator.aggregate(item)).append(lineSeparator);
+                }
+                if (lines.length() >= bufferSize) {
+                    encodeLines(false);
+                }
+            }
+            encodeLines(true);
+            submit();
+        } catch (CharacterCodingException | RuntimeException e) {
+            encoder.reset();
+            lines.setLength(0);
+            if (!inTransaction) {
+                rollbackTo(mark);
+            }
+            throw e;
+        }
+        linesWritten += chunk.size();
+    }
+
+    /**
+     * Mark the state of the file at the first write of the transaction. The commit waits for the bytes to be written,
+     * and the rollback truncates the file to the mark.
+     */
+    private void beginTransaction() {
+        if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+            return;
+        }
+        Mark mark = new Mark();
+        TransactionSynchronizationManager.bindResource(transactionKey, mark);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                awaitInFlight();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status != STATUS_COMMITTED && channel != null) {
+                    rollbackTo(mark);
+                }
+            }
+        });
+    }
+
+    /**
+     * Hand the full buffers of the group to the background thread, which writes them after the previous buffers.
+     *
+     * @param includesLast Whether the last buffer, which may not be full, is also handed over.
+     */
+    private void submit(boolean includesLast) {
+        int count = group.size();
+        if (!includesLast && count > 0 && group.get(count - 1).hasRemaining()) {
+            count--;
+        }
+        if (count == 0) {
+            return;
+        }
+        List<ByteBuffer> buffers = new ArrayList<>(group.subList(0, count));
+        group.subList(0, count).clear();
+        long offset = position;
+        for (ByteBuffer buffer : buffers) {
+            position += buffer.position();
+        }
+        inFlight = inFlight.handleAsync((result, failure) -> {
+            if (failure != null) {
+                buffers.forEach(this::release);
+                throw failure instanceof CompletionException completion ? completion : new CompletionException(
+                        failure);
+            }
+            flush(buffers, offset);
+            return null;
+        }, flusher);
+    }
+
+    /**
+     * Hand all the buffers of the group to the background thread.
+     */
+    private void submit() {
+        submit(true);
+    }
+
+    /**
+     * Discard the bytes written after the mark, and truncate the file to the mark.
+     *
+     * @param mark State of the file.
+     * @throws ItemStreamException If the file cannot be truncated.
+     */
+    private void rollbackTo(Mark mark) {
+        try {
+            inFlight.join();
+        } catch (CompletionException e) {
+            logger.warn("The write of the rolled back chunk failed. resource:{}", resource, e.getCause());
+        }
+        inFlight = CompletableFuture.completedFuture(null);
+        group.forEach(this::release);
+        group.clear();
+        try {
+            channel.truncate(mark.position);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to truncate the file after rollback", e);
+        }
+        position = mark.position;
+        linesWritten = mark.lines;
+    }
+
+    /**
+     * Wait for the bytes handed to the background thread to be written.
+     *
+     * @throws WriteFailedException If a write failed. The failure is reported again by the following calls.
+     */
+    private void awaitInFlight() {
+        try {
+            inFlight.join();
+        } catch (CompletionException e) {
+            throw new WriteFailedException("Could not write data. The file may be corrupt.", e.getCause());
+        }
+    }
+
+    /**
+     * Write the buffers at the offset on the background thread, and return them to the pool.
+     *
+     * @param buffers Buffers to write.
+     * @param offset Offset in the file.
+     */
+    private void flush(List<ByteBuffer> buffers, long offset) {
+        try {
+            long current = offset;
+            for (ByteBuffer buffer : buffers) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    current += channel.write(buffer, current);
+                }
+            }
+            if (forceSync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write to the file. resource:{}, offset:{}", resource, offset);
+            throw new UncheckedIOException(e);
+        } finally {
+            buffers.forEach(this::release);
+        }
+    }
+
+    /**
+     * Encode the pending lines and append the bytes to the group.
+     *
+     * @param endOfInput Whether the encoding is completed, so that the next lines start in the initial state of the
+     *            charset.
+     * @throws CharacterCodingException If a character cannot be encoded.
+     */
+    private void encodeLines(boolean endOfInput) throws CharacterCodingException {
+        int length = lines.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        lines.getChars(0, length, chars, 0);
+        lines.setLength(0);
+        CharBuffer in = CharBuffer.wrap(chars, 0, length);
+        CoderResult result;
+        while ((result = encoder.encode(in, encoded, endOfInput)).isOverflow()) {
+            drain();
+        }
+        if (result.isError()) {
+            encoded.clear();
+            encoder.reset();
+            result.throwException();
+        }
+        if (endOfInput) {
+            while (encoder.flush(encoded).isOverflow()) {
+                drain();
+            }
+            encoder.reset();
+        } else if (in.hasRemaining()) {
+            lines.append(chars, in.position(), in.remaining());
+        }
+        drain();
+    }
+
+    /**
+     * Copy the encoded bytes into the direct buffers of the group, and hand each full buffer to the background thread.
+     */
+    private void drain() {
+        encoded.flip();
+        int limit = encoded.limit();
+        while (encoded.hasRemaining()) {
+            ByteBuffer tail = group.isEmpty() ? null : group.get(group.size() - 1);
+            if (tail == null || !tail.hasRemaining()) {
+                submit(false);
+                tail = acquire();
+                group.add(tail);
+            }
+            encoded.limit(encoded.position() + Math.min(encoded.remaining(), tail.remaining()));
+            tail.put(encoded);
+            encoded.limit(limit);
+        }
+        encoded.clear();
+    }
+
+    /**
+     * Take a buffer from the pool, allocate one if fewer than {@code poolSize} buffers are allocated, or wait for a
+     * buffer to be written.
+     *
+     * @return Empty buffer.
+     * @throws WriteFailedException If the thread is interrupted while waiting.
+     */
+    private ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer == null && allocated < poolSize) {
+            allocated++;
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        try {
+            return (buffer == null ? pool.take() : buffer).clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteFailedException("Interrupted while waiting for a buffer to be written.", e);
+        }
+    }
+
+    private void release(ByteBuffer buffer) {
+        BlockingQueue<ByteBuffer> current = pool;
+        if (current != null) {
+            current.offer(buffer);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Unable to close the ItemWriter", e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * State of the file to roll back to.
+     */
+    private class Mark {
+
+        private final long position = AsyncFileChannelItemWriter.this.position;
+
+        private final long lines = linesWritten;
+    }
+}
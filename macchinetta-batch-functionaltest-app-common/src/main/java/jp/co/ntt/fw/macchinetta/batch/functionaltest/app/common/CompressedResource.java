@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Resource that decompresses the content of another resource.
+ * <p>
+ * The input stream of this resource is the uncompressed content, so a compressed file is read by
+ * {@code FlatFileItemReader} and {@code MultiResourceItemReader} without decompressing it to a file first. By default,
+ * gzip, including the concatenated members written by {@link ParallelGzipItemWriter}, is detected by its magic number,
+ * and deflate in the zlib format by the extension {@code .deflate} or {@code .zz}, since the zlib header can be valid
+ * text. Any other resource is read as is. Since a compressed stream cannot be sought, {@code FlatFileItemReader}
+ * restarts by reading and skipping the records up to the saved number of records.
+ * </p>
+ * <p>
+ * This resource is not a file, and {@link #contentLength()} reads the whole uncompressed content.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class CompressedResource extends AbstractResource {
+
+    /**
+     * Compression format.
+     */
+    public enum Format {
+
+        /**
+         * Detect gzip by the magic number and deflate by the extension.
+         */
+        AUTO,
+
+        /**
+         * Gzip of RFC 1952, with one or more members.
+         */
+        GZIP,
+
+        /**
+         * Deflate in the zlib format of RFC 1950.
+         */
+        DEFLATE,
+
+        /**
+         * No compression.
+         */
+        NONE
+    }
+
+    /**
+     * Size of the buffers of the compressed and uncompressed bytes.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compressed resource.
+     */
+    private final Resource delegate;
+
+    /**
+     * Compression format.
+     */
+    private final Format format;
+
+    /**
+     * Constructor detecting the format.
+     *
+     * @param delegate Compressed resource.
+     */
+    public CompressedResource(Resource delegate) {
+        this(delegate, Format.AUTO);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate Compressed resource.
+     * @param format Compression format.
+     */
+    public CompressedResource(Resource delegate, Format format) {
+        Assert.notNull(delegate, "delegate must not be null.");
+        Assert.notNull(format, "format must not be null.");
+        this.delegate = delegate;
+        this.format = format;
+    }
+
+    /**
+     * Wrap each resource detecting the format, for the resources of {@code MultiResourceItemReader}.
+     *
+     * @param resources Resources that may be compressed.
+     * @return Resources of the uncompressed contents.
+     */
+    public static Resource[] wrap(Resource[] resources) {
+        Resource[] wrapped = new Resource[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            wrapped[i] = new CompressedResource(resources[i]);
+        }
+        return wrapped;
+    }
+
+    /**
+     * Open the uncompressed content.
+     *
+     * @return Input stream of the uncompressed content.
+     * @throws IOException If the resource cannot be opened or the header is invalid.
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = new BufferedInputStream(delegate.getInputStream(), BUFFER_SIZE);
+        try {
+            switch (format == Format.AUTO ? detect(in) : format) {
+            case GZIP:
+                return new GZIPInputStream(in, BUFFER_SIZE);
+            case DEFLATE:
+                return new InflaterInputStream(in, new Inflater(), BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        inf.end();
+                    }
+                };
+            default:
+                return in;
+            }
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Detect the format from the magic number of gzip or the extension of deflate.
+     *
+     * @param in Input stream that supports mark.
+     * @return Detected format.
+     * @throws IOException If the stream cannot be read.
+     */
+    private Format detect(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return Format.GZIP;
+        }
+        String filename = delegate.getFilename();
+        if (filename != null && (filename.endsWith(".deflate") || filename.endsWith(".zz"))) {
+            return Format.DEFLATE;
+        }
+        return Format.NONE;
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return delegate.isReadable();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return delegate.lastModified();
+    }
+
+    @Override
+    public Resource createRelative(String relativePath) throws IOException {
+        return new CompressedResource(delegate.createRelative(relativePath), format);
+    }
+
+    @Override
+    public String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compressed resource [" + delegate.getDescription() + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CompressedResource)) {
+            return false;
+        }
+        CompressedResource that = (CompressedResource) other;
+        return delegate.equals(that.delegate) && format == that.format;
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode() * 31 + format.hashCode();
+    }
+}
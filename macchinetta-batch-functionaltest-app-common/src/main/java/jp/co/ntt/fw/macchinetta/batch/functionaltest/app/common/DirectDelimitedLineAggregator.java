@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link AppendableLineAggregator} that appends the delimited fields of an item directly to the buffer of the writer.
+ * <p>
+ * {@link DelimitedLineAggregator} and {@code EnclosableDelimitedLineAggregator} convert each field to a
+ * {@link String}, and join them into a new {@link String} for each line. This aggregator appends each field to the
+ * buffer where it is. A {@link CharSequence} is appended as it is, an {@link Integer} or a {@link Long} is appended by
+ * its digits, and a field of another type is appended by {@link String#valueOf(Object)}. A null field is an empty
+ * field, since {@link org.springframework.batch.item.file.transform.ExtractorLineAggregator}, the base class of both
+ * aggregators, replaces a null field with an empty string.
+ * </p>
+ * <p>
+ * Without {@code enclosure}, the line is the same as {@link DelimitedLineAggregator}, where each field is surrounded by
+ * {@code quoteCharacter} without escaping. With {@code enclosure}, the line is the same as
+ * {@code EnclosableDelimitedLineAggregator}, where a field is enclosed if it contains the delimiter, the enclosure, CR
+ * or LF, or if {@code allEnclosing} is true, and the enclosure in an enclosed field is doubled. The delimiter must be a
+ * single character in that case.
+ * </p>
+ * <p>
+ * The aggregator has no state other than its settings, and can be shared by the threads of a multi-threaded step.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class DirectDelimitedLineAggregator<T> implements AppendableLineAggregator<T> {
+
+    /**
+     * Extractor of the fields of an item.
+     */
+    private FieldExtractor<T> fieldExtractor;
+
+    /**
+     * Delimiter of the fields.
+     */
+    private String delimiter = ",";
+
+    /**
+     * Characters surrounding each field without escaping.
+     */
+    private String quoteCharacter = "";
+
+    /**
+     * Enclosure of a field that needs escaping, or null if the fields are not escaped.
+     */
+    private Character enclosure;
+
+    /**
+     * Whether all the fields are enclosed.
+     */
+    private boolean allEnclosing = false;
+
+    /**
+     * Extractor of the fields of an item.
+     *
+     * @param fieldExtractor Extractor of the fields.
+     */
+    public void setFieldExtractor(FieldExtractor<T> fieldExtractor) {
+        this.fieldExtractor = fieldExtractor;
+    }
+
+    /**
+     * Delimiter of the fields.
+     *
+     * @param delimiter Delimiter. The default is a comma.
+     */
+    public void setDelimiter(String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Characters surrounding each field without escaping, as {@link DelimitedLineAggregator#setQuoteCharacter}.
+     *
+     * @param quoteCharacter Characters surrounding each field. The default is empty.
+     */
+    public void setQuoteCharacter(String quoteCharacter) {
+        this.quoteCharacter = quoteCharacter;
+    }
+
+    /**
+     * Enclosure of a field that needs escaping, as {@code EnclosableDelimitedLineAggregator#setEnclosure}.
+     *
+     * @param enclosure Enclosure. If not set, the fields are not escaped.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+    }
+
+    /**
+     * Whether all the fields are enclosed.
+     *
+     * @param allEnclosing Whether all the fields are enclosed. The default is false, where only the fields that need
+     *            escaping are enclosed.
+     */
+    public void setAllEnclosing(boolean allEnclosing) {
+        this.allEnclosing = allEnclosing;
+    }
+
+    /**
+     * Append the delimited fields of an item.
+     *
+     * @param item Item.
+     * @param line Buffer to which the line is appended.
+     */
+    @Override
+    public void aggregate(T item, StringBuilder line) {
+        Assert.notNull(item, "Item is required");
+        Assert.notNull(fieldExtractor, "fieldExtractor must be set.");
+        Object[] fields = fieldExtractor.extract(item);
+        if (enclosure == null) {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    line.append(delimiter);
+                }
+                line.append(quoteCharacter);
+                appendField(fields[i], line);
+                line.append(quoteCharacter);
+            }
+            return;
+        }
+        Assert.state(delimiter.length() == 1, "delimiter must be a single character with enclosure.");
+        char delimiterChar = delimiter.charAt(0);
+        char enclosureChar = enclosure;
+        Assert.state(delimiterChar != enclosureChar, "delimiter and enclosure must be different.");
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(delimiterChar);
+            }
+            int start = line.length();
+            appendField(fields[i], line);
+            if (allEnclosing || needsEnclosing(line, start, delimiterChar, enclosureChar)) {
+                enclose(line, start, enclosureChar);
+            }
+        }
+    }
+
+    /**
+     * Append a field. A null field is appended as an empty field.
+     *
+     * @param field Field.
+     * @param line Line.
+     */
+    private static void appendField(Object field, StringBuilder line) {
+        if (field == null) {
+            return;
+        }
+        if (field instanceof CharSequence) {
+            line.append((CharSequence) field);
+        } else if (field instanceof Integer) {
+            line.append(((Integer) field).intValue());
+        } else if (field instanceof Long) {
+            line.append(((Long) field).longValue());
+        } else {
+            line.append(String.valueOf(field));
+        }
+    }
+
+    private static boolean needsEnclosing(StringBuilder line, int start, char delimiterChar, char enclosureChar) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == delimiterChar || c == enclosureChar || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enclose the field at the end of the line, doubling the enclosures in it. The line is extended by the enclosures,
+     * and the characters of the field are moved from its end, so that no buffer is needed.
+     *
+     * @param line Line.
+     * @param start Start of the field.
+     * @param enclosureChar Enclosure.
+     */
+    private static void enclose(StringBuilder line, int start, char enclosureChar) {
+        int end = line.length();
+        int doubled = 0;
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == enclosureChar) {
+                doubled++;
+            }
+        }
+        line.setLength(end + doubled + 2);
+        int to = line.length() - 1;
+        line.setCharAt(to--, enclosureChar);
+        for (int from = end - 1; from >= start; from--) {
+            char c = line.charAt(from);
+            line.setCharAt(to--, c);
+            if (c == enclosureChar) {
+                line.setCharAt(to--, enclosureChar);
+            }
+        }
+        line.setCharAt(to, enclosureChar);
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tasklet that sorts the items of a reader into sorted runs spilled to temporary files.
+ * <p>
+ * The items are read into a buffer of {@code runSize} items. A full buffer is sorted by {@code comparator} and written
+ * to a run in {@code workDirectory} by {@code codec} on one of {@code parallelism} threads, while the next buffer is
+ * read. The reader waits when {@code parallelism} buffers are being sorted, so at most {@code runSize * (parallelism +
+ * 1)} items are held in memory. When there are more runs than {@code mergeFanIn}, groups of adjacent runs are merged
+ * in parallel until at most {@code mergeFanIn} runs remain.
+ * </p>
+ * <p>
+ * The paths of the runs are stored in the execution context of the step under {@code ExternalSortTasklet.runs},
+ * separated by commas in the order of input. A following step merges them with {@link MergeSortedItemReader}. Since
+ * the runs are merged in the order of input, items of equal keys keep the order of input.
+ * </p>
+ * <p>
+ * The number of items, the number of runs, the spilled bytes, the number of merge passes and the merged bytes are also
+ * stored in the execution context and logged with the elapsed time of each phase. The tasklet sorts all items in one
+ * call and does not save a restart position. A restarted tasklet deletes the runs of the previous execution recorded in
+ * the execution context of the job, and sorts again.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class ExternalSortTasklet<T> implements Tasklet, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ExternalSortTasklet.class);
+
+    /**
+     * Key of the paths of the runs.
+     */
+    public static final String RUNS_KEY = "ExternalSortTasklet.runs";
+
+    /**
+     * Key of the number of sorted items.
+     */
+    private static final String ITEM_COUNT_KEY = "ExternalSortTasklet.item.count";
+
+    /**
+     * Key of the number of the runs spilled from memory.
+     */
+    private static final String RUN_COUNT_KEY = "ExternalSortTasklet.run.count";
+
+    /**
+     * Key of the bytes of the runs spilled from memory.
+     */
+    private static final String SPILL_BYTES_KEY = "ExternalSortTasklet.spill.bytes";
+
+    /**
+     * Key of the number of merge passes.
+     */
+    private static final String MERGE_PASS_COUNT_KEY = "ExternalSortTasklet.merge.pass.count";
+
+    /**
+     * Key of the bytes of the runs written by merge passes.
+     */
+    private static final String MERGE_BYTES_KEY = "ExternalSortTasklet.merge.bytes";
+
+    /**
+     * Default number of items of a run.
+     */
+    private static final int DEFAULT_RUN_SIZE = 100000;
+
+    /**
+     * Default maximum number of runs merged at once.
+     */
+    private static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    /**
+     * Default size of the buffer of a run file.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Reader of the items to sort.
+     */
+    private ItemReader<? extends T> reader;
+
+    /**
+     * Order of the items.
+     */
+    private Comparator<? super T> comparator;
+
+    /**
+     * Binary form of the items in a run.
+     */
+    private ItemCodec<T> codec;
+
+    /**
+     * Maximum number of items of a run.
+     */
+    private int runSize = DEFAULT_RUN_SIZE;
+
+    /**
+     * Number of runs sorted in parallel.
+     */
+    private int parallelism = 2;
+
+    /**
+     * Maximum number of runs merged at once.
+     */
+    private int mergeFanIn = DEFAULT_MERGE_FAN_IN;
+
+    /**
+     * Directory of the runs.
+     */
+    private File workDirectory = new File(System.getProperty("java.io.tmpdir"));
+
+    /**
+     * Size of the buffer of a run file in bytes.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Reader of the items to sort.
+     *
+     * @param reader Reader. It is opened with an empty execution context if it is an {@link ItemStream}.
+     */
+    public void setReader(ItemReader<? extends T> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Order of the items.
+     *
+     * @param comparator Comparator of the keys of the items.
+     */
+    public void setComparator(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Binary form of the items in a run.
+     *
+     * @param codec Codec of the items.
+     */
+    public void setCodec(ItemCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Maximum number of items of a run.
+     *
+     * @param runSize Maximum number of items of a run. The default is 100000.
+     */
+    public void setRunSize(int runSize) {
+        this.runSize = runSize;
+    }
+
+    /**
+     * Number of runs sorted in parallel.
+     *
+     * @param parallelism Number of runs sorted in parallel. The default is 2.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Maximum number of runs merged at once.
+     *
+     * @param mergeFanIn Maximum number of runs merged at once, at least 2. The default is 64.
+     */
+    public void setMergeFanIn(int mergeFanIn) {
+        this.mergeFanIn = mergeFanIn;
+    }
+
+    /**
+     * Directory of the runs.
+     *
+     * @param workDirectory Directory of the runs. The default is {@code java.io.tmpdir}.
+     */
+    public void setWorkDirectory(File workDirectory) {
+        this.workDirectory = workDirectory;
+    }
+
+    /**
+     * Size of the buffer of a run file in bytes.
+     *
+     * @param bufferSize Size of the buffer. The default is 64KB.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(reader, "reader must be set.");
+        Assert.notNull(comparator, "comparator must be set.");
+        Assert.notNull(codec, "codec must be set.");
+        Assert.isTrue(runSize > 0, "runSize must be greater than 0.");
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0.");
+        Assert.isTrue(mergeFanIn > 1, "mergeFanIn must be greater than 1.");
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0.");
+        Assert.notNull(workDirectory, "workDirectory must be set.");
+        Assert.isTrue(!workDirectory.getAbsolutePath().contains(","),
+                "workDirectory must not contain a comma. workDirectory:" + workDirectory);
+    }
+
+    /**
+     * Sort all items into runs.
+     *
+     * @param contribution Step contribution.
+     * @param chunkContext Chunk context.
+     * @return RepeatStatus.FINISHED.
+     * @throws Exception Exception that occurred in reading or spilling. The runs created so far are deleted.
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        afterPropertiesSet();
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        deleteRuns(stepExecution.getJobExecution().getExecutionContext().getString(RUNS_KEY, ""));
+        Files.createDirectories(workDirectory.toPath());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, stepExecution.getStepName() + "-sort-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Path> created = Collections.synchronizedList(new ArrayList<>());
+        Statistics statistics = new Statistics();
+        if (reader instanceof ItemStream stream) {
+            stream.open(new ExecutionContext());
+        }
+        List<Path> runs;
+        try {
+            long start = System.nanoTime();
+            runs = spillRuns(executor, created, statistics, contribution);
+            long spilled = System.nanoTime();
+            runs = mergeRuns(executor, created, statistics, runs);
+            long merged = System.nanoTime();
+            logger.info("Sorted items into runs. step:{}, items:{}, runs:{}, spill bytes:{}, merge passes:{}, "
+                    + "merge bytes:{}, read and spill:{}ms, sort:{}ms, merge:{}ms", stepExecution.getStepName(),
+                    statistics.items, statistics.runs, statistics.spillBytes.get(), statistics.mergePasses,
+                    statistics.mergeBytes.get(), TimeUnit.NANOSECONDS.toMillis(spilled - start),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.sortNanos.get()), TimeUnit.NANOSECONDS.toMillis(merged
+                            - spilled));
+        } catch (Exception e) {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            synchronized (created) {
+                for (Path run : created) {
+                    Files.deleteIfExists(run);
+                }
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            if (reader instanceof ItemStream stream) {
+                stream.close();
+            }
+        }
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putString(RUNS_KEY, runs.stream().map(Path::toString).collect(Collectors.joining(",")));
+        executionContext.putLong(ITEM_COUNT_KEY, statistics.items);
+        executionContext.putInt(RUN_COUNT_KEY, statistics.runs);
+        executionContext.putLong(SPILL_BYTES_KEY, statistics.spillBytes.get());
+        executionContext.putInt(MERGE_PASS_COUNT_KEY, statistics.mergePasses);
+        executionContext.putLong(MERGE_BYTES_KEY, statistics.mergeBytes.get());
+        contribution.incrementWriteCount(statistics.items);
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Read the items, and sort and spill each full buffer in parallel.
+     *
+     * @return Runs in the order of input.
+     */
+    private List<Path> spillRuns(ExecutorService executor, List<Path> created, Statistics statistics,
+            StepContribution contribution) throws Exception {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<Path>> futures = new ArrayList<>();
+        List<T> buffer = new ArrayList<>();
+        T item;
+        while ((item = reader.read()) != null) {
+            buffer.add(item);
+            contribution.incrementReadCount();
+            statistics.items++;
+            if (buffer.size() >= runSize) {
+                futures.add(spill(executor, permits, created, statistics, buffer));
+                buffer = new ArrayList<>();
+            }
+        }
+        if (!buffer.isEmpty()) {
+            futures.add(spill(executor, permits, created, statistics, buffer));
+        }
+        statistics.runs = futures.size();
+        return getAll(futures);
+    }
+
+    private Future<Path> spill(ExecutorService executor, Semaphore permits, List<Path> created,
+            Statistics statistics, List<T> items) throws InterruptedException {
+        permits.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    long start = System.nanoTime();
+                    items.sort(comparator);
+                    statistics.sortNanos.addAndGet(System.nanoTime() - start);
+                    Path run = createRun(created);
+                    statistics.spillBytes.addAndGet(SortedRunMerger.write(items, codec, run, bufferSize));
+                    return run;
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Merge groups of adjacent runs until at most {@code mergeFanIn} runs remain.
+     *
+     * @return Runs in the order of input.
+     */
+    private List<Path> mergeRuns(ExecutorService executor, List<Path> created, Statistics statistics,
+            List<Path> runs) throws Exception {
+        while (runs.size() > mergeFanIn) {
+            statistics.mergePasses++;
+            List<Future<Path>> futures = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += mergeFanIn) {
+                List<Path> group = runs.subList(i, Math.min(runs.size(), i + mergeFanIn));
+                futures.add(executor.submit(() -> {
+                    if (group.size() == 1) {
+                        return group.get(0);
+                    }
+                    Path run = createRun(created);
+                    try (SortedRunMerger<T> merger = new SortedRunMerger<>(group, codec, comparator, bufferSize)) {
+                        statistics.mergeBytes.addAndGet(merger.mergeTo(run, bufferSize));
+                    }
+                    for (Path merged : group) {
+                        Files.delete(merged);
+                    }
+                    return run;
+                }));
+            }
+            runs = getAll(futures);
+        }
+        return runs;
+    }
+
+    private Path createRun(List<Path> created) throws IOException {
+        Path run = Files.createTempFile(workDirectory.toPath(), "sort-run-", ".bin");
+        created.add(run);
+        return run;
+    }
+
+    private static List<Path> getAll(List<Future<Path>> futures) throws Exception {
+        List<Path> runs = new ArrayList<>(futures.size());
+        for (Future<Path> future : futures) {
+            try {
+                runs.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception exception) {
+                    throw exception;
+                }
+                throw e;
+            }
+        }
+        return runs;
+    }
+
+    private static void deleteRuns(String runs) throws IOException {
+        for (String run : StringUtils.commaDelimitedListToStringArray(runs)) {
+            if (Files.deleteIfExists(Paths.get(run))) {
+                logger.info("Deleted the run of the previous execution. run:{}", run);
+            }
+        }
+    }
+
+    /**
+     * Statistics of a sort.
+     */
+    private static final class Statistics {
+
+        private final AtomicLong sortNanos = new AtomicLong();
+
+        private final AtomicLong spillBytes = new AtomicLong();
+
+        private final AtomicLong mergeBytes = new AtomicLong();
+
+        private long items;
+
+        private int runs;
+
+        private int mergePasses;
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.separator.RecordSeparatorPolicy;
+import org.springframework.batch.item.file.separator.SimpleRecordSeparatorPolicy;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reader of the records that start in a byte range {@code [startOffset, endOffset)} of a line-oriented file.
+ * <p>
+ * This reader is used with a partitioner that splits one file into byte ranges aligned to record boundaries, such as
+ * {@code FileSplitPartitioner}. It opens the file with {@link FileChannel}, reads from {@code startOffset} without
+ * reading the preceding bytes, and stops before the first record that starts at or after {@code endOffset}. A record
+ * of several lines is assembled by {@code recordSeparatorPolicy} in the same way as {@code FlatFileItemReader}, and
+ * may continue beyond {@code endOffset}.
+ * </p>
+ * <p>
+ * The lines are separated at the byte level by LF or CR LF, so the encoding must represent CR and LF as single bytes
+ * that never appear inside a multi-byte character, such as UTF-8 or MS932. A line separated only by CR is not
+ * supported. The byte offset of the next record is stored in the execution context, and a restarted step seeks to the
+ * offset directly. Since the execution context belongs to each partition, each range is restarted independently.
+ * </p>
+ * <p>
+ * The offset is valid only for the same file, so a fingerprint of the file is stored with it. The fingerprint consists
+ * of the size, the last modified time and the CRC32 of the first {@value #FINGERPRINT_HEAD_SIZE} bytes of the file. If
+ * the fingerprint of the file differs on restart, for example because the input file was replaced to correct it, the
+ * reader does not seek, and skips the records read by the previous execution from {@code startOffset} in the same way
+ * as {@code FlatFileItemReader}.
+ * </p>
+ * <p>
+ * The line number passed to {@code lineMapper} is the number of the record in the range, starting at 1.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class FileRangeItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FileRangeItemReader.class);
+
+    /**
+     * Key of the byte offset of the next record.
+     */
+    private static final String BYTE_OFFSET_KEY = "byte.offset";
+
+    /**
+     * Key of the number of records read.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Key of the fingerprint of the file.
+     */
+    private static final String FINGERPRINT_KEY = "file.fingerprint";
+
+    /**
+     * Number of bytes at the head of the file included in the fingerprint.
+     */
+    private static final int FINGERPRINT_HEAD_SIZE = 4096;
+
+    /**
+     * Default size of the read buffer.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Input file.
+     */
+    private Resource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Byte offset of the first record of the range.
+     */
+    private long startOffset = 0L;
+
+    /**
+     * Byte offset of the end of the range, exclusive.
+     */
+    private long endOffset = Long.MAX_VALUE;
+
+    /**
+     * Mapper from a record to an item.
+     */
+    private LineMapper<T> lineMapper;
+
+    /**
+     * Policy to determine the end of a record.
+     */
+    private RecordSeparatorPolicy recordSeparatorPolicy = new SimpleRecordSeparatorPolicy();
+
+    /**
+     * Initial size of the read buffer in bytes.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    private FileChannel channel;
+
+    private String fingerprint;
+
+    private ByteBuffer buffer;
+
+    private long end;
+
+    private long offset;
+
+    private long readCount;
+
+    private int scanned;
+
+    private boolean endOfFile;
+
+    /**
+     * Constructor.
+     */
+    public FileRangeItemReader() {
+        setName(ClassUtils.getShortName(FileRangeItemReader.class));
+    }
+
+    /**
+     * Input file.
+     *
+     * @param resource Input file.
+     */
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Byte offset of the first record of the range.
+     *
+     * @param startOffset Byte offset of a record boundary. The default is 0.
+     */
+    public void setStartOffset(long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    /**
+     * Byte offset of the end of the range, exclusive.
+     *
+     * @param endOffset Byte offset of a record boundary. The default is the end of the file.
+     */
+    public void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Mapper from a record to an item.
+     *
+     * @param lineMapper Mapper from a record to an item.
+     */
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    /**
+     * Policy to determine the end of a record.
+     *
+     * @param recordSeparatorPolicy Policy to determine the end of a record. The default is
+     *            {@link SimpleRecordSeparatorPolicy}.
+     */
+    public void setRecordSeparatorPolicy(RecordSeparatorPolicy recordSeparatorPolicy) {
+        this.recordSeparatorPolicy = recordSeparatorPolicy;
+    }
+
+    /**
+     * Initial size of the read buffer in bytes. The buffer grows when a line is longer than the buffer.
+     *
+     * @param bufferSize Initial size of the read buffer. The default is 64KB.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(lineMapper, "lineMapper must be set.");
+        Assert.notNull(recordSeparatorPolicy, "recordSeparatorPolicy must be set.");
+        Assert.isTrue(startOffset >= 0 && startOffset <= endOffset,
+                "startOffset must be between 0 and endOffset. startOffset:" + startOffset + ", endOffset:"
+                        + endOffset);
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0.");
+        Assert.isTrue(Arrays.equals("\r\n".getBytes(charset), new byte[] { '\r', '\n' }),
+                "encoding must represent CR and LF as single bytes. encoding:" + charset);
+    }
+
+    /**
+     * Open the file and move to the saved byte offset, or to {@code startOffset}.
+     * <p>
+     * If the fingerprint of the file differs from the saved one, the saved number of records are skipped from
+     * {@code startOffset} instead.
+     * </p>
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened, or the records to skip cannot be read.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        try {
+            Path path = resource.getFile().toPath();
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            end = Math.min(endOffset, channel.size());
+            fingerprint = fingerprint(path);
+        } catch (IOException e) {
+            close();
+            throw new ItemStreamException("Failed to open the file. resource:" + resource, e);
+        }
+        offset = startOffset;
+        readCount = 0;
+        buffer = ByteBuffer.allocate(bufferSize).flip();
+        scanned = 0;
+        endOfFile = false;
+        if (executionContext.containsKey(getExecutionContextKey(BYTE_OFFSET_KEY))) {
+            long savedReadCount = executionContext.getLong(getExecutionContextKey(READ_COUNT_KEY), 0L);
+            String savedFingerprint = executionContext.getString(getExecutionContextKey(FINGERPRINT_KEY), null);
+            if (savedFingerprint == null || savedFingerprint.equals(fingerprint)) {
+                offset = executionContext.getLong(getExecutionContextKey(BYTE_OFFSET_KEY));
+                readCount = savedReadCount;
+            } else {
+                logger.warn("The file has changed since the last execution, so the records read are skipped. "
+                        + "resource:{}, skip:{}", resource, savedReadCount);
+                skipRecords(savedReadCount);
+            }
+        }
+    }
+
+    /**
+     * Store the byte offset of the next record.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(BYTE_OFFSET_KEY), offset);
+            executionContext.putLong(getExecutionContextKey(READ_COUNT_KEY), readCount);
+            executionContext.putString(getExecutionContextKey(FINGERPRINT_KEY), fingerprint);
+        }
+    }
+
+    /**
+     * Close the file.
+     */
+    @Override
+    public void close() {
+        super.close();
+        buffer = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close the file. resource:" + resource, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Read the next record in the range.
+     *
+     * @return Item, or null at the end of the range.
+     * @throws FlatFileParseException If the record is incomplete or cannot be mapped.
+     */
+    @Override
+    public T read() throws Exception {
+        String record = readRecord();
+        if (record == null) {
+            return null;
+        }
+        long recordNumber = readCount;
+        try {
+            return lineMapper.mapLine(record, (int) recordNumber);
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at record: " + recordNumber + " in resource=["
+                    + resource.getDescription() + "], input=[" + record + "]", e, record, (int) recordNumber);
+        }
+    }
+
+    /**
+     * Read the next record in the range and count it.
+     *
+     * @return Record, or null at the end of the range.
+     * @throws IOException If the file cannot be read.
+     * @throws FlatFileParseException If the record is incomplete.
+     */
+    private String readRecord() throws IOException {
+        if (offset >= end) {
+            return null;
+        }
+        String line = readLine();
+        if (line == null) {
+            return null;
+        }
+        long recordNumber = readCount + 1;
+        String record = line;
+        while (!recordSeparatorPolicy.isEndOfRecord(record)) {
+            line = readLine();
+            if (line == null) {
+                readCount = recordNumber;
+                if (StringUtils.hasText(record)) {
+                    throw new FlatFileParseException("Unexpected end of file before record complete", record,
+                            (int) recordNumber);
+                }
+                break;
+            }
+            record = recordSeparatorPolicy.preProcess(record) + line;
+        }
+        readCount = recordNumber;
+        return recordSeparatorPolicy.postProcess(record);
+    }
+
+    /**
+     * Skip the records read by the previous execution.
+     *
+     * @param count Number of records to skip.
+     * @throws ItemStreamException If the records cannot be read.
+     */
+    private void skipRecords(long count) {
+        try {
+            while (readCount < count && readRecord() != null) {
+                // the record is discarded.
+            }
+        } catch (IOException | FlatFileParseException e) {
+            close();
+            throw new ItemStreamException("Failed to skip the records read. resource:" + resource, e);
+        }
+    }
+
+    /**
+     * Create the fingerprint of the file from its size, its last modified time and the CRC32 of its head.
+     *
+     * @param path Path of the file.
+     * @return Fingerprint.
+     * @throws IOException If the file cannot be read.
+     */
+    private String fingerprint(Path path) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(FINGERPRINT_HEAD_SIZE, channel.size()));
+        while (head.hasRemaining() && channel.read(head, head.position()) >= 0) {
+            // read until the head is filled.
+        }
+        CRC32 crc = new CRC32();
+        crc.update(head.flip());
+        return channel.size() + ":" + Files.getLastModifiedTime(path).toMillis() + ":" + Long.toHexString(crc
+                .getValue());
+    }
+
+    /**
+     * Read the line at {@code offset} without the line break.
+     *
+     * @return Line, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private String readLine() throws IOException {
+        int lineFeed;
+        while ((lineFeed = indexOfLineFeed()) < 0) {
+            if (endOfFile) {
+                if (!buffer.hasRemaining()) {
+                    return null;
+                }
+                lineFeed = buffer.limit();
+                break;
+            }
+            fill();
+        }
+        byte[] array = buffer.array();
+        int start = buffer.position();
+        int length = lineFeed - start;
+        int next = lineFeed < buffer.limit() ? lineFeed + 1 : lineFeed;
+        if (length > 0 && array[lineFeed - 1] == '\r') {
+            length--;
+        }
+        String line = new String(array, start, length, charset);
+        offset += next - start;
+        buffer.position(next);
+        scanned = next;
+        return line;
+    }
+
+    private int indexOfLineFeed() {
+        byte[] array = buffer.array();
+        int limit = buffer.limit();
+        for (int i = Math.max(scanned, buffer.position()); i < limit; i++) {
+            if (array[i] == '\n') {
+                return i;
+            }
+        }
+        scanned = limit;
+        return -1;
+    }
+
+    /**
+     * Read the following bytes into the buffer, growing the buffer if it is full of one line.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    private void fill() throws IOException {
+        int scannedInLine = scanned - buffer.position();
+        if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        long readPosition = offset + buffer.position();
+        int read = channel.read(buffer, readPosition);
+        if (read < 0) {
+            endOfFile = true;
+        }
+        buffer.flip();
+        scanned = scannedInLine;
+    }
+}
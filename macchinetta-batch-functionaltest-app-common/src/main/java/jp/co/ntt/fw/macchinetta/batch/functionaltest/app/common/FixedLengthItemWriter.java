@@ -0,0 +1,674 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writer of a fixed byte length file that encodes each field directly into a reused byte buffer.
+ * <p>
+ * A fixed length file written by {@code FlatFileItemWriter} needs a field extractor that encodes each field to measure
+ * its length in bytes and pads it with a {@code StringBuilder}, and {@code FormatterLineAggregator} that formats each
+ * record with {@link String#format}. The record is then encoded again by the writer. This writer encodes each field
+ * of {@code fieldExtractor} once with a {@link CharsetEncoder} into a reused buffer, and pads it in place with
+ * {@code padding} to {@code lengths} bytes, aligned by {@code alignments}. A {@link CharSequence} is encoded without
+ * copying it into a {@link String}, and an {@link Integer}, {@link Long}, {@link Short} or {@link Byte} is written by
+ * its digits. A field of another type is encoded by {@link String#valueOf(Object)}, and a null field is written as
+ * padding only.
+ * </p>
+ * <p>
+ * A field longer than its length in bytes fails the chunk with {@link IllegalArgumentException}, instead of breaking
+ * the positions of the following fields. A character that cannot be encoded fails the chunk as well. A multi-byte
+ * character is never split, since the length is checked against the whole encoded field. Each field is encoded on
+ * its own, so a stateful charset such as ISO-2022-JP returns to the initial state at the end of each field, and a
+ * charset that writes a byte order mark, such as UTF-16, is not supported.
+ * </p>
+ * <p>
+ * The records of the transaction are kept in the buffer, and written before the commit in the same way as
+ * {@code FlatFileItemWriter}. If the transaction is rolled back, the records are discarded, and the file is truncated
+ * if they have been written. Outside of a transaction, or if {@code transactional} is false, the records of a chunk
+ * are written at once. The byte offset and the number of records are stored in the execution context with the same
+ * keys as {@code FlatFileItemWriter}, and a restarted step truncates the file to the offset.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class FixedLengthItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T>, InitializingBean {
+
+    /**
+     * Alignment of a field shorter than its length.
+     */
+    public enum Alignment {
+
+        /**
+         * Padding after the field.
+         */
+        LEFT,
+
+        /**
+         * Padding before the field, in the same way as {@code %Ns} of {@link String#format}.
+         */
+        RIGHT
+    }
+
+    /**
+     * Key of the byte offset of the file.
+     */
+    private static final String RESTART_DATA_NAME = "current.count";
+
+    /**
+     * Key of the number of written records.
+     */
+    private static final String WRITTEN_STATISTICS_NAME = "written";
+
+    /**
+     * Default initial size of the buffer.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Output file.
+     */
+    private WritableResource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Extractor of the fields of an item.
+     */
+    private FieldExtractor<T> fieldExtractor;
+
+    /**
+     * Lengths of the fields in bytes.
+     */
+    private int[] lengths;
+
+    /**
+     * Alignments of the fields.
+     */
+    private Alignment[] alignments;
+
+    /**
+     * Character to fill a field up to its length.
+     */
+    private char padding = ' ';
+
+    /**
+     * Line separator.
+     */
+    private String lineSeparator = System.lineSeparator();
+
+    /**
+     * Initial size of the buffer.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether the records are written before the commit of the transaction.
+     */
+    private boolean transactional = true;
+
+    /**
+     * Whether the written bytes are forced to the storage device before the commit.
+     */
+    private boolean forceSync = false;
+
+    /**
+     * Whether an existing file is deleted.
+     */
+    private boolean shouldDeleteIfExists = true;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Key of the synchronization of the current transaction.
+     */
+    private final Object transactionKey = new Object();
+
+    private CharsetEncoder encoder;
+
+    private CharBuffer chars;
+
+    private ByteBuffer field;
+
+    private ByteBuffer pending;
+
+    private byte[] paddingBytes;
+
+    private byte[] separatorBytes;
+
+    private Path path;
+
+    private FileChannel channel;
+
+    private long position;
+
+    private long linesWritten;
+
+    private long pendingLines;
+
+    /**
+     * Constructor.
+     */
+    public FixedLengthItemWriter() {
+        setName(ClassUtils.getShortName(FixedLengthItemWriter.class));
+    }
+
+    /**
+     * Output file.
+     *
+     * @param resource Output file.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Extractor of the fields of an item.
+     *
+     * @param fieldExtractor Extractor of as many fields as {@code lengths}.
+     */
+    public void setFieldExtractor(FieldExtractor<T> fieldExtractor) {
+        this.fieldExtractor = fieldExtractor;
+    }
+
+    /**
+     * Lengths of the fields in bytes.
+     *
+     * @param lengths Lengths of the fields in bytes.
+     */
+    public void setLengths(int... lengths) {
+        this.lengths = lengths;
+    }
+
+    /**
+     * Alignments of the fields.
+     *
+     * @param alignments Alignments of as many fields as {@code lengths}. The default is {@link Alignment#RIGHT} for all
+     *            the fields.
+     */
+    public void setAlignments(Alignment... alignments) {
+        this.alignments = alignments;
+    }
+
+    /**
+     * Character to fill a field up to its length.
+     *
+     * @param padding Character to fill a field. The default is a space.
+     */
+    public void setPadding(char padding) {
+        this.padding = padding;
+    }
+
+    /**
+     * Line separator.
+     *
+     * @param lineSeparator Line separator. The default is the line separator of the system. An empty string writes the
+     *            records without line breaks.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Initial size of the buffer.
+     *
+     * @param bufferSize Initial size in bytes. The default is 64KB. The buffer grows to hold the records of a
+     *            transaction.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Whether the records are written before the commit of the transaction.
+     *
+     * @param transactional Whether the records are written before the commit. The default is true.
+     */
+    public void setTransactional(boolean transactional) {
+        this.transactional = transactional;
+    }
+
+    /**
+     * Whether the written bytes are forced to the storage device before the commit.
+     *
+     * @param forceSync Whether the written file is forced. The default is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    /**
+     * Whether an existing file is deleted.
+     *
+     * @param shouldDeleteIfExists Whether an existing file is deleted. The default is true. If false, the records are
+     *            appended to it.
+     */
+    public void setShouldDeleteIfExists(boolean shouldDeleteIfExists) {
+        this.shouldDeleteIfExists = shouldDeleteIfExists;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(fieldExtractor, "fieldExtractor must be set.");
+        Assert.isTrue(lengths != null && lengths.length > 0, "lengths must not be empty.");
+        Assert.isTrue(Arrays.stream(lengths).allMatch(length -> length > 0), "lengths must be greater than 0.");
+        Assert.isTrue(alignments == null || alignments.length == lengths.length,
+                "alignments must have as many elements as lengths.");
+        Assert.notNull(lineSeparator, "lineSeparator must be set.");
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0.");
+    }
+
+    /**
+     * Open the file, and delete it or truncate it to the saved byte offset.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened or the padding cannot be encoded.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        int maxLength = Arrays.stream(lengths).max().getAsInt();
+        chars = CharBuffer.allocate(maxLength);
+        field = ByteBuffer.allocate(maxLength);
+        pending = ByteBuffer.allocate(bufferSize);
+        pendingLines = 0;
+        linesWritten = 0;
+        position = 0;
+        try {
+            paddingBytes = encode(String.valueOf(padding));
+            separatorBytes = encode(lineSeparator);
+            Assert.state(paddingBytes.length > 0, "padding must be encoded to at least 1 byte.");
+            path = resource.getFile().toPath();
+            String restartKey = getExecutionContextKey(RESTART_DATA_NAME);
+            if (executionContext.containsKey(restartKey)) {
+                long saved = executionContext.getLong(restartKey);
+                long size = Files.exists(path) ? Files.size(path) : 0L;
+                if (size < saved) {
+                    throw new ItemStreamException("Current file size is smaller than size at last commit. file:"
+                            + path);
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channel.truncate(saved);
+                position = saved;
+                linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), 0L);
+            } else {
+                if (shouldDeleteIfExists) {
+                    Files.deleteIfExists(path);
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                position = channel.size();
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw new ItemStreamException("Failed to initialize writer", e);
+        }
+    }
+
+    /**
+     * Store the byte offset of the file and the number of records including the current transaction.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        Assert.state(channel != null, "ItemStream not open or already closed.");
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(RESTART_DATA_NAME), position + pending.position());
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), linesWritten + pendingLines);
+        }
+    }
+
+    /**
+     * Close the file.
+     *
+     * @throws ItemStreamException If the file cannot be closed.
+     */
+    @Override
+    public void close() {
+        super.close();
+        closeChannel();
+        pending = null;
+    }
+
+    /**
+     * Encode the records of the items, and write them before the commit or at once.
+     *
+     * @param chunk Items.
+     * @throws IllegalArgumentException If a field is longer than its length.
+     * @throws CharacterCodingException If a field cannot be encoded.
+     * @throws WriteFailedException If the records cannot be written.
+     */
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Assert.state(channel != null, "Writer must be open before it can be written to");
+        int start = pending.position();
+        try {
+            for (T item : chunk) {
+                appendRecord(fieldExtractor.extract(item));
+            }
+        } catch (Exception e) {
+            pending.position(start);
+            throw e;
+        }
+        pendingLines += chunk.size();
+        if (transactional && TransactionSynchronizationManager.isActualTransactionActive()) {
+            registerSynchronization();
+        } else {
+            long committed = position;
+            try {
+                writePending();
+            } catch (RuntimeException e) {
+                discardPending();
+                truncate(committed);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Encode and pad the fields of a record at the end of the buffer.
+     *
+     * @param values Fields of a record.
+     * @throws CharacterCodingException If a field cannot be encoded.
+     */
+    private void appendRecord(Object[] values) throws CharacterCodingException {
+        if (values.length != lengths.length) {
+            throw new IllegalArgumentException("The number of fields is invalid. [fields:" + values.length
+                    + "][expect fields:" + lengths.length + "]");
+        }
+        for (int i = 0; i < lengths.length; i++) {
+            int length = lengths[i];
+            encodeField(values[i], i);
+            int pad = length - field.remaining();
+            if (pad % paddingBytes.length != 0) {
+                throw new IllegalArgumentException("The field cannot be padded to its length. [index:" + i
+                        + "][length:" + field.remaining() + "][expect length:" + length + "]");
+            }
+            ensureCapacity(length);
+            if (alignments == null || alignments[i] == Alignment.RIGHT) {
+                fill(pad);
+                pending.put(field);
+            } else {
+                pending.put(field);
+                fill(pad);
+            }
+        }
+        ensureCapacity(separatorBytes.length);
+        pending.put(separatorBytes);
+    }
+
+    /**
+     * Encode a field into the field buffer, ready to be read.
+     *
+     * @param value Value of the field.
+     * @param index Index of the field.
+     * @throws CharacterCodingException If the field cannot be encoded.
+     */
+    private void encodeField(Object value, int index) throws CharacterCodingException {
+        chars.clear();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            appendDigits(((Number) value).longValue());
+        } else if (value != null) {
+            CharSequence sequence = value instanceof CharSequence ? (CharSequence) value : String.valueOf(value);
+            if (sequence.length() > chars.capacity()) {
+                chars = CharBuffer.allocate(sequence.length());
+            }
+            chars.append(sequence);
+        }
+        chars.flip();
+        field.clear().limit(lengths[index]);
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, field, true);
+        if (result.isUnderflow()) {
+            result = encoder.flush(field);
+        }
+        if (result.isOverflow()) {
+            throw new IllegalArgumentException("The length of field is invalid. [index:" + index + "][value:" + value
+                    + "][expect length:" + lengths[index] + "]");
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        field.flip();
+    }
+
+    /**
+     * Append the decimal digits of a value to the character buffer.
+     *
+     * @param value Value.
+     */
+    private void appendDigits(long value) {
+        // Digits are computed on the negative value, so that Long.MIN_VALUE is not an exception.
+        long negative = value < 0 ? value : -value;
+        int digits = 1;
+        for (long rest = negative / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int size = value < 0 ? digits + 1 : digits;
+        if (size > chars.capacity()) {
+            chars = CharBuffer.allocate(size);
+        }
+        if (value < 0) {
+            chars.put('-');
+        }
+        int end = chars.position() + digits;
+        for (int i = end - 1; i >= chars.position(); i--) {
+            chars.put(i, (char) ('0' - negative % 10));
+            negative /= 10;
+        }
+        chars.position(end);
+    }
+
+    /**
+     * Append the padding bytes to the buffer.
+     *
+     * @param length Number of bytes.
+     */
+    private void fill(int length) {
+        if (paddingBytes.length == 1) {
+            byte b = paddingBytes[0];
+            for (int i = 0; i < length; i++) {
+                pending.put(b);
+            }
+        } else {
+            for (int i = 0; i < length; i += paddingBytes.length) {
+                pending.put(paddingBytes);
+            }
+        }
+    }
+
+    /**
+     * Grow the buffer to hold {@code length} more bytes.
+     *
+     * @param length Number of bytes to append.
+     */
+    private void ensureCapacity(int length) {
+        if (pending.remaining() >= length) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+
+    /**
+     * Register the synchronization that writes the buffer before the commit, on the first write in the transaction.
+     */
+    private void registerSynchronization() {
+        if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(transactionKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long committedPosition = -1L;
+
+            private long committedLines;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committedPosition = position;
+                committedLines = linesWritten;
+                writePending();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status != STATUS_COMMITTED && channel != null) {
+                    discardPending();
+                    if (committedPosition >= 0) {
+                        truncate(committedPosition);
+                        linesWritten = committedLines;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Write the buffer at the end of the file, and clear it.
+     *
+     * @throws WriteFailedException If the bytes cannot be written.
+     */
+    private void writePending() {
+        pending.flip();
+        try {
+            long current = position;
+            while (pending.hasRemaining()) {
+                current += channel.write(pending, current);
+            }
+            position = current;
+            if (forceSync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new WriteFailedException("Could not write data. The file may be corrupt.", e);
+        } finally {
+            pending.clear();
+        }
+        linesWritten += pendingLines;
+        pendingLines = 0;
+    }
+
+    private void discardPending() {
+        if (pending != null) {
+            pending.clear();
+        }
+        pendingLines = 0;
+    }
+
+    /**
+     * Truncate the file to the offset before the records were written.
+     *
+     * @param committed Offset of the file before the records were written.
+     * @throws ItemStreamException If the file cannot be truncated.
+     */
+    private void truncate(long committed) {
+        try {
+            channel.truncate(committed);
+            position = committed;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to truncate the file after rollback", e);
+        }
+    }
+
+    /**
+     * Encode a string.
+     *
+     * @param value String to encode.
+     * @return Bytes of the string.
+     * @throws CharacterCodingException If the string cannot be encoded.
+     */
+    private byte[] encode(String value) throws CharacterCodingException {
+        ByteBuffer bytes = encoder.reset().encode(CharBuffer.wrap(value));
+        byte[] array = new byte[bytes.remaining()];
+        bytes.get(array);
+        return array;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Unable to close the ItemWriter", e);
+        } finally {
+            channel = null;
+        }
+    }
+}
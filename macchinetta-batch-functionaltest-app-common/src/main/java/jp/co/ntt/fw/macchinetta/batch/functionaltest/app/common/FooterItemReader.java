@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reader of the footer records at the end of a line-oriented file.
+ * <p>
+ * Reading the footer with {@code FlatFileItemReader} reads the whole file. This reader opens the file with
+ * {@link FileChannel}, and searches the line breaks backward from the end of the file in blocks of {@code bufferSize}
+ * bytes. It stops at the last {@code footerLineCount} lines, or at the last line that starts with
+ * {@code footerStartPrefix}, whichever comes first from the end, so that only the footer and the block that contains
+ * its first line are read. The footer lines are mapped by {@code lineMapper} in the order of the file.
+ * </p>
+ * <p>
+ * The line break is searched as the bytes of LF in {@code encoding}, at the positions aligned to the size of its code
+ * unit, so that a file in UTF-16 or UTF-32 is read as well as a file in an encoding whose LF is a single byte that never
+ * appears inside a multi-byte character, such as UTF-8 or MS932. A CR before LF is removed. A line break at the end of
+ * the file does not make an empty footer line.
+ * </p>
+ * <p>
+ * The byte offset of the first footer line is available from {@link #getFooterOffset()} after the reader is opened,
+ * and is stored in the execution context with the key {@code footer.offset}. A step that reads the data records with
+ * {@link FileRangeItemReader} can stop before the footer with the offset as its {@code endOffset}.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class FooterItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>, InitializingBean {
+
+    /**
+     * Key of the byte offset of the first footer line.
+     */
+    private static final String FOOTER_OFFSET_KEY = "footer.offset";
+
+    /**
+     * Key of the number of records read.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Default size of a block read backward.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Input file.
+     */
+    private Resource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Mapper from a footer line to an item.
+     */
+    private LineMapper<T> lineMapper;
+
+    /**
+     * Number of footer lines.
+     */
+    private int footerLineCount = 0;
+
+    /**
+     * Prefix of the first footer line.
+     */
+    private String footerStartPrefix;
+
+    /**
+     * Size of a block read backward.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    private List<String> lines;
+
+    private long footerOffset;
+
+    private int readCount;
+
+    /**
+     * Constructor.
+     */
+    public FooterItemReader() {
+        setName(ClassUtils.getShortName(FooterItemReader.class));
+    }
+
+    /**
+     * Input file.
+     *
+     * @param resource Input file.
+     */
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Mapper from a footer line to an item.
+     *
+     * @param lineMapper Mapper from a footer line to an item.
+     */
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    /**
+     * Number of footer lines.
+     *
+     * @param footerLineCount Number of lines at the end of the file. If the file has fewer lines, all the lines are
+     *            the footer.
+     */
+    public void setFooterLineCount(int footerLineCount) {
+        this.footerLineCount = footerLineCount;
+    }
+
+    /**
+     * Prefix of the first footer line, such as the record type of a trailer record.
+     *
+     * @param footerStartPrefix Prefix of the first footer line.
+     */
+    public void setFooterStartPrefix(String footerStartPrefix) {
+        this.footerStartPrefix = footerStartPrefix;
+    }
+
+    /**
+     * Size of a block read backward.
+     *
+     * @param bufferSize Size of a block in bytes. The default is 4KB.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    /**
+     * Byte offset of the first footer line.
+     *
+     * @return Byte offset of the first footer line, or the size of the file if there is no footer line.
+     */
+    public long getFooterOffset() {
+        Assert.state(lines != null, "Reader must be open before the footer offset is available.");
+        return footerOffset;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(lineMapper, "lineMapper must be set.");
+        Assert.isTrue(footerLineCount >= 0, "footerLineCount must not be negative.");
+        Assert.isTrue(footerLineCount > 0 || footerStartPrefix != null,
+                "footerLineCount or footerStartPrefix must be set.");
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0.");
+    }
+
+    /**
+     * Read the footer lines from the end of the file.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be read, or has no line starting with {@code footerStartPrefix}.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            readFooter(channel);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read the footer. resource:" + resource, e);
+        }
+        readCount = Math.min(lines.size(), executionContext.getInt(getExecutionContextKey(READ_COUNT_KEY), 0));
+    }
+
+    /**
+     * Store the number of records read and the byte offset of the footer.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState && lines != null) {
+            executionContext.putInt(getExecutionContextKey(READ_COUNT_KEY), readCount);
+            executionContext.putLong(getExecutionContextKey(FOOTER_OFFSET_KEY), footerOffset);
+        }
+    }
+
+    /**
+     * Discard the footer lines.
+     */
+    @Override
+    public void close() {
+        super.close();
+        lines = null;
+    }
+
+    /**
+     * Read the next footer record.
+     *
+     * @return Item, or null after the last footer record.
+     * @throws FlatFileParseException If the record cannot be mapped.
+     */
+    @Override
+    public T read() throws Exception {
+        Assert.state(lines != null, "Reader must be open before it can be read.");
+        if (readCount >= lines.size()) {
+            return null;
+        }
+        String line = lines.get(readCount++);
+        try {
+            return lineMapper.mapLine(line, readCount);
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at footer line: " + readCount + " in resource=["
+                    + resource.getDescription() + "], input=[" + line + "]", e, line, readCount);
+        }
+    }
+
+    /**
+     * Search the line breaks backward from the end of the file, and decode the footer lines.
+     *
+     * @param channel Input file.
+     * @throws IOException If the file cannot be read.
+     */
+    private void readFooter(FileChannel channel) throws IOException {
+        byte[] lineFeed = encodedUnit("\n");
+        byte[] carriageReturn = encodedUnit("\r");
+        int unit = lineFeed.length;
+        long size = channel.size();
+        Deque<String> footer = new ArrayDeque<>();
+        long lineEnd = size;
+        if (size >= unit && Arrays.equals(readBytes(channel, size - unit, unit), lineFeed)) {
+            lineEnd = size - unit;
+        }
+        footerOffset = size;
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(unit, bufferSize - bufferSize % unit));
+        long position = lineEnd;
+        boolean found = false;
+        while (!found && position > 0) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            long blockStart = position - length;
+            buffer.clear().limit(length);
+            readFully(channel, buffer, blockStart);
+            byte[] block = buffer.array();
+            for (int i = length - unit; i >= 0 && !found; i -= unit) {
+                if (matches(block, i, lineFeed)) {
+                    long lineStart = blockStart + i + unit;
+                    found = addLine(channel, footer, lineStart, lineEnd, carriageReturn);
+                    lineEnd = blockStart + i;
+                }
+            }
+            position = blockStart;
+        }
+        if (!found && size > 0) {
+            found = addLine(channel, footer, 0, lineEnd, carriageReturn);
+        }
+        if (!found && footerStartPrefix != null) {
+            throw new ItemStreamException("No footer line starts with [" + footerStartPrefix + "]. resource:"
+                    + resource);
+        }
+        lines = new ArrayList<>(footer);
+    }
+
+    /**
+     * Decode a line and add it to the head of the footer.
+     *
+     * @param channel Input file.
+     * @param footer Footer lines found so far.
+     * @param start Byte offset of the line.
+     * @param end Byte offset of the end of the line, exclusive, without the line break.
+     * @param carriageReturn Bytes of CR.
+     * @return Whether the line is the first footer line.
+     * @throws IOException If the file cannot be read.
+     */
+    private boolean addLine(FileChannel channel, Deque<String> footer, long start, long end, byte[] carriageReturn)
+            throws IOException {
+        long length = end - start;
+        Assert.state(length <= Integer.MAX_VALUE, "A footer line is too long. offset:" + start);
+        byte[] bytes = readBytes(channel, start, (int) length);
+        int contentLength = bytes.length;
+        if (contentLength >= carriageReturn.length && matches(bytes, contentLength - carriageReturn.length,
+                carriageReturn)) {
+            contentLength -= carriageReturn.length;
+        }
+        String line = charset.decode(ByteBuffer.wrap(bytes, 0, contentLength)).toString();
+        footer.addFirst(line);
+        footerOffset = start;
+        return footer.size() == footerLineCount || footerStartPrefix != null && line.startsWith(footerStartPrefix);
+    }
+
+    /**
+     * Encode a character without the byte order mark.
+     *
+     * @param character Character to encode.
+     * @return Bytes of the character.
+     * @throws CharacterCodingException If the character cannot be encoded.
+     */
+    private byte[] encodedUnit(String character) throws CharacterCodingException {
+        ByteBuffer one = charset.newEncoder().encode(CharBuffer.wrap(character));
+        ByteBuffer two = charset.newEncoder().encode(CharBuffer.wrap(character + character));
+        int unit = two.remaining() - one.remaining();
+        byte[] bytes = new byte[unit];
+        two.position(two.limit() - unit);
+        two.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] readBytes(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(channel, buffer, position);
+        return buffer.array();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at " + current);
+            }
+            current += read;
+        }
+    }
+
+    private static boolean matches(byte[] bytes, int offset, byte[] pattern) {
+        for (int i = 0; i < pattern.length; i++) {
+            if (bytes[offset + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * {@link FieldExtractor} that calls the getters of the item directly.
+ * <p>
+ * {@link BeanWrapperFieldExtractor} creates a {@code BeanWrapper} for every item and looks up each property by its
+ * name. This extractor generates a getter call of each property with {@link LambdaMetafactory} once per item type, and
+ * chains the getters of a nested property such as {@code branch.branchId} by the declared types of the getters.
+ * </p>
+ * <p>
+ * When a name is not a public readable property, such as an indexed property, or an intermediate value of a nested
+ * property is null, the value is read by a {@code BeanWrapper} in the same way as {@link BeanWrapperFieldExtractor}, so
+ * that the same value or the same exception is returned.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class GeneratedFieldExtractor<T> implements FieldExtractor<T>, InitializingBean {
+
+    /**
+     * Getters of the readable properties generated for each type.
+     */
+    private static final ConcurrentMap<Class<?>, Map<String, Getter>> GETTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Names of the properties to extract.
+     */
+    private String[] names;
+
+    /**
+     * Binding of the type of the last item.
+     */
+    private volatile Binding binding;
+
+    /**
+     * Names of the properties to extract.
+     *
+     * @param names Names of the properties. A nested property is separated by dots.
+     */
+    public void setNames(String[] names) {
+        Assert.notNull(names, "Names must be non-null");
+        this.names = names.clone();
+    }
+
+    /**
+     * Check the names.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(names != null, "The 'names' property must be set.");
+    }
+
+    /**
+     * Extract the properties of an item.
+     *
+     * @param item Item.
+     * @return Values of the properties in the order of the names.
+     */
+    @Override
+    public Object[] extract(T item) {
+        Class<?> type = item.getClass();
+        Binding current = binding;
+        if (current == null || current.type != type) {
+            current = bind(type);
+            binding = current;
+        }
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Getter[] path = current.paths[i];
+            values[i] = path == null ? readByBeanWrapper(item, names[i]) : read(item, names[i], path);
+        }
+        return values;
+    }
+
+    private static Object read(Object item, String name, Getter[] path) {
+        Object value = item;
+        for (int i = 0; i < path.length; i++) {
+            if (value == null) {
+                return readByBeanWrapper(item, name);
+            }
+            try {
+                value = path[i].function.apply(value);
+            } catch (RuntimeException e) {
+                return readByBeanWrapper(item, name);
+            }
+        }
+        return value;
+    }
+
+    private static Object readByBeanWrapper(Object item, String name) {
+        return new BeanWrapperImpl(item).getPropertyValue(name);
+    }
+
+    /**
+     * Chain the getters of each name for an item type.
+     *
+     * @param type Item type.
+     * @return Binding. The path of a name is null if it must be read by a {@code BeanWrapper}.
+     */
+    private Binding bind(Class<?> type) {
+        Getter[][] paths = new Getter[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            paths[i] = path(type, names[i]);
+        }
+        return new Binding(type, paths);
+    }
+
+    private static Getter[] path(Class<?> type, String name) {
+        if (name.indexOf('[') >= 0) {
+            return null;
+        }
+        String[] segments = name.split("\\.", -1);
+        Getter[] path = new Getter[segments.length];
+        Class<?> current = type;
+        for (int i = 0; i < segments.length; i++) {
+            Getter getter = GETTERS.computeIfAbsent(current, GeneratedFieldExtractor::generate).get(segments[i]);
+            if (getter == null) {
+                return null;
+            }
+            path[i] = getter;
+            current = getter.type;
+        }
+        return path;
+    }
+
+    private static Map<String, Getter> generate(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<String, Getter> getters = new HashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod == null || !Modifier.isPublic(readMethod.getModifiers())
+                    || !Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
+                continue;
+            }
+            try {
+                getters.put(descriptor.getName(), new Getter(readMethod.getReturnType(), generateGetter(lookup,
+                        readMethod)));
+            } catch (Throwable e) {
+                // the property is read by a BeanWrapper.
+            }
+        }
+        return getters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> generateGetter(MethodHandles.Lookup lookup,
+            Method readMethod) throws Throwable {
+        MethodHandle handle = lookup.unreflect(readMethod);
+        Class<?> returnType = ClassUtils.resolvePrimitiveIfNecessary(readMethod.getReturnType());
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle,
+                MethodType.methodType(returnType, readMethod.getDeclaringClass()));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    /**
+     * Getters of the names for an item type.
+     */
+    private static final class Binding {
+
+        private final Class<?> type;
+
+        private final Getter[][] paths;
+
+        Binding(Class<?> type, Getter[][] paths) {
+            this.type = type;
+            this.paths = paths;
+        }
+    }
+
+    /**
+     * Getter generated for a readable property.
+     */
+    private static final class Getter {
+
+        /**
+         * Declared type of the property.
+         */
+        private final Class<?> type;
+
+        private final Function<Object, Object> function;
+
+        Getter(Class<?> type, Function<Object, Object> function) {
+            this.type = type;
+            this.function = function;
+        }
+    }
+}
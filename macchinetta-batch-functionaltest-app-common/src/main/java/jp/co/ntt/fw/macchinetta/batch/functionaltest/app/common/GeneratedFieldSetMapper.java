@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.PropertyAccessException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.propertyeditors.CustomBooleanEditor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.DefaultBindingErrorProcessor;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link FieldSetMapper} that calls the constructor and the setters of the target type directly.
+ * <p>
+ * {@link BeanWrapperFieldSetMapper} looks up the properties and converts the values through a {@code BeanWrapper} for
+ * every line. This mapper generates a constructor call and a setter call of each property with
+ * {@link LambdaMetafactory} once per target type, and chooses the conversion of each property once per field names.
+ * The conversion rules are the same as {@link BeanWrapperFieldSetMapper}:
+ * </p>
+ * <ul>
+ * <li>the values are trimmed, and a field whose token is null is not set.</li>
+ * <li>{@code String} is set as it is.</li>
+ * <li>numbers are parsed by {@link NumberUtils#parseNumber}. A blank value is set as null to a wrapper type and is
+ * rejected for a primitive type.</li>
+ * <li>booleans are converted by {@link CustomBooleanEditor}.</li>
+ * <li>when {@code conversionService} is set, it converts every value it can convert.</li>
+ * <li>a conversion error is reported as {@link BindException} after all fields are set.</li>
+ * </ul>
+ * <p>
+ * When a field name is not a property of the target type, or a property has another type such as a date, the mapping
+ * is delegated to {@link BeanWrapperFieldSetMapper} so that fuzzy name matching and the other property editors keep
+ * working.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class GeneratedFieldSetMapper<T> implements FieldSetMapper<T>, InitializingBean {
+
+    /**
+     * Accessors generated for each target type.
+     */
+    private static final ConcurrentMap<Class<?>, Accessors> ACCESSORS = new ConcurrentHashMap<>();
+
+    /**
+     * Target type.
+     */
+    private Class<? extends T> targetType;
+
+    /**
+     * Conversion service used before the default conversion.
+     */
+    private ConversionService conversionService;
+
+    /**
+     * Mapper used when the field names cannot be mapped directly.
+     */
+    private BeanWrapperFieldSetMapper<T> delegate;
+
+    /**
+     * Accessors of {@code targetType}.
+     */
+    private Accessors accessors;
+
+    /**
+     * Binding of the field names of the last field set.
+     */
+    private volatile Binding binding;
+
+    /**
+     * Create the mapper enabled by a switch.
+     * <p>
+     * This method allows an existing job to opt in to this mapper with a property.
+     * </p>
+     *
+     * @param targetType Target type.
+     * @param generated Whether this mapper is used. If false, {@link BeanWrapperFieldSetMapper} is returned.
+     * @param <T> Type of item.
+     * @return Initialized mapper.
+     * @throws Exception If the mapper cannot be initialized.
+     */
+    public static <T> FieldSetMapper<T> of(Class<? extends T> targetType, boolean generated) throws Exception {
+        if (generated) {
+            GeneratedFieldSetMapper<T> mapper = new GeneratedFieldSetMapper<>();
+            mapper.setTargetType(targetType);
+            mapper.afterPropertiesSet();
+            return mapper;
+        }
+        BeanWrapperFieldSetMapper<T> mapper = new BeanWrapperFieldSetMapper<>();
+        mapper.setTargetType(targetType);
+        mapper.afterPropertiesSet();
+        return mapper;
+    }
+
+    /**
+     * Target type.
+     *
+     * @param targetType Target type. It must have a public constructor without arguments.
+     */
+    public void setTargetType(Class<? extends T> targetType) {
+        this.targetType = targetType;
+    }
+
+    /**
+     * Conversion service used before the default conversion.
+     *
+     * @param conversionService Conversion service.
+     */
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Generate the accessors of the target type.
+     *
+     * @throws Exception If the delegate cannot be initialized.
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(targetType, "targetType must be set.");
+        delegate = new BeanWrapperFieldSetMapper<>();
+        delegate.setTargetType(targetType);
+        if (conversionService != null) {
+            delegate.setConversionService(conversionService);
+        }
+        delegate.afterPropertiesSet();
+        accessors = ACCESSORS.computeIfAbsent(targetType, Accessors::generate);
+    }
+
+    /**
+     * Map the field set to a new instance of the target type.
+     *
+     * @param fieldSet Field set with names.
+     * @return Item.
+     * @throws BindException If a value cannot be converted.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapFieldSet(FieldSet fieldSet) throws BindException {
+        String[] names = fieldSet.getNames();
+        Binding current = binding;
+        if (current == null || !Arrays.equals(current.names, names)) {
+            current = bind(names);
+            binding = current;
+        }
+        if (current.setters == null) {
+            return delegate.mapFieldSet(fieldSet);
+        }
+
+        Object target = accessors.constructor.get();
+        BeanPropertyBindingResult errors = null;
+        for (int i = 0; i < names.length; i++) {
+            String value = fieldSet.readRawString(i);
+            if (value == null) {
+                continue;
+            }
+            value = value.trim();
+            PropertyAccessException error;
+            try {
+                current.setters[i].accept(target, current.converters[i].apply(value));
+                continue;
+            } catch (ConversionFailedException e) {
+                error = new TypeMismatchException(new PropertyChangeEvent(target, names[i], null, value),
+                        current.types[i], e);
+            } catch (IllegalArgumentException e) {
+                error = new TypeMismatchException(new PropertyChangeEvent(target, names[i], null, value),
+                        current.types[i], e);
+            } catch (RuntimeException e) {
+                error = new MethodInvocationException(new PropertyChangeEvent(target, names[i], null, value), e);
+            }
+            if (errors == null) {
+                errors = new BeanPropertyBindingResult(target, "target");
+            }
+            new DefaultBindingErrorProcessor().processPropertyAccessException(error, errors);
+        }
+        if (errors != null) {
+            throw new BindException(errors);
+        }
+        return (T) target;
+    }
+
+    /**
+     * Choose the setter and the conversion of each field name.
+     *
+     * @param names Field names.
+     * @return Binding. Its setters are null if the names must be mapped by the delegate.
+     */
+    private Binding bind(String[] names) {
+        if (accessors.constructor == null) {
+            return new Binding(names, null, null, null);
+        }
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        BiConsumer<Object, Object>[] setters = new BiConsumer[names.length];
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Function<String, Object>[] converters = new Function[names.length];
+        Class<?>[] types = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Property property = accessors.properties.get(names[i]);
+            Function<String, Object> converter = property == null ? null : converter(property);
+            if (converter == null) {
+                return new Binding(names, null, null, null);
+            }
+            setters[i] = property.setter;
+            converters[i] = converter;
+            types[i] = property.type;
+        }
+        return new Binding(names, setters, converters, types);
+    }
+
+    /**
+     * Choose the conversion of a property in the same order as {@code BeanWrapper}.
+     *
+     * @param property Property.
+     * @return Conversion, or null if it must be done by the delegate.
+     */
+    private Function<String, Object> converter(Property property) {
+        Class<?> type = property.type;
+        if (conversionService != null) {
+            TypeDescriptor targetDescriptor = new TypeDescriptor(MethodParameter.forExecutable(
+                    property.descriptor.getWriteMethod(), 0));
+            TypeDescriptor sourceDescriptor = TypeDescriptor.valueOf(String.class);
+            if (conversionService.canConvert(sourceDescriptor, targetDescriptor)) {
+                return value -> conversionService.convert(value, sourceDescriptor, targetDescriptor);
+            }
+        }
+        if (type == String.class || type == Object.class) {
+            return value -> value;
+        }
+        Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+        boolean allowEmpty = !type.isPrimitive();
+        if (Number.class.isAssignableFrom(wrapper) && isDefaultNumber(wrapper)) {
+            @SuppressWarnings("unchecked")
+            Class<? extends Number> numberType = (Class<? extends Number>) wrapper;
+            return value -> allowEmpty && !StringUtils.hasText(value) ? null
+                    : NumberUtils.parseNumber(value, numberType);
+        }
+        if (wrapper == Boolean.class) {
+            return value -> {
+                CustomBooleanEditor editor = new CustomBooleanEditor(allowEmpty);
+                editor.setAsText(value);
+                return editor.getValue();
+            };
+        }
+        return null;
+    }
+
+    private static boolean isDefaultNumber(Class<?> type) {
+        return type == Byte.class || type == Short.class || type == Integer.class || type == Long.class
+                || type == Float.class || type == Double.class || type == BigDecimal.class
+                || type == BigInteger.class;
+    }
+
+    /**
+     * Setters and the conversions of a list of field names.
+     */
+    private static final class Binding {
+
+        private final String[] names;
+
+        private final BiConsumer<Object, Object>[] setters;
+
+        private final Function<String, Object>[] converters;
+
+        private final Class<?>[] types;
+
+        Binding(String[] names, BiConsumer<Object, Object>[] setters, Function<String, Object>[] converters,
+                Class<?>[] types) {
+            this.names = names;
+            this.setters = setters;
+            this.converters = converters;
+            this.types = types;
+        }
+    }
+
+    /**
+     * Writable property of the target type.
+     */
+    private static final class Property {
+
+        private final PropertyDescriptor descriptor;
+
+        private final Class<?> type;
+
+        private final BiConsumer<Object, Object> setter;
+
+        Property(PropertyDescriptor descriptor, BiConsumer<Object, Object> setter) {
+            this.descriptor = descriptor;
+            this.type = descriptor.getPropertyType();
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * Constructor and setters generated for a target type.
+     */
+    private static final class Accessors {
+
+        /**
+         * Constructor, or null if the type has no public constructor without arguments.
+         */
+        private final Supplier<Object> constructor;
+
+        private final Map<String, Property> properties;
+
+        Accessors(Supplier<Object> constructor, Map<String, Property> properties) {
+            this.constructor = constructor;
+            this.properties = properties;
+        }
+
+        /**
+         * Generate the accessors of a type.
+         * <p>
+         * The generated classes refer to the target type and the parameter types of the setters by name, so only the
+         * types visible from the class loader of this class are generated. The other ones are mapped by the delegate.
+         * </p>
+         *
+         * @param type Target type.
+         * @return Accessors.
+         */
+        static Accessors generate(Class<?> type) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Supplier<Object> constructor = null;
+            try {
+                if (Modifier.isPublic(type.getModifiers()) && !Modifier.isAbstract(type.getModifiers())
+                        && isVisible(type)) {
+                    constructor = generateConstructor(lookup, type);
+                }
+            } catch (Throwable e) {
+                constructor = null;
+            }
+            Map<String, Property> properties = new HashMap<>();
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+                Method writeMethod = descriptor.getWriteMethod();
+                if (writeMethod == null || !Modifier.isPublic(writeMethod.getModifiers())
+                        || !Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())
+                        || !isVisible(writeMethod.getDeclaringClass())
+                        || !isVisible(writeMethod.getParameterTypes()[0])) {
+                    continue;
+                }
+                try {
+                    properties.put(descriptor.getName(),
+                            new Property(descriptor, generateSetter(lookup, writeMethod)));
+                } catch (Throwable e) {
+                    // the property is mapped by the delegate.
+                }
+            }
+            return new Accessors(constructor, properties);
+        }
+
+        private static boolean isVisible(Class<?> type) {
+            return type.isPrimitive() || ClassUtils.isVisible(type, GeneratedFieldSetMapper.class.getClassLoader());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Supplier<Object> generateConstructor(MethodHandles.Lookup lookup,
+                Class<?> type) throws Throwable {
+            MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BiConsumer<Object, Object> generateSetter(MethodHandles.Lookup lookup,
+                Method writeMethod) throws Throwable {
+            MethodHandle handle = lookup.unreflect(writeMethod);
+            Class<?> parameterType = ClassUtils.resolvePrimitiveIfNecessary(writeMethod.getParameterTypes()[0]);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), handle,
+                    MethodType.methodType(void.class, writeMethod.getDeclaringClass(), parameterType));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        }
+    }
+}
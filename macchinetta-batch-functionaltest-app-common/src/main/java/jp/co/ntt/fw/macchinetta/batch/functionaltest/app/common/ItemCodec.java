@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary form of an item used to spill items to a temporary file.
+ * <p>
+ * {@link #decode(DataInput)} must read exactly the bytes written by {@link #encode(Object, DataOutput)}, so that the
+ * items can be written one after another without a separator.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public interface ItemCodec<T> {
+
+    /**
+     * Write an item.
+     *
+     * @param item Item.
+     * @param out Output.
+     * @throws IOException If the item cannot be written.
+     */
+    void encode(T item, DataOutput out) throws IOException;
+
+    /**
+     * Read an item.
+     *
+     * @param in Input.
+     * @return Item.
+     * @throws IOException If the item cannot be read.
+     */
+    T decode(DataInput in) throws IOException;
+}
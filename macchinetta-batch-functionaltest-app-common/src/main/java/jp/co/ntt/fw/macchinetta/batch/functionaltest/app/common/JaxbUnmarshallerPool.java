@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.ValidationEventHandler;
+import jakarta.xml.bind.ValidationException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.oxm.UncategorizedMappingException;
+import org.springframework.oxm.UnmarshallingFailureException;
+import org.springframework.oxm.ValidationFailureException;
+import org.springframework.oxm.XmlMappingException;
+import org.springframework.util.Assert;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of JAXB {@link Unmarshaller}s sharing one {@link JAXBContext} and one compiled {@link Schema}.
+ * <p>
+ * {@code Jaxb2Marshaller} creates a new {@code Unmarshaller} for each item, and a step scoped {@code Jaxb2Marshaller}
+ * creates the context and compiles the schema again in each step. Since {@code JAXBContext} and {@code Schema} are
+ * thread-safe, this pool creates them once, and is defined as a singleton shared by the steps and the partitions of a
+ * job. An {@code Unmarshaller} is not thread-safe, so it is borrowed by one thread for one fragment and returned to the
+ * pool afterwards. An {@code Unmarshaller} that failed is discarded instead of being returned.
+ * </p>
+ * <p>
+ * Exceptions are translated in the same way as {@code Jaxb2Marshaller}, so a reader using this pool fails with the same
+ * {@link XmlMappingException} as {@code StaxEventItemReader}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class JaxbUnmarshallerPool implements InitializingBean {
+
+    /**
+     * Classes bound to the context.
+     */
+    private Class<?>[] classesToBeBound;
+
+    /**
+     * Schema to validate the fragments.
+     */
+    private Resource schema;
+
+    /**
+     * Handler of validation events.
+     */
+    private ValidationEventHandler validationEventHandler;
+
+    /**
+     * Idle unmarshallers.
+     */
+    private final Queue<Unmarshaller> idle = new ConcurrentLinkedQueue<>();
+
+    private JAXBContext jaxbContext;
+
+    private Schema compiledSchema;
+
+    /**
+     * Classes bound to the context.
+     *
+     * @param classesToBeBound Classes annotated with JAXB annotations.
+     */
+    public void setClassesToBeBound(Class<?>... classesToBeBound) {
+        this.classesToBeBound = classesToBeBound;
+    }
+
+    /**
+     * Schema to validate the fragments.
+     *
+     * @param schema W3C XML schema. No validation if not set.
+     */
+    public void setSchema(Resource schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Handler of validation events.
+     *
+     * @param validationEventHandler Handler of validation events.
+     */
+    public void setValidationEventHandler(ValidationEventHandler validationEventHandler) {
+        this.validationEventHandler = validationEventHandler;
+    }
+
+    /**
+     * Create the context and compile the schema.
+     *
+     * @throws JAXBException If the context cannot be created.
+     * @throws IOException If the schema cannot be read.
+     * @throws SAXException If the schema is invalid.
+     */
+    @Override
+    public void afterPropertiesSet() throws JAXBException, IOException, SAXException {
+        Assert.notEmpty(classesToBeBound, "classesToBeBound must be set.");
+        jaxbContext = JAXBContext.newInstance(classesToBeBound);
+        if (schema != null) {
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            try (InputStream in = schema.getInputStream()) {
+                compiledSchema = schemaFactory.newSchema(new StreamSource(in, schema.getURI().toString()));
+            }
+        }
+    }
+
+    /**
+     * Unmarshal the element at the current position of the reader with a pooled unmarshaller.
+     * <p>
+     * The reader must be on a {@code START_ELEMENT}, and is positioned on the event after the matching
+     * {@code END_ELEMENT} when this method returns.
+     * </p>
+     *
+     * @param reader StAX reader on a start element.
+     * @return Unmarshalled object.
+     * @throws XmlMappingException If the element cannot be unmarshalled or is invalid.
+     */
+    public Object unmarshal(XMLStreamReader reader) {
+        Unmarshaller unmarshaller = borrow();
+        Object result;
+        try {
+            result = unmarshaller.unmarshal(reader);
+        } catch (JAXBException e) {
+            throw convertJaxbException(e);
+        }
+        idle.offer(unmarshaller);
+        return result instanceof JAXBElement ? ((JAXBElement<?>) result).getValue() : result;
+    }
+
+    private Unmarshaller borrow() {
+        Unmarshaller unmarshaller = idle.poll();
+        if (unmarshaller != null) {
+            return unmarshaller;
+        }
+        Assert.state(jaxbContext != null, "JaxbUnmarshallerPool is not initialized.");
+        try {
+            unmarshaller = jaxbContext.createUnmarshaller();
+            unmarshaller.setSchema(compiledSchema);
+            if (validationEventHandler != null) {
+                unmarshaller.setEventHandler(validationEventHandler);
+            }
+            return unmarshaller;
+        } catch (JAXBException e) {
+            throw convertJaxbException(e);
+        }
+    }
+
+    private XmlMappingException convertJaxbException(JAXBException e) {
+        if (e instanceof ValidationException) {
+            return new ValidationFailureException("JAXB validation exception", e);
+        }
+        if (e instanceof UnmarshalException) {
+            return new UnmarshallingFailureException("JAXB unmarshalling exception", e);
+        }
+        return new UncategorizedMappingException(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+/**
+ * Pair of items joined by {@link SortMergeJoinItemReader}.
+ *
+ * @param <L> Type of the left item.
+ * @param <R> Type of the right item.
+ * @since 2.7.0
+ */
+public class JoinedItem<L, R> {
+
+    /**
+     * Left item.
+     */
+    private final L left;
+
+    /**
+     * Right item.
+     */
+    private final R right;
+
+    /**
+     * Constructor.
+     *
+     * @param left Left item.
+     * @param right Right item, or null if no right item has the key of the left item.
+     */
+    public JoinedItem(L left, R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Left item.
+     *
+     * @return Left item.
+     */
+    public L getLeft() {
+        return left;
+    }
+
+    /**
+     * Right item.
+     *
+     * @return Right item, or null if no right item has the key of the left item.
+     */
+    public R getRight() {
+        return right;
+    }
+
+    @Override
+    public String toString() {
+        return "JoinedItem{" + "left=" + left + ", right=" + right + '}';
+    }
+}
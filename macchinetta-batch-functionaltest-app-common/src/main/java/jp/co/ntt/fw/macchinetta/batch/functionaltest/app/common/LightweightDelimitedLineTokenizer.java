@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.FieldSetFactory;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link DelimitedLineTokenizer} that creates the tokens of a line with fewer allocations.
+ * <p>
+ * {@link DelimitedLineTokenizer} collects the tokens in a list, copies the list to adjust the number of tokens, and
+ * copies it again to an array for the field set. It also boxes the index of every field to look up the included
+ * fields, and searches each quoted field again for escaped quotes. This tokenizer scans the line once with the same
+ * rules, and writes each token directly into the array passed to the field set. A token is cut from the line with a
+ * single {@link String#substring}, and only a quoted field that contains escaped quotes is copied through a buffer.
+ * Unless a field set factory is set, the tokens are returned as a {@link LightweightFieldSet}, which creates the number
+ * and date formats only when a value is converted.
+ * </p>
+ * <p>
+ * All properties of {@link DelimitedLineTokenizer} are supported, including the quote character, a delimiter of more
+ * than one character such as a tab, the included fields and the strict mode, and the resulting field set is the same.
+ * This tokenizer holds no state between lines, so it can be shared in the same way as {@link DelimitedLineTokenizer}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class LightweightDelimitedLineTokenizer extends DelimitedLineTokenizer {
+
+    /**
+     * Delimiter.
+     */
+    private String delimiter = DELIMITER_COMMA;
+
+    /**
+     * Quote character.
+     */
+    private char quoteCharacter = DEFAULT_QUOTE_CHARACTER;
+
+    /**
+     * Whether each field index is included, or null if all fields are included.
+     */
+    private boolean[] includedFields;
+
+    /**
+     * Factory of the field set, or null to create a {@link LightweightFieldSet}.
+     */
+    private FieldSetFactory fieldSetFactory;
+
+    /**
+     * Create a tokenizer with the comma delimiter.
+     */
+    public LightweightDelimitedLineTokenizer() {
+        super();
+    }
+
+    /**
+     * Create a tokenizer with the delimiter.
+     *
+     * @param delimiter Delimiter.
+     */
+    public LightweightDelimitedLineTokenizer(String delimiter) {
+        super(delimiter);
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public void setDelimiter(String delimiter) {
+        super.setDelimiter(delimiter);
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public void setQuoteCharacter(char quoteCharacter) {
+        super.setQuoteCharacter(quoteCharacter);
+        this.quoteCharacter = quoteCharacter;
+    }
+
+    @Override
+    public void setIncludedFields(int... includedFields) {
+        super.setIncludedFields(includedFields);
+        int max = -1;
+        for (int index : includedFields) {
+            max = Math.max(max, index);
+        }
+        this.includedFields = new boolean[max + 1];
+        for (int index : includedFields) {
+            if (index >= 0) {
+                this.includedFields[index] = true;
+            }
+        }
+    }
+
+    @Override
+    public void setFieldSetFactory(FieldSetFactory fieldSetFactory) {
+        super.setFieldSetFactory(fieldSetFactory);
+        this.fieldSetFactory = fieldSetFactory;
+    }
+
+    /**
+     * Tokenize the line into a field set.
+     *
+     * @param line Line. Null is handled as an empty line.
+     * @return Field set.
+     * @throws IncorrectTokenCountException If the number of tokens differs from the names in the strict mode.
+     */
+    @Override
+    public FieldSet tokenize(String line) {
+        if (line == null) {
+            line = "";
+        }
+        String[] tokens = scan(line);
+        if (names.length == 0) {
+            if (fieldSetFactory == null) {
+                return new LightweightFieldSet(tokens, null);
+            }
+            return fieldSetFactory.create(tokens);
+        }
+        if (!isStrict() && tokens.length != names.length) {
+            int count = tokens.length;
+            tokens = Arrays.copyOf(tokens, names.length);
+            if (count < names.length) {
+                Arrays.fill(tokens, count, names.length, "");
+            }
+        }
+        if (tokens.length != names.length) {
+            throw new IncorrectTokenCountException(names.length, tokens.length, line);
+        }
+        if (fieldSetFactory == null) {
+            return new LightweightFieldSet(tokens, names);
+        }
+        return fieldSetFactory.create(tokens, names);
+    }
+
+    @Override
+    protected List<String> doTokenize(String line) {
+        return Arrays.asList(scan(line));
+    }
+
+    /**
+     * Cut the tokens of the included fields.
+     *
+     * @param line Line.
+     * @return Tokens.
+     */
+    private String[] scan(String line) {
+        String[] tokens = new String[Math.max(names.length, 8)];
+        int tokenCount = 0;
+        int delimiterLength = delimiter.length();
+        int length = line.length();
+        boolean inQuoted = false;
+        int lastCut = 0;
+        int fieldCount = 0;
+        int endIndexLastDelimiter = -1;
+
+        for (int i = 0; i < length; i++) {
+            char currentChar = line.charAt(i);
+            boolean isEnd = i == length - 1;
+            boolean isDelimiter = endsWithDelimiter(line, i, endIndexLastDelimiter, delimiterLength);
+
+            if ((isDelimiter && !inQuoted) || isEnd) {
+                endIndexLastDelimiter = i;
+                int endPosition = isEnd ? length - lastCut : i - lastCut;
+                if (isEnd && isDelimiter) {
+                    endPosition -= delimiterLength;
+                } else if (!isEnd) {
+                    endPosition = endPosition - delimiterLength + 1;
+                }
+
+                if (isIncluded(fieldCount)) {
+                    if (tokenCount == tokens.length) {
+                        tokens = Arrays.copyOf(tokens, tokenCount * 2);
+                    }
+                    tokens[tokenCount++] = cut(line, lastCut, endPosition);
+                }
+                fieldCount++;
+
+                if (isEnd && isDelimiter) {
+                    if (isIncluded(fieldCount)) {
+                        if (tokenCount == tokens.length) {
+                            tokens = Arrays.copyOf(tokens, tokenCount * 2);
+                        }
+                        tokens[tokenCount++] = "";
+                    }
+                    fieldCount++;
+                }
+                lastCut = i + 1;
+            } else if (isQuoteCharacter(currentChar)) {
+                inQuoted = !inQuoted;
+            }
+        }
+        return tokenCount == tokens.length ? tokens : Arrays.copyOf(tokens, tokenCount);
+    }
+
+    private boolean isIncluded(int fieldIndex) {
+        return includedFields == null || (fieldIndex < includedFields.length && includedFields[fieldIndex]);
+    }
+
+    private boolean endsWithDelimiter(String line, int end, int endIndexLastDelimiter, int delimiterLength) {
+        if (delimiterLength == 1) {
+            return line.charAt(end) == delimiter.charAt(0);
+        }
+        if (end - endIndexLastDelimiter < delimiterLength || end < delimiterLength - 1) {
+            return false;
+        }
+        int start = end - delimiterLength + 1;
+        for (int i = 0; i < delimiterLength && start + i < line.length(); i++) {
+            if (delimiter.charAt(i) != line.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cut a token, trimming the whitespace and the quotes if the token is quoted.
+     *
+     * @param line Line.
+     * @param offset Start of the token.
+     * @param count Length of the token.
+     * @return Token.
+     */
+    private String cut(String line, int offset, int count) {
+        int start = offset;
+        int len = count;
+        while (start < start + len - 1 && line.charAt(start) <= ' ') {
+            start++;
+            len--;
+        }
+        while (start < start + len && start + len - 1 < line.length() && line.charAt(start + len - 1) <= ' ') {
+            len--;
+        }
+        if (line.length() >= 2 && isQuoteCharacter(line.charAt(start))
+                && isQuoteCharacter(line.charAt(start + len - 1))) {
+            return unquote(line, start + 1, start + len - 1);
+        }
+        return line.substring(offset, offset + count);
+    }
+
+    /**
+     * Cut the inside of a quoted token, replacing each escaped quote with a quote.
+     *
+     * @param line Line.
+     * @param begin Start of the inside.
+     * @param end End of the inside, exclusive.
+     * @return Inside of the token.
+     */
+    private String unquote(String line, int begin, int end) {
+        int escaped = -1;
+        for (int i = begin; i < end - 1; i++) {
+            if (line.charAt(i) == quoteCharacter && line.charAt(i + 1) == quoteCharacter) {
+                escaped = i;
+                break;
+            }
+        }
+        if (escaped < 0) {
+            return line.substring(begin, end);
+        }
+        StringBuilder buffer = new StringBuilder(end - begin - 1).append(line, begin, escaped).append(quoteCharacter);
+        for (int i = escaped + 2; i < end; i++) {
+            char c = line.charAt(i);
+            buffer.append(c);
+            if (c == quoteCharacter && i + 1 < end && line.charAt(i + 1) == quoteCharacter) {
+                i++;
+            }
+        }
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * {@link FieldSet} created by {@link LightweightDelimitedLineTokenizer}.
+ * <p>
+ * {@link DefaultFieldSet} creates a number format and a date format for each line. This field set reads the strings,
+ * the names and the properties directly from the tokens, and creates a {@link DefaultFieldSet} of the same tokens only
+ * when a value is converted to another type, so the results are the same as {@link DefaultFieldSet}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+final class LightweightFieldSet implements FieldSet {
+
+    /**
+     * Tokens.
+     */
+    private final String[] tokens;
+
+    /**
+     * Names of the tokens, or null if the names are not known.
+     */
+    private final String[] names;
+
+    /**
+     * Field set that converts the values, created on first use.
+     */
+    private DefaultFieldSet delegate;
+
+    /**
+     * Create a field set.
+     *
+     * @param tokens Tokens. The array is not copied.
+     * @param names Names of the tokens, or null. The array is not copied.
+     */
+    LightweightFieldSet(String[] tokens, String[] names) {
+        this.tokens = tokens;
+        this.names = names;
+    }
+
+    @Override
+    public String[] getNames() {
+        if (names == null) {
+            throw new IllegalStateException("Field names are not known");
+        }
+        return names.clone();
+    }
+
+    @Override
+    public boolean hasNames() {
+        return names != null;
+    }
+
+    @Override
+    public String[] getValues() {
+        return tokens.clone();
+    }
+
+    @Override
+    public String readString(int index) {
+        return readAndTrim(index);
+    }
+
+    @Override
+    public String readString(String name) {
+        return readString(indexOf(name));
+    }
+
+    @Override
+    public String readRawString(int index) {
+        return tokens[index];
+    }
+
+    @Override
+    public String readRawString(String name) {
+        return readRawString(indexOf(name));
+    }
+
+    @Override
+    public boolean readBoolean(int index) {
+        return delegate().readBoolean(index);
+    }
+
+    @Override
+    public boolean readBoolean(String name) {
+        return delegate().readBoolean(name);
+    }
+
+    @Override
+    public boolean readBoolean(int index, String trueValue) {
+        return delegate().readBoolean(index, trueValue);
+    }
+
+    @Override
+    public boolean readBoolean(String name, String trueValue) {
+        return delegate().readBoolean(name, trueValue);
+    }
+
+    @Override
+    public char readChar(int index) {
+        return delegate().readChar(index);
+    }
+
+    @Override
+    public char readChar(String name) {
+        return delegate().readChar(name);
+    }
+
+    @Override
+    public byte readByte(int index) {
+        return delegate().readByte(index);
+    }
+
+    @Override
+    public byte readByte(String name) {
+        return delegate().readByte(name);
+    }
+
+    @Override
+    public short readShort(int index) {
+        return delegate().readShort(index);
+    }
+
+    @Override
+    public short readShort(String name) {
+        return delegate().readShort(name);
+    }
+
+    @Override
+    public int readInt(int index) {
+        return delegate().readInt(index);
+    }
+
+    @Override
+    public int readInt(String name) {
+        return delegate().readInt(name);
+    }
+
+    @Override
+    public int readInt(int index, int defaultValue) {
+        return delegate().readInt(index, defaultValue);
+    }
+
+    @Override
+    public int readInt(String name, int defaultValue) {
+        return delegate().readInt(name, defaultValue);
+    }
+
+    @Override
+    public long readLong(int index) {
+        return delegate().readLong(index);
+    }
+
+    @Override
+    public long readLong(String name) {
+        return delegate().readLong(name);
+    }
+
+    @Override
+    public long readLong(int index, long defaultValue) {
+        return delegate().readLong(index, defaultValue);
+    }
+
+    @Override
+    public long readLong(String name, long defaultValue) {
+        return delegate().readLong(name, defaultValue);
+    }
+
+    @Override
+    public float readFloat(int index) {
+        return delegate().readFloat(index);
+    }
+
+    @Override
+    public float readFloat(String name) {
+        return delegate().readFloat(name);
+    }
+
+    @Override
+    public double readDouble(int index) {
+        return delegate().readDouble(index);
+    }
+
+    @Override
+    public double readDouble(String name) {
+        return delegate().readDouble(name);
+    }
+
+    @Override
+    public BigDecimal readBigDecimal(int index) {
+        return delegate().readBigDecimal(index);
+    }
+
+    @Override
+    public BigDecimal readBigDecimal(String name) {
+        return delegate().readBigDecimal(name);
+    }
+
+    @Override
+    public BigDecimal readBigDecimal(int index, BigDecimal defaultValue) {
+        return delegate().readBigDecimal(index, defaultValue);
+    }
+
+    @Override
+    public BigDecimal readBigDecimal(String name, BigDecimal defaultValue) {
+        return delegate().readBigDecimal(name, defaultValue);
+    }
+
+    @Override
+    public Date readDate(int index) {
+        return delegate().readDate(index);
+    }
+
+    @Override
+    public Date readDate(String name) {
+        return delegate().readDate(name);
+    }
+
+    @Override
+    public Date readDate(int index, Date defaultValue) {
+        return delegate().readDate(index, defaultValue);
+    }
+
+    @Override
+    public Date readDate(String name, Date defaultValue) {
+        return delegate().readDate(name, defaultValue);
+    }
+
+    @Override
+    public Date readDate(int index, String pattern) {
+        return delegate().readDate(index, pattern);
+    }
+
+    @Override
+    public Date readDate(String name, String pattern) {
+        return delegate().readDate(name, pattern);
+    }
+
+    @Override
+    public Date readDate(int index, String pattern, Date defaultValue) {
+        return delegate().readDate(index, pattern, defaultValue);
+    }
+
+    @Override
+    public Date readDate(String name, String pattern, Date defaultValue) {
+        return delegate().readDate(name, pattern, defaultValue);
+    }
+
+    @Override
+    public int getFieldCount() {
+        return tokens.length;
+    }
+
+    @Override
+    public Properties getProperties() {
+        if (names == null) {
+            throw new IllegalStateException("Cannot create properties without meta data");
+        }
+        Properties props = new Properties();
+        for (int i = 0; i < tokens.length; i++) {
+            String value = readAndTrim(i);
+            if (value != null) {
+                props.setProperty(names[i], value);
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Compare the tokens with another field set in the same way as {@link DefaultFieldSet#equals(Object)}. The names are
+     * not compared.
+     * <p>
+     * A {@link DefaultFieldSet} is equal only to a {@link DefaultFieldSet}, so this field set is equal only to a
+     * {@link LightweightFieldSet} to keep the equality symmetric. Compare {@link #getValues()} to compare the tokens of
+     * field sets of different types.
+     * </p>
+     *
+     * @param object Object to compare.
+     * @return Whether the object is a {@link LightweightFieldSet} with the same tokens.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object instanceof LightweightFieldSet) {
+            return Arrays.equals(tokens, ((LightweightFieldSet) object).tokens);
+        }
+        return false;
+    }
+
+    /**
+     * Hash code of the tokens, which is the same as {@link DefaultFieldSet#hashCode()} of the same tokens.
+     *
+     * @return Hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(tokens);
+    }
+
+    @Override
+    public String toString() {
+        if (names != null) {
+            return getProperties().toString();
+        }
+        return Arrays.asList(tokens).toString();
+    }
+
+    private String readAndTrim(int index) {
+        String value = tokens[index];
+        return value == null ? null : value.trim();
+    }
+
+    private int indexOf(String name) {
+        if (names == null) {
+            throw new IllegalArgumentException("Cannot access columns by name without meta data");
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (name == null ? names[i] == null : name.equals(names[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Cannot access column [" + name + "] from " + Arrays.asList(names));
+    }
+
+    private DefaultFieldSet delegate() {
+        if (delegate == null) {
+            delegate = names == null ? new DefaultFieldSet(tokens) : new DefaultFieldSet(tokens, names);
+        }
+        return delegate;
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.DefaultFieldSetFactory;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.FieldSetFactory;
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.Range;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of a fixed byte length file without line breaks that slices the fields directly from a memory-mapped file.
+ * <p>
+ * {@code FixedByteLengthBufferedReaderFactory} decodes each record into a {@link String}, and
+ * {@code FixedByteLengthLineTokenizer} encodes it again to cut the byte ranges. This reader maps the file with
+ * {@link FileChannel#map} and decodes only the byte ranges of {@code ranges}. Bytes outside the ranges are never
+ * decoded.
+ * </p>
+ * <p>
+ * Since the ranges are cut by bytes, a multi-byte character of MS932 or a surrogate pair of UTF-8 is decoded as a whole
+ * as long as it is inside a range. A range that splits a character is reported as {@link FlatFileParseException}
+ * instead of being replaced with a replacement character. A trailing record shorter than {@code recordLength} is
+ * reported in the same way with {@link IncorrectLineLengthException}.
+ * </p>
+ * <p>
+ * The file is mapped in windows of at most {@code windowSize} bytes, so a large file does not occupy the address space
+ * at once. The byte offset of the next record is stored in the execution context, and a restarted step maps the file
+ * from that offset without reading the preceding records.
+ * </p>
+ * <p>
+ * Note that a mapped file is unmapped when the buffer is garbage collected. On Windows, the file cannot be deleted
+ * until then.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class MappedFixedLengthItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>,
+                                        InitializingBean {
+
+    /**
+     * Key of the byte offset of the next record.
+     */
+    private static final String BYTE_OFFSET_KEY = "byte.offset";
+
+    /**
+     * Key of the number of records read.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Default maximum size of a mapped window.
+     */
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Input file.
+     */
+    private Resource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Length of a record in bytes.
+     */
+    private int recordLength;
+
+    /**
+     * Byte ranges of the fields, starting at 1.
+     */
+    private Range[] ranges;
+
+    /**
+     * Names of the fields.
+     */
+    private String[] names;
+
+    /**
+     * Mapper from the fields to an item.
+     */
+    private FieldSetMapper<T> fieldSetMapper;
+
+    /**
+     * Factory of the field set.
+     */
+    private FieldSetFactory fieldSetFactory = new DefaultFieldSetFactory();
+
+    /**
+     * Number of header records to skip.
+     */
+    private int recordsToSkip = 0;
+
+    /**
+     * Maximum size of a mapped window in bytes.
+     */
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    private FileChannel channel;
+
+    private long fileSize;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    private long offset;
+
+    private long readCount;
+
+    private CharsetDecoder decoder;
+
+    private CharBuffer fieldBuffer;
+
+    /**
+     * Constructor.
+     */
+    public MappedFixedLengthItemReader() {
+        setName(ClassUtils.getShortName(MappedFixedLengthItemReader.class));
+    }
+
+    /**
+     * Input file.
+     *
+     * @param resource Input file.
+     */
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Length of a record in bytes.
+     *
+     * @param recordLength Length of a record in bytes.
+     */
+    public void setRecordLength(int recordLength) {
+        this.recordLength = recordLength;
+    }
+
+    /**
+     * Byte ranges of the fields, starting at 1.
+     *
+     * @param ranges Byte ranges of the fields.
+     */
+    public void setRanges(Range... ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Names of the fields.
+     *
+     * @param names Names of the fields in the order of {@code ranges}.
+     */
+    public void setNames(String... names) {
+        this.names = names;
+    }
+
+    /**
+     * Mapper from the fields to an item.
+     *
+     * @param fieldSetMapper Mapper from the fields to an item.
+     */
+    public void setFieldSetMapper(FieldSetMapper<T> fieldSetMapper) {
+        this.fieldSetMapper = fieldSetMapper;
+    }
+
+    /**
+     * Factory of the field set.
+     *
+     * @param fieldSetFactory Factory of the field set. The default is {@link DefaultFieldSetFactory}.
+     */
+    public void setFieldSetFactory(FieldSetFactory fieldSetFactory) {
+        this.fieldSetFactory = fieldSetFactory;
+    }
+
+    /**
+     * Number of header records to skip.
+     *
+     * @param recordsToSkip Number of header records. The default is 0.
+     */
+    public void setRecordsToSkip(int recordsToSkip) {
+        this.recordsToSkip = recordsToSkip;
+    }
+
+    /**
+     * Maximum size of a mapped window in bytes.
+     * <p>
+     * The size is rounded down to a multiple of {@code recordLength}.
+     * </p>
+     *
+     * @param windowSize Maximum size of a mapped window. The default is 64MB.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.isTrue(recordLength > 0, "recordLength must be greater than 0.");
+        Assert.notEmpty(ranges, "ranges must be set.");
+        Assert.notNull(fieldSetMapper, "fieldSetMapper must be set.");
+        Assert.isTrue(names == null || names.length == ranges.length, "names must have the same length as ranges.");
+        Assert.isTrue(recordsToSkip >= 0, "recordsToSkip must not be negative.");
+        for (Range range : ranges) {
+            Assert.isTrue(range.hasMaxValue() && range.getMax() <= recordLength,
+                    "Each range must end within the record. range:" + range);
+        }
+    }
+
+    /**
+     * Map the file and move to the saved byte offset.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        int maxFieldLength = 0;
+        for (Range range : ranges) {
+            maxFieldLength = Math.max(maxFieldLength, range.getMax() - range.getMin() + 1);
+        }
+        fieldBuffer = CharBuffer.allocate((int) Math.ceil(maxFieldLength * (double) decoder.maxCharsPerByte()));
+
+        try {
+            channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+            fileSize = channel.size();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open the file. resource:" + resource, e);
+        }
+        offset = (long) recordsToSkip * recordLength;
+        readCount = 0;
+        if (executionContext.containsKey(getExecutionContextKey(BYTE_OFFSET_KEY))) {
+            offset = executionContext.getLong(getExecutionContextKey(BYTE_OFFSET_KEY));
+            readCount = executionContext.getLong(getExecutionContextKey(READ_COUNT_KEY), 0L);
+        }
+        window = null;
+    }
+
+    /**
+     * Store the byte offset of the next record.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(BYTE_OFFSET_KEY), offset);
+            executionContext.putLong(getExecutionContextKey(READ_COUNT_KEY), readCount);
+        }
+    }
+
+    /**
+     * Release the mapped window and close the file.
+     */
+    @Override
+    public void close() {
+        super.close();
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close the file. resource:" + resource, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return Item, or null at the end of the file.
+     * @throws FlatFileParseException If the record is incomplete or a field cannot be decoded or mapped.
+     */
+    @Override
+    public T read() throws Exception {
+        if (offset >= fileSize) {
+            return null;
+        }
+        long recordNumber = readCount + 1;
+        if (fileSize - offset < recordLength) {
+            throw new FlatFileParseException("Parsing error at record: " + recordNumber + " in resource=["
+                    + resource.getDescription() + "], offset=[" + offset + "]",
+                    new IncorrectLineLengthException("Record is shorter than " + recordLength + " bytes.",
+                            recordLength, (int) (fileSize - offset)), null, (int) recordNumber);
+        }
+        int position = positionInWindow();
+
+        String[] values = new String[ranges.length];
+        for (int i = 0; i < ranges.length; i++) {
+            Range range = ranges[i];
+            int start = position + range.getMin() - 1;
+            window.limit(start + range.getMax() - range.getMin() + 1).position(start);
+            try {
+                values[i] = decode(window);
+            } catch (CharacterCodingException e) {
+                throw new FlatFileParseException("Parsing error at record: " + recordNumber + " in resource=["
+                        + resource.getDescription() + "], range=[" + range + "]", e, null, (int) recordNumber);
+            }
+        }
+        offset += recordLength;
+        readCount = recordNumber;
+
+        FieldSet fieldSet = names == null ? fieldSetFactory.create(values) : fieldSetFactory.create(values, names);
+        try {
+            return fieldSetMapper.mapFieldSet(fieldSet);
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at record: " + recordNumber + " in resource=["
+                    + resource.getDescription() + "], input=[" + String.join("", values) + "]", e,
+                    String.join("", values), (int) recordNumber);
+        }
+    }
+
+    /**
+     * Map the window that contains the record at {@code offset}.
+     *
+     * @return Position of the record in the window.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private int positionInWindow() throws IOException {
+        if (window == null || offset < windowStart || offset + recordLength > windowStart + window.capacity()) {
+            long size = Math.max(recordLength, (windowSize / recordLength) * (long) recordLength);
+            size = Math.min(size, ((fileSize - offset) / recordLength) * recordLength);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            windowStart = offset;
+        }
+        return (int) (offset - windowStart);
+    }
+
+    private String decode(ByteBuffer field) throws CharacterCodingException {
+        decoder.reset();
+        fieldBuffer.clear();
+        CoderResult result = decoder.decode(field, fieldBuffer, true);
+        if (result.isUnderflow()) {
+            result = decoder.flush(fieldBuffer);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        return fieldBuffer.flip().toString();
+    }
+}
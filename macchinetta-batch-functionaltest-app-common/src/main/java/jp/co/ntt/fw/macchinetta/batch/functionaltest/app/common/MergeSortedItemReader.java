@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reader that streams the items of the sorted runs of {@link ExternalSortTasklet} in sorted order by a k-way merge.
+ * <p>
+ * The runs are given in the order of input, usually by {@code #{jobExecutionContext['ExternalSortTasklet.runs']}}
+ * promoted from the sort step. The number of items read is saved, and a restarted reader skips them in the runs. The
+ * runs are deleted when the reader is closed after all items are read, unless {@code deleteRuns} is false.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class MergeSortedItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MergeSortedItemReader.class);
+
+    /**
+     * Key of the number of items read.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Default size of the read buffer of a run.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Runs in the order of input.
+     */
+    private String[] runs;
+
+    /**
+     * Binary form of the items in a run.
+     */
+    private ItemCodec<T> codec;
+
+    /**
+     * Order of the items.
+     */
+    private Comparator<? super T> comparator;
+
+    /**
+     * Size of the read buffer of a run in bytes.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether the runs are deleted after all items are read.
+     */
+    private boolean deleteRuns = true;
+
+    /**
+     * Whether the state is saved to the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Merge of the opened runs.
+     */
+    private SortedRunMerger<T> merger;
+
+    /**
+     * Number of items read.
+     */
+    private long readCount;
+
+    /**
+     * Whether all items are read.
+     */
+    private boolean exhausted;
+
+    /**
+     * Start time of the merge.
+     */
+    private long startNanos;
+
+    /**
+     * Constructor.
+     */
+    public MergeSortedItemReader() {
+        setName(ClassUtils.getShortName(MergeSortedItemReader.class));
+    }
+
+    /**
+     * Runs in the order of input.
+     *
+     * @param runs Paths of the runs.
+     */
+    public void setRuns(String[] runs) {
+        this.runs = runs;
+    }
+
+    /**
+     * Binary form of the items in a run.
+     *
+     * @param codec Codec used by {@link ExternalSortTasklet}.
+     */
+    public void setCodec(ItemCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Order of the items.
+     *
+     * @param comparator Comparator used by {@link ExternalSortTasklet}.
+     */
+    public void setComparator(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Size of the read buffer of a run in bytes.
+     *
+     * @param bufferSize Size of the buffer. The default is 64KB.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Whether the runs are deleted after all items are read.
+     *
+     * @param deleteRuns Whether the runs are deleted. The default is true.
+     */
+    public void setDeleteRuns(boolean deleteRuns) {
+        this.deleteRuns = deleteRuns;
+    }
+
+    /**
+     * Whether the state is saved to the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(runs, "runs must be set.");
+        Assert.notNull(codec, "codec must be set.");
+        Assert.notNull(comparator, "comparator must be set.");
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0.");
+    }
+
+    /**
+     * Open the runs, and skip the items read before a restart.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If a run cannot be read.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        List<Path> paths = new ArrayList<>(runs.length);
+        for (String run : runs) {
+            paths.add(Paths.get(run));
+        }
+        readCount = 0;
+        exhausted = false;
+        startNanos = System.nanoTime();
+        try {
+            merger = new SortedRunMerger<>(paths, codec, comparator, bufferSize);
+            long skip = executionContext.getLong(getExecutionContextKey(READ_COUNT_KEY), 0L);
+            while (readCount < skip && merger.next() != null) {
+                readCount++;
+            }
+        } catch (IOException e) {
+            close();
+            throw new ItemStreamException("Failed to open the runs. runs:" + paths, e);
+        }
+    }
+
+    /**
+     * Store the number of items read.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(READ_COUNT_KEY), readCount);
+        }
+    }
+
+    /**
+     * Close the runs, and delete them if all items are read.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (merger == null) {
+            return;
+        }
+        try {
+            merger.close();
+            if (exhausted && deleteRuns) {
+                for (String run : runs) {
+                    Files.deleteIfExists(Paths.get(run));
+                }
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close the runs.", e);
+        } finally {
+            merger = null;
+        }
+    }
+
+    /**
+     * Read the next item in sorted order.
+     *
+     * @return Item, or null if all items are read.
+     * @throws IOException If a run cannot be read.
+     */
+    @Override
+    public T read() throws IOException {
+        Assert.state(merger != null, "The reader is not opened.");
+        T item = merger.next();
+        if (item != null) {
+            readCount++;
+        } else if (!exhausted) {
+            exhausted = true;
+            logger.info("Merged the sorted runs. runs:{}, items:{}, merge:{}ms", merger.runCount(), readCount,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        return item;
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.FlatFileFooterCallback;
+import org.springframework.batch.item.file.FlatFileHeaderCallback;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.util.FileUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Flat file writer that writes a gzip file, compressing the blocks of each chunk in parallel.
+ * <p>
+ * The lines of a chunk are encoded and split into blocks of {@code blockSize} bytes, and each block is compressed into
+ * an independent gzip member by a pool of {@code threads} threads. The members are written in order, and their
+ * concatenation is a valid gzip file that is read by {@code gzip -d} and {@link CompressedResource}. Since each chunk
+ * ends at a member boundary, the byte offset of the file and the number of lines are stored in the execution context in
+ * the same way as {@code FlatFileItemWriter}, and a restarted step truncates the file to the offset and appends new
+ * members. The reader restarts by the number of records, which is the position in the uncompressed content.
+ * </p>
+ * <p>
+ * The compression ratio is lower for small chunks, since each member starts with an empty dictionary. In a transaction,
+ * the compressed members are written before the commit, and the file is truncated again if the transaction is rolled
+ * back.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class ParallelGzipItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T>, InitializingBean {
+
+    /**
+     * Key of the byte offset of the end of the written members.
+     */
+    private static final String RESTART_DATA_NAME = "current.count";
+
+    /**
+     * Key of the number of written lines.
+     */
+    private static final String WRITTEN_STATISTICS_NAME = "written";
+
+    /**
+     * Default size of an uncompressed block.
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * Header of a gzip member with the deflate method, no flags, no time and an unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    /**
+     * Size of the trailer of a gzip member.
+     */
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    /**
+     * Output file.
+     */
+    private WritableResource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Aggregator from an item to a line.
+     */
+    private LineAggregator<T> lineAggregator;
+
+    /**
+     * Line separator.
+     */
+    private String lineSeparator = System.lineSeparator();
+
+    /**
+     * Callback to write the header.
+     */
+    private FlatFileHeaderCallback headerCallback;
+
+    /**
+     * Callback to write the footer.
+     */
+    private FlatFileFooterCallback footerCallback;
+
+    /**
+     * Whether the members are written before the commit of the transaction.
+     */
+    private boolean transactional = true;
+
+    /**
+     * Whether an existing file is deleted.
+     */
+    private boolean shouldDeleteIfExists = true;
+
+    /**
+     * Size of an uncompressed block in bytes.
+     */
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * Compression level.
+     */
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Number of compression threads.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Key of the members of the current transaction.
+     */
+    private final Object transactionKey = new Object();
+
+    private FileChannel channel;
+
+    private ExecutorService compressors;
+
+    private long position;
+
+    private long linesWritten;
+
+    /**
+     * Constructor.
+     */
+    public ParallelGzipItemWriter() {
+        setName(ClassUtils.getShortName(ParallelGzipItemWriter.class));
+    }
+
+    /**
+     * Output file.
+     *
+     * @param resource Output file.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the uncompressed content.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Aggregator from an item to a line.
+     *
+     * @param lineAggregator Aggregator from an item to a line.
+     */
+    public void setLineAggregator(LineAggregator<T> lineAggregator) {
+        this.lineAggregator = lineAggregator;
+    }
+
+    /**
+     * Line separator.
+     *
+     * @param lineSeparator Line separator. The default is the line separator of the system.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Callback to write the header.
+     *
+     * @param headerCallback Callback to write the header. It is called only when the file is empty.
+     */
+    public void setHeaderCallback(FlatFileHeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Callback to write the footer.
+     *
+     * @param footerCallback Callback to write the footer on close.
+     */
+    public void setFooterCallback(FlatFileFooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Whether the members are written before the commit of the transaction.
+     *
+     * @param transactional Whether the members are written before the commit. The default is true.
+     */
+    public void setTransactional(boolean transactional) {
+        this.transactional = transactional;
+    }
+
+    /**
+     * Whether an existing file is deleted.
+     *
+     * @param shouldDeleteIfExists Whether an existing file is deleted. The default is true.
+     */
+    public void setShouldDeleteIfExists(boolean shouldDeleteIfExists) {
+        this.shouldDeleteIfExists = shouldDeleteIfExists;
+    }
+
+    /**
+     * Size of an uncompressed block, which is compressed into a member by a thread.
+     *
+     * @param blockSize Size of a block in bytes. The default is 128KB.
+     */
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Compression level of {@link Deflater}.
+     *
+     * @param compressionLevel Compression level from 0 to 9, or -1 for the default.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Number of compression threads.
+     *
+     * @param threads Number of threads. The default is the number of processors.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(lineAggregator, "lineAggregator must be set.");
+        Assert.notNull(lineSeparator, "lineSeparator must be set.");
+        Assert.isTrue(blockSize > 0, "blockSize must be greater than 0.");
+        Assert.isTrue(compressionLevel >= Deflater.DEFAULT_COMPRESSION && compressionLevel <= Deflater.BEST_COMPRESSION,
+                "compressionLevel must be between -1 and 9.");
+        Assert.isTrue(threads > 0, "threads must be greater than 0.");
+    }
+
+    /**
+     * Open the file, truncate it to the saved byte offset, and write the header to an empty file.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        boolean restarted = executionContext.containsKey(getExecutionContextKey(RESTART_DATA_NAME));
+        try {
+            File file = resource.getFile();
+            FileUtils.setUpOutputFile(file, restarted, false, shouldDeleteIfExists);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+            if (restarted) {
+                position = executionContext.getLong(getExecutionContextKey(RESTART_DATA_NAME));
+                linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), 0L);
+                if (channel.size() < position) {
+                    throw new ItemStreamException("Current file size is smaller than size at last commit");
+                }
+                channel.truncate(position);
+            } else {
+                position = channel.size();
+                linesWritten = 0;
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw new ItemStreamException("Failed to initialize writer", e);
+        } catch (ItemStreamException e) {
+            closeChannel();
+            throw e;
+        }
+        String threadName = getName() + "-compressor-";
+        AtomicInteger count = new AtomicInteger();
+        compressors = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, threadName + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (headerCallback != null && position == 0) {
+            try {
+                StringWriter header = new StringWriter();
+                headerCallback.writeHeader(header);
+                header.write(lineSeparator);
+                Members members = compress(header.getBuffer());
+                writeMembers(members);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw new ItemStreamException("Could not write headers.  The file may be corrupt.", e);
+            }
+        }
+    }
+
+    /**
+     * Store the byte offset and the number of lines including the current transaction.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        Assert.state(channel != null, "ItemStream not open or already closed.");
+        if (saveState) {
+            Members members = (Members) TransactionSynchronizationManager.getResource(transactionKey);
+            executionContext.putLong(getExecutionContextKey(RESTART_DATA_NAME), position + (members == null ? 0
+                    : members.bytes));
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), linesWritten + (members == null
+                    ? 0 : members.lines));
+        }
+    }
+
+    /**
+     * Write the footer and close the file. An empty file gets an empty member, so that it is a valid gzip file.
+     *
+     * @throws ItemStreamException If the file cannot be written.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (footerCallback != null) {
+                StringWriter footer = new StringWriter();
+                footerCallback.writeFooter(footer);
+                writeMembers(compress(footer.getBuffer()));
+            }
+            if (position == 0) {
+                writeMembers(compress(""));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new ItemStreamException("Unable to close the ItemWriter", e);
+        } finally {
+            compressors.shutdown();
+            closeChannel();
+        }
+    }
+
+    /**
+     * Compress the lines of the items, and write the members before the commit or at once.
+     *
+     * @param chunk Items.
+     * @throws CharacterCodingException If a line cannot be encoded.
+     * @throws WriteFailedException If the members cannot be written.
+     */
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Assert.state(channel != null, "Writer must be open before it can be written to");
+        StringBuilder lines = new StringBuilder();
+        for (T item : chunk) {
+            lines.append(lineAggregator.aggregate(item)).append(lineSeparator);
+        }
+        Members members = compress(lines);
+        members.lines = chunk.size();
+        if (transactional && TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionMembers().add(members);
+        } else {
+            writeMembers(members);
+        }
+    }
+
+    /**
+     * Get the members of the current transaction, registering the synchronization on first use.
+     *
+     * @return Members of the current transaction.
+     */
+    private Members transactionMembers() {
+        Members members = (Members) TransactionSynchronizationManager.getResource(transactionKey);
+        if (members != null) {
+            return members;
+        }
+        Members created = new Members();
+        TransactionSynchronizationManager.bindResource(transactionKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long committedPosition;
+
+            private long committedLines;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committedPosition = position;
+                committedLines = linesWritten;
+                writeMembers(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status != STATUS_COMMITTED && created.written && channel != null) {
+                    try {
+                        channel.truncate(committedPosition);
+                        position = committedPosition;
+                        linesWritten = committedLines;
+                    } catch (IOException e) {
+                        throw new ItemStreamException("Failed to truncate the file after rollback", e);
+                    }
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Encode the text and compress each block into a gzip member in parallel.
+     *
+     * @param text Text.
+     * @return Compressed members.
+     * @throws CharacterCodingException If the text cannot be encoded.
+     */
+    private Members compress(CharSequence text) throws CharacterCodingException {
+        ByteBuffer encoded = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .encode(CharBuffer.wrap(text));
+        byte[] bytes = encoded.array();
+        int length = encoded.limit();
+        Members members = new Members();
+        if (length <= blockSize) {
+            members.add(member(bytes, 0, length));
+            return members;
+        }
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int offset = 0; offset < length; offset += blockSize) {
+            int start = offset;
+            int end = Math.min(offset + blockSize, length);
+            futures.add(CompletableFuture.supplyAsync(() -> member(bytes, start, end - start), compressors));
+        }
+        try {
+            for (CompletableFuture<byte[]> future : futures) {
+                members.add(future.join());
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to compress the lines.", e.getCause());
+        }
+        return members;
+    }
+
+    /**
+     * Compress a block into a gzip member.
+     *
+     * @param bytes Uncompressed bytes.
+     * @param offset Offset of the block.
+     * @param length Length of the block.
+     * @return Gzip member.
+     */
+    private byte[] member(byte[] bytes, int offset, int length) {
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            byte[] member = new byte[GZIP_HEADER.length + length + length / 1000 + 64 + GZIP_TRAILER_SIZE];
+            System.arraycopy(GZIP_HEADER, 0, member, 0, GZIP_HEADER.length);
+            int size = GZIP_HEADER.length;
+            while (!deflater.finished()) {
+                if (size == member.length - GZIP_TRAILER_SIZE) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                size += deflater.deflate(member, size, member.length - GZIP_TRAILER_SIZE - size);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, offset, length);
+            writeIntLE(member, size, (int) crc.getValue());
+            writeIntLE(member, size + 4, length);
+            return Arrays.copyOf(member, size + GZIP_TRAILER_SIZE);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLE(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Write the members at the end of the file.
+     *
+     * @param members Members.
+     * @throws WriteFailedException If the members cannot be written.
+     */
+    private void writeMembers(Members members) {
+        try {
+            long current = position;
+            for (byte[] member : members.members) {
+                ByteBuffer buffer = ByteBuffer.wrap(member);
+                while (buffer.hasRemaining()) {
+                    current += channel.write(buffer, current);
+                }
+            }
+            members.written = true;
+            position = current;
+            linesWritten += members.lines;
+        } catch (IOException e) {
+            throw new WriteFailedException("Could not write data. The file may be corrupt.", e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Unable to close the ItemWriter", e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Compressed members that are not written yet.
+     */
+    private static class Members {
+
+        private final List<byte[]> members = new ArrayList<>();
+
+        private long bytes;
+
+        private long lines;
+
+        private boolean written;
+
+        void add(byte[] member) {
+            members.add(member);
+            bytes += member.length;
+        }
+
+        void add(Members other) {
+            other.members.forEach(this::add);
+            lines += other.lines;
+        }
+    }
+}
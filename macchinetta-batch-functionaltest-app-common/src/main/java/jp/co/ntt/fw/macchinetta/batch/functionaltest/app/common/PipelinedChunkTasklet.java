@@ -0,0 +1,543 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tasklet that pipelines reading, processing and writing of a chunk oriented step.
+ * <p>
+ * The reader runs as a task of {@code readerTaskExecutor} and hands over items through a queue bounded by
+ * {@code queueCapacity}, so that the next items are read while the current chunk is written. The task occupies a
+ * thread of the executor until the step ends, so the executor must not be the bounded executor of the processor.
+ * Without {@code readerTaskExecutor}, the reader runs on a new daemon thread for each step. The items of a chunk are
+ * processed in parallel by {@code taskExecutor} when it is set, and are written in the order of reading.
+ * </p>
+ * <p>
+ * Each call of {@link #execute(StepContribution, ChunkContext)} processes one chunk of {@code chunkSize} items, so the
+ * step commits per chunk as usual. The number of items consumed by committed chunks is saved in the execution context.
+ * Since the reader is ahead of the commit, the state of an {@link ItemStream} reader is taken by the reader task at
+ * the end of each chunk, and is saved with the commit of the chunk. On restart, the reader is opened with the saved
+ * state, so that a reader such as {@link FileRangeItemReader} seeks to the first item not consumed. A reader that is
+ * not an {@link ItemStream} is opened from the beginning and the consumed items are skipped, so the reader must return
+ * the same items in the same order.
+ * </p>
+ * <p>
+ * The processor is called outside of the thread of the step transaction when {@code taskExecutor} is set, so it must
+ * be thread-safe and must not depend on the transaction. Skip and retry are not supported.
+ * </p>
+ *
+ * @param <I> Type of input item.
+ * @param <O> Type of output item.
+ * @since 2.7.0
+ */
+public class PipelinedChunkTasklet<I, O> implements Tasklet, StepExecutionListener {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PipelinedChunkTasklet.class);
+
+    /**
+     * Key of the execution context to save the number of consumed items.
+     */
+    private static final String CONSUMED_COUNT_KEY = "pipelinedChunk.consumedCount";
+
+    /**
+     * Key of the execution context to mark that the state of the reader is saved with the consumed items.
+     */
+    private static final String READER_CHECKPOINT_KEY = "pipelinedChunk.readerCheckpoint";
+
+    /**
+     * Marker of the end of input.
+     */
+    private static final Object END_OF_INPUT = new Object();
+
+    /**
+     * Time to wait for the reader task to stop in milliseconds.
+     */
+    private static final long STOP_TIMEOUT_MILLIS = 10000L;
+
+    /**
+     * Reader.
+     */
+    private ItemReader<? extends I> reader;
+
+    /**
+     * Processor. Null if items are written as they are.
+     */
+    private ItemProcessor<? super I, ? extends O> processor;
+
+    /**
+     * Writer.
+     */
+    private ItemWriter<? super O> writer;
+
+    /**
+     * Executor to process items in parallel. Null if items are processed on the step thread.
+     */
+    private TaskExecutor taskExecutor;
+
+    /**
+     * Executor to run the reader. Null if the reader runs on a new thread.
+     */
+    private TaskExecutor readerTaskExecutor;
+
+    /**
+     * Listeners of reading.
+     */
+    private List<ItemReadListener<? super I>> readListeners = Collections.emptyList();
+
+    /**
+     * Number of items per chunk.
+     */
+    private int chunkSize = 10;
+
+    /**
+     * Maximum number of items read ahead.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Items handed over from the reader task.
+     */
+    private BlockingQueue<Object> queue;
+
+    /**
+     * Task of the reader.
+     */
+    private CompletableFuture<Void> readerTask;
+
+    /**
+     * Thread running the reader task, or null if the task is not running.
+     */
+    private Thread readerThread;
+
+    /**
+     * Whether the reader task is requested to stop.
+     */
+    private boolean readerStopped;
+
+    /**
+     * Lock of {@code readerThread} and {@code readerStopped}.
+     */
+    private final Object readerLock = new Object();
+
+    /**
+     * Number of items consumed by committed chunks.
+     */
+    private long consumedCount;
+
+    /**
+     * Open the streams and start the reader task.
+     *
+     * @param stepExecution Step execution.
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Assert.state(reader != null, "reader must be set.");
+        Assert.state(writer != null, "writer must be set.");
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        consumedCount = executionContext.getLong(CONSUMED_COUNT_KEY, 0L);
+
+        boolean restoresReader = reader instanceof ItemStream && executionContext.containsKey(READER_CHECKPOINT_KEY);
+        if (reader instanceof ItemStream stream) {
+            stream.open(restoresReader ? executionContext : new ExecutionContext());
+        }
+        if (writer instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        long skipCount = restoresReader ? 0 : consumedCount;
+        synchronized (readerLock) {
+            readerStopped = false;
+        }
+        TaskExecutor executor = readerTaskExecutor;
+        if (executor == null) {
+            SimpleAsyncTaskExecutor threadExecutor = new SimpleAsyncTaskExecutor(stepExecution.getStepName()
+                    + "-reader-");
+            threadExecutor.setDaemon(true);
+            executor = threadExecutor;
+        }
+        readerTask = CompletableFuture.runAsync(() -> read(stepExecution, skipCount), executor);
+        logger.info("Pipelined chunk started. step:{}, chunkSize:{}, queueCapacity:{}, skip:{}",
+                stepExecution.getStepName(), chunkSize, queueCapacity, skipCount);
+    }
+
+    /**
+     * Process one chunk.
+     *
+     * @param contribution Step contribution.
+     * @param chunkContext Chunk context.
+     * @return RepeatStatus.CONTINUABLE if items remain, otherwise RepeatStatus.FINISHED.
+     * @throws Exception Exception that occurred in reading, processing or writing.
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        List<I> inputs = new ArrayList<>(chunkSize);
+        boolean exhausted = false;
+        ReaderCheckpoint checkpoint = null;
+        while (inputs.size() < chunkSize || (reader instanceof ItemStream && checkpoint == null)) {
+            Object element = queue.take();
+            if (element == END_OF_INPUT) {
+                exhausted = true;
+                break;
+            }
+            if (element instanceof ReadFailure failure) {
+                throw failure.exception;
+            }
+            if (element instanceof ReaderCheckpoint readerCheckpoint) {
+                checkpoint = readerCheckpoint;
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            I item = (I) element;
+            inputs.add(item);
+            contribution.incrementReadCount();
+        }
+
+        List<O> outputs = process(inputs);
+        contribution.incrementFilterCount(inputs.size() - outputs.size());
+        if (!outputs.isEmpty()) {
+            writer.write(new Chunk<>(outputs));
+            contribution.incrementWriteCount(outputs.size());
+        }
+
+        consumedCount += inputs.size();
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        executionContext.putLong(CONSUMED_COUNT_KEY, consumedCount);
+        if (checkpoint != null) {
+            for (Map.Entry<String, Object> entry : checkpoint.state.entrySet()) {
+                executionContext.put(entry.getKey(), entry.getValue());
+            }
+            executionContext.put(READER_CHECKPOINT_KEY, true);
+        }
+        if (writer instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+        return exhausted ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * Stop the reader task and close the streams.
+     *
+     * @param stepExecution Step execution.
+     * @return Null to keep the exit status.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (readerTask != null) {
+            synchronized (readerLock) {
+                readerStopped = true;
+                if (readerThread != null) {
+                    readerThread.interrupt();
+                }
+            }
+            try {
+                readerTask.get(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("An error occurred in the reader task.", e.getCause());
+            } catch (TimeoutException e) {
+                logger.warn("The reader task did not stop in {}ms. step:{}", STOP_TIMEOUT_MILLIS,
+                        stepExecution.getStepName());
+            }
+            readerTask = null;
+        }
+        queue = null;
+        if (reader instanceof ItemStream stream) {
+            try {
+                stream.close();
+            } catch (ItemStreamException e) {
+                logger.error("An error occurred when closing the reader.", e);
+            }
+        }
+        if (writer instanceof ItemStream stream) {
+            try {
+                stream.close();
+            } catch (ItemStreamException e) {
+                logger.error("An error occurred when closing the writer.", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reader.
+     *
+     * @param reader Reader that returns the same items in the same order on every open.
+     */
+    public void setReader(ItemReader<? extends I> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Processor.
+     *
+     * @param processor Processor, or null to write items as they are.
+     */
+    public void setProcessor(ItemProcessor<? super I, ? extends O> processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Writer.
+     *
+     * @param writer Writer.
+     */
+    public void setWriter(ItemWriter<? super O> writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Executor to process items in parallel.
+     *
+     * @param taskExecutor Executor, or null to process items on the step thread.
+     */
+    public void setTaskExecutor(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Executor to run the reader.
+     *
+     * @param readerTaskExecutor Executor that has a thread available for the reader during the step, or null to run
+     *            the reader on a new daemon thread.
+     */
+    public void setReaderTaskExecutor(TaskExecutor readerTaskExecutor) {
+        this.readerTaskExecutor = readerTaskExecutor;
+    }
+
+    /**
+     * Listeners of reading. They are called on the thread of the reader.
+     *
+     * @param readListeners Listeners of reading.
+     */
+    public void setReadListeners(List<ItemReadListener<? super I>> readListeners) {
+        this.readListeners = readListeners;
+    }
+
+    /**
+     * Number of items per chunk.
+     *
+     * @param chunkSize Number of items per chunk.
+     */
+    public void setChunkSize(int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0.");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Maximum number of items read ahead.
+     *
+     * @param queueCapacity Maximum number of items read ahead.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0.");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Read items and hand them over to the step thread.
+     *
+     * @param stepExecution Step execution to bind the step scope.
+     * @param skipCount Number of items consumed by the previous execution.
+     */
+    private void read(StepExecution stepExecution, long skipCount) {
+        synchronized (readerLock) {
+            if (readerStopped) {
+                return;
+            }
+            readerThread = Thread.currentThread();
+        }
+        StepSynchronizationManager.register(stepExecution);
+        try {
+            for (long i = 0; i < skipCount; i++) {
+                if (reader.read() == null) {
+                    queue.put(END_OF_INPUT);
+                    return;
+                }
+            }
+            long readCount = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                I item = readItem();
+                if (item == null) {
+                    queue.put(END_OF_INPUT);
+                    return;
+                }
+                queue.put(item);
+                if (reader instanceof ItemStream stream && ++readCount % chunkSize == 0) {
+                    ExecutionContext state = new ExecutionContext();
+                    stream.update(state);
+                    queue.put(new ReaderCheckpoint(state));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                queue.put(new ReadFailure(e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            StepSynchronizationManager.close();
+            synchronized (readerLock) {
+                readerThread = null;
+                // Clear the interrupt of afterStep so that it does not leak to the next task of a pooled thread.
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private I readItem() throws Exception {
+        for (ItemReadListener<? super I> listener : readListeners) {
+            listener.beforeRead();
+        }
+        try {
+            I item = reader.read();
+            if (item != null) {
+                for (ItemReadListener<? super I> listener : readListeners) {
+                    listener.afterRead(item);
+                }
+            }
+            return item;
+        } catch (Exception e) {
+            for (ItemReadListener<? super I> listener : readListeners) {
+                listener.onReadError(e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Process items keeping their order.
+     *
+     * @param inputs Input items.
+     * @return Output items except filtered ones.
+     * @throws Exception Exception that occurred in the processor.
+     */
+    @SuppressWarnings("unchecked")
+    private List<O> process(List<I> inputs) throws Exception {
+        List<O> outputs = new ArrayList<>(inputs.size());
+        if (processor == null) {
+            for (I input : inputs) {
+                outputs.add((O) input);
+            }
+            return outputs;
+        }
+        if (taskExecutor == null) {
+            for (I input : inputs) {
+                O output = processor.process(input);
+                if (output != null) {
+                    outputs.add(output);
+                }
+            }
+            return outputs;
+        }
+
+        StepExecution stepExecution = StepSynchronizationManager.getContext().getStepExecution();
+        List<CompletableFuture<O>> futures = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            futures.add(CompletableFuture.supplyAsync(() -> processOnWorker(stepExecution, input), taskExecutor));
+        }
+        for (CompletableFuture<O> future : futures) {
+            O output;
+            try {
+                output = future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                if (cause instanceof Exception exception) {
+                    throw exception;
+                }
+                throw e;
+            }
+            if (output != null) {
+                outputs.add(output);
+            }
+        }
+        return outputs;
+    }
+
+    private O processOnWorker(StepExecution stepExecution, I input) {
+        StepSynchronizationManager.register(stepExecution);
+        try {
+            return processor.process(input);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            StepSynchronizationManager.close();
+        }
+    }
+
+    /**
+     * Exception that occurred in the reader task.
+     */
+    private static class ReadFailure {
+
+        private final Exception exception;
+
+        ReadFailure(Exception exception) {
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * State of the reader at the end of a chunk, handed over after the last item of the chunk.
+     */
+    private static class ReaderCheckpoint {
+
+        private final ExecutionContext state;
+
+        ReaderCheckpoint(ExecutionContext state) {
+            this.state = state;
+        }
+    }
+}
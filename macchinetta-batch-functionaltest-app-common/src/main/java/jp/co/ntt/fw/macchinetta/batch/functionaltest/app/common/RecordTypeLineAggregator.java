@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link LineAggregator} that chooses the aggregator of an item by its record type.
+ * <p>
+ * The record type of an item is the character at {@code recordTypeIndex} of the value taken by
+ * {@code recordTypeExtractor} or from the property {@code recordTypePropertyName}, and the aggregator of the type is
+ * taken from a table indexed by the character, in the same way as {@link RecordTypeLineMapper}. The record types are
+ * the keys of {@code aggregators}, and each key must be one ASCII character.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class RecordTypeLineAggregator<T> implements LineAggregator<T>, InitializingBean {
+
+    /**
+     * Size of the table, covering ASCII characters.
+     */
+    private static final int TABLE_SIZE = 128;
+
+    /**
+     * Function to take the value including the record type.
+     */
+    private Function<? super T, ? extends CharSequence> recordTypeExtractor;
+
+    /**
+     * Position of the record type.
+     */
+    private int recordTypeIndex = 0;
+
+    /**
+     * Aggregators by record type.
+     */
+    private Map<String, LineAggregator<? super T>> aggregators;
+
+    private LineAggregator<? super T>[] aggregatorTable;
+
+    /**
+     * Function to take the value including the record type.
+     *
+     * @param recordTypeExtractor Function to take the value from an item.
+     */
+    public void setRecordTypeExtractor(Function<? super T, ? extends CharSequence> recordTypeExtractor) {
+        this.recordTypeExtractor = recordTypeExtractor;
+    }
+
+    /**
+     * Property including the record type.
+     * <p>
+     * The getter of the property is looked up once for each class of item.
+     * </p>
+     *
+     * @param recordTypePropertyName Name of the property.
+     */
+    public void setRecordTypePropertyName(String recordTypePropertyName) {
+        ClassValue<Method> getters = new ClassValue<>() {
+            @Override
+            protected Method computeValue(Class<?> type) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, recordTypePropertyName);
+                Assert.state(descriptor != null && descriptor.getReadMethod() != null, "No readable property "
+                        + recordTypePropertyName + " in " + type.getName());
+                ReflectionUtils.makeAccessible(descriptor.getReadMethod());
+                return descriptor.getReadMethod();
+            }
+        };
+        this.recordTypeExtractor = item -> (CharSequence) ReflectionUtils.invokeMethod(getters.get(item.getClass()),
+                item);
+    }
+
+    /**
+     * Position of the record type.
+     *
+     * @param recordTypeIndex Index of the character of the record type in the value. The default is 0.
+     */
+    public void setRecordTypeIndex(int recordTypeIndex) {
+        this.recordTypeIndex = recordTypeIndex;
+    }
+
+    /**
+     * Aggregators by record type.
+     *
+     * @param aggregators Aggregators whose keys are the record types.
+     */
+    public void setAggregators(Map<String, LineAggregator<? super T>> aggregators) {
+        this.aggregators = aggregators;
+    }
+
+    /**
+     * Build the table of the aggregators.
+     *
+     * @throws IllegalArgumentException If a record type is not one ASCII character.
+     */
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void afterPropertiesSet() {
+        Assert.notNull(recordTypeExtractor, "recordTypeExtractor or recordTypePropertyName must be set.");
+        Assert.isTrue(recordTypeIndex >= 0, "recordTypeIndex must not be negative.");
+        Assert.notEmpty(aggregators, "aggregators must be set.");
+        LineAggregator<? super T>[] aggregatorTable = new LineAggregator[TABLE_SIZE];
+        for (Map.Entry<String, LineAggregator<? super T>> entry : aggregators.entrySet()) {
+            Assert.notNull(entry.getValue(), "aggregator of " + entry.getKey() + " must be set.");
+            aggregatorTable[RecordTypeLineMapper.toIndex(entry.getKey())] = entry.getValue();
+        }
+        this.aggregatorTable = aggregatorTable;
+    }
+
+    /**
+     * Aggregate an item by the aggregator of its record type.
+     *
+     * @param item Item.
+     * @return Line.
+     * @throws IllegalStateException If {@link #afterPropertiesSet()} has not been called, or the item has no known
+     *             record type.
+     */
+    @Override
+    public String aggregate(T item) {
+        Assert.state(aggregatorTable != null, "afterPropertiesSet() must be called before aggregating an item.");
+        CharSequence value = recordTypeExtractor.apply(item);
+        char recordType = value != null && value.length() > recordTypeIndex ? value.charAt(recordTypeIndex) : 0;
+        if (recordType == 0 || recordType >= TABLE_SIZE || aggregatorTable[recordType] == null) {
+            throw new IllegalStateException("Could not find a record type at index " + recordTypeIndex + ". value:"
+                    + value);
+        }
+        return aggregatorTable[recordType].aggregate(item);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper;
+import org.springframework.batch.item.file.transform.LineTokenizer;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+
+/**
+ * {@link LineMapper} that chooses the tokenizer and the mapper of a line by the record type at a fixed position.
+ * <p>
+ * {@link PatternMatchingCompositeLineMapper} matches the patterns of all the record types against every line. In a
+ * file whose record type is one character at a fixed position, such as the header, data, trailer and end records of a
+ * bank format, this mapper reads the character at {@code recordTypeIndex} and takes the tokenizer and the mapper of
+ * the type from a table indexed by the character. The record types are the keys of {@code tokenizers} and
+ * {@code fieldSetMappers}, and each key must be one ASCII character.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class RecordTypeLineMapper<T> implements LineMapper<T>, InitializingBean {
+
+    /**
+     * Size of the tables, covering ASCII characters.
+     */
+    private static final int TABLE_SIZE = 128;
+
+    /**
+     * Position of the record type.
+     */
+    private int recordTypeIndex = 0;
+
+    /**
+     * Tokenizers by record type.
+     */
+    private Map<String, LineTokenizer> tokenizers;
+
+    /**
+     * Mappers by record type.
+     */
+    private Map<String, FieldSetMapper<? extends T>> fieldSetMappers;
+
+    private LineTokenizer[] tokenizerTable;
+
+    private FieldSetMapper<? extends T>[] fieldSetMapperTable;
+
+    /**
+     * Position of the record type.
+     *
+     * @param recordTypeIndex Index of the character of the record type in a line. The default is 0.
+     */
+    public void setRecordTypeIndex(int recordTypeIndex) {
+        this.recordTypeIndex = recordTypeIndex;
+    }
+
+    /**
+     * Tokenizers by record type.
+     *
+     * @param tokenizers Tokenizers whose keys are the record types.
+     */
+    public void setTokenizers(Map<String, LineTokenizer> tokenizers) {
+        this.tokenizers = tokenizers;
+    }
+
+    /**
+     * Mappers by record type.
+     *
+     * @param fieldSetMappers Mappers whose keys are the record types.
+     */
+    public void setFieldSetMappers(Map<String, FieldSetMapper<? extends T>> fieldSetMappers) {
+        this.fieldSetMappers = fieldSetMappers;
+    }
+
+    /**
+     * Build the tables of the tokenizers and the mappers.
+     *
+     * @throws IllegalArgumentException If a record type is not one ASCII character, or has no tokenizer or no mapper.
+     */
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void afterPropertiesSet() {
+        Assert.isTrue(recordTypeIndex >= 0, "recordTypeIndex must not be negative.");
+        Assert.notEmpty(tokenizers, "tokenizers must be set.");
+        Assert.notEmpty(fieldSetMappers, "fieldSetMappers must be set.");
+        Assert.isTrue(tokenizers.keySet().equals(fieldSetMappers.keySet()),
+                "tokenizers and fieldSetMappers must have the same record types.");
+        LineTokenizer[] tokenizerTable = new LineTokenizer[TABLE_SIZE];
+        FieldSetMapper<? extends T>[] fieldSetMapperTable = new FieldSetMapper[TABLE_SIZE];
+        for (Map.Entry<String, LineTokenizer> entry : tokenizers.entrySet()) {
+            int recordType = toIndex(entry.getKey());
+            tokenizerTable[recordType] = entry.getValue();
+            fieldSetMapperTable[recordType] = fieldSetMappers.get(entry.getKey());
+            Assert.notNull(tokenizerTable[recordType], "tokenizer of " + entry.getKey() + " must be set.");
+            Assert.notNull(fieldSetMapperTable[recordType], "fieldSetMapper of " + entry.getKey() + " must be set.");
+        }
+        this.tokenizerTable = tokenizerTable;
+        this.fieldSetMapperTable = fieldSetMapperTable;
+    }
+
+    /**
+     * Map a line by the tokenizer and the mapper of its record type.
+     *
+     * @param line Line.
+     * @param lineNumber Line number.
+     * @return Mapped item.
+     * @throws IllegalStateException If {@link #afterPropertiesSet()} has not been called, or the line has no known
+     *             record type.
+     * @throws Exception Exception thrown by the mapper.
+     */
+    @Override
+    public T mapLine(String line, int lineNumber) throws Exception {
+        Assert.state(tokenizerTable != null, "afterPropertiesSet() must be called before mapping a line.");
+        char recordType = line.length() > recordTypeIndex ? line.charAt(recordTypeIndex) : 0;
+        if (recordType == 0 || recordType >= TABLE_SIZE || tokenizerTable[recordType] == null) {
+            throw new IllegalStateException("Could not find a record type at index " + recordTypeIndex + ". line:"
+                    + lineNumber);
+        }
+        return fieldSetMapperTable[recordType].mapFieldSet(tokenizerTable[recordType].tokenize(line));
+    }
+
+    /**
+     * Index of a record type in the tables.
+     *
+     * @param recordType Record type.
+     * @return Index of the record type.
+     */
+    static int toIndex(String recordType) {
+        Assert.isTrue(recordType != null && recordType.length() == 1 && recordType.charAt(0) > 0 && recordType
+                .charAt(0) < TABLE_SIZE, "record type must be one ASCII character. [" + recordType + "]");
+        return recordType.charAt(0);
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.ResourceSuffixCreator;
+import org.springframework.batch.item.file.SimpleResourceSuffixCreator;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Flat file writer that routes each item by the hash of its key to one of {@code shardCount} files.
+ * <p>
+ * {@code MultiResourceItemWriter} writes one file at a time and moves to the next file by the number of items. This
+ * writer keeps all the shard files available at once, and writes each line to the file {@code resource + suffix} of the
+ * shard of its key, so that the items of a key are always in the same file. The key is taken by {@code keyExtractor},
+ * or from the property {@code keyPropertyName} of the item. A shard file is created when its first line is written, so
+ * no file is created for a shard without items.
+ * </p>
+ * <p>
+ * The lines of a chunk are encoded when they are written, and the bytes of each shard are kept until the commit of the
+ * transaction. Before the commit, the bytes of all the shards are written at the end of each shard file in the order of
+ * the shard. If a write fails or the transaction is rolled back, every shard file written in the transaction is
+ * truncated to its size at the previous commit, so the files always move together from a commit to the next one. The
+ * byte offsets of all the shards are stored in the execution context, and a restarted step truncates each shard file to
+ * its offset.
+ * </p>
+ * <p>
+ * At most {@code maxOpenFiles} files are open at once. When another file is needed, the least recently used file is
+ * closed, and it is opened again when it is written next. An instance owns its files and is used by one thread. In a
+ * partitioned step, define it as a step scoped bean with a resource for each partition, so that the workers write their
+ * own shard files without locks.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class ShardedItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T>, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ShardedItemWriter.class);
+
+    /**
+     * Key of the byte offsets of the shard files.
+     */
+    private static final String RESTART_DATA_NAME = "current.count";
+
+    /**
+     * Key of the number of written lines.
+     */
+    private static final String WRITTEN_STATISTICS_NAME = "written";
+
+    /**
+     * Default maximum number of open files.
+     */
+    private static final int DEFAULT_MAX_OPEN_FILES = 16;
+
+    /**
+     * Base of the names of the shard files.
+     */
+    private WritableResource resource;
+
+    /**
+     * Creator of the suffix of a shard file.
+     */
+    private ResourceSuffixCreator resourceSuffixCreator = new SimpleResourceSuffixCreator();
+
+    /**
+     * Number of shards.
+     */
+    private int shardCount;
+
+    /**
+     * Function to take the key of an item.
+     */
+    private Function<? super T, ?> keyExtractor;
+
+    /**
+     * Charset of the files.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Aggregator from an item to a line.
+     */
+    private LineAggregator<T> lineAggregator;
+
+    /**
+     * Line separator.
+     */
+    private String lineSeparator = System.lineSeparator();
+
+    /**
+     * Maximum number of open files.
+     */
+    private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+
+    /**
+     * Whether the lines are written before the commit of the transaction.
+     */
+    private boolean transactional = true;
+
+    /**
+     * Whether the written bytes are forced to the storage device before the commit.
+     */
+    private boolean forceSync = false;
+
+    /**
+     * Whether existing shard files are deleted.
+     */
+    private boolean shouldDeleteIfExists = true;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Key of the bytes of the current transaction.
+     */
+    private final Object transactionKey = new Object();
+
+    /**
+     * Open files in the order of access.
+     */
+    private final LinkedHashMap<Integer, FileChannel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    private Path[] paths;
+
+    private long[] positions;
+
+    private long linesWritten;
+
+    private long opened;
+
+    /**
+     * Constructor.
+     */
+    public ShardedItemWriter() {
+        setName(ClassUtils.getShortName(ShardedItemWriter.class));
+    }
+
+    /**
+     * Base of the names of the shard files.
+     *
+     * @param resource Resource whose path is followed by the suffix of a shard.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Creator of the suffix of a shard file.
+     *
+     * @param resourceSuffixCreator Creator of the suffix from the index of a shard. The default is {@code .index}.
+     */
+    public void setResourceSuffixCreator(ResourceSuffixCreator resourceSuffixCreator) {
+        this.resourceSuffixCreator = resourceSuffixCreator;
+    }
+
+    /**
+     * Number of shards.
+     *
+     * @param shardCount Number of shard files.
+     */
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Function to take the key of an item.
+     *
+     * @param keyExtractor Function to take the key. A null key goes to the shard 0.
+     */
+    public void setKeyExtractor(Function<? super T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Property of the key of an item.
+     *
+     * @param keyPropertyName Name of the property read by a bean wrapper.
+     */
+    public void setKeyPropertyName(String keyPropertyName) {
+        this.keyExtractor = item -> PropertyAccessorFactory.forBeanPropertyAccess(item).getPropertyValue(
+                keyPropertyName);
+    }
+
+    /**
+     * Charset of the files.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Aggregator from an item to a line.
+     *
+     * @param lineAggregator Aggregator from an item to a line.
+     */
+    public void setLineAggregator(LineAggregator<T> lineAggregator) {
+        this.lineAggregator = lineAggregator;
+    }
+
+    /**
+     * Line separator.
+     *
+     * @param lineSeparator Line separator. The default is the line separator of the system.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Maximum number of open files.
+     *
+     * @param maxOpenFiles Maximum number of open files. The default is 16.
+     */
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * Whether the lines are written before the commit of the transaction.
+     *
+     * @param transactional Whether the lines are written before the commit. The default is true.
+     */
+    public void setTransactional(boolean transactional) {
+        this.transactional = transactional;
+    }
+
+    /**
+     * Whether the written bytes are forced to the storage device before the commit.
+     *
+     * @param forceSync Whether the written files are forced. The default is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    /**
+     * Whether existing shard files are deleted.
+     *
+     * @param shouldDeleteIfExists Whether existing shard files are deleted. The default is true. If false, the lines
+     *            are appended to them.
+     */
+    public void setShouldDeleteIfExists(boolean shouldDeleteIfExists) {
+        this.shouldDeleteIfExists = shouldDeleteIfExists;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(resourceSuffixCreator, "resourceSuffixCreator must be set.");
+        Assert.isTrue(shardCount > 0, "shardCount must be greater than 0.");
+        Assert.notNull(keyExtractor, "keyExtractor or keyPropertyName must be set.");
+        Assert.notNull(lineAggregator, "lineAggregator must be set.");
+        Assert.notNull(lineSeparator, "lineSeparator must be set.");
+        Assert.isTrue(maxOpenFiles > 0, "maxOpenFiles must be greater than 0.");
+    }
+
+    /**
+     * Resolve the shard files, and delete them or truncate them to the saved byte offsets.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the files cannot be prepared.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        String base;
+        try {
+            base = resource.getFile().getAbsolutePath();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to initialize writer", e);
+        }
+        paths = new Path[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            paths[i] = Paths.get(base + resourceSuffixCreator.getSuffix(i));
+        }
+        positions = new long[shardCount];
+        linesWritten = 0;
+        opened = 0;
+        String restartKey = getExecutionContextKey(RESTART_DATA_NAME);
+        try {
+            if (executionContext.containsKey(restartKey)) {
+                long[] saved = (long[]) executionContext.get(restartKey);
+                Assert.state(saved != null && saved.length == shardCount,
+                        "The number of shards is different from the last execution.");
+                linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), 0L);
+                for (int i = 0; i < shardCount; i++) {
+                    long size = Files.exists(paths[i]) ? Files.size(paths[i]) : 0L;
+                    if (size < saved[i]) {
+                        throw new ItemStreamException("Current file size is smaller than size at last commit. file:"
+                                + paths[i]);
+                    }
+                    if (size > saved[i]) {
+                        channel(i).truncate(saved[i]);
+                    }
+                    positions[i] = saved[i];
+                }
+            } else {
+                for (int i = 0; i < shardCount; i++) {
+                    if (shouldDeleteIfExists) {
+                        Files.deleteIfExists(paths[i]);
+                    } else if (Files.exists(paths[i])) {
+                        positions[i] = Files.size(paths[i]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeChannels();
+            throw new ItemStreamException("Failed to initialize writer", e);
+        } catch (RuntimeException e) {
+            closeChannels();
+            throw e;
+        }
+    }
+
+    /**
+     * Store the byte offsets of the shard files and the number of lines including the current transaction.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        Assert.state(positions != null, "ItemStream not open or already closed.");
+        if (saveState) {
+            Shards shards = (Shards) TransactionSynchronizationManager.getResource(transactionKey);
+            long[] committed = positions.clone();
+            long lines = linesWritten;
+            if (shards != null) {
+                shards.bytes.forEach((shard, bytes) -> committed[shard] += bytes.remaining());
+                lines += shards.lines;
+            }
+            executionContext.put(getExecutionContextKey(RESTART_DATA_NAME), committed);
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), lines);
+        }
+    }
+
+    /**
+     * Close the files.
+     *
+     * @throws ItemStreamException If a file cannot be closed.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (positions != null) {
+            logger.debug("Closed {} shards. opened:{} lines:{}", shardCount, opened, linesWritten);
+        }
+        positions = null;
+        closeChannels();
+    }
+
+    /**
+     * Encode the lines of the items for each shard, and write them before the commit or at once.
+     *
+     * @param chunk Items.
+     * @throws CharacterCodingException If a line cannot be encoded.
+     * @throws WriteFailedException If the lines cannot be written.
+     */
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Assert.state(positions != null, "Writer must be open before it can be written to");
+        Map<Integer, StringBuilder> lines = new TreeMap<>();
+        for (T item : chunk) {
+            lines.computeIfAbsent(shardOf(keyExtractor.apply(item)), shard -> new StringBuilder()).append(
+                    lineAggregator.aggregate(item)).append(lineSeparator);
+        }
+        Shards shards = new Shards();
+        for (Map.Entry<Integer, StringBuilder> entry : lines.entrySet()) {
+            shards.add(entry.getKey(), charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .encode(CharBuffer.wrap(entry.getValue())));
+        }
+        shards.lines = chunk.size();
+        if (transactional && TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionShards().add(shards);
+        } else {
+            long[] committed = positions.clone();
+            try {
+                writeShards(shards);
+            } catch (RuntimeException e) {
+                rollback(shards, committed);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Index of the shard of a key.
+     *
+     * @param key Key of an item.
+     * @return Index of the shard.
+     */
+    int shardOf(Object key) {
+        int h = Objects.hashCode(key);
+        return Math.floorMod(h ^ (h >>> 16), shardCount);
+    }
+
+    /**
+     * Get the bytes of the current transaction, registering the synchronization on first use.
+     *
+     * @return Bytes of the current transaction.
+     */
+    private Shards transactionShards() {
+        Shards shards = (Shards) TransactionSynchronizationManager.getResource(transactionKey);
+        if (shards != null) {
+            return shards;
+        }
+        Shards created = new Shards();
+        TransactionSynchronizationManager.bindResource(transactionKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long[] committedPositions;
+
+            private long committedLines;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committedPositions = positions.clone();
+                committedLines = linesWritten;
+                writeShards(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status != STATUS_COMMITTED && committedPositions != null && positions != null) {
+                    rollback(created, committedPositions);
+                    linesWritten = committedLines;
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Write the bytes of each shard at the end of its file.
+     *
+     * @param shards Bytes of the shards.
+     * @throws WriteFailedException If the bytes cannot be written.
+     */
+    private void writeShards(Shards shards) {
+        try {
+            for (Map.Entry<Integer, ByteBuffer> entry : shards.bytes.entrySet()) {
+                int shard = entry.getKey();
+                ByteBuffer buffer = entry.getValue().duplicate();
+                FileChannel channel = channel(shard);
+                long current = positions[shard];
+                while (buffer.hasRemaining()) {
+                    current += channel.write(buffer, current);
+                }
+                positions[shard] = current;
+                if (forceSync) {
+                    channel.force(false);
+                }
+            }
+            linesWritten += shards.lines;
+        } catch (IOException e) {
+            throw new WriteFailedException("Could not write data. The file may be corrupt.", e);
+        }
+    }
+
+    /**
+     * Truncate the shard files to the offsets before the bytes were written. Every shard of the bytes is truncated, since
+     * a failed write may leave bytes in a file whose position was not advanced yet.
+     *
+     * @param shards Bytes of the shards.
+     * @param committed Offsets of the shard files before the bytes were written.
+     * @throws ItemStreamException If a file cannot be truncated.
+     */
+    private void rollback(Shards shards, long[] committed) {
+        try {
+            for (int shard : shards.bytes.keySet()) {
+                channel(shard).truncate(committed[shard]);
+                positions[shard] = committed[shard];
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to truncate the files after rollback", e);
+        }
+    }
+
+    /**
+     * Get the open file of a shard. The least recently used file is closed if {@code maxOpenFiles} files are open.
+     *
+     * @param shard Index of the shard.
+     * @return Open file.
+     * @throws IOException If a file cannot be opened or closed.
+     */
+    private FileChannel channel(int shard) throws IOException {
+        FileChannel channel = channels.get(shard);
+        if (channel != null) {
+            return channel;
+        }
+        if (channels.size() >= maxOpenFiles) {
+            Iterator<FileChannel> eldest = channels.values().iterator();
+            FileChannel evicted = eldest.next();
+            eldest.remove();
+            evicted.close();
+        }
+        channel = FileChannel.open(paths[shard], StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channels.put(shard, channel);
+        opened++;
+        return channel;
+    }
+
+    private void closeChannels() {
+        IOException failure = null;
+        for (FileChannel channel : channels.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        channels.clear();
+        if (failure != null) {
+            throw new ItemStreamException("Unable to close the ItemWriter", failure);
+        }
+    }
+
+    /**
+     * Encoded bytes of the shards that are not written yet.
+     */
+    private static class Shards {
+
+        private final Map<Integer, ByteBuffer> bytes = new TreeMap<>();
+
+        private long lines;
+
+        void add(int shard, ByteBuffer encoded) {
+            ByteBuffer current = bytes.get(shard);
+            if (current == null) {
+                bytes.put(shard, encoded);
+                return;
+            }
+            ByteBuffer merged = ByteBuffer.allocate(current.remaining() + encoded.remaining());
+            merged.put(current.duplicate()).put(encoded).flip();
+            bytes.put(shard, merged);
+        }
+
+        void add(Shards other) {
+            other.bytes.forEach(this::add);
+            lines += other.lines;
+        }
+    }
+}
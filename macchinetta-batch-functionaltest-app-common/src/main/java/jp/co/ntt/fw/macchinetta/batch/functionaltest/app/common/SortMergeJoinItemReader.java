@@ -0,0 +1,419 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reader that joins two readers sorted by the same key in one pass over each, like a sort-merge join of a database.
+ * <p>
+ * The left reader drives the join, and each left item is joined with the right items of the same key, which are read
+ * ahead and kept while the key of the left items does not change. Both readers must return the items in ascending
+ * order of the key by {@link Comparable#compareTo}, such as a file sorted by the key and a query ordered by the key in
+ * a collation that agrees with {@link String#compareTo}. An {@link IllegalStateException} is thrown when a key
+ * decreases or is null, since the result would be silently wrong.
+ * </p>
+ * <p>
+ * The key of an item is the values of the properties of {@code leftKeyNames} or {@code rightKeyNames}, compared in
+ * order. The result depends on {@code joinMode}.
+ * </p>
+ * <ul>
+ * <li>{@link JoinMode#INNER}: A pair for each left item and each right item of the same key.</li>
+ * <li>{@link JoinMode#LEFT}: In addition to {@code INNER}, a pair of a left item and null when no right item has its
+ * key.</li>
+ * <li>{@link JoinMode#ANTI}: A pair of a left item and null only when no right item has its key.</li>
+ * </ul>
+ * <p>
+ * The readers are opened with an empty execution context and their state is not saved, because the items read ahead
+ * are not returned yet. The number of pairs read is saved instead, and a restarted reader joins from the beginning and
+ * skips them.
+ * </p>
+ *
+ * @param <L> Type of the left item.
+ * @param <R> Type of the right item.
+ * @since 2.7.0
+ */
+public class SortMergeJoinItemReader<L, R> extends ItemStreamSupport implements ItemStreamReader<JoinedItem<L, R>>,
+                                    InitializingBean {
+
+    /**
+     * Items returned by the join.
+     */
+    public enum JoinMode {
+
+        /**
+         * Left items that have right items of the same key, joined with each of them.
+         */
+        INNER,
+
+        /**
+         * All left items, joined with the right items of the same key or with null.
+         */
+        LEFT,
+
+        /**
+         * Left items that have no right item of the same key, joined with null.
+         */
+        ANTI
+    }
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SortMergeJoinItemReader.class);
+
+    /**
+     * Key of the number of pairs read.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Reader of the left items.
+     */
+    private ItemReader<L> leftReader;
+
+    /**
+     * Reader of the right items.
+     */
+    private ItemReader<R> rightReader;
+
+    /**
+     * Extractor of the key of a left item.
+     */
+    private final GeneratedFieldExtractor<L> leftKeyExtractor = new GeneratedFieldExtractor<>();
+
+    /**
+     * Extractor of the key of a right item.
+     */
+    private final GeneratedFieldExtractor<R> rightKeyExtractor = new GeneratedFieldExtractor<>();
+
+    /**
+     * Properties of the key of a left item.
+     */
+    private String[] leftKeyNames;
+
+    /**
+     * Properties of the key of a right item.
+     */
+    private String[] rightKeyNames;
+
+    /**
+     * Items returned by the join.
+     */
+    private JoinMode joinMode = JoinMode.INNER;
+
+    /**
+     * Whether the state is saved to the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Left item being joined.
+     */
+    private L left;
+
+    /**
+     * Key of the last left item.
+     */
+    private Object[] leftKey;
+
+    /**
+     * Right items of the key of {@link #groupKey}.
+     */
+    private final List<R> group = new ArrayList<>();
+
+    /**
+     * Key of the right items in {@link #group}, or null before the first left item.
+     */
+    private Object[] groupKey;
+
+    /**
+     * Index of the next right item in {@link #group} to join with {@link #left}.
+     */
+    private int groupIndex;
+
+    /**
+     * Right item read ahead, or null at the end of the right items.
+     */
+    private R rightHead;
+
+    /**
+     * Key of {@link #rightHead}.
+     */
+    private Object[] rightHeadKey;
+
+    /**
+     * Whether all items are read.
+     */
+    private boolean exhausted;
+
+    private long readCount;
+
+    private long leftCount;
+
+    private long rightCount;
+
+    private long unmatchedCount;
+
+    /**
+     * Constructor.
+     */
+    public SortMergeJoinItemReader() {
+        setName(ClassUtils.getShortName(SortMergeJoinItemReader.class));
+    }
+
+    /**
+     * Reader of the left items.
+     *
+     * @param leftReader Reader sorted by the key. It is opened with an empty execution context if it is an
+     *            {@link ItemStream}.
+     */
+    public void setLeftReader(ItemReader<L> leftReader) {
+        this.leftReader = leftReader;
+    }
+
+    /**
+     * Reader of the right items.
+     *
+     * @param rightReader Reader sorted by the key. It is opened with an empty execution context if it is an
+     *            {@link ItemStream}.
+     */
+    public void setRightReader(ItemReader<R> rightReader) {
+        this.rightReader = rightReader;
+    }
+
+    /**
+     * Properties of the key of a left item.
+     *
+     * @param leftKeyNames Names of the properties in the order of comparison.
+     */
+    public void setLeftKeyNames(String[] leftKeyNames) {
+        this.leftKeyNames = leftKeyNames;
+        leftKeyExtractor.setNames(leftKeyNames);
+    }
+
+    /**
+     * Properties of the key of a right item.
+     *
+     * @param rightKeyNames Names of the properties in the order of comparison.
+     */
+    public void setRightKeyNames(String[] rightKeyNames) {
+        this.rightKeyNames = rightKeyNames;
+        rightKeyExtractor.setNames(rightKeyNames);
+    }
+
+    /**
+     * Items returned by the join.
+     *
+     * @param joinMode Join mode. The default is {@link JoinMode#INNER}.
+     */
+    public void setJoinMode(JoinMode joinMode) {
+        this.joinMode = joinMode;
+    }
+
+    /**
+     * Whether the state is saved to the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(leftReader, "leftReader must be set.");
+        Assert.notNull(rightReader, "rightReader must be set.");
+        Assert.notNull(joinMode, "joinMode must be set.");
+        Assert.notEmpty(leftKeyNames, "leftKeyNames must be set.");
+        Assert.notEmpty(rightKeyNames, "rightKeyNames must be set.");
+        Assert.isTrue(leftKeyNames.length == rightKeyNames.length,
+                "leftKeyNames and rightKeyNames must have the same number of names.");
+    }
+
+    /**
+     * Open the readers, and skip the pairs read before a restart.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the readers cannot be opened, or the pairs to skip cannot be read.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        left = null;
+        leftKey = null;
+        group.clear();
+        groupKey = null;
+        groupIndex = 0;
+        rightHead = null;
+        rightHeadKey = null;
+        exhausted = false;
+        readCount = 0;
+        leftCount = 0;
+        rightCount = 0;
+        unmatchedCount = 0;
+        if (leftReader instanceof ItemStream stream) {
+            stream.open(new ExecutionContext());
+        }
+        if (rightReader instanceof ItemStream stream) {
+            stream.open(new ExecutionContext());
+        }
+        long skip = executionContext.getLong(getExecutionContextKey(READ_COUNT_KEY), 0L);
+        try {
+            readRight();
+            while (readCount < skip && read() != null) {
+                // skip the pairs read before the restart
+            }
+        } catch (ItemStreamException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ItemStreamException("Failed to skip the pairs read. skip:" + skip, e);
+        }
+    }
+
+    /**
+     * Store the number of pairs read.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(READ_COUNT_KEY), readCount);
+        }
+    }
+
+    /**
+     * Close the readers.
+     */
+    @Override
+    public void close() {
+        super.close();
+        group.clear();
+        try {
+            if (leftReader instanceof ItemStream stream) {
+                stream.close();
+            }
+        } finally {
+            if (rightReader instanceof ItemStream stream) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * Read the next pair.
+     *
+     * @return Pair of a left item and a right item or null, or null if all pairs are read.
+     * @throws Exception Exception thrown by the readers.
+     * @throws IllegalStateException If a key is null or smaller than the previous key of the same reader.
+     */
+    @Override
+    public JoinedItem<L, R> read() throws Exception {
+        while (true) {
+            if (left != null && groupIndex < group.size()) {
+                readCount++;
+                return new JoinedItem<>(left, group.get(groupIndex++));
+            }
+            left = leftReader.read();
+            if (left == null) {
+                if (!exhausted) {
+                    exhausted = true;
+                    logger.info("Joined the sorted readers. mode:{}, left:{}, right:{}, unmatched left:{}, joined:{}",
+                            joinMode, leftCount, rightCount, unmatchedCount, readCount);
+                }
+                return null;
+            }
+            leftCount++;
+            leftKey = nextKey(leftKeyExtractor.extract(left), leftKey, "left");
+            if (groupKey == null || compare(leftKey, groupKey) != 0) {
+                fillGroup(leftKey);
+            }
+            groupIndex = joinMode == JoinMode.ANTI ? group.size() : 0;
+            if (group.isEmpty()) {
+                unmatchedCount++;
+                if (joinMode != JoinMode.INNER) {
+                    readCount++;
+                    return new JoinedItem<>(left, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the group by the right items of the key, skipping the right items of smaller keys.
+     */
+    private void fillGroup(Object[] key) throws Exception {
+        group.clear();
+        groupKey = key;
+        while (rightHead != null && compare(rightHeadKey, key) < 0) {
+            readRight();
+        }
+        while (rightHead != null && compare(rightHeadKey, key) == 0) {
+            group.add(rightHead);
+            readRight();
+        }
+    }
+
+    private void readRight() throws Exception {
+        rightHead = rightReader.read();
+        if (rightHead != null) {
+            rightCount++;
+            rightHeadKey = nextKey(rightKeyExtractor.extract(rightHead), rightHeadKey, "right");
+        }
+    }
+
+    private Object[] nextKey(Object[] key, Object[] previous, String side) {
+        for (Object value : key) {
+            if (value == null) {
+                throw new IllegalStateException("The key of the " + side + " item must not be null. key:" + Arrays
+                        .toString(key));
+            }
+        }
+        if (previous != null && compare(key, previous) < 0) {
+            throw new IllegalStateException("The " + side + " items are not sorted by the key. key:" + Arrays
+                    .toString(key) + ", previous:" + Arrays.toString(previous));
+        }
+        return key;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object[] left, Object[] right) {
+        for (int i = 0; i < left.length; i++) {
+            int result = ((Comparable) left[i]).compareTo(right[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of the sorted runs spilled by {@link ExternalSortTasklet}.
+ * <p>
+ * A run is a file that starts with the number of items, followed by the items encoded by an {@link ItemCodec} in
+ * sorted order. The merge keeps one item of each run in a priority queue, and returns the items of equal keys in the
+ * order of the runs, so that the sort is stable when the runs are given in the order of input.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+class SortedRunMerger<T> implements Closeable {
+
+    private final ItemCodec<T> codec;
+
+    private final PriorityQueue<Cursor<T>> queue;
+
+    private final List<Cursor<T>> cursors;
+
+    private final long size;
+
+    /**
+     * Open the runs.
+     *
+     * @param runs Runs in the order of input.
+     * @param codec Codec of the items.
+     * @param comparator Order of the items.
+     * @param bufferSize Size of the read buffer of each run.
+     * @throws IOException If a run cannot be read.
+     */
+    SortedRunMerger(List<Path> runs, ItemCodec<T> codec, Comparator<? super T> comparator,
+            int bufferSize) throws IOException {
+        this.codec = codec;
+        this.queue = new PriorityQueue<>(Math.max(1, runs.size()), (left, right) -> {
+            int result = comparator.compare(left.head, right.head);
+            return result != 0 ? result : Integer.compare(left.index, right.index);
+        });
+        this.cursors = new ArrayList<>(runs.size());
+        long total = 0;
+        try {
+            for (Path run : runs) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run),
+                        bufferSize));
+                Cursor<T> cursor = new Cursor<>(cursors.size(), in);
+                cursors.add(cursor);
+                cursor.remaining = in.readLong();
+                total += cursor.remaining;
+                if (advance(cursor)) {
+                    queue.add(cursor);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.size = total;
+    }
+
+    /**
+     * Write the items to a new run.
+     *
+     * @param items Sorted items.
+     * @param codec Codec of the items.
+     * @param run File of the run.
+     * @param bufferSize Size of the write buffer.
+     * @param <T> Type of item.
+     * @return Size of the run in bytes.
+     * @throws IOException If the run cannot be written.
+     */
+    static <T> long write(Collection<? extends T> items, ItemCodec<T> codec, Path run,
+            int bufferSize) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run),
+                bufferSize))) {
+            out.writeLong(items.size());
+            for (T item : items) {
+                codec.encode(item, out);
+            }
+        }
+        return Files.size(run);
+    }
+
+    /**
+     * Merge the runs into a new run.
+     *
+     * @param run File of the new run.
+     * @param bufferSize Size of the write buffer.
+     * @return Size of the new run in bytes.
+     * @throws IOException If a run cannot be read or written.
+     */
+    long mergeTo(Path run, int bufferSize) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run),
+                bufferSize))) {
+            out.writeLong(size);
+            T item;
+            while ((item = next()) != null) {
+                codec.encode(item, out);
+            }
+        }
+        return Files.size(run);
+    }
+
+    /**
+     * Number of the items of all runs.
+     *
+     * @return Number of the items.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Number of the runs.
+     *
+     * @return Number of the runs.
+     */
+    int runCount() {
+        return cursors.size();
+    }
+
+    /**
+     * Return the next item in sorted order.
+     *
+     * @return Item, or null if all items are returned.
+     * @throws IOException If a run cannot be read.
+     */
+    T next() throws IOException {
+        Cursor<T> cursor = queue.poll();
+        if (cursor == null) {
+            return null;
+        }
+        T item = cursor.head;
+        if (advance(cursor)) {
+            queue.add(cursor);
+        }
+        return item;
+    }
+
+    private boolean advance(Cursor<T> cursor) throws IOException {
+        if (cursor.remaining == 0) {
+            cursor.head = null;
+            cursor.in.close();
+            return false;
+        }
+        cursor.head = codec.decode(cursor.in);
+        cursor.remaining--;
+        return true;
+    }
+
+    /**
+     * Close the runs.
+     *
+     * @throws IOException If a run cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Cursor<T> cursor : cursors) {
+            try {
+                cursor.in.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        queue.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Position in a run.
+     *
+     * @param <T> Type of item.
+     */
+    private static final class Cursor<T> {
+
+        private final int index;
+
+        private final DataInputStream in;
+
+        private long remaining;
+
+        private T head;
+
+        Cursor(int index, DataInputStream in) {
+            this.index = index;
+            this.in = in;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of XML fragments that unmarshals each fragment directly from a cursor of the StAX API.
+ * <p>
+ * {@code StaxEventItemReader} creates an event object for each node, wraps the event reader of each fragment and
+ * unmarshals through {@code Jaxb2Marshaller}. This reader moves an {@link XMLStreamReader} to the start element of the
+ * next fragment and passes the reader itself to an {@code Unmarshaller} of {@link JaxbUnmarshallerPool}, so no event
+ * object is created. Since the unmarshaller reads from the original reader, the locations of validation events are
+ * those of the input file.
+ * </p>
+ * <p>
+ * The number of read fragments is stored in the execution context. A restarted step skips that number of fragments by
+ * moving the cursor, without unmarshalling them. An instance is used by one thread, so define it as a step scoped bean
+ * and share the {@link JaxbUnmarshallerPool} in a partitioned step.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class StaxCursorItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T>, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StaxCursorItemReader.class);
+
+    /**
+     * Key of the number of read fragments.
+     */
+    private static final String READ_COUNT_KEY = "read.count";
+
+    /**
+     * Input file.
+     */
+    private Resource resource;
+
+    /**
+     * Charset of the file.
+     */
+    private String encoding = StandardCharsets.UTF_8.name();
+
+    /**
+     * Names of the root elements of the fragments.
+     */
+    private QName[] fragmentRootElementNames;
+
+    /**
+     * Pool of unmarshallers.
+     */
+    private JaxbUnmarshallerPool unmarshallerPool;
+
+    /**
+     * Whether a missing input file is an error.
+     */
+    private boolean strict = true;
+
+    /**
+     * Whether the state is saved in the execution context.
+     */
+    private boolean saveState = true;
+
+    private final XMLInputFactory inputFactory;
+
+    private InputStream inputStream;
+
+    private XMLStreamReader streamReader;
+
+    private long readCount;
+
+    /**
+     * Constructor.
+     */
+    public StaxCursorItemReader() {
+        setName(ClassUtils.getShortName(StaxCursorItemReader.class));
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Input file.
+     *
+     * @param resource Input file.
+     */
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Charset of the file.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Name of the root element of the fragments.
+     *
+     * @param fragmentRootElementName Local name, or {@code {namespace}localName}.
+     */
+    public void setFragmentRootElementName(String fragmentRootElementName) {
+        setFragmentRootElementNames(fragmentRootElementName);
+    }
+
+    /**
+     * Names of the root elements of the fragments.
+     *
+     * @param fragmentRootElementNames Local names, or {@code {namespace}localName}.
+     */
+    public void setFragmentRootElementNames(String... fragmentRootElementNames) {
+        this.fragmentRootElementNames = new QName[fragmentRootElementNames.length];
+        for (int i = 0; i < fragmentRootElementNames.length; i++) {
+            this.fragmentRootElementNames[i] = QName.valueOf(fragmentRootElementNames[i]);
+        }
+    }
+
+    /**
+     * Pool of unmarshallers.
+     *
+     * @param unmarshallerPool Pool of unmarshallers shared by the readers.
+     */
+    public void setUnmarshallerPool(JaxbUnmarshallerPool unmarshallerPool) {
+        this.unmarshallerPool = unmarshallerPool;
+    }
+
+    /**
+     * Whether a missing input file is an error.
+     *
+     * @param strict Whether a missing input file is an error. If false, nothing is read. The default is true.
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * Whether the state is saved in the execution context.
+     *
+     * @param saveState Whether the state is saved. The default is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notEmpty(fragmentRootElementNames, "fragmentRootElementNames must be set.");
+        for (QName name : fragmentRootElementNames) {
+            Assert.hasText(name.getLocalPart(), "fragmentRootElementNames must not contain empty names.");
+        }
+        Assert.notNull(unmarshallerPool, "unmarshallerPool must be set.");
+    }
+
+    /**
+     * Open the file and skip the fragments read before the restart.
+     *
+     * @param executionContext Execution context of the step.
+     * @throws ItemStreamException If the file cannot be opened.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        afterPropertiesSet();
+        readCount = 0;
+        if (!resource.exists()) {
+            if (strict) {
+                throw new ItemStreamException("Input resource must exist (reader is in 'strict' mode)");
+            }
+            logger.warn("Input resource does not exist {}", resource.getDescription());
+            return;
+        }
+        try {
+            inputStream = resource.getInputStream();
+            streamReader = encoding == null ? inputFactory.createXMLStreamReader(inputStream)
+                    : inputFactory.createXMLStreamReader(inputStream, encoding);
+            long skip = executionContext.getLong(getExecutionContextKey(READ_COUNT_KEY), 0L);
+            while (readCount < skip && moveToFragment()) {
+                skipElement();
+                readCount++;
+            }
+        } catch (IOException | XMLStreamException e) {
+            close();
+            throw new ItemStreamException("Failed to initialize the reader", e);
+        }
+    }
+
+    /**
+     * Store the number of read fragments.
+     *
+     * @param executionContext Execution context of the step.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(READ_COUNT_KEY), readCount);
+        }
+    }
+
+    /**
+     * Close the file.
+     *
+     * @throws ItemStreamException If the file cannot be closed.
+     */
+    @Override
+    public void close() {
+        super.close();
+        try {
+            if (streamReader != null) {
+                streamReader.close();
+            }
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new ItemStreamException("Error while closing item reader", e);
+        } finally {
+            streamReader = null;
+            inputStream = null;
+        }
+    }
+
+    /**
+     * Unmarshal the next fragment.
+     *
+     * @return Item, or null at the end of the file.
+     * @throws XMLStreamException If the file is not well-formed.
+     * @throws org.springframework.oxm.XmlMappingException If the fragment cannot be unmarshalled or is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read() throws XMLStreamException {
+        if (streamReader == null || !moveToFragment()) {
+            return null;
+        }
+        T item = (T) unmarshallerPool.unmarshal(streamReader);
+        readCount++;
+        return item;
+    }
+
+    /**
+     * Move the cursor to the start element of the next fragment, including the current event.
+     *
+     * @return True if a fragment is found.
+     * @throws XMLStreamException If the file is not well-formed.
+     */
+    private boolean moveToFragment() throws XMLStreamException {
+        int event = streamReader.getEventType();
+        while (event != XMLStreamConstants.START_ELEMENT || !isFragmentRoot()) {
+            if (!streamReader.hasNext()) {
+                return false;
+            }
+            event = streamReader.next();
+        }
+        return true;
+    }
+
+    private boolean isFragmentRoot() {
+        String localName = streamReader.getLocalName();
+        for (QName name : fragmentRootElementNames) {
+            if (name.getLocalPart().equals(localName) && (!StringUtils.hasText(name.getNamespaceURI()) || name
+                    .getNamespaceURI().equals(nullToEmpty(streamReader.getNamespaceURI())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nullToEmpty(String namespaceUri) {
+        return namespaceUri == null ? XMLConstants.NULL_NS_URI : namespaceUri;
+    }
+
+    /**
+     * Move the cursor from a start element to the event after the matching end element.
+     *
+     * @throws XMLStreamException If the file is not well-formed.
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = streamReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        if (streamReader.hasNext()) {
+            streamReader.next();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.xml.stax.NoStartEndDocumentStreamWriter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.oxm.Marshaller;
+import org.springframework.util.Assert;
+import org.springframework.util.xml.StaxUtils;
+
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Aggregator from an item to an XML fragment, to write the fragments of a document with a flat file writer.
+ * <p>
+ * Each item is marshalled into a reused event writer in the same way as {@code StaxEventItemWriter} marshals an item
+ * inside the root element, so the fragment is the same string as the item in a document written by
+ * {@code StaxEventItemWriter}. The event writer is discarded when an item fails, so a skipped item leaves nothing in
+ * the next fragment. Use it with an empty line separator, and concatenate the fragment files between the header and
+ * the footer with {@link XmlFragmentMergeTasklet}.
+ * </p>
+ * <p>
+ * Namespaces declared on the root element are not in scope of the fragment, so the marshaller declares them on each
+ * fragment instead. An instance is used by one thread, so define it as a step scoped bean.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public class XmlFragmentLineAggregator<T> implements LineAggregator<T>, InitializingBean {
+
+    /**
+     * Marshaller of the items.
+     */
+    private Marshaller marshaller;
+
+    private final StringWriter buffer = new StringWriter();
+
+    private XMLEventWriter eventWriter;
+
+    /**
+     * Marshaller of the items.
+     *
+     * @param marshaller Marshaller of the items. It can be shared by the partitions.
+     */
+    public void setMarshaller(Marshaller marshaller) {
+        this.marshaller = marshaller;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(marshaller, "marshaller must be set.");
+    }
+
+    /**
+     * Marshal an item into an XML fragment.
+     *
+     * @param item Item.
+     * @return XML fragment of the item.
+     * @throws org.springframework.oxm.XmlMappingException If the item cannot be marshalled.
+     */
+    @Override
+    public String aggregate(T item) {
+        boolean succeeded = false;
+        try {
+            if (eventWriter == null) {
+                eventWriter = new NoStartEndDocumentStreamWriter(XMLOutputFactory.newInstance()
+                        .createXMLEventWriter(buffer));
+            }
+            marshaller.marshal(item, StaxUtils.createStaxResult(eventWriter));
+            eventWriter.flush();
+            succeeded = true;
+            return buffer.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new WriteFailedException("Failed to flush the events", e);
+        } finally {
+            buffer.getBuffer().setLength(0);
+            if (!succeeded) {
+                // the event writer may hold the unclosed elements of the failed item.
+                eventWriter = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.xml.StaxEventItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tasklet that merges the XML fragment files written by partitions into one document.
+ * <p>
+ * The frame of the document, which is the XML declaration, the root element and the output of the header and footer
+ * callbacks, is written by {@code frameWriter} to a temporary file with no item, in the same way as the sequential
+ * step. The position of the items in the frame is the byte offset that {@link StaxEventItemWriter} stores in the
+ * execution context. The output file is then made from the frame up to the position, the fragment files in the order
+ * of the partition index and the rest of the frame, with {@link FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)} so that the bytes are copied by the OS without passing through the heap.
+ * </p>
+ * <p>
+ * When the fragments are written by {@link XmlFragmentLineAggregator} with the same marshaller, the output file is the
+ * same as the file written by {@code frameWriter} in one step. The frame writer is used only by this tasklet, and its
+ * resource and the options for the temporary file are set by this tasklet. The fragment files and the frame are
+ * deleted after the merge, and the merge is done again from the beginning when the step is restarted.
+ * </p>
+ * <p>
+ * The path of each fragment file is made from {@code fragmentPathFormat} and the partition index, from 0 to
+ * {@code partitionCount - 1}, in the same way as the resource of the writer of the partitions. The step fails if any of
+ * them is missing, and files left by another execution with other indices are not merged.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class XmlFragmentMergeTasklet implements Tasklet, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(XmlFragmentMergeTasklet.class);
+
+    /**
+     * Key of the position of {@link StaxEventItemWriter}.
+     */
+    private static final String POSITION_KEY = "position";
+
+    /**
+     * Output file.
+     */
+    private WritableResource resource;
+
+    /**
+     * Writer of the frame of the document.
+     */
+    private StaxEventItemWriter<?> frameWriter;
+
+    /**
+     * Format of the path of the fragment files.
+     */
+    private String fragmentPathFormat;
+
+    /**
+     * Number of the partitions.
+     */
+    private int partitionCount;
+
+    /**
+     * Whether the fragment files are deleted after the merge.
+     */
+    private boolean deleteFragments = true;
+
+    /**
+     * Output file.
+     *
+     * @param resource Output file. An existing file is overwritten.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Writer of the frame of the document.
+     *
+     * @param frameWriter Writer configured in the same way as the writer of the sequential step.
+     */
+    public void setFrameWriter(StaxEventItemWriter<?> frameWriter) {
+        this.frameWriter = frameWriter;
+    }
+
+    /**
+     * Format of the path of the fragment files.
+     *
+     * @param fragmentPathFormat Format given to {@link String#format(String, Object...)} with the partition index, such
+     *            as {@code "output.xml.%04d.part"}.
+     */
+    public void setFragmentPathFormat(String fragmentPathFormat) {
+        this.fragmentPathFormat = fragmentPathFormat;
+    }
+
+    /**
+     * Number of the partitions.
+     *
+     * @param partitionCount Number of the partitions that wrote the fragment files, which is the grid size.
+     */
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * Whether the fragment files are deleted after the merge.
+     *
+     * @param deleteFragments Whether the fragment files are deleted. The default is true.
+     */
+    public void setDeleteFragments(boolean deleteFragments) {
+        this.deleteFragments = deleteFragments;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.notNull(frameWriter, "frameWriter must be set.");
+        Assert.hasText(fragmentPathFormat, "fragmentPathFormat must be set.");
+        Assert.isTrue(partitionCount > 0, "partitionCount must be greater than 0.");
+    }
+
+    /**
+     * Write the frame and merge the fragment files into it.
+     *
+     * @param contribution Contribution of the step.
+     * @param chunkContext Context of the chunk.
+     * @return {@link RepeatStatus#FINISHED}.
+     * @throws IOException If a file cannot be read or written.
+     * @throws IllegalStateException If a fragment file is missing.
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws IOException {
+        afterPropertiesSet();
+        List<Path> fragments = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            Path fragment = Path.of(String.format(fragmentPathFormat, i));
+            Assert.state(Files.isRegularFile(fragment), () -> "The fragment file is missing. fragment:" + fragment);
+            fragments.add(fragment);
+        }
+        Path output = resource.getFile().toPath().toAbsolutePath();
+        Path frame = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".frame");
+        try {
+            long position = writeFrame(frame);
+            try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING); FileChannel in = FileChannel.open(frame,
+                            StandardOpenOption.READ)) {
+                transfer(in, 0, position, out);
+                for (Path fragment : fragments) {
+                    try (FileChannel fragmentIn = FileChannel.open(fragment, StandardOpenOption.READ)) {
+                        transfer(fragmentIn, 0, fragmentIn.size(), out);
+                    }
+                }
+                transfer(in, position, in.size() - position, out);
+                logger.info("Merged {} fragments into {}. size:{}", fragments.size(), output, out.size());
+            }
+        } finally {
+            Files.deleteIfExists(frame);
+        }
+        if (deleteFragments) {
+            for (Path fragment : fragments) {
+                Files.deleteIfExists(fragment);
+            }
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Write the frame of the document with no item.
+     *
+     * @param frame Temporary file of the frame.
+     * @return Byte offset of the items in the frame.
+     */
+    private long writeFrame(Path frame) {
+        File frameFile = frame.toFile();
+        frameWriter.setResource(new FileSystemResource(frameFile));
+        frameWriter.setTransactional(false);
+        frameWriter.setOverwriteOutput(true);
+        frameWriter.setShouldDeleteIfEmpty(false);
+        frameWriter.setSaveState(true);
+        ExecutionContext executionContext = new ExecutionContext();
+        frameWriter.open(executionContext);
+        try {
+            frameWriter.update(executionContext);
+        } finally {
+            frameWriter.close();
+        }
+        return executionContext.getLong(frameWriter.getExecutionContextKey(POSITION_KEY));
+    }
+
+    private static void transfer(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long n = in.transferTo(position + transferred, count - transferred, out);
+            if (n <= 0) {
+                throw new IOException("Unexpected end of file. expected:" + count + " transferred:" + transferred);
+            }
+            transferred += n;
+        }
+    }
+}
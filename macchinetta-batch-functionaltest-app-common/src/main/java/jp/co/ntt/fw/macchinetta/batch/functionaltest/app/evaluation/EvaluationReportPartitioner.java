@@ -17,6 +17,8 @@ package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.evaluation;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Branch;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.evaluation.EvaluationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.stereotype.Component;
@@ -28,12 +30,21 @@ import java.util.Map;
 
 /**
  * Partitioner for evaluation reports.
+ * <p>
+ * A partition is created for each branch regardless of {@code gridSize}, because a report file is output for each
+ * branch and the evaluation data of a branch is one row per month, so the cost of all partitions is equal.
+ * </p>
  *
  * @since 2.0.1
  */
 @Component
 public class EvaluationReportPartitioner implements Partitioner {
 
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EvaluationReportPartitioner.class);
+
     /**
      * Key name of partitioner.
      */
@@ -69,6 +80,7 @@ public class EvaluationReportPartitioner implements Partitioner {
             map.put(PARTITION_KEY + index, context);
             index++;
         }
+        logger.info("Created {} partitions for {} branches.", map.size(), branches.size());
 
         return map;
     }
@@ -19,6 +19,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.cursor.Cursor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -35,6 +36,14 @@ public interface CustomerRepository {
      */
     Customer findOne(@Param("customerId") String customerId);
 
+    /**
+     * Find customer master data by customer ids.
+     *
+     * @param customerIds Customer ids. Must not be empty.
+     * @return Customer master data that exist.
+     */
+    List<Customer> findByCustomerIds(@Param("customerIds") Collection<String> customerIds);
+
     /**
      * Get cursor for customer master data.
      *
@@ -43,11 +52,11 @@ public interface CustomerRepository {
     Cursor<Customer> findAll();
 
     /**
-     * Find all customer master data.
+     * Get cursor for customer master data in the order of customer id.
      *
-     * @return All Customer master data.
+     * @return Cursor for customer master data ordered by customer id.
      */
-    List<Customer> findAllAtOnce();
+    Cursor<Customer> findAllOrderByCustomerId();
 
     /**
      * Get cursor for customer master data by branch.
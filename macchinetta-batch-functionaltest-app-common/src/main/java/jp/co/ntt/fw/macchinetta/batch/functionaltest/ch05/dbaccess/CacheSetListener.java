@@ -16,16 +16,29 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
+import org.apache.ibatis.cursor.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.mst.CustomerRepository;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.io.IOException;
 
 /**
  * Listener that set customer data to cache from database.
+ * <p>
+ * Customer data is streamed by a cursor until the cache is full, so the customer master is never held in a list.
+ * Hits, misses and evictions caused by the step are counted by the cache for this step only, and saved in the execution
+ * context of the step.
+ * </p>
  *
  * @since 2.0.1.
  */
@@ -49,15 +62,61 @@ public class CacheSetListener implements StepExecutionListener {
     CustomerCache cache;
 
     /**
-     * Set customer data that branch id is "001" to cache.
+     * Transaction manager to keep the cursor open.
+     */
+    @Inject
+    @Named("jobTransactionManager")
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Set customer data to cache.
      * 
      * @param stepExecution
      */
     @Override
     public void beforeStep(StepExecution stepExecution) {
         logger.info("CacheSetListener is called at before step.");
-        for(Customer customer : customerRepository.findAllAtOnce()) {
-            cache.addCustomer(customer.getCustomerId(), customer);
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        int count = 0;
+        try (Cursor<Customer> cursor = customerRepository.findAll()) {
+            int maximumSize = cache.getMaximumSize();
+            for (Customer customer : cursor) {
+                if (count >= maximumSize) {
+                    logger.info("Customer cache is full. Stop preloading at {} customers.", count);
+                    break;
+                }
+                cache.addCustomer(customer.getCustomerId(), customer);
+                count++;
+            }
+        } catch (IOException e) {
+            logger.warn("An error occurred when closing the cursor.", e);
+        } catch (RuntimeException e) {
+            transactionManager.rollback(status);
+            throw e;
         }
+        transactionManager.commit(status);
+        logger.debug("Preloaded {} customers.", count);
+        cache.startRecording(stepExecution);
+    }
+
+    /**
+     * Save statistics of the cache during the step.
+     *
+     * @param stepExecution
+     * @return Null to keep the exit status.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        CustomerCache.Statistics statistics = cache.stopRecording(stepExecution);
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putLong("customerCache.hitCount", statistics.getHitCount());
+        executionContext.putLong("customerCache.missCount", statistics.getMissCount());
+        executionContext.putLong("customerCache.evictionCount", statistics.getEvictionCount());
+        logger.info("Customer cache statistics. hit:{}, miss:{}, eviction:{}", statistics.getHitCount(),
+                statistics.getMissCount(), statistics.getEvictionCount());
+        return null;
     }
 }
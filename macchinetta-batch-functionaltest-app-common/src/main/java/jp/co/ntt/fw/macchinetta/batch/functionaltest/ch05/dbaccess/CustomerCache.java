@@ -16,26 +16,338 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.mst.CustomerRepository;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
-import java.util.HashMap;
+import jakarta.inject.Inject;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Customer data cache for Listener test.
+ * <p>
+ * The total number of entries is bounded by {@code customer-cache.maximum-size}. Entries are divided into segments
+ * guarded by their own lock, so the cache can be used from a multi-threaded step. When the bound is exceeded, the least
+ * recently used entry of a segment is evicted, starting from the segment of the added entry. Therefore the eviction
+ * order is least recently used within a segment, and only approximately so across the cache. A customer that is not
+ * in the cache is loaded by {@link CustomerRepository#findOne(String)}.
+ * </p>
+ * <p>
+ * Hits, misses and evictions are counted for the whole cache, and also for each step registered by
+ * {@link #startRecording(StepExecution)}, so that steps sharing the cache do not count each other's accesses.
+ * </p>
  *
  * @since 2.0.1
  */
 @Component
 public class CustomerCache {
 
-    Map<String, Customer> customerMap = new HashMap<>();
+    /**
+     * Maximum number of segments.
+     */
+    private static final int MAX_SEGMENT_COUNT = 16;
 
+    /**
+     * Default maximum number of entries.
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+    /**
+     * Customer repository used when the cache misses.
+     */
+    @Inject
+    CustomerRepository customerRepository;
+
+    /**
+     * Counter of the whole cache.
+     */
+    private final Counter totalCounter = new Counter();
+
+    /**
+     * Counters of the recorded steps, keyed by the id of the step execution.
+     */
+    private final Map<Long, Counter> stepCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Number of cached entries.
+     */
+    private final AtomicInteger entryCount = new AtomicInteger();
+
+    /**
+     * Maximum number of entries.
+     */
+    private volatile int maximumSize;
+
+    /**
+     * Segments of entries.
+     */
+    private volatile Segment[] segments;
+
+    /**
+     * Constructor.
+     */
+    public CustomerCache() {
+        setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Get a customer. When the customer is not cached, it is loaded from database and cached.
+     *
+     * @param customerId Customer id.
+     * @return Customer, or null if the customer does not exist.
+     */
     public Customer getCustomer(String customerId) {
-        return customerMap.get(customerId);
+        Counter stepCounter = currentStepCounter();
+        Segment segment = segmentFor(segments, customerId);
+        Customer customer;
+        synchronized (segment) {
+            customer = segment.get(customerId);
+        }
+        if (customer != null) {
+            totalCounter.hitCount.increment();
+            if (stepCounter != null) {
+                stepCounter.hitCount.increment();
+            }
+            return customer;
+        }
+
+        totalCounter.missCount.increment();
+        if (stepCounter != null) {
+            stepCounter.missCount.increment();
+        }
+        customer = customerRepository.findOne(customerId);
+        if (customer != null) {
+            addCustomer(customerId, customer);
+        }
+        return customer;
     }
 
+    /**
+     * Add a customer.
+     * <p>
+     * When the number of entries exceeds the maximum, the least recently used entries of the segments are evicted. The
+     * added entry itself is not evicted.
+     * </p>
+     *
+     * @param id Customer id.
+     * @param customer Customer.
+     */
     public void addCustomer(String id, Customer customer) {
-        customerMap.put(id, customer);
+        Segment[] current = segments;
+        Segment segment = segmentFor(current, id);
+        boolean added;
+        synchronized (segment) {
+            added = segment.put(id, customer) == null;
+        }
+        if (added && entryCount.incrementAndGet() > maximumSize) {
+            evict(current, indexFor(current, id));
+        }
+    }
+
+    /**
+     * Number of cached customers.
+     *
+     * @return Number of cached customers.
+     */
+    public int size() {
+        return entryCount.get();
+    }
+
+    /**
+     * Maximum number of entries.
+     *
+     * @return Maximum number of entries.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Get the current statistics of the whole cache.
+     *
+     * @return Statistics accumulated since the cache was created.
+     */
+    public Statistics getStatistics() {
+        return totalCounter.toStatistics();
+    }
+
+    /**
+     * Start counting the accesses of a step.
+     * <p>
+     * The accesses from the threads of the step are counted until {@link #stopRecording(StepExecution)} is called.
+     * </p>
+     *
+     * @param stepExecution Step execution.
+     */
+    public void startRecording(StepExecution stepExecution) {
+        stepCounters.put(stepExecution.getId(), new Counter());
+    }
+
+    /**
+     * Stop counting the accesses of a step.
+     *
+     * @param stepExecution Step execution.
+     * @return Statistics of the step since {@link #startRecording(StepExecution)}.
+     */
+    public Statistics stopRecording(StepExecution stepExecution) {
+        Counter counter = stepCounters.remove(stepExecution.getId());
+        return counter != null ? counter.toStatistics() : new Statistics(0L, 0L, 0L);
+    }
+
+    /**
+     * Maximum number of entries.
+     * <p>
+     * Changing the maximum discards the cached entries.
+     * </p>
+     *
+     * @param maximumSize Maximum number of entries.
+     */
+    @Value("${customer-cache.maximum-size:" + DEFAULT_MAXIMUM_SIZE + "}")
+    public void setMaximumSize(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENT_COUNT, maximumSize));
+        Segment[] newSegments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            newSegments[i] = new Segment();
+        }
+        this.maximumSize = maximumSize;
+        this.segments = newSegments;
+        entryCount.set(0);
+    }
+
+    /**
+     * Evict the least recently used entries until the number of entries is within the maximum.
+     * <p>
+     * Only one segment is locked at a time. The latest entry of the first segment, which is the added entry, is kept.
+     * </p>
+     *
+     * @param current Segments to evict from.
+     * @param start Index of the segment of the added entry.
+     */
+    private void evict(Segment[] current, int start) {
+        Counter stepCounter = currentStepCounter();
+        for (int i = 0; i < current.length && entryCount.get() > maximumSize; i++) {
+            Segment segment = current[(start + i) & (current.length - 1)];
+            synchronized (segment) {
+                if (segment.size() > (i == 0 ? 1 : 0)) {
+                    Iterator<String> eldest = segment.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    entryCount.decrementAndGet();
+                    totalCounter.evictionCount.increment();
+                    if (stepCounter != null) {
+                        stepCounter.evictionCount.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private Counter currentStepCounter() {
+        if (stepCounters.isEmpty()) {
+            return null;
+        }
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? stepCounters.get(context.getStepExecution().getId()) : null;
+    }
+
+    private static Segment segmentFor(Segment[] current, String customerId) {
+        return current[indexFor(current, customerId)];
+    }
+
+    private static int indexFor(Segment[] current, String customerId) {
+        int hash = customerId.hashCode();
+        return (hash ^ (hash >>> 16)) & (current.length - 1);
+    }
+
+    /**
+     * Segment that keeps the entries in the order of access.
+     */
+    private static class Segment extends LinkedHashMap<String, Customer> {
+
+        private static final long serialVersionUID = 1L;
+
+        Segment() {
+            super(16, 0.75f, true);
+        }
+    }
+
+    /**
+     * Mutable counter of hits, misses and evictions.
+     */
+    private static class Counter {
+
+        private final LongAdder hitCount = new LongAdder();
+
+        private final LongAdder missCount = new LongAdder();
+
+        private final LongAdder evictionCount = new LongAdder();
+
+        Statistics toStatistics() {
+            return new Statistics(hitCount.sum(), missCount.sum(), evictionCount.sum());
+        }
+    }
+
+    /**
+     * Statistics of the cache.
+     */
+    public static class Statistics {
+
+        /**
+         * Number of cache hits.
+         */
+        private final long hitCount;
+
+        /**
+         * Number of cache misses.
+         */
+        private final long missCount;
+
+        /**
+         * Number of evicted entries.
+         */
+        private final long evictionCount;
+
+        Statistics(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Number of cache hits.
+         *
+         * @return Number of cache hits.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Number of cache misses.
+         *
+         * @return Number of cache misses.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Number of evicted entries.
+         *
+         * @return Number of evicted entries.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
     }
 }
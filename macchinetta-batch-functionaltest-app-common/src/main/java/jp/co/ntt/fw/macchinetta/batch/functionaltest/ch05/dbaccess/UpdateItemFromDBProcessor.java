@@ -17,6 +17,12 @@ package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
@@ -25,20 +31,52 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDet
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.mst.CustomerRepository;
 
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Processor that update item by acquired value from database.
+ * <p>
+ * The charge branch of the customer is not acquired for each item. It is resolved for the whole chunk by
+ * {@link CustomerRepository#findByCustomerIds(java.util.Collection)} just before the chunk is written, so the number
+ * of queries does not depend on the number of items. This processor is registered as an {@link ItemWriteListener}
+ * automatically when it is set to a chunk step.
+ * </p>
+ * <p>
+ * The number of queries is saved in the execution context of the step with the key {@code customerLookup.roundTrips}
+ * and the number of chunks with the key {@code customerLookup.chunks}.
+ * </p>
  *
  * @since 2.0.1
  */
 @Component
-public class UpdateItemFromDBProcessor implements ItemProcessor<SalesPerformanceDetail, SalesPlanDetail> {
+public class UpdateItemFromDBProcessor implements ItemProcessor<SalesPerformanceDetail, SalesPlanDetail>,
+                                       ItemWriteListener<SalesPlanDetail> {
 
     /**
      * Logger
      */
     private static final Logger logger = LoggerFactory.getLogger(UpdateItemFromDBProcessor.class);
 
+    /**
+     * Key of the execution context to save the number of queries.
+     */
+    private static final String ROUND_TRIPS_KEY = "customerLookup.roundTrips";
+
+    /**
+     * Key of the execution context to save the number of chunks.
+     */
+    private static final String CHUNKS_KEY = "customerLookup.chunks";
+
+    /**
+     * Maximum number of customer ids in one query.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     /**
      * Customer repository.
      */
@@ -46,23 +84,70 @@ public class UpdateItemFromDBProcessor implements ItemProcessor<SalesPerformance
     CustomerRepository customerRepository;
 
     /**
-     * Item is updated by acquired value from database.
+     * Item is transformed. The branch id is set before writing.
      *
      * @param readItem that passed from reader.
-     * @return writeItem that branch id is changed.
+     * @return writeItem whose branch id is not set yet.
      * @throws Exception Exception that occurred.
      */
     @Override
     public SalesPlanDetail process(SalesPerformanceDetail readItem) throws Exception {
         logger.info("UpdateItemFromDBProcessor is called.");
-        Customer customer = customerRepository.findOne(readItem.getCustomerId());
 
         SalesPlanDetail writeItem = new SalesPlanDetail();
-        writeItem.setBranchId(customer.getChargeBranchId());
         writeItem.setYear(readItem.getYear());
         writeItem.setMonth(readItem.getMonth());
         writeItem.setCustomerId(readItem.getCustomerId());
         writeItem.setAmount(readItem.getAmount());
         return writeItem;
     }
+
+    /**
+     * Items are updated by acquired value from database at once.
+     *
+     * @param items Items to write.
+     */
+    @Override
+    public void beforeWrite(Chunk<? extends SalesPlanDetail> items) {
+        Set<String> customerIds = new LinkedHashSet<>();
+        for (SalesPlanDetail item : items) {
+            customerIds.add(item.getCustomerId());
+        }
+
+        Map<String, String> branchIds = new HashMap<>(customerIds.size() * 2);
+        int roundTrips = 0;
+        List<String> ids = new ArrayList<>(customerIds);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> subList = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (Customer customer : customerRepository.findByCustomerIds(subList)) {
+                branchIds.put(customer.getCustomerId(), customer.getChargeBranchId());
+            }
+            roundTrips++;
+        }
+
+        for (SalesPlanDetail item : items) {
+            String branchId = branchIds.get(item.getCustomerId());
+            if (branchId == null) {
+                throw new IllegalStateException("Customer is not found. customerId:" + item.getCustomerId());
+            }
+            item.setBranchId(branchId);
+        }
+
+        logger.info("Customer lookup for a chunk. items:{}, customers:{}, round trips:{}", items.size(),
+                customerIds.size(), roundTrips);
+        recordRoundTrips(roundTrips);
+    }
+
+    private void recordRoundTrips(int roundTrips) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        if (stepContext == null) {
+            return;
+        }
+        StepExecution stepExecution = stepContext.getStepExecution();
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        synchronized (stepExecution) {
+            executionContext.putLong(ROUND_TRIPS_KEY, executionContext.getLong(ROUND_TRIPS_KEY, 0L) + roundTrips);
+            executionContext.putLong(CHUNKS_KEY, executionContext.getLong(CHUNKS_KEY, 0L) + 1);
+        }
+    }
 }
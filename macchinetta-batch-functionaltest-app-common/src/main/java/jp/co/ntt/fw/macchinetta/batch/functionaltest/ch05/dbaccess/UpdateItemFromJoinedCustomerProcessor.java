@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JoinedItem;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.SortMergeJoinItemReader;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+
+/**
+ * Processor that update item by the customer joined by {@link SortMergeJoinItemReader}.
+ * <p>
+ * The customer is read with the item, so no query is issued for each item. When no customer is joined, the branch id
+ * of the item is kept.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@Component
+public class UpdateItemFromJoinedCustomerProcessor implements
+                                                   ItemProcessor<JoinedItem<SalesPerformanceDetail, Customer>, SalesPlanDetail> {
+
+    /**
+     * Item is updated by the joined customer.
+     *
+     * @param joinedItem Item and customer that passed from reader.
+     * @return writeItem that branch id is changed to the charge branch of the customer.
+     * @throws Exception Exception that occurred.
+     */
+    @Override
+    public SalesPlanDetail process(JoinedItem<SalesPerformanceDetail, Customer> joinedItem) throws Exception {
+        SalesPerformanceDetail readItem = joinedItem.getLeft();
+        Customer customer = joinedItem.getRight();
+
+        SalesPlanDetail writeItem = new SalesPlanDetail();
+        writeItem.setBranchId(customer != null ? customer.getChargeBranchId() : readItem.getBranchId());
+        writeItem.setYear(readItem.getYear());
+        writeItem.setMonth(readItem.getMonth());
+        writeItem.setCustomerId(readItem.getCustomerId());
+        writeItem.setAmount(readItem.getAmount());
+        return writeItem;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.support.SingleItemPeekableItemReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tasklet that realizes headlines and summaries with a multi-level control break.
+ * <p>
+ * The levels are defined by {@link ControlBreakLevel} from the outermost to the innermost. Input must be sorted by
+ * the keys of all levels. Output items are written every time at least {@code flushSize} items are buffered, and each
+ * flush is committed as one transaction, so the heap usage does not depend on the size of a group.
+ * </p>
+ * <p>
+ * The keys of the last item and the summarized values of the open groups are saved in the execution context at each
+ * commit, so that the step can be restarted from the last commit.
+ * </p>
+ * <p>
+ * When adjacent levels total the same value extractor instance (see
+ * {@link ControlBreakLevel#summing(java.util.function.Function, java.util.function.Function,
+ * java.util.function.Function, java.util.function.BiFunction)}), the outer level is summarized by rolling up the
+ * summary of the inner level when the inner group is closed, so each value is added only once. Other levels fold
+ * every item into their own summary.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @since 2.7.0
+ */
+public abstract class AbstractControlBreakTasklet<T> implements Tasklet, StepExecutionListener {
+
+    /**
+     * Logger
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AbstractControlBreakTasklet.class);
+
+    /**
+     * Key of the execution context to save the keys of the last item.
+     */
+    private static final String PREVIOUS_KEYS_KEY = "controlBreak.previousKeys";
+
+    /**
+     * Key of the execution context to save the summarized values.
+     */
+    private static final String SUMMARIES_KEY = "controlBreak.summaries";
+
+    /**
+     * Default number of items to write at once.
+     */
+    private static final int DEFAULT_FLUSH_SIZE = 1000;
+
+    /**
+     * Number of items to write at once.
+     */
+    private int flushSize = DEFAULT_FLUSH_SIZE;
+
+    /**
+     * Keys of the last processed item. Null before the first item.
+     */
+    private Object[] previousKeys;
+
+    /**
+     * Summarized values of the open groups for each level.
+     */
+    private Object[] summaries;
+
+    /**
+     * Whether the summary of each level is rolled up from the inner level instead of accumulating every item.
+     */
+    private boolean[] rollUps;
+
+    /**
+     * Item whose keys are cached in {@link #nextKeys}.
+     */
+    private T nextItem;
+
+    /**
+     * Keys of the peeked item.
+     */
+    private Object[] nextKeys;
+
+    /**
+     * Array of keys that can be reused.
+     */
+    private Object[] spareKeys;
+
+    /**
+     * Buffer of items to write.
+     */
+    private final List<T> items = new ArrayList<>();
+
+    /**
+     * Reader.
+     *
+     * @return Reader of the sorted input.
+     */
+    protected abstract SingleItemPeekableItemReader<T> getReader();
+
+    /**
+     * Writer.
+     *
+     * @return Writer of the headlines, details and summaries.
+     */
+    protected abstract ItemStreamWriter<T> getWriter();
+
+    /**
+     * Levels of the control break from the outermost to the innermost.
+     *
+     * @return Levels of the control break.
+     */
+    protected abstract List<ControlBreakLevel<T, ?>> getLevels();
+
+    /**
+     * Open the reader and the writer and restore the state of the control break.
+     *
+     * @param stepExecution Step execution.
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        List<ControlBreakLevel<T, ?>> levels = getLevels();
+        int size = levels.size();
+        Assert.state(size > 0, "At least one level of the control break must be defined.");
+
+        rollUps = new boolean[size];
+        for (int i = 0; i < size - 1; i++) {
+            rollUps[i] = levels.get(i).sharesValueWith(levels.get(i + 1));
+        }
+
+        previousKeys = null;
+        summaries = new Object[size];
+        for (int i = 0; i < size; i++) {
+            summaries[i] = levels.get(i).initialSummary();
+        }
+        if (executionContext.containsKey(PREVIOUS_KEYS_KEY)) {
+            previousKeys = (Object[]) executionContext.get(PREVIOUS_KEYS_KEY);
+            Object[] saved = (Object[]) executionContext.get(SUMMARIES_KEY);
+            summaries = Arrays.copyOf(saved, saved.length, Object[].class);
+        }
+        nextItem = null;
+        nextKeys = null;
+        spareKeys = null;
+        items.clear();
+
+        getReader().open(executionContext);
+        getWriter().open(executionContext);
+    }
+
+    /**
+     * Control break.
+     * <p>
+     * Process items until the buffer reaches the flush size, then write them. The buffer is written only on the
+     * boundary of an item, so no headline or summary is pending at the time of commit.
+     * </p>
+     *
+     * @param contribution Step contribution.
+     * @param chunkContext Chunk context.
+     * @return RepeatStatus.CONTINUABLE if items remain, otherwise RepeatStatus.FINISHED.
+     * @throws Exception Exception that occurred.
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        SingleItemPeekableItemReader<T> reader = getReader();
+        List<ControlBreakLevel<T, ?>> levels = getLevels();
+        int size = levels.size();
+
+        while (items.size() < flushSize && reader.peek() != null) {
+            T data = reader.read();
+            contribution.incrementReadCount();
+            Object[] keys = data == nextItem ? nextKeys : keysOf(data, levels);
+
+            // Create headings with a control break
+            for (int i = breakLevel(previousKeys, keys); i < size; i++) {
+                addData(levels.get(i).header(data));
+            }
+            spareKeys = previousKeys;
+
+            items.add(data);
+            for (int i = 0; i < size; i++) {
+                if (!rollUps[i]) {
+                    summaries[i] = accumulate(levels.get(i), summaries[i], data);
+                }
+            }
+
+            // Create summaries with a control break
+            T next = reader.peek();
+            int breakLevel = 0;
+            if (next != null) {
+                nextKeys = keysOf(next, levels);
+                nextItem = next;
+                breakLevel = breakLevel(keys, nextKeys);
+            }
+            for (int i = size - 1; i >= breakLevel; i--) {
+                addData(summary(levels.get(i), data, summaries[i]));
+                if (i > 0 && rollUps[i - 1]) {
+                    summaries[i - 1] = rollUp(levels.get(i - 1), summaries[i - 1], summaries[i]);
+                }
+                summaries[i] = levels.get(i).initialSummary();
+            }
+            previousKeys = keys;
+        }
+
+        if (!items.isEmpty()) {
+            getWriter().write(new Chunk<>(items));
+            contribution.incrementWriteCount(items.size());
+            items.clear();
+        }
+
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        getReader().update(executionContext);
+        getWriter().update(executionContext);
+        if (previousKeys != null) {
+            executionContext.put(PREVIOUS_KEYS_KEY, previousKeys.clone());
+            executionContext.put(SUMMARIES_KEY, summaries.clone());
+        }
+
+        return reader.peek() == null ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * Close the reader and the writer.
+     *
+     * @param stepExecution Step execution.
+     * @return Null to keep the exit status.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        try {
+            getReader().close();
+        } catch (ItemStreamException e) {
+            logger.error("An error occurred when closing the reader.", e);
+        }
+        try {
+            getWriter().close();
+        } catch (ItemStreamException e) {
+            logger.error("An error occurred when closing the writer.", e);
+        }
+        items.clear();
+        return null;
+    }
+
+    /**
+     * Number of items to write at once.
+     * <p>
+     * A flush can exceed this size by the headlines and summaries of one item.
+     * </p>
+     *
+     * @param flushSize Number of items to write at once.
+     */
+    public void setFlushSize(int flushSize) {
+        Assert.isTrue(flushSize > 0, "flushSize must be greater than 0.");
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Extract the keys of all levels. The array released by the previous item is reused.
+     *
+     * @param data Item.
+     * @param levels Levels of the control break.
+     * @return Keys of the item.
+     */
+    private Object[] keysOf(T data, List<ControlBreakLevel<T, ?>> levels) {
+        Object[] keys = spareKeys == null ? new Object[levels.size()] : spareKeys;
+        spareKeys = null;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = levels.get(i).key(data);
+        }
+        return keys;
+    }
+
+    /**
+     * Determine the outermost level at which a control break is made.
+     *
+     * @param o1 Keys of the comparison target.
+     * @param o2 Keys of the other side of the comparison target.
+     * @return Index of the outermost level that breaks, or the number of levels if no level breaks.
+     */
+    private int breakLevel(Object[] o1, Object[] o2) {
+        if (o1 == null) {
+            return 0;
+        }
+        for (int i = 0; i < o2.length; i++) {
+            if (!Objects.equals(o1[i], o2[i])) {
+                return i;
+            }
+        }
+        return o2.length;
+    }
+
+    /**
+     * Fold the item into the summarized value of the level.
+     *
+     * @param level Level of the control break.
+     * @param summary Summarized value of the level.
+     * @param data Item.
+     * @return New summarized value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, S> Object accumulate(ControlBreakLevel<T, S> level, Object summary, T data) {
+        return level.accumulate((S) summary, data);
+    }
+
+    /**
+     * Roll up the summarized value of the inner level into the level.
+     *
+     * @param level Level of the control break.
+     * @param summary Summarized value of the level.
+     * @param inner Summarized value of the inner level.
+     * @return New summarized value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, S> Object rollUp(ControlBreakLevel<T, S> level, Object summary, Object inner) {
+        return level.rollUp((S) summary, (S) inner);
+    }
+
+    /**
+     * Create the summary of a group of the level.
+     *
+     * @param level Level of the control break.
+     * @param last Last item of the group.
+     * @param summary Summarized value of the group.
+     * @return Summary, or null if no summary is output.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, S> T summary(ControlBreakLevel<T, S> level, T last, Object summary) {
+        return level.summary(last, (S) summary);
+    }
+
+    private void addData(T data) {
+        if (data != null) {
+            items.add(data);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
+
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Definition of one level of a control break.
+ * <p>
+ * A level is identified by its key. When the key of two adjacent items differs, a break occurs at this level and at
+ * all inner levels. The key must be {@link java.io.Serializable} because it is saved in the execution context for
+ * restart.
+ * </p>
+ * <p>
+ * The summary of a group starts from the initial value and is folded with every item by the accumulator, so that a
+ * total, a count, a minimum or a maximum can be expressed. The summary is also saved in the execution context, so it
+ * must be {@link java.io.Serializable} and the initial value must be immutable because it is shared by all groups.
+ * {@link #summing(Function, Function, Function, BiFunction)} creates a level that totals a {@link BigDecimal} value.
+ * </p>
+ *
+ * @param <T> Type of item.
+ * @param <S> Type of summary.
+ * @since 2.7.0
+ */
+public class ControlBreakLevel<T, S> {
+
+    /**
+     * Function to extract the break key.
+     */
+    private final Function<? super T, ?> keyExtractor;
+
+    /**
+     * Function to create the heading from the first item of a group. Null if no heading is output.
+     */
+    private final Function<? super T, ? extends T> headerFactory;
+
+    /**
+     * Summary of a group before the first item.
+     */
+    private final S initialSummary;
+
+    /**
+     * Function to fold an item into the summary. Null if nothing is summarized.
+     */
+    private final BiFunction<S, ? super T, S> accumulator;
+
+    /**
+     * Function to create the summary from the last item of a group and the summarized value. Null if no summary is
+     * output.
+     */
+    private final BiFunction<? super T, S, ? extends T> summaryFactory;
+
+    /**
+     * Value extractor shared with the adjacent levels that can be rolled up. Null if this level cannot be rolled up.
+     */
+    private final Object rollUpSource;
+
+    /**
+     * Function to combine the summary of an inner group into the summary of this level. Null if this level cannot be
+     * rolled up.
+     */
+    private final BinaryOperator<S> combiner;
+
+    /**
+     * Constructor.
+     *
+     * @param keyExtractor Function to extract the break key.
+     * @param headerFactory Function to create the heading, or null.
+     * @param initialSummary Summary of a group before the first item.
+     * @param accumulator Function to fold an item into the summary, or null.
+     * @param summaryFactory Function to create the summary, or null.
+     */
+    public ControlBreakLevel(Function<? super T, ?> keyExtractor, Function<? super T, ? extends T> headerFactory,
+            S initialSummary, BiFunction<S, ? super T, S> accumulator,
+            BiFunction<? super T, S, ? extends T> summaryFactory) {
+        this(keyExtractor, headerFactory, initialSummary, accumulator, summaryFactory, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param keyExtractor Function to extract the break key.
+     * @param headerFactory Function to create the heading, or null.
+     * @param initialSummary Summary of a group before the first item.
+     * @param accumulator Function to fold an item into the summary, or null.
+     * @param summaryFactory Function to create the summary, or null.
+     * @param rollUpSource Value extractor shared with the levels that can be rolled up, or null.
+     * @param combiner Function to combine the summary of an inner group, or null.
+     */
+    private ControlBreakLevel(Function<? super T, ?> keyExtractor, Function<? super T, ? extends T> headerFactory,
+            S initialSummary, BiFunction<S, ? super T, S> accumulator,
+            BiFunction<? super T, S, ? extends T> summaryFactory, Object rollUpSource, BinaryOperator<S> combiner) {
+        Assert.notNull(keyExtractor, "keyExtractor must not be null.");
+        this.keyExtractor = keyExtractor;
+        this.headerFactory = headerFactory;
+        this.initialSummary = initialSummary;
+        this.accumulator = accumulator;
+        this.summaryFactory = summaryFactory;
+        this.rollUpSource = rollUpSource;
+        this.combiner = combiner;
+    }
+
+    /**
+     * Create a level that totals a value.
+     * <p>
+     * Adjacent levels created with the same value extractor instance are rolled up, so each value is added only once.
+     * A null value is not added.
+     * </p>
+     *
+     * @param <T> Type of item.
+     * @param keyExtractor Function to extract the break key.
+     * @param headerFactory Function to create the heading, or null.
+     * @param valueExtractor Function to extract the value to total.
+     * @param summaryFactory Function to create the summary, or null.
+     * @return Level of the control break.
+     */
+    public static <T> ControlBreakLevel<T, BigDecimal> summing(Function<? super T, ?> keyExtractor,
+            Function<? super T, ? extends T> headerFactory, Function<? super T, BigDecimal> valueExtractor,
+            BiFunction<? super T, BigDecimal, ? extends T> summaryFactory) {
+        Assert.notNull(valueExtractor, "valueExtractor must not be null.");
+        return new ControlBreakLevel<>(keyExtractor, headerFactory, BigDecimal.ZERO, (summary, item) -> {
+            BigDecimal value = valueExtractor.apply(item);
+            return value == null ? summary : summary.add(value);
+        }, summaryFactory, valueExtractor, BigDecimal::add);
+    }
+
+    /**
+     * Extract the break key.
+     *
+     * @param item Item.
+     * @return Break key.
+     */
+    public Object key(T item) {
+        return keyExtractor.apply(item);
+    }
+
+    /**
+     * Create the heading of a group.
+     *
+     * @param first First item of the group.
+     * @return Heading, or null if no heading is output.
+     */
+    public T header(T first) {
+        return headerFactory == null ? null : headerFactory.apply(first);
+    }
+
+    /**
+     * Summary of a group before the first item.
+     *
+     * @return Initial summary.
+     */
+    public S initialSummary() {
+        return initialSummary;
+    }
+
+    /**
+     * Fold the item into the summarized value.
+     *
+     * @param summary Current summarized value.
+     * @param item Item.
+     * @return New summarized value.
+     */
+    public S accumulate(S summary, T item) {
+        return accumulator == null ? summary : accumulator.apply(summary, item);
+    }
+
+    /**
+     * Determine whether the summary of another level can be rolled up into this level.
+     *
+     * @param other Other level.
+     * @return Returns true if both levels total the same value extractor instance.
+     */
+    public boolean sharesValueWith(ControlBreakLevel<T, ?> other) {
+        return rollUpSource != null && rollUpSource == other.rollUpSource;
+    }
+
+    /**
+     * Combine the summary of an inner group into the summary of this level.
+     *
+     * @param summary Summarized value of this level.
+     * @param inner Summarized value of the inner group.
+     * @return New summarized value.
+     * @throws IllegalStateException If this level cannot be rolled up.
+     */
+    public S rollUp(S summary, S inner) {
+        Assert.state(combiner != null, "This level cannot be rolled up.");
+        return combiner.apply(summary, inner);
+    }
+
+    /**
+     * Create the summary of a group.
+     *
+     * @param last Last item of the group.
+     * @param summary Summarized value of the group.
+     * @return Summary, or null if no summary is output.
+     */
+    public T summary(T last, S summary) {
+        return summaryFactory == null ? null : summaryFactory.apply(last, summary);
+    }
+}
@@ -16,38 +16,48 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.batch.core.StepContribution;
-import org.springframework.batch.core.scope.context.ChunkContext;
-import org.springframework.batch.core.step.tasklet.Tasklet;
-import org.springframework.batch.item.Chunk;
-import org.springframework.batch.item.ExecutionContext;
-import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.batch.item.support.SingleItemPeekableItemReader;
-import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import jakarta.inject.Inject;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Control break tasklet.
+ * <p>
+ * Realize headlines and summaries with a control break by branch id, year and month.
+ * </p>
  *
  * @since 2.0.1
  */
 @Component
 @Scope("step")
-public class ControlBreakTasklet implements Tasklet {
+public class ControlBreakTasklet extends AbstractControlBreakTasklet<SalesPerformanceDetail> {
 
     /**
-     * Logger
+     * Value summarized at every level.
      */
-    private static final Logger logger = LoggerFactory.getLogger(ControlBreakTasklet.class);
+    private static final Function<SalesPerformanceDetail, BigDecimal> AMOUNT = SalesPerformanceDetail::getAmount;
+
+    /**
+     * Levels of the control break.
+     */
+    private static final List<ControlBreakLevel<SalesPerformanceDetail, ?>> LEVELS = List.of(
+            ControlBreakLevel.summing(SalesPerformanceDetail::getBranchId,
+                    data -> createData("Header Branch Id : " + data.getBranchId(), null),
+                    AMOUNT,
+                    (data, summary) -> createData("Summary Branch Id : " + data.getBranchId(), summary)),
+            ControlBreakLevel.summing(SalesPerformanceDetail::getYear,
+                    data -> createData("Header Year : " + data.getYear(), null), AMOUNT,
+                    (data, summary) -> createData("Summary Year : " + data.getYear(), summary)),
+            ControlBreakLevel.summing(SalesPerformanceDetail::getMonth,
+                    data -> createData("Header Month : " + data.getMonth(), null), AMOUNT,
+                    (data, summary) -> createData("Summary Month : " + data.getMonth(), summary)));
 
     /**
      * Reader.
@@ -62,231 +72,49 @@ public class ControlBreakTasklet implements Tasklet {
     ItemStreamWriter<SalesPerformanceDetail> writer;
 
     /**
-     * Control break.
-     * <p>
-     * Realize headlines and summaries with a control break.
-     * </p>
-     *
-     * @param contribution Step contribution.
-     * @param chunkContext Chunk context.
-     * @return RepeatStatus.FINISHED.
-     * @throws Exception Exception that occurred.
+     * {@inheritDoc}
      */
     @Override
-    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
-
-        SalesPerformanceDetail previousData = null;
-        BigDecimal[] summaries = { new BigDecimal(0), new BigDecimal(0), new BigDecimal(0) };
-
-        List<SalesPerformanceDetail> items = new ArrayList<>();
-
-        try {
-            reader.open(executionContext);
-            writer.open(executionContext);
-
-            while (reader.peek() != null) {
-                SalesPerformanceDetail data = reader.read();
-                // Create a heading with a control break
-                addData(items, beforeBerakByBranchId(previousData, data));
-                addData(items, beforeBerakByYear(previousData, data));
-                addData(items, beforeBerakByMonth(previousData, data));
-
-                items.add(data);
-
-                // Create summary with a control break
-                SalesPerformanceDetail nextData = reader.peek();
-                summaries[2] = summaries[2].add(data.getAmount());
-                SalesPerformanceDetail monthSummary = afterBerakByMonth(nextData, data, summaries[2]);
-                if (monthSummary != null) {
-                    items.add(monthSummary);
-                    summaries[1] = summaries[1].add(summaries[2]);
-                    summaries[2] = new BigDecimal(0);
-                }
-                SalesPerformanceDetail YearSummary = afterBerakByYear(nextData, data, summaries[1]);
-                if (YearSummary != null) {
-                    items.add(YearSummary);
-                    summaries[0] = summaries[0].add(summaries[1]);
-                    summaries[2] = new BigDecimal(0);
-                    summaries[1] = new BigDecimal(0);
-                }
-                SalesPerformanceDetail branchSumarry = afterBerakByBranchId(nextData, data, summaries[0]);
-                if (branchSumarry != null) {
-                    items.add(branchSumarry);
-                    summaries[2] = new BigDecimal(0);
-                    summaries[1] = new BigDecimal(0);
-                    summaries[0] = new BigDecimal(0);
-                    writer.write(new Chunk(items));
-                    items.clear();
-                }
-                previousData = data;
-            }
-
-        } finally {
-            try {
-                reader.close();
-            } catch (ItemStreamException e) {
-                logger.error("An error occurred when closing the reader.", e);
-            }
-            try {
-                writer.close();
-            } catch (ItemStreamException e) {
-                logger.error("An error occurred when closing the writer.", e);
-            }
-        }
-
-        return RepeatStatus.FINISHED;
+    protected SingleItemPeekableItemReader<SalesPerformanceDetail> getReader() {
+        return reader;
     }
 
     /**
-     * Perform control break processing with branch id before processing target data.
-     *
-     * @param previousData Previous data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
-     */
-    private SalesPerformanceDetail beforeBerakByBranchId(SalesPerformanceDetail previousData,
-            SalesPerformanceDetail currentData) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByBranchId(previousData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Header Branch Id : " + currentData.getBranchId());
-        }
-        return writeData;
-    }
-
-    /**
-     * Perform control break processing with year before processing target data.
-     *
-     * @param previousData Previous data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
-     */
-    private SalesPerformanceDetail beforeBerakByYear(SalesPerformanceDetail previousData,
-            SalesPerformanceDetail currentData) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByYear(previousData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Header Year : " + currentData.getYear());
-        }
-        return writeData;
-    }
-
-    /**
-     * Perform control break processing with month before processing target data.
-     *
-     * @param previousData Previous data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
+     * {@inheritDoc}
      */
-    private SalesPerformanceDetail beforeBerakByMonth(SalesPerformanceDetail previousData,
-            SalesPerformanceDetail currentData) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByMonth(previousData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Header Month : " + currentData.getMonth());
-        }
-        return writeData;
+    @Override
+    protected ItemStreamWriter<SalesPerformanceDetail> getWriter() {
+        return writer;
     }
 
     /**
-     * Perform control break processing with branch id after processing target data.
-     *
-     * @param nextData Next data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
+     * {@inheritDoc}
      */
-    private SalesPerformanceDetail afterBerakByBranchId(SalesPerformanceDetail nextData,
-            SalesPerformanceDetail currentData, BigDecimal summary) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByBranchId(nextData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Summary Branch Id : " + currentData.getBranchId());
-            writeData.setAmount(summary);
-        }
-        return writeData;
+    @Override
+    protected List<ControlBreakLevel<SalesPerformanceDetail, ?>> getLevels() {
+        return LEVELS;
     }
 
     /**
-     * Perform control break processing with year after processing target data.
-     *
-     * @param nextData Next data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
+     * {@inheritDoc}
      */
-    private SalesPerformanceDetail afterBerakByYear(SalesPerformanceDetail nextData,
-            SalesPerformanceDetail currentData, BigDecimal summary) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByYear(nextData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Summary Year : " + currentData.getYear());
-            writeData.setAmount(summary);
-        }
-        return writeData;
+    @Override
+    @Value("${control-break.flush-size:1000}")
+    public void setFlushSize(int flushSize) {
+        super.setFlushSize(flushSize);
     }
 
     /**
-     * Perform control break processing with month after processing target data.
+     * Create a headline or a summary.
      *
-     * @param nextData Next data.
-     * @param currentData Data to be processed.
-     * @return When a control break is made, return a headline, otherwise return null.
+     * @param title Title set to branch id.
+     * @param amount Summarized amount, or null for a headline.
+     * @return Headline or summary.
      */
-    private SalesPerformanceDetail afterBerakByMonth(SalesPerformanceDetail nextData,
-            SalesPerformanceDetail currentData, BigDecimal summary) {
-        SalesPerformanceDetail writeData = null;
-        if (isBreakByMonth(nextData, currentData)) {
-            writeData = new SalesPerformanceDetail();
-            writeData.setBranchId("Summary Month : " + currentData.getMonth());
-            writeData.setAmount(summary);
-        }
+    private static SalesPerformanceDetail createData(String title, BigDecimal amount) {
+        SalesPerformanceDetail writeData = new SalesPerformanceDetail();
+        writeData.setBranchId(title);
+        writeData.setAmount(amount);
         return writeData;
     }
-
-    /**
-     * Determine whether can control break by branch id.
-     *
-     * @param o1 Comparison target.
-     * @param o2 The other side of the comparison target.
-     * @return Returns true if control break is available, and returns false otherwise.
-     */
-    private boolean isBreakByBranchId(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
-        return (o1 == null || !o1.getBranchId().equals(o2.getBranchId()));
-    }
-
-    /**
-     * Determine whether can control break by year.
-     *
-     * @param o1 Comparison target.
-     * @param o2 The other side of the comparison target.
-     * @return Returns true if control break is available, and returns false otherwise.
-     */
-    private boolean isBreakByYear(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
-        if (isBreakByBranchId(o1, o2)) {
-            return true;
-        } else {
-            return (o1 == null || o1.getYear() != o2.getYear());
-        }
-    }
-
-    /**
-     * Determine whether can control break by month.
-     *
-     * @param o1 Comparison target.
-     * @param o2 The other side of the comparison target.
-     * @return Returns true if control break is available, and returns false otherwise.
-     */
-    private boolean isBreakByMonth(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
-        if (isBreakByBranchId(o1, o2) || isBreakByYear(o1, o2)) {
-            return true;
-        } else {
-            return (o1 == null || o1.getMonth() != o2.getMonth());
-        }
-    }
-
-    private void addData(List<SalesPerformanceDetail> items, SalesPerformanceDetail data) {
-        if (data != null) {
-            items.add(data);
-        }
-    }
 }
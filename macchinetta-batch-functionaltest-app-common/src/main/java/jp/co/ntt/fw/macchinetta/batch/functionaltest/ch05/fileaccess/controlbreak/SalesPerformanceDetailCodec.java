@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.ItemCodec;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+
+/**
+ * Binary form of a sales performance detail in the sorted runs.
+ * <p>
+ * A string is written as a presence flag followed by its modified UTF-8, and an amount as a presence flag followed by
+ * its scale and the bytes of its unscaled value.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class SalesPerformanceDetailCodec implements ItemCodec<SalesPerformanceDetail> {
+
+    @Override
+    public void encode(SalesPerformanceDetail item, DataOutput out) throws IOException {
+        writeString(item.getBranchId(), out);
+        out.writeInt(item.getYear());
+        out.writeInt(item.getMonth());
+        writeString(item.getCustomerId(), out);
+        BigDecimal amount = item.getAmount();
+        out.writeBoolean(amount != null);
+        if (amount != null) {
+            byte[] unscaled = amount.unscaledValue().toByteArray();
+            out.writeInt(amount.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    @Override
+    public SalesPerformanceDetail decode(DataInput in) throws IOException {
+        SalesPerformanceDetail item = new SalesPerformanceDetail();
+        item.setBranchId(readString(in));
+        item.setYear(in.readInt());
+        item.setMonth(in.readInt());
+        item.setCustomerId(readString(in));
+        if (in.readBoolean()) {
+            int scale = in.readInt();
+            byte[] unscaled = new byte[in.readUnsignedShort()];
+            in.readFully(unscaled);
+            item.setAmount(new BigDecimal(new BigInteger(unscaled), scale));
+        }
+        return item;
+    }
+
+    private static void writeString(String value, DataOutput out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
+
+import java.util.Comparator;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+
+/**
+ * Order of sales performance details by branch, year and month, which is the order of the control breaks of
+ * {@link ControlBreakTasklet}.
+ *
+ * @since 2.7.0
+ */
+public class SalesPerformanceDetailComparator implements Comparator<SalesPerformanceDetail> {
+
+    /**
+     * Comparator of the keys.
+     */
+    private static final Comparator<SalesPerformanceDetail> KEYS = Comparator.comparing(
+            SalesPerformanceDetail::getBranchId, Comparator.nullsFirst(Comparator.naturalOrder())).thenComparingInt(
+                    SalesPerformanceDetail::getYear).thenComparingInt(SalesPerformanceDetail::getMonth);
+
+    @Override
+    public int compare(SalesPerformanceDetail left, SalesPerformanceDetail right) {
+        return KEYS.compare(left, right);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.mst.CustomerToJaxb;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import jakarta.inject.Inject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Divide customer master data into ranges of charge branch id and customer id, which is the order of the output file.
+ * <p>
+ * Each partition reads the range {@code [low, high)} of the keys found by
+ * {@link CustomerRepository#findBoundaryKeys(int)}, and has its index in the execution context with the key
+ * {@code partitionIndex}, so that the fragments written by the partitions are merged in the order of the index. The
+ * lower bound of the first partition and the upper bound of the last partition are not set. When there are fewer data
+ * than partitions, the remaining partitions have an empty range.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class CustomerKeyRangePartitioner implements Partitioner {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(CustomerKeyRangePartitioner.class);
+
+    /**
+     * Repository of customer master.
+     */
+    @Inject
+    CustomerRepository customerRepository;
+
+    /**
+     * Create partitions to divide into ranges of charge branch id and customer id.
+     *
+     * @param gridSize Division number.
+     * @return Map of partitioner.
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+
+        Map<String, ExecutionContext> map = new HashMap<>();
+        List<CustomerToJaxb> boundaryKeys = customerRepository.findBoundaryKeys(gridSize);
+        int rangeCount = Math.max(boundaryKeys.size(), 1);
+
+        for (int i = 0; i < gridSize; i++) {
+            ExecutionContext context = new ExecutionContext();
+            context.putInt("partitionIndex", i);
+            if (i < rangeCount) {
+                if (i > 0) {
+                    putKey(context, "low", boundaryKeys.get(i));
+                }
+                if (i < boundaryKeys.size() - 1) {
+                    putKey(context, "high", boundaryKeys.get(i + 1));
+                }
+            } else if (!boundaryKeys.isEmpty()) {
+                CustomerToJaxb lastKey = boundaryKeys.get(boundaryKeys.size() - 1);
+                putKey(context, "low", lastKey);
+                putKey(context, "high", lastKey);
+            }
+            logger.debug("partition:{} low:{}/{} high:{}/{}", i, context.get("lowChargeBranchId"), context.get(
+                    "lowCustomerId"), context.get("highChargeBranchId"), context.get("highCustomerId"));
+            map.put("partition" + i, context);
+        }
+
+        return map;
+    }
+
+    private void putKey(ExecutionContext context, String prefix, CustomerToJaxb key) {
+        context.putString(prefix + "ChargeBranchId", key.getChargeBranchId());
+        context.putString(prefix + "CustomerId", key.getCustomerId());
+    }
+}
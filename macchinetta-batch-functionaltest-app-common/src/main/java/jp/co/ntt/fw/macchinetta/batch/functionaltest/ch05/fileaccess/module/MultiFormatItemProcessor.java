@@ -16,55 +16,43 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module;
 
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.exception.IncorrectRecordClassificationException;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailMultiFormatRecord;
 
-import jakarta.inject.Inject;
-import jakarta.inject.Named;
-
 /**
  * Item processro for multi layout file.
+ * <p>
+ * The edited record classification of each record type is built once, and is taken from a table indexed by the
+ * record classification. The line of each record type is aggregated by the writer.
+ * </p>
  *
  * @since 2.0.1
  */
-public class MultiFormatItemProcessor implements ItemProcessor<SalesPlanDetailMultiFormatRecord, String> {
-
-    @Inject
-    @Named("headerDelimitedLineAggregator")
-    DelimitedLineAggregator<SalesPlanDetailMultiFormatRecord> headerDelimitedLineAggregator;
-
-    @Inject
-    @Named("dataDelimitedLineAggregator")
-    DelimitedLineAggregator<SalesPlanDetailMultiFormatRecord> dataDelimitedLineAggregator;
+public class MultiFormatItemProcessor implements ItemProcessor<SalesPlanDetailMultiFormatRecord, SalesPlanDetailMultiFormatRecord> {
 
-    @Inject
-    @Named("trailerDelimitedLineAggregator")
-    DelimitedLineAggregator<SalesPlanDetailMultiFormatRecord> trailerDelimitedLineAggregator;
+    /**
+     * Edited record classifications indexed by the record classification.
+     */
+    private static final String[] EDITED_RECORDS = new String[128];
 
-    @Inject
-    @Named("endDelimitedLineAggregator")
-    DelimitedLineAggregator<SalesPlanDetailMultiFormatRecord> endDelimitedLineAggregator;
+    static {
+        for (String record : new String[] { "H", "D", "T", "E" }) {
+            EDITED_RECORDS[record.charAt(0)] = record + record;
+        }
+    }
 
     @Override
-    public String process(SalesPlanDetailMultiFormatRecord item) throws Exception {
+    public SalesPlanDetailMultiFormatRecord process(SalesPlanDetailMultiFormatRecord item) throws Exception {
         String record = item.getRecord();
-
-        // edit item
-        item.setRecord(item.getRecord() + item.getRecord());
-
-        switch (record) {
-        case "H":
-            return headerDelimitedLineAggregator.aggregate(item);
-        case "D":
-            return dataDelimitedLineAggregator.aggregate(item);
-        case "T":
-            return trailerDelimitedLineAggregator.aggregate(item);
-        case "E":
-            return endDelimitedLineAggregator.aggregate(item);
-        default:
+        char recordType = record != null && record.length() == 1 ? record.charAt(0) : 0;
+        String edited = recordType < EDITED_RECORDS.length ? EDITED_RECORDS[recordType] : null;
+        if (edited == null) {
             throw new IncorrectRecordClassificationException("Record classification is incorrect.[value:" + record
                     + "]");
         }
+
+        // edit item
+        item.setRecord(edited);
+        return item;
     }
 }
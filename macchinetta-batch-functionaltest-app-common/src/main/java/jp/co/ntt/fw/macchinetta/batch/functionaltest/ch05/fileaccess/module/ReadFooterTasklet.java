@@ -21,6 +21,7 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.annotation.BeforeJob;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.repeat.RepeatStatus;
 
@@ -48,12 +49,17 @@ public class ReadFooterTasklet implements Tasklet {
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         ArrayList<SalesPlanDetailFooter> footers = new ArrayList<>();
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
 
-        itemReader.open(chunkContext.getStepContext().getStepExecution().getExecutionContext());
-
-        SalesPlanDetailFooter footer;
-        while ((footer = itemReader.read()) != null) {
-            footers.add(footer);
+        itemReader.open(executionContext);
+        try {
+            SalesPlanDetailFooter footer;
+            while ((footer = itemReader.read()) != null) {
+                footers.add(footer);
+            }
+            itemReader.update(executionContext);
+        } finally {
+            itemReader.close();
         }
 
         jobExecution.getExecutionContext().put("footers", footers);
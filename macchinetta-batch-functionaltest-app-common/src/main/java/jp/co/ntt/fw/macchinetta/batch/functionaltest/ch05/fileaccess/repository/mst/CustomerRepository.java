@@ -16,8 +16,11 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.mst.CustomerToJaxb;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.cursor.Cursor;
 
+import java.util.List;
+
 /**
  * Repository of customer master.
  *
@@ -30,4 +33,26 @@ public interface CustomerRepository {
      * @return Cursor for customer master data.
      */
     Cursor<CustomerToJaxb> findAll();
+
+    /**
+     * Find the first key of each bucket when customer master data are divided into buckets of almost equal size in the
+     * order of charge branch id and customer id.
+     *
+     * @param partitionCount Number of buckets.
+     * @return First key of each bucket in ascending order. Only the charge branch id and the customer id are set.
+     */
+    List<CustomerToJaxb> findBoundaryKeys(@Param("partitionCount") int partitionCount);
+
+    /**
+     * Fetch customer master data in the range {@code [low, high)} of charge branch id and customer id by cursor.
+     *
+     * @param lowChargeBranchId Charge branch id of the lower bound. No lower bound if null.
+     * @param lowCustomerId Customer id of the lower bound.
+     * @param highChargeBranchId Charge branch id of the upper bound. No upper bound if null.
+     * @param highCustomerId Customer id of the upper bound.
+     * @return Cursor for customer master data.
+     */
+    Cursor<CustomerToJaxb> findByKeyRange(@Param("lowChargeBranchId") String lowChargeBranchId,
+            @Param("lowCustomerId") String lowCustomerId, @Param("highChargeBranchId") String highChargeBranchId,
+            @Param("highCustomerId") String highCustomerId);
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
+
+/**
+ * Cost to process the data of a branch.
+ *
+ * @since 2.7.0
+ */
+public class BranchCost {
+
+    /**
+     * Branch id.
+     */
+    private String branchId;
+
+    /**
+     * Number of rows to process.
+     */
+    private long cost;
+
+    /**
+     * Branch id.
+     *
+     * @return The current branch id.
+     */
+    public String getBranchId() {
+        return branchId;
+    }
+
+    /**
+     * Branch id.
+     *
+     * @param branchId New branch id.
+     */
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    /**
+     * Number of rows to process.
+     *
+     * @return The current number of rows.
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * Number of rows to process.
+     *
+     * @param cost New number of rows.
+     */
+    public void setCost(long cost) {
+        this.cost = cost;
+    }
+}
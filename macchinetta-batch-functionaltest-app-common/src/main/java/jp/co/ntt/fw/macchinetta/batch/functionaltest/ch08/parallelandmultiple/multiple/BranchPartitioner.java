@@ -15,31 +15,53 @@
  */
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.stereotype.Component;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Branch;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.repository.BranchRepository;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.repository.InvoiceSummaryRepository;
 
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Branch partitioner.
+ * <p>
+ * When {@code gridSize} is 0 or less, a partition is created for each branch. Otherwise the branches are packed into
+ * {@code gridSize} partitions so that the number of invoices of each partition is almost equal. A branch that has more
+ * invoices than a partition should have is divided into ranges of customer id before packing. The ranges of each
+ * partition are set in the execution context with the key {@code branchRanges} as a list of {@link BranchRange}.
+ * </p>
  *
  * @since 2.0.1
  */
 @Component
 public class BranchPartitioner implements Partitioner {
 
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(BranchPartitioner.class);
+
     /**
      * Repository of branch master.
      */
     @Inject
     BranchRepository branchRepository;
 
+    /**
+     * Repository to summarize invoices.
+     */
+    @Inject
+    InvoiceSummaryRepository invoiceSummaryRepository;
+
     /**
      * Create partition to divide at branch office.
      *
@@ -50,16 +72,96 @@ public class BranchPartitioner implements Partitioner {
     public Map<String, ExecutionContext> partition(int gridSize) {
 
         Map<String, ExecutionContext> map = new HashMap<>();
-        List<Branch> branches = branchRepository.findAll();
+        if (gridSize <= 0) {
+            List<Branch> branches = branchRepository.findAll();
 
+            int index = 0;
+            for (Branch branch : branches) {
+                List<BranchRange> ranges = new ArrayList<>();
+                ranges.add(new BranchRange(branch.getBranchId(), null, null, 0L));
+                map.put("partition" + index, createContext(ranges));
+                index++;
+            }
+            return map;
+        }
+
+        List<List<BranchRange>> bins = pack(divide(gridSize), gridSize);
         int index = 0;
-        for (Branch branch : branches) {
-            ExecutionContext context = new ExecutionContext();
-            context.putString("branchId", branch.getBranchId());
-            map.put("partition" + index, context);
+        for (List<BranchRange> bin : bins) {
+            if (bin.isEmpty()) {
+                continue;
+            }
+            long cost = bin.stream().mapToLong(BranchRange::getCost).sum();
+            logger.info("partition{} cost:{} ranges:{}", index, cost, bin);
+            map.put("partition" + index, createContext(bin));
             index++;
         }
 
         return map;
     }
+
+    /**
+     * Divide the invoices of each branch into ranges whose cost does not exceed the cost of a partition as far as
+     * possible.
+     *
+     * @param gridSize Number of partitions.
+     * @return Ranges of all branches.
+     */
+    private List<BranchRange> divide(int gridSize) {
+        List<BranchCost> costs = invoiceSummaryRepository.countByBranch();
+        long total = costs.stream().mapToLong(BranchCost::getCost).sum();
+        long target = Math.max(1L, (total + gridSize - 1) / gridSize);
+
+        List<BranchRange> ranges = new ArrayList<>();
+        for (BranchCost cost : costs) {
+            if (cost.getCost() <= target) {
+                ranges.add(new BranchRange(cost.getBranchId(), null, null, cost.getCost()));
+                continue;
+            }
+            int count = (int) Math.min(gridSize, (cost.getCost() + target - 1) / target);
+            List<String> keys = invoiceSummaryRepository.findCustomerBoundaryKeys(cost.getBranchId(), count);
+            int size = Math.max(keys.size(), 1);
+            for (int i = 0; i < size; i++) {
+                String lowKey = i == 0 ? null : keys.get(i);
+                String highKey = i + 1 < keys.size() ? keys.get(i + 1) : null;
+                ranges.add(new BranchRange(cost.getBranchId(), lowKey, highKey, cost.getCost() / size));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Pack the ranges into bins. The range with the largest cost is put in the bin with the smallest cost first.
+     *
+     * @param ranges Ranges to pack.
+     * @param gridSize Number of bins.
+     * @return Bins. Some bins are empty if there are fewer ranges than bins.
+     */
+    private List<List<BranchRange>> pack(List<BranchRange> ranges, int gridSize) {
+        List<List<BranchRange>> bins = new ArrayList<>(gridSize);
+        long[] loads = new long[gridSize];
+        for (int i = 0; i < gridSize; i++) {
+            bins.add(new ArrayList<>());
+        }
+
+        List<BranchRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(BranchRange::getCost).reversed());
+        for (BranchRange range : sorted) {
+            int lightest = 0;
+            for (int i = 1; i < gridSize; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            bins.get(lightest).add(range);
+            loads[lightest] += range.getCost();
+        }
+        return bins;
+    }
+
+    private ExecutionContext createContext(List<BranchRange> ranges) {
+        ExecutionContext context = new ExecutionContext();
+        context.put("branchRanges", ranges);
+        return context;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
+
+import java.io.Serializable;
+
+/**
+ * Range of customers charged by a branch, processed by a partition.
+ * <p>
+ * The range is {@code [lowKey, highKey)} of customer id. A bound that is null is not restricted, so a range without
+ * bounds covers all customers of the branch.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class BranchRange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Branch id.
+     */
+    private final String branchId;
+
+    /**
+     * Lowest customer id (inclusive), or null.
+     */
+    private final String lowKey;
+
+    /**
+     * Highest customer id (exclusive), or null.
+     */
+    private final String highKey;
+
+    /**
+     * Estimated cost to process the range.
+     */
+    private final long cost;
+
+    /**
+     * Constructor.
+     *
+     * @param branchId Branch id.
+     * @param lowKey Lowest customer id (inclusive), or null.
+     * @param highKey Highest customer id (exclusive), or null.
+     * @param cost Estimated cost to process the range.
+     */
+    public BranchRange(String branchId, String lowKey, String highKey, long cost) {
+        this.branchId = branchId;
+        this.lowKey = lowKey;
+        this.highKey = highKey;
+        this.cost = cost;
+    }
+
+    /**
+     * Branch id.
+     *
+     * @return Branch id.
+     */
+    public String getBranchId() {
+        return branchId;
+    }
+
+    /**
+     * Lowest customer id (inclusive).
+     *
+     * @return Lowest customer id, or null if not restricted.
+     */
+    public String getLowKey() {
+        return lowKey;
+    }
+
+    /**
+     * Highest customer id (exclusive).
+     *
+     * @return Highest customer id, or null if not restricted.
+     */
+    public String getHighKey() {
+        return highKey;
+    }
+
+    /**
+     * Estimated cost to process the range.
+     *
+     * @return Estimated cost.
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return branchId + "[" + (lowKey == null ? "" : lowKey) + "," + (highKey == null ? "" : highKey) + ")";
+    }
+}
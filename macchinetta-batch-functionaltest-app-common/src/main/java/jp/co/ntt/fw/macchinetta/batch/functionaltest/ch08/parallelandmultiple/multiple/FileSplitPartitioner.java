@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.FileRangeItemReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Divide each input file into byte ranges aligned to record boundaries.
+ * <p>
+ * Unlike {@link MultiResourcePartitioner}, which creates a partition for each file, this partitioner splits a file into
+ * {@code gridSize} ranges, or into ranges of about {@code splitSize} bytes, so that a single large file is processed in
+ * parallel. Each partition has the URL of the file as {@code fileName}, and the range {@code [startOffset, endOffset)}
+ * to be read by {@link FileRangeItemReader}. The header lines of {@code linesToSkip} are excluded from the first range.
+ * </p>
+ * <p>
+ * A boundary is placed after the first line break at or after the even split point. If {@code quotedLineBreaks} is
+ * enabled, a line break between quote characters is not a boundary, in the same way as
+ * {@code DefaultRecordSeparatorPolicy}. To know whether a line break is quoted, the file is scanned from the beginning
+ * by bytes, which costs one sequential read of the file in the manager step. If it is disabled, only a few bytes
+ * around each split point are read. Continuation lines of {@code DefaultRecordSeparatorPolicy} are not supported.
+ * </p>
+ * <p>
+ * The bytes are compared without decoding, so the encoding must represent the line feed and the quote character as
+ * single bytes that never appear inside a multi-byte character, such as UTF-8 or MS932.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class FileSplitPartitioner implements Partitioner, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FileSplitPartitioner.class);
+
+    /**
+     * Prefix of the partition names.
+     */
+    private static final String PARTITION_KEY = "partition";
+
+    /**
+     * Size of the scan buffer.
+     */
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Input files.
+     */
+    private Resource[] resources = new Resource[0];
+
+    /**
+     * Charset of the files.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Approximate size of a range in bytes, or 0 to split each file into {@code gridSize} ranges.
+     */
+    private long splitSize = 0L;
+
+    /**
+     * Number of header lines to skip.
+     */
+    private int linesToSkip = 0;
+
+    /**
+     * Quote character.
+     */
+    private char quoteCharacter = '"';
+
+    /**
+     * Whether a line break between quote characters is a part of a record.
+     */
+    private boolean quotedLineBreaks = true;
+
+    /**
+     * Input files.
+     *
+     * @param resources Input files.
+     */
+    public void setResources(Resource[] resources) {
+        this.resources = resources;
+    }
+
+    /**
+     * Charset of the files.
+     *
+     * @param encoding Charset name. The default is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Approximate size of a range in bytes.
+     *
+     * @param splitSize Size of a range, or 0 to split each file into {@code gridSize} ranges. The default is 0.
+     */
+    public void setSplitSize(long splitSize) {
+        this.splitSize = splitSize;
+    }
+
+    /**
+     * Number of header lines to skip.
+     *
+     * @param linesToSkip Number of header lines. The default is 0.
+     */
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * Quote character.
+     *
+     * @param quoteCharacter Quote character. The default is {@code "}.
+     */
+    public void setQuoteCharacter(char quoteCharacter) {
+        this.quoteCharacter = quoteCharacter;
+    }
+
+    /**
+     * Whether a line break between quote characters is a part of a record.
+     *
+     * @param quotedLineBreaks Whether a quoted line break is a part of a record. The default is true.
+     */
+    public void setQuotedLineBreaks(boolean quotedLineBreaks) {
+        this.quotedLineBreaks = quotedLineBreaks;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(resources, "resources must be set.");
+        Assert.isTrue(splitSize >= 0, "splitSize must not be negative.");
+        Assert.isTrue(linesToSkip >= 0, "linesToSkip must not be negative.");
+        Assert.isTrue("\n".getBytes(charset).length == 1 && String.valueOf(quoteCharacter).getBytes(
+                charset).length == 1, "encoding must represent LF and the quote character as single bytes. encoding:"
+                        + charset);
+    }
+
+    /**
+     * Create partitions of the byte ranges of the files.
+     *
+     * @param gridSize Number of ranges of each file, used when {@code splitSize} is 0.
+     * @return Map of partitioner.
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        afterPropertiesSet();
+        Map<String, ExecutionContext> map = new HashMap<>();
+        int index = 0;
+        for (Resource resource : resources) {
+            List<Long> boundaries;
+            String fileName;
+            try {
+                boundaries = split(resource, gridSize);
+                fileName = resource.getURL().toExternalForm();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to split the file. resource:" + resource, e);
+            }
+            for (int i = 0; i < boundaries.size() - 1; i++) {
+                ExecutionContext context = new ExecutionContext();
+                context.putString("fileName", fileName);
+                context.putLong("startOffset", boundaries.get(i));
+                context.putLong("endOffset", boundaries.get(i + 1));
+                logger.debug("partition:{} fileName:{} startOffset:{} endOffset:{}", index, fileName, boundaries.get(
+                        i), boundaries.get(i + 1));
+                map.put(PARTITION_KEY + index++, context);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Find the boundaries of the ranges of a file.
+     *
+     * @param resource Input file.
+     * @param gridSize Number of ranges, used when {@code splitSize} is 0.
+     * @return Boundaries from the end of the header to the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private List<Long> split(Resource resource, int gridSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            Scanner scanner = new Scanner(channel, String.valueOf(quoteCharacter).getBytes(charset)[0]);
+            long fileSize = channel.size();
+            long dataStart = scanner.skipLines(linesToSkip);
+            long dataSize = fileSize - dataStart;
+            long splits = splitSize > 0 ? (dataSize + splitSize - 1) / splitSize : gridSize;
+
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(dataStart);
+            for (long k = 1; k < splits; k++) {
+                long target = dataStart + dataSize * k / splits;
+                if (target <= boundaries.get(boundaries.size() - 1)) {
+                    continue;
+                }
+                long boundary = scanner.nextBoundary(target);
+                if (boundary >= fileSize) {
+                    break;
+                }
+                boundaries.add(boundary);
+            }
+            boundaries.add(fileSize);
+            return boundaries;
+        }
+    }
+
+    /**
+     * Sequential scanner of the line breaks of a file.
+     */
+    private class Scanner {
+
+        private final FileChannel channel;
+
+        private final byte quote;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private long bufferStart;
+
+        private int index;
+
+        private int limit;
+
+        private boolean inQuoted;
+
+        Scanner(FileChannel channel, byte quote) {
+            this.channel = channel;
+            this.quote = quote;
+        }
+
+        /**
+         * Skip the header lines. As with {@code linesToSkip} of {@code FlatFileItemReader}, a quoted line break does
+         * not end a line.
+         *
+         * @param lines Number of lines.
+         * @return Offset after the lines.
+         * @throws IOException If the file cannot be read.
+         */
+        long skipLines(int lines) throws IOException {
+            for (int skipped = 0; skipped < lines; skipped++) {
+                if (nextBoundary(bufferStart + index + 1) >= channel.size()) {
+                    break;
+                }
+            }
+            return bufferStart + index;
+        }
+
+        /**
+         * Find the first record boundary at or after the target.
+         *
+         * @param target Offset of the split point.
+         * @return Offset after the line break that ends a record, or the size of the file if not found.
+         * @throws IOException If the file cannot be read.
+         */
+        long nextBoundary(long target) throws IOException {
+            if (!quotedLineBreaks && target - 1 > bufferStart + index) {
+                bufferStart = target - 1;
+                index = 0;
+                limit = 0;
+            }
+            byte[] array = buffer.array();
+            while (true) {
+                if (index == limit && !fill()) {
+                    return channel.size();
+                }
+                byte b = array[index++];
+                if (b == '\n') {
+                    if (!inQuoted && bufferStart + index >= target) {
+                        return bufferStart + index;
+                    }
+                } else if (b == quote && quotedLineBreaks) {
+                    inQuoted = !inQuoted;
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            bufferStart += limit;
+            buffer.clear();
+            int read = channel.read(buffer, bufferStart);
+            index = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.repository.SalesSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,10 +26,17 @@ import org.springframework.stereotype.Component;
 
 import jakarta.inject.Inject;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Divide it into a certain number of data.
+ * Divide it into ranges of branch id that contain almost the same number of data.
+ * <p>
+ * The boundary keys are acquired at once by {@link SalesSummaryRepository#findBoundaryKeys(int, int, int)}, and each
+ * partition reads the range {@code [lowKey, highKey)} by the index of branch id. Unlike paging with OFFSET, a
+ * partition does not scan the data of the preceding partitions, and the sizes of partitions do not depend on the
+ * distribution of branch id.
+ * </p>
  *
  * @since 2.0.1
  */
@@ -35,6 +44,11 @@ import java.util.Map;
 @Scope("step")
 public class SalesDataPartitioner implements Partitioner {
 
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesDataPartitioner.class);
+
     /**
      * Repository Sales summary.
      */
@@ -52,7 +66,11 @@ public class SalesDataPartitioner implements Partitioner {
     private int month;
 
     /**
-     * Create a patition to divide it into a certain number of data.
+     * Create a patition to divide it into ranges of branch id.
+     * <p>
+     * The lower bound of the first partition and the upper bound of the last partition are not set. When there are
+     * fewer data than partitions, the remaining partitions have an empty range.
+     * </p>
      *
      * @param gridSize Division number.
      * @return Map of partitioner.
@@ -61,15 +79,24 @@ public class SalesDataPartitioner implements Partitioner {
     public Map<String, ExecutionContext> partition(int gridSize) {
 
         Map<String, ExecutionContext> map = new HashMap<>();
-        int count = repository.countByYearAndMonth(year, month);
-        int dataSize = (count / gridSize) + 1;
-        int offset = 0;
+        List<String> boundaryKeys = repository.findBoundaryKeys(year, month, gridSize);
+        int rangeCount = Math.max(boundaryKeys.size(), 1);
+        String emptyKey = boundaryKeys.isEmpty() ? "" : boundaryKeys.get(boundaryKeys.size() - 1);
 
         for (int i = 0; i < gridSize; i++) {
             ExecutionContext context = new ExecutionContext();
-            context.putInt("dataSize", dataSize);
-            context.putInt("offset", offset);
-            offset += dataSize;
+            if (i < rangeCount) {
+                if (i > 0) {
+                    context.putString("lowKey", boundaryKeys.get(i));
+                }
+                if (i < boundaryKeys.size() - 1) {
+                    context.putString("highKey", boundaryKeys.get(i + 1));
+                }
+            } else {
+                context.putString("lowKey", emptyKey);
+                context.putString("highKey", emptyKey);
+            }
+            logger.debug("partition:{} lowKey:{} highKey:{}", i, context.get("lowKey"), context.get("highKey"));
             map.put("partition:" + i, context);
         }
 
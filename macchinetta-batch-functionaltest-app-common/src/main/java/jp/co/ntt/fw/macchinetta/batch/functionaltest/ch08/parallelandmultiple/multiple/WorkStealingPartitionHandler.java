@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+import org.springframework.batch.core.step.StepHolder;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Partition handler that balances partitions between workers by work stealing.
+ * <p>
+ * Unlike {@code TaskExecutorPartitionHandler}, which submits a task for each partition, this handler submits only
+ * {@code concurrency} workers to the task executor, so the number of partitions can be much larger than the number of
+ * threads without being rejected by the queue of the executor. The partitions are distributed to the workers in
+ * advance. A worker that has processed its own partitions steals partitions from the tail of the other running
+ * workers. When the task executor rejects a worker, its partitions are executed on the calling thread.
+ * </p>
+ * <p>
+ * The results are returned in the same way as {@code TaskExecutorPartitionHandler}, so the step executions are
+ * aggregated by the manager step as before. When all partitions are finished, the number of partitions, the number of
+ * stolen partitions and the median, 95th percentile and maximum of their elapsed time are logged. If a
+ * {@link MeterRegistry} is set, the elapsed time of each partition is also recorded by the timer
+ * {@code batch.partition.duration} with a percentile histogram.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+public class WorkStealingPartitionHandler extends AbstractPartitionHandler implements StepHolder, InitializingBean {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(WorkStealingPartitionHandler.class);
+
+    /**
+     * Name of the timer of partitions.
+     */
+    private static final String TIMER_NAME = "batch.partition.duration";
+
+    /**
+     * Task executor to run workers.
+     */
+    private TaskExecutor taskExecutor;
+
+    /**
+     * Step to execute for each partition.
+     */
+    private Step step;
+
+    /**
+     * Number of workers.
+     */
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Registry of the timer.
+     */
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Check mandatory properties.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(taskExecutor != null, "A TaskExecutor must be provided.");
+        Assert.state(step != null, "A Step must be provided.");
+    }
+
+    /**
+     * Task executor to run workers.
+     *
+     * @param taskExecutor Task executor. The executor should be able to run {@code concurrency} tasks at the same
+     *            time.
+     */
+    public void setTaskExecutor(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Step to execute for each partition.
+     *
+     * @param step Step.
+     */
+    public void setStep(Step step) {
+        this.step = step;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Step getStep() {
+        return step;
+    }
+
+    /**
+     * Number of workers. The default is the number of available processors.
+     *
+     * @param concurrency Number of workers.
+     */
+    public void setConcurrency(int concurrency) {
+        Assert.isTrue(concurrency > 0, "concurrency must be greater than 0.");
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Registry of the timer. The timer is not recorded by default.
+     *
+     * @param meterRegistry Registry of the timer.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Execute the partitions by the workers.
+     *
+     * @param managerStepExecution Step execution of the manager step.
+     * @param partitionStepExecutions Step executions of the partitions.
+     * @return Step executions of the partitions after execution.
+     * @throws Exception Exception that occurred in a partition.
+     */
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+            Set<StepExecution> partitionStepExecutions) throws Exception {
+        Assert.notNull(step, "A Step must be provided.");
+        Set<StepExecution> result = ConcurrentHashMap.newKeySet();
+        if (partitionStepExecutions.isEmpty()) {
+            return result;
+        }
+
+        List<StepExecution> sorted = new ArrayList<>(partitionStepExecutions);
+        sorted.sort(Comparator.comparing(StepExecution::getStepName));
+        int workerCount = Math.min(concurrency, sorted.size());
+        List<Worker> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(new Worker(i, workers, result));
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            workers.get(i % workerCount).partitions.addLast(sorted.get(i));
+        }
+
+        Timer timer = null;
+        if (meterRegistry != null) {
+            timer = Timer.builder(TIMER_NAME).description("Elapsed time of a partition")
+                    .tag("job.name", managerStepExecution.getJobExecution().getJobInstance().getJobName())
+                    .tag("step.name", step.getName()).publishPercentileHistogram().register(meterRegistry);
+        }
+        Statistics statistics = new Statistics(timer);
+
+        List<FutureTask<Void>> tasks = new ArrayList<>(workerCount);
+        List<Worker> rejected = new ArrayList<>();
+        for (Worker worker : workers) {
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                worker.run(statistics);
+                return null;
+            });
+            try {
+                taskExecutor.execute(task);
+                tasks.add(task);
+            } catch (TaskRejectedException e) {
+                logger.warn("TaskExecutor rejected worker{}. Its partitions are executed on the calling thread.",
+                        worker.index);
+                rejected.add(worker);
+            }
+        }
+        // The other workers may have finished before a rejected worker could be stolen from, or all workers may have
+        // been rejected, so the calling thread executes the partitions left to the rejected workers
+        for (Worker worker : rejected) {
+            worker.run(statistics);
+        }
+        for (FutureTask<Void> task : tasks) {
+            task.get();
+        }
+        for (StepExecution stepExecution : sorted) {
+            Assert.state(result.contains(stepExecution), () -> "The partition was not executed. partition:"
+                    + stepExecution.getStepName());
+        }
+        statistics.log(step.getName());
+        return result;
+    }
+
+    /**
+     * Worker that executes its own partitions and steals the others.
+     */
+    private class Worker {
+
+        private final int index;
+
+        private final List<Worker> workers;
+
+        private final Set<StepExecution> result;
+
+        private final Deque<StepExecution> partitions = new ConcurrentLinkedDeque<>();
+
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        Worker(int index, List<Worker> workers, Set<StepExecution> result) {
+            this.index = index;
+            this.workers = workers;
+            this.result = result;
+        }
+
+        void run(Statistics statistics) throws Exception {
+            started.set(true);
+            StepExecution stepExecution;
+            while ((stepExecution = next(statistics)) != null) {
+                long start = System.nanoTime();
+                step.execute(stepExecution);
+                statistics.record(System.nanoTime() - start);
+                result.add(stepExecution);
+            }
+        }
+
+        private StepExecution next(Statistics statistics) {
+            StepExecution own = partitions.pollFirst();
+            if (own != null) {
+                return own;
+            }
+            // Steal only from the workers that are running, so that each worker processes at least its first
+            // partition
+            for (int i = 1; i < workers.size(); i++) {
+                Worker victim = workers.get((index + i) % workers.size());
+                if (victim.started.get()) {
+                    StepExecution stolen = victim.partitions.pollLast();
+                    if (stolen != null) {
+                        statistics.stolen.increment();
+                        return stolen;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Elapsed time of partitions.
+     */
+    private static class Statistics {
+
+        private final Timer timer;
+
+        private final Queue<Long> elapsed = new ConcurrentLinkedQueue<>();
+
+        private final LongAdder stolen = new LongAdder();
+
+        Statistics(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(long nanos) {
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+            elapsed.add(nanos);
+        }
+
+        void log(String stepName) {
+            long[] sorted = elapsed.stream().mapToLong(Long::longValue).sorted().toArray();
+            logger.info("Partitions of {} finished. partitions:{}, stolen:{}, p50:{}ms, p95:{}ms, max:{}ms",
+                    stepName, sorted.length, stolen.sum(), percentile(sorted, 50), percentile(sorted, 95),
+                    percentile(sorted, 100));
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(sorted.length * percent / 100.0);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(rank, 1) - 1]);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.processor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logging item processor.
+ *
+ * @since 2.7.0
+ */
+@Component("loggingItemProcessor")
+public class LoggingItemProcessor implements ItemProcessor<Object, Object> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LoggingItemProcessor.class);
+
+    /**
+     * Write current thread and item to log.
+     *
+     * @param item item to be processed
+     * @return the item as it is
+     */
+    @Override
+    public Object process(Object item) {
+
+        String currentThreadName = Thread.currentThread().getName();
+
+        logger.debug("Item Processor [{}] {}", currentThreadName, item);
+
+        return item;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.repository;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.BranchCost;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.BranchRange;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.List;
+
+/**
+ * Repository to summarize invoices by ranges of branch.
+ *
+ * @since 2.7.0
+ */
+public interface InvoiceSummaryRepository {
+
+    /**
+     * Count invoices of each branch.
+     *
+     * @return Number of invoices of each branch that has invoices.
+     */
+    List<BranchCost> countByBranch();
+
+    /**
+     * Find the first customer id of each bucket when invoices of a branch are divided into buckets of almost equal
+     * size in the order of customer id. Invoices of a customer are not divided.
+     *
+     * @param branchId Branch id.
+     * @param partitionCount Number of buckets.
+     * @return Distinct first customer id of each bucket in ascending order.
+     */
+    List<String> findCustomerBoundaryKeys(@Param("branchId") String branchId,
+            @Param("partitionCount") int partitionCount);
+
+    /**
+     * Get cursor for summarize invoice by ranges of branch.
+     *
+     * @param branchRanges Ranges of branch. Must not be empty.
+     * @return Cursor for summarized invoice.
+     */
+    Cursor<SalesPerformanceDetail> summarizeInvoice(@Param("branchRanges") List<BranchRange> branchRanges);
+}
@@ -20,6 +20,8 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.Sales
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanSummary;
 import org.apache.ibatis.cursor.Cursor;
 
+import java.util.List;
+
 /**
  * Repository of sales summary.
  *
@@ -28,25 +30,29 @@ import org.apache.ibatis.cursor.Cursor;
 public interface SalesSummaryRepository {
 
     /**
-     * Find summary of sales performance by year and month.
+     * Find summary of sales performance by year and month in the range of branch id.
      *
      * @param year Target year.
      * @param month Target month.
-     * @param dataSize Fetch size.
-     * @param offset Offset.
+     * @param lowKey Lowest branch id (inclusive), or null if the range has no lower bound.
+     * @param highKey Highest branch id (exclusive), or null if the range has no upper bound.
      * @return Summary of sales performance matching the conditions.
      */
     Cursor<SalesPerformanceSummary> findByYearAndMonth(@Param("year") int year, @Param("month") int month,
-            @Param("dataSize") int dataSize, @Param("offset") int offset);
+            @Param("lowKey") String lowKey, @Param("highKey") String highKey);
 
     /**
-     * Count summary of sales performance by year and month.
+     * Find the first branch id of each bucket when summaries of sales performance by year and month are divided into
+     * buckets of equal size in the order of branch id.
      *
      * @param year Target year.
      * @param month Target month.
-     * @return Summary of sales performance matching the conditions.
+     * @param partitionCount Number of buckets.
+     * @return First branch id of each bucket in ascending order. The size is less than the number of buckets when
+     *         there are fewer summaries than buckets.
      */
-    int countByYearAndMonth(@Param("year") int year, @Param("month") int month);
+    List<String> findBoundaryKeys(@Param("year") int year, @Param("month") int month,
+            @Param("partitionCount") int partitionCount);
 
     /**
      * Create summary of sales plan.
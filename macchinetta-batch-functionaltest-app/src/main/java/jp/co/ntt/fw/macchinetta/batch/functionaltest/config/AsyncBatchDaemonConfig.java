@@ -15,6 +15,7 @@
  */
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.config;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AdmissionControlledTaskExecutor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.helper.ApplicationContextFactoryHelper;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.LocalCacheScope;
@@ -57,8 +58,10 @@ public class AsyncBatchDaemonConfig {
 
     @Bean
     public ThreadPoolTaskExecutor daemonTaskExecutor(
-            @Value("${async-batch-daemon.job-concurrency-num}") int concurrency) {
-        final ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+            @Value("${async-batch-daemon.job-concurrency-num}") int concurrency,
+            @Value("${async-batch-daemon.virtual-threads.enabled:false}") boolean virtualThreads) {
+        final AdmissionControlledTaskExecutor threadPoolTaskExecutor = new AdmissionControlledTaskExecutor();
+        threadPoolTaskExecutor.setVirtualThreads(virtualThreads);
         threadPoolTaskExecutor.setCorePoolSize(concurrency);
         threadPoolTaskExecutor.setMaxPoolSize(concurrency);
         threadPoolTaskExecutor.setQueueCapacity(0);
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch05.dbaccess;
+
+import java.io.File;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.batch.MyBatisBatchItemWriter;
+import org.mybatis.spring.batch.MyBatisCursorItemReader;
+import org.mybatis.spring.batch.builder.MyBatisBatchItemWriterBuilder;
+import org.mybatis.spring.batch.builder.MyBatisCursorItemReaderBuilder;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JoinedItem;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.SortMergeJoinItemReader;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for DBAccessBySortMergeJoin job.
+ * <p>
+ * Writes the same table as DBAccessByItemProcessor job from a file sorted by customer id. The file and the customer
+ * master ordered by customer id are joined by {@link SortMergeJoinItemReader} instead of looking up the customers.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan({ "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess" })
+@MapperScan(basePackages = {
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.dbaccess.repository" }, sqlSessionTemplateRef = "batchModeSqlSessionTemplate")
+public class DBAccessBySortMergeJoinConfig {
+
+    @Bean
+    @StepScope
+    public SortMergeJoinItemReader<SalesPerformanceDetail, Customer> reader(
+            @Qualifier("leftReader") FlatFileItemReader<SalesPerformanceDetail> leftReader,
+            @Qualifier("rightReader") MyBatisCursorItemReader<Customer> rightReader,
+            @Value("#{jobParameters['joinMode'] ?: 'INNER'}") SortMergeJoinItemReader.JoinMode joinMode) {
+        SortMergeJoinItemReader<SalesPerformanceDetail, Customer> reader = new SortMergeJoinItemReader<>();
+        reader.setLeftReader(leftReader);
+        reader.setRightReader(rightReader);
+        reader.setLeftKeyNames(new String[] { "customerId" });
+        reader.setRightKeyNames(new String[] { "customerId" });
+        reader.setJoinMode(joinMode);
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemReader<SalesPerformanceDetail> leftReader(
+            @Value("#{jobParameters['inputFile']}") File inputFile) {
+        DelimitedLineTokenizer lineTokenizer = new DelimitedLineTokenizer();
+        lineTokenizer.setNames("branchId", "year", "month", "customerId", "amount");
+        BeanWrapperFieldSetMapper<SalesPerformanceDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SalesPerformanceDetail.class);
+        DefaultLineMapper<SalesPerformanceDetail> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(lineTokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        return new FlatFileItemReaderBuilder<SalesPerformanceDetail>()
+                .saveState(false)
+                .lineMapper(lineMapper)
+                .resource(new FileSystemResource(inputFile))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public MyBatisCursorItemReader<Customer> rightReader(
+            @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory) {
+        return new MyBatisCursorItemReaderBuilder<Customer>()
+                .sqlSessionFactory(jobSqlSessionFactory)
+                .queryId(
+                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.mst.CustomerRepository.findAllOrderByCustomerId")
+                .saveState(false)
+                .build();
+    }
+
+    @Bean
+    public MyBatisBatchItemWriter<SalesPlanDetail> writer(
+            @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory,
+            @Qualifier("batchModeSqlSessionTemplate") SqlSessionTemplate batchModeSqlSessionTemplate) {
+        return new MyBatisBatchItemWriterBuilder<SalesPlanDetail>()
+                .sqlSessionFactory(jobSqlSessionFactory)
+                .statementId(
+                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.plan.SalesPlanDetailRepository.create")
+                .sqlSessionTemplate(batchModeSqlSessionTemplate)
+                .build();
+    }
+
+    @Bean
+    public Step step01(JobRepository jobRepository,
+                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                       SortMergeJoinItemReader<SalesPerformanceDetail, Customer> reader,
+                       @Qualifier("updateItemFromJoinedCustomerProcessor") ItemProcessor<JoinedItem<SalesPerformanceDetail, Customer>, SalesPlanDetail> processor,
+                       MyBatisBatchItemWriter<SalesPlanDetail> writer) {
+        return new StepBuilder("DBAccessBySortMergeJoin.step01",
+                jobRepository)
+                .<JoinedItem<SalesPerformanceDetail, Customer>, SalesPlanDetail> chunk(10, transactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                .build();
+    }
+
+    @Bean
+    public Job DBAccessBySortMergeJoin(JobRepository jobRepository,
+                                       Step step01,
+                                       JobExecutionLoggingListener listener) {
+        return new JobBuilder("DBAccessBySortMergeJoin",
+                jobRepository)
+                .start(step01)
+                .listener(listener)
+                .build();
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch05.fileaccess;
+
+import java.io.File;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.listener.ExecutionContextPromotionListener;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.support.SingleItemPeekableItemReader;
+import org.springframework.batch.item.support.builder.SingleItemPeekableItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.ExternalSortTasklet;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.MergeSortedItemReader;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak.ControlBreakTasklet;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak.SalesPerformanceDetailCodec;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak.SalesPerformanceDetailComparator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for JobControlBreakWithExternalSort job.
+ * <p>
+ * Writes the same file as JobControlBreak job from an input file that is not sorted. The first step sorts the input
+ * file by branch, year and month into runs in temporary files, and the second step merges them into the reader of
+ * {@link ControlBreakTasklet}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan(value = { "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak"}, scopedProxy = ScopedProxyMode.TARGET_CLASS)
+public class JobControlBreakWithExternalSortConfig {
+
+    @Bean
+    public SalesPerformanceDetailCodec salesPerformanceDetailCodec() {
+        return new SalesPerformanceDetailCodec();
+    }
+
+    @Bean
+    public SalesPerformanceDetailComparator salesPerformanceDetailComparator() {
+        return new SalesPerformanceDetailComparator();
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemReader<SalesPerformanceDetail> inputReader(
+            @Value("#{jobParameters['inputFile']}") File inputFile) {
+        DelimitedLineTokenizer lineTokenizer = new DelimitedLineTokenizer();
+        lineTokenizer.setNames("branchId", "year", "month", "customerId", "amount");
+        BeanWrapperFieldSetMapper<SalesPerformanceDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SalesPerformanceDetail.class);
+        DefaultLineMapper<SalesPerformanceDetail> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(lineTokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        return new FlatFileItemReaderBuilder<SalesPerformanceDetail>()
+                .name(ClassUtils.getShortName(FlatFileItemReader.class))
+                .lineMapper(lineMapper)
+                .resource(new FileSystemResource(inputFile))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public ExternalSortTasklet<SalesPerformanceDetail> externalSortTasklet(
+            @Qualifier("inputReader") FlatFileItemReader<SalesPerformanceDetail> inputReader,
+            SalesPerformanceDetailCodec salesPerformanceDetailCodec,
+            SalesPerformanceDetailComparator salesPerformanceDetailComparator,
+            @Value("#{jobParameters['runSize'] ?: 100000}") int runSize,
+            @Value("#{jobParameters['mergeFanIn'] ?: 64}") int mergeFanIn,
+            @Value("${thread.size}") int threadSize) {
+        ExternalSortTasklet<SalesPerformanceDetail> tasklet = new ExternalSortTasklet<>();
+        tasklet.setReader(inputReader);
+        tasklet.setCodec(salesPerformanceDetailCodec);
+        tasklet.setComparator(salesPerformanceDetailComparator);
+        tasklet.setRunSize(runSize);
+        tasklet.setMergeFanIn(mergeFanIn);
+        tasklet.setParallelism(threadSize);
+        return tasklet;
+    }
+
+    @Bean
+    public SingleItemPeekableItemReader<SalesPerformanceDetail> reader(
+            @Qualifier("delegateReader") MergeSortedItemReader<SalesPerformanceDetail> delegateReader) {
+        return new SingleItemPeekableItemReaderBuilder<SalesPerformanceDetail>()
+                .delegate(delegateReader)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public MergeSortedItemReader<SalesPerformanceDetail> delegateReader(
+            @Value("#{jobExecutionContext['" + ExternalSortTasklet.RUNS_KEY + "']}") String runs,
+            SalesPerformanceDetailCodec salesPerformanceDetailCodec,
+            SalesPerformanceDetailComparator salesPerformanceDetailComparator) {
+        MergeSortedItemReader<SalesPerformanceDetail> reader = new MergeSortedItemReader<>();
+        reader.setRuns(StringUtils.commaDelimitedListToStringArray(runs));
+        reader.setCodec(salesPerformanceDetailCodec);
+        reader.setComparator(salesPerformanceDetailComparator);
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemWriter<SalesPerformanceDetail> writer(
+            @Value("#{jobParameters['outputFile']}") File outputFile) {
+        BeanWrapperFieldExtractor<SalesPerformanceDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(new String[] {"branchId", "year", "month", "customerId", "amount"});
+        DelimitedLineAggregator<SalesPerformanceDetail> lineAggregator = new DelimitedLineAggregator<>();
+        lineAggregator.setFieldExtractor(fieldExtractor);
+        return new FlatFileItemWriterBuilder<SalesPerformanceDetail>()
+                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
+                .resource(new FileSystemResource(outputFile))
+                .lineAggregator(lineAggregator)
+                .build();
+    }
+
+    @Bean
+    ExecutionContextPromotionListener executionContextPromotionListener() {
+        ExecutionContextPromotionListener listener = new ExecutionContextPromotionListener();
+        listener.setKeys(new String[] { ExternalSortTasklet.RUNS_KEY });
+        listener.setStrict(true);
+        return listener;
+    }
+
+    @Bean
+    public Step step01(JobRepository jobRepository,
+                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                       ExternalSortTasklet<SalesPerformanceDetail> externalSortTasklet,
+                       @Qualifier("executionContextPromotionListener") ExecutionContextPromotionListener listener) {
+        return new StepBuilder("jobControlBreakWithExternalSort.step01",
+                jobRepository)
+                .tasklet(externalSortTasklet, transactionManager)
+                .listener(listener)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Step step02(JobRepository jobRepository,
+                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                       ControlBreakTasklet controlBreakTasklet) {
+        return new StepBuilder("jobControlBreakWithExternalSort.step02",
+                jobRepository)
+                .tasklet(controlBreakTasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job jobControlBreakWithExternalSort(JobRepository jobRepository,
+                                               @Qualifier("step01") Step step01,
+                                               @Qualifier("step02") Step step02,
+                                               JobExecutionLoggingListener listener) {
+        return new JobBuilder("jobControlBreakWithExternalSort", jobRepository)
+                .start(step01)
+                .next(step02)
+                .listener(listener)
+                .build();
+    }
+}
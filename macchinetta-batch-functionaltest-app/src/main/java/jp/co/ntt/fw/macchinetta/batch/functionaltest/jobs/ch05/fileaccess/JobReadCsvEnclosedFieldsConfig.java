@@ -33,7 +33,6 @@ import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
-import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -44,6 +43,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -69,7 +69,7 @@ public class JobReadCsvEnclosedFieldsConfig {
     public FlatFileItemReader<SalesPlanDetail> reader(
             @Value("#{jobParameters['inputFile']}") File inputFile,
             DefaultRecordSeparatorPolicy defaultRecordSeparatorPolicy) {
-        final DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
         tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
         final BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<SalesPlanDetail>();
         fieldSetMapper.setTargetType(SalesPlanDetail.class);
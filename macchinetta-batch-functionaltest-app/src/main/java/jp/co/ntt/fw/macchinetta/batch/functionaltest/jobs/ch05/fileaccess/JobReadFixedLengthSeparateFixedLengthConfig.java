@@ -16,7 +16,6 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch05.fileaccess;
 
 import java.io.File;
-import java.nio.charset.Charset;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -29,10 +28,7 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -43,11 +39,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
-import org.terasoluna.batch.item.file.FixedByteLengthBufferedReaderFactory;
-import org.terasoluna.batch.item.file.transform.FixedByteLengthLineTokenizer;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.MappedFixedLengthItemReader;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
@@ -64,26 +59,21 @@ public class JobReadFixedLengthSeparateFixedLengthConfig {
 
     @Bean
     @StepScope
-    public FlatFileItemReader<SalesPlanDetail> reader(
+    public MappedFixedLengthItemReader<SalesPlanDetail> reader(
             @Value("#{jobParameters['inputFile']}") File inputFile,
-            @Value("#{jobParameters['readCharsetName']}") String readCharsetName,
             @Value("#{jobParameters['tokenizeCharsetName']}") String tokenizeCharsetName) {
         Range[] ranges = new Range[] {new Range(1, 6), new Range(7, 10), new Range(11, 12), new Range(13, 22), new Range(23, 32)};
-        final FixedByteLengthLineTokenizer tokenizer = new FixedByteLengthLineTokenizer(ranges, Charset.forName(tokenizeCharsetName));
-        tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
         final BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
         fieldSetMapper.setTargetType(SalesPlanDetail.class);
-        final DefaultLineMapper<SalesPlanDetail> lineMapper = new DefaultLineMapper<>();
-        lineMapper.setLineTokenizer(tokenizer);
-        lineMapper.setFieldSetMapper(fieldSetMapper);
-        FixedByteLengthBufferedReaderFactory bufferedReaderFactory = new FixedByteLengthBufferedReaderFactory(32);
-        return new FlatFileItemReaderBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemReader.class))
-                .lineMapper(lineMapper)
-                .resource(new FileSystemResource(inputFile))
-                .encoding(readCharsetName)
-                .bufferedReaderFactory(bufferedReaderFactory)
-                .build();
+        final MappedFixedLengthItemReader<SalesPlanDetail> reader = new MappedFixedLengthItemReader<>();
+        reader.setName(ClassUtils.getShortName(MappedFixedLengthItemReader.class));
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setEncoding(tokenizeCharsetName);
+        reader.setRecordLength(32);
+        reader.setRanges(ranges);
+        reader.setNames("branchId", "year", "month", "customerId", "amount");
+        reader.setFieldSetMapper(fieldSetMapper);
+        return reader;
     }
     
     @Bean
@@ -101,7 +91,7 @@ public class JobReadFixedLengthSeparateFixedLengthConfig {
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
-                       FlatFileItemReader<SalesPlanDetail> reader,
+                       MappedFixedLengthItemReader<SalesPlanDetail> reader,
                        MyBatisBatchItemWriter<SalesPlanDetail> writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobReadFixedLengthSeparateFixedLength.step01",
@@ -30,7 +30,6 @@ import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.FieldSetMapper;
-import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.batch.item.file.transform.LineTokenizer;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -45,6 +44,7 @@ import org.springframework.util.ClassUtils;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.RecordTypeLineMapper;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailData;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailEnd;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailHeader;
@@ -134,18 +134,19 @@ public class JobReadMultiFormatCsvConfig {
             @Qualifier("trailerBeanWrapperFieldSetMapper") FieldSetMapper<SalesPlanDetailTrailer> trailerBeanWrapperFieldSetMapper,
             @Qualifier("endBeanWrapperFieldSetMapper") FieldSetMapper<SalesPlanDetailEnd> endBeanWrapperFieldSetMapper) {
         Map<String, LineTokenizer> tokenizers = new HashMap<>();
-        tokenizers.put("H*", headerDelimitedLineTokenizer);
-        tokenizers.put("D*", dataDelimitedLineTokenizer);
-        tokenizers.put("T*", trailerDelimitedLineTokenizer);
-        tokenizers.put("E*", endDelimitedLineTokenizer);
-        Map<String, FieldSetMapper> fieldSetMappers = new HashMap<>();
-        fieldSetMappers.put("H*", headerBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("D*", dataBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("T*", trailerBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("E*", endBeanWrapperFieldSetMapper);
-        final PatternMatchingCompositeLineMapper lineMapper = new PatternMatchingCompositeLineMapper();
+        tokenizers.put("H", headerDelimitedLineTokenizer);
+        tokenizers.put("D", dataDelimitedLineTokenizer);
+        tokenizers.put("T", trailerDelimitedLineTokenizer);
+        tokenizers.put("E", endDelimitedLineTokenizer);
+        Map<String, FieldSetMapper<? extends SalesPlanDetailMultiFormatRecord>> fieldSetMappers = new HashMap<>();
+        fieldSetMappers.put("H", headerBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("D", dataBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("T", trailerBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("E", endBeanWrapperFieldSetMapper);
+        final RecordTypeLineMapper<SalesPlanDetailMultiFormatRecord> lineMapper = new RecordTypeLineMapper<>();
         lineMapper.setTokenizers(tokenizers);
         lineMapper.setFieldSetMappers(fieldSetMappers);
+        lineMapper.afterPropertiesSet();
         return new FlatFileItemReaderBuilder<SalesPlanDetailMultiFormatRecord>()
                 .name(ClassUtils.getShortName(FlatFileItemReader.class))
                 .resource(new FileSystemResource(inputFile))
@@ -43,6 +43,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.CompressedResource;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
@@ -81,7 +82,7 @@ public class JobReadMultipleCsvConfig {
             FlatFileItemReader<SalesPlanDetail> reader) {
         return new MultiResourceItemReaderBuilder<SalesPlanDetail>()
                 .name(ClassUtils.getShortName(MultiResourceItemReader.class))
-                .resources(inputFiles)
+                .resources(CompressedResource.wrap(inputFiles))
                 .delegate(reader)
                 .build();
     }
@@ -44,6 +44,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -71,7 +72,7 @@ public class JobReadTsvConfig {
     public FlatFileItemReader<SalesPlanDetail> reader(
             @Value("#{jobParameters['inputFile']}") File inputFile,
             DefaultRecordSeparatorPolicy defaultRecordSeparatorPolicy) {
-        final DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
         tokenizer.setQuoteCharacter('\'');
         tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
         tokenizer.setDelimiter(DelimitedLineTokenizer.DELIMITER_TAB);
@@ -23,8 +23,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.xml.StaxEventItemReader;
-import org.springframework.batch.item.xml.builder.StaxEventItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -32,11 +30,11 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JaxbUnmarshallerPool;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.StaxCursorItemReader;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailToJaxb;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.LoggingItemWriter;
@@ -53,25 +51,29 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig
         "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module"})
 public class JobReadXmlByDefaultEncodingConfig {
 
+    @Bean
+    public JaxbUnmarshallerPool unmarshallerPool() {
+        final JaxbUnmarshallerPool unmarshallerPool = new JaxbUnmarshallerPool();
+        unmarshallerPool.setClassesToBeBound(SalesPlanDetailToJaxb.class);
+        return unmarshallerPool;
+    }
+
     @Bean
     @StepScope
-    public StaxEventItemReader<SalesPlanDetail> reader(
-            @Value("#{jobParameters['inputFile']}") File inputFile) throws Exception {
-        Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller();
-        unmarshaller.setClassesToBeBound(SalesPlanDetailToJaxb.class);
-        unmarshaller.afterPropertiesSet();
-        return new StaxEventItemReaderBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(StaxEventItemReader.class))
-                .unmarshaller(unmarshaller)
-                .resource(new FileSystemResource(inputFile))
-                .addFragmentRootElements("SalesPlanDetail")
-                .build();
+    public StaxCursorItemReader<SalesPlanDetail> reader(
+            @Value("#{jobParameters['inputFile']}") File inputFile,
+            JaxbUnmarshallerPool unmarshallerPool) {
+        final StaxCursorItemReader<SalesPlanDetail> reader = new StaxCursorItemReader<>();
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setFragmentRootElementName("SalesPlanDetail");
+        reader.setUnmarshallerPool(unmarshallerPool);
+        return reader;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
-                       StaxEventItemReader<SalesPlanDetail> reader,
+                       StaxCursorItemReader<SalesPlanDetail> reader,
                        LoggingItemWriter writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobReadXmlByDefaultEncoding.step01",
@@ -28,8 +28,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.xml.StaxEventItemReader;
-import org.springframework.batch.item.xml.builder.StaxEventItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -37,12 +35,12 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JaxbUnmarshallerPool;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.StaxCursorItemReader;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailToJaxb;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -59,21 +57,24 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig
 @MapperScan(basePackages = "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.plan", sqlSessionFactoryRef = "jobSqlSessionFactory")
 public class JobReadXmlConfig {
 
+    @Bean
+    public JaxbUnmarshallerPool unmarshallerPool() {
+        final JaxbUnmarshallerPool unmarshallerPool = new JaxbUnmarshallerPool();
+        unmarshallerPool.setClassesToBeBound(SalesPlanDetailToJaxb.class);
+        return unmarshallerPool;
+    }
+
     @Bean
     @StepScope
-    public StaxEventItemReader<SalesPlanDetail> reader(
-            @Value("#{jobParameters['inputFile']}") File inputFile) throws Exception {
-        Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller();
-        unmarshaller.setClassesToBeBound(SalesPlanDetailToJaxb.class);
-        unmarshaller.afterPropertiesSet();
-        return new StaxEventItemReaderBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(StaxEventItemReader.class))
-                .unmarshaller(unmarshaller)
-                .resource(new FileSystemResource(inputFile))
-                .encoding("UTF-8")
-                .addFragmentRootElements("SalesPlanDetail")
-                .strict(true)
-                .build();
+    public StaxCursorItemReader<SalesPlanDetail> reader(
+            @Value("#{jobParameters['inputFile']}") File inputFile,
+            JaxbUnmarshallerPool unmarshallerPool) {
+        final StaxCursorItemReader<SalesPlanDetail> reader = new StaxCursorItemReader<>();
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setEncoding("UTF-8");
+        reader.setFragmentRootElementName("SalesPlanDetail");
+        reader.setUnmarshallerPool(unmarshallerPool);
+        return reader;
     }
     
     @Bean
@@ -91,7 +92,7 @@ public class JobReadXmlConfig {
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
-                       StaxEventItemReader<SalesPlanDetail> reader,
+                       StaxCursorItemReader<SalesPlanDetail> reader,
                        MyBatisBatchItemWriter<SalesPlanDetail> writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobReadXml.step01",
@@ -23,8 +23,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.xml.StaxEventItemReader;
-import org.springframework.batch.item.xml.builder.StaxEventItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -32,12 +30,12 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JaxbUnmarshallerPool;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.StaxCursorItemReader;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.jaxb.customer.CustomerValidationEventHandler;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.jaxb.Customer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.LoggingItemWriter;
@@ -55,31 +53,34 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig
         "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.jaxb"})
 public class JobReadXmlWithSchemaValidationConfig {
 
+    @Bean
+    public JaxbUnmarshallerPool unmarshallerPool(
+            @Value("${fileaccess.schema-file-path}") String schemaFile,
+            CustomerValidationEventHandler customerValidationEventHandler) {
+        final JaxbUnmarshallerPool unmarshallerPool = new JaxbUnmarshallerPool();
+        unmarshallerPool.setClassesToBeBound(Customer.class);
+        unmarshallerPool.setSchema(new FileSystemResource(schemaFile));
+        unmarshallerPool.setValidationEventHandler(customerValidationEventHandler);
+        return unmarshallerPool;
+    }
+
     @Bean
     @StepScope
-    public StaxEventItemReader<Customer> reader(
+    public StaxCursorItemReader<Customer> reader(
             @Value("#{jobParameters['inputFile']}") File inputFile,
-            @Value("${fileaccess.schema-file-path}") String schemaFile,
-            CustomerValidationEventHandler customerValidationEventHandler) throws Exception {
-        Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller();
-        unmarshaller.setClassesToBeBound(Customer.class);
-        unmarshaller.setSchema(new FileSystemResource(schemaFile));
-        unmarshaller.setValidationEventHandler(customerValidationEventHandler);
-        unmarshaller.afterPropertiesSet();
-        return new StaxEventItemReaderBuilder<Customer>()
-                .name(ClassUtils.getShortName(StaxEventItemReader.class))
-                .unmarshaller(unmarshaller)
-                .resource(new FileSystemResource(inputFile))
-                .encoding("UTF-8")
-                .addFragmentRootElements("customer")
-                .strict(true)
-                .build();
+            JaxbUnmarshallerPool unmarshallerPool) {
+        final StaxCursorItemReader<Customer> reader = new StaxCursorItemReader<>();
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setEncoding("UTF-8");
+        reader.setFragmentRootElementName("customer");
+        reader.setUnmarshallerPool(unmarshallerPool);
+        return reader;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
-                       StaxEventItemReader<Customer> reader,
+                       StaxCursorItemReader<Customer> reader,
                        LoggingItemWriter writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobReadXmlWithSchemaValidation.step01",
@@ -24,9 +24,7 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
@@ -42,6 +40,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
@@ -76,24 +75,24 @@ public class JobWriteCsvByDefaultEncodingConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<SalesPlanDetail> writer(
+    public AsyncFileChannelItemWriter<SalesPlanDetail> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
         BeanWrapperFieldExtractor<SalesPlanDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
         fieldExtractor.setNames(new String[] {"branchId", "year", "month", "customerId", "amount"});
         DelimitedLineAggregator<SalesPlanDetail> lineAggregator = new DelimitedLineAggregator<>();
         lineAggregator.setFieldExtractor(fieldExtractor);
-        return new FlatFileItemWriterBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .lineAggregator(lineAggregator)
-                .build();
+        final AsyncFileChannelItemWriter<SalesPlanDetail> writer = new AsyncFileChannelItemWriter<>();
+        writer.setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setLineAggregator(lineAggregator);
+        return writer;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        FlatFileItemReader<SalesPlanDetail> reader,
-                       FlatFileItemWriter<SalesPlanDetail> writer) {
+                       AsyncFileChannelItemWriter<SalesPlanDetail> writer) {
         return new StepBuilder("jobWriteCsvByDefaultEncoding.step01",
                 jobRepository)
                 .<SalesPlanDetail, SalesPlanDetail> chunk(10, transactionManager)
@@ -24,13 +24,10 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,8 +38,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
-import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.DirectDelimitedLineAggregator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldExtractor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -84,28 +83,28 @@ public class JobWriteCsvEnclosedAllFieldsConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<SalesPlanDetail> writer(
+    public AsyncFileChannelItemWriter<SalesPlanDetail> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
-        final BeanWrapperFieldExtractor<SalesPlanDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        final GeneratedFieldExtractor<SalesPlanDetail> fieldExtractor = new GeneratedFieldExtractor<>();
         fieldExtractor.setNames(
                 new String[] { "branchId", "year", "month", "customerId", "amount" });
-        final EnclosableDelimitedLineAggregator<SalesPlanDetail> lineAggregator = new EnclosableDelimitedLineAggregator<>();
-        lineAggregator.setDelimiter(',');
+        final DirectDelimitedLineAggregator<SalesPlanDetail> lineAggregator = new DirectDelimitedLineAggregator<>();
+        lineAggregator.setEnclosure('"');
         lineAggregator.setFieldExtractor(fieldExtractor);
         lineAggregator.setAllEnclosing(true);
-        return new FlatFileItemWriterBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .transactional(false)
-                .lineAggregator(lineAggregator)
-                .build();
+        final AsyncFileChannelItemWriter<SalesPlanDetail> writer = new AsyncFileChannelItemWriter<>();
+        writer.setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setLineAggregator(lineAggregator);
+        return writer;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        FlatFileItemReader<SalesPlanDetail> reader,
-                       FlatFileItemWriter<SalesPlanDetail> writer,
+                       AsyncFileChannelItemWriter<SalesPlanDetail> writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobWriteCsvEnclosedAllFields.step01",
                 jobRepository)
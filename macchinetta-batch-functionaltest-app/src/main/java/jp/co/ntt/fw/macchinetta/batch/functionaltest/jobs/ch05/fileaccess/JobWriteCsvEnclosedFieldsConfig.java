@@ -24,9 +24,7 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
@@ -43,6 +41,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -84,7 +83,7 @@ public class JobWriteCsvEnclosedFieldsConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<SalesPlanDetail> writer(
+    public AsyncFileChannelItemWriter<SalesPlanDetail> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
         final BeanWrapperFieldExtractor<SalesPlanDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
         fieldExtractor.setNames(
@@ -94,19 +93,19 @@ public class JobWriteCsvEnclosedFieldsConfig {
         lineAggregator.setDelimiter(',');
         lineAggregator.setFieldExtractor(fieldExtractor);
         lineAggregator.setAllEnclosing(false);
-        return new FlatFileItemWriterBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .transactional(false)
-                .lineAggregator(lineAggregator)
-                .build();
+        final AsyncFileChannelItemWriter<SalesPlanDetail> writer = new AsyncFileChannelItemWriter<>();
+        writer.setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setLineAggregator(lineAggregator);
+        return writer;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        FlatFileItemReader<SalesPlanDetail> reader,
-                       FlatFileItemWriter<SalesPlanDetail> writer,
+                       AsyncFileChannelItemWriter<SalesPlanDetail> writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobWriteCsvEnclosedFields.step01",
                 jobRepository)
@@ -27,8 +27,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -41,6 +39,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.WriteHeaderFlatFileFooterCallback;
@@ -71,7 +70,7 @@ public class JobWriteCsvWithHeaderConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<Customer> writer(
+    public AsyncFileChannelItemWriter<Customer> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile,
             WriteHeaderFlatFileFooterCallback writeHeaderFlatFileFooterCallback) {
         final BeanWrapperFieldExtractor<Customer> fieldExtractor = new BeanWrapperFieldExtractor<>();
@@ -79,20 +78,20 @@ public class JobWriteCsvWithHeaderConfig {
                 new String[] { "customerId", "customerName", "customerAddress", "customerTel", "chargeBranchId" });
         final DelimitedLineAggregator<Customer> lineAggregator = new DelimitedLineAggregator<>();
         lineAggregator.setFieldExtractor(fieldExtractor);
-        return new FlatFileItemWriterBuilder<Customer>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .transactional(false)
-                .lineAggregator(lineAggregator)
-                .headerCallback(writeHeaderFlatFileFooterCallback)
-                .build();
+        final AsyncFileChannelItemWriter<Customer> writer = new AsyncFileChannelItemWriter<>();
+        writer.setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setLineAggregator(lineAggregator);
+        writer.setHeaderCallback(writeHeaderFlatFileFooterCallback);
+        return writer;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        MyBatisCursorItemReader<Customer> reader,
-                       FlatFileItemWriter<Customer> writer) {
+                       AsyncFileChannelItemWriter<Customer> writer) {
         return new StepBuilder("jobWriteCsvWithHeader.step01",
                 jobRepository)
                 .<Customer, Customer> chunk(10, transactionManager)
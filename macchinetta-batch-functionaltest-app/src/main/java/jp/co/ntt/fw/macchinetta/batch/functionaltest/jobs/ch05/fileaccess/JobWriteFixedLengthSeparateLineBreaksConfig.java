@@ -24,13 +24,11 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
-import org.springframework.batch.item.file.transform.FormatterLineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -41,10 +39,10 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.FixedLengthItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
-import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.plan.SalesPlanFixedLengthFieldExtractor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
 /**
@@ -78,26 +76,24 @@ public class JobWriteFixedLengthSeparateLineBreaksConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<SalesPlanDetail> writer(
+    public FixedLengthItemWriter<SalesPlanDetail> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
-        final SalesPlanFixedLengthFieldExtractor fieldExtractor = new SalesPlanFixedLengthFieldExtractor();
-        final FormatterLineAggregator<SalesPlanDetail> lineAggregator = new FormatterLineAggregator<>();
-        lineAggregator.setFieldExtractor(fieldExtractor);
-        lineAggregator.setFormat("%s%4s%2s%s%10s");
-        return new FlatFileItemWriterBuilder<SalesPlanDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .transactional(false)
-                .lineAggregator(lineAggregator)
-                .encoding("MS932")
-                .build();
+        final BeanWrapperFieldExtractor<SalesPlanDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(new String[] { "branchId", "year", "month", "customerId", "amount" });
+        final FixedLengthItemWriter<SalesPlanDetail> writer = new FixedLengthItemWriter<>();
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setFieldExtractor(fieldExtractor);
+        writer.setLengths(6, 4, 2, 10, 10);
+        writer.setEncoding("MS932");
+        return writer;
     }
     
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        FlatFileItemReader<SalesPlanDetail> reader,
-                       FlatFileItemWriter<SalesPlanDetail> writer,
+                       FixedLengthItemWriter<SalesPlanDetail> writer,
                        LoggingItemReaderListener listener) {
         return new StepBuilder("jobWriteFixedLengthSeparateLineBreaks.step01",
                 jobRepository)
@@ -32,12 +32,11 @@ import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.FieldSetMapper;
-import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper;
 import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.LineAggregator;
 import org.springframework.batch.item.file.transform.LineTokenizer;
-import org.springframework.batch.item.file.transform.PassThroughLineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -50,6 +49,8 @@ import org.springframework.util.ClassUtils;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.RecordTypeLineAggregator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.RecordTypeLineMapper;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailData;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailEnd;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailHeader;
@@ -139,18 +140,19 @@ public class JobWriteMultiFormatCsvConfig {
             @Qualifier("trailerBeanWrapperFieldSetMapper") FieldSetMapper<SalesPlanDetailTrailer> trailerBeanWrapperFieldSetMapper,
             @Qualifier("endBeanWrapperFieldSetMapper") FieldSetMapper<SalesPlanDetailEnd> endBeanWrapperFieldSetMapper) {
         Map<String, LineTokenizer> tokenizers = new HashMap<>();
-        tokenizers.put("H*", headerDelimitedLineTokenizer);
-        tokenizers.put("D*", dataDelimitedLineTokenizer);
-        tokenizers.put("T*", trailerDelimitedLineTokenizer);
-        tokenizers.put("E*", endDelimitedLineTokenizer);
-        Map<String, FieldSetMapper> fieldSetMappers = new HashMap<>();
-        fieldSetMappers.put("H*", headerBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("D*", dataBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("T*", trailerBeanWrapperFieldSetMapper);
-        fieldSetMappers.put("E*", endBeanWrapperFieldSetMapper);
-        final PatternMatchingCompositeLineMapper lineMapper = new PatternMatchingCompositeLineMapper();
+        tokenizers.put("H", headerDelimitedLineTokenizer);
+        tokenizers.put("D", dataDelimitedLineTokenizer);
+        tokenizers.put("T", trailerDelimitedLineTokenizer);
+        tokenizers.put("E", endDelimitedLineTokenizer);
+        Map<String, FieldSetMapper<? extends SalesPlanDetailMultiFormatRecord>> fieldSetMappers = new HashMap<>();
+        fieldSetMappers.put("H", headerBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("D", dataBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("T", trailerBeanWrapperFieldSetMapper);
+        fieldSetMappers.put("E", endBeanWrapperFieldSetMapper);
+        final RecordTypeLineMapper<SalesPlanDetailMultiFormatRecord> lineMapper = new RecordTypeLineMapper<>();
         lineMapper.setTokenizers(tokenizers);
         lineMapper.setFieldSetMappers(fieldSetMappers);
+        lineMapper.afterPropertiesSet();
         return new FlatFileItemReaderBuilder<SalesPlanDetailMultiFormatRecord>()
                 .name(ClassUtils.getShortName(FlatFileItemReader.class))
                 .lineMapper(lineMapper)
@@ -202,10 +204,22 @@ public class JobWriteMultiFormatCsvConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<String> writer(
-            @Value("#{jobParameters['outputFile']}") File outputFile) {
-        PassThroughLineAggregator<String> lineAggregator = new PassThroughLineAggregator<>();
-        return new FlatFileItemWriterBuilder<String>()
+    public FlatFileItemWriter<SalesPlanDetailMultiFormatRecord> writer(
+            @Value("#{jobParameters['outputFile']}") File outputFile,
+            @Qualifier("headerDelimitedLineAggregator") LineAggregator<SalesPlanDetailMultiFormatRecord> headerDelimitedLineAggregator,
+            @Qualifier("dataDelimitedLineAggregator") LineAggregator<SalesPlanDetailMultiFormatRecord> dataDelimitedLineAggregator,
+            @Qualifier("trailerDelimitedLineAggregator") LineAggregator<SalesPlanDetailMultiFormatRecord> trailerDelimitedLineAggregator,
+            @Qualifier("endDelimitedLineAggregator") LineAggregator<SalesPlanDetailMultiFormatRecord> endDelimitedLineAggregator) {
+        Map<String, LineAggregator<? super SalesPlanDetailMultiFormatRecord>> aggregators = new HashMap<>();
+        aggregators.put("H", headerDelimitedLineAggregator);
+        aggregators.put("D", dataDelimitedLineAggregator);
+        aggregators.put("T", trailerDelimitedLineAggregator);
+        aggregators.put("E", endDelimitedLineAggregator);
+        final RecordTypeLineAggregator<SalesPlanDetailMultiFormatRecord> lineAggregator = new RecordTypeLineAggregator<>();
+        lineAggregator.setRecordTypeExtractor(SalesPlanDetailMultiFormatRecord::getRecord);
+        lineAggregator.setAggregators(aggregators);
+        lineAggregator.afterPropertiesSet();
+        return new FlatFileItemWriterBuilder<SalesPlanDetailMultiFormatRecord>()
                 .name(ClassUtils.getShortName(FlatFileItemWriter.class))
                 .resource(new FileSystemResource(outputFile))
                 .lineAggregator(lineAggregator)
@@ -216,12 +230,12 @@ public class JobWriteMultiFormatCsvConfig {
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
                        FlatFileItemReader<SalesPlanDetailMultiFormatRecord> reader,
-                       FlatFileItemWriter<String> writer,
+                       FlatFileItemWriter<SalesPlanDetailMultiFormatRecord> writer,
                        LoggingItemReaderListener listener,
                        MultiFormatItemProcessor multiFormatItemProcessor) {
         return new StepBuilder("jobWriteMultiFormatCsv.step01",
                 jobRepository)
-                .<SalesPlanDetailMultiFormatRecord, String> chunk(10, transactionManager)
+                .<SalesPlanDetailMultiFormatRecord, SalesPlanDetailMultiFormatRecord> chunk(10, transactionManager)
                 .reader(reader)
                 .listener(listener)
                 .writer(writer)
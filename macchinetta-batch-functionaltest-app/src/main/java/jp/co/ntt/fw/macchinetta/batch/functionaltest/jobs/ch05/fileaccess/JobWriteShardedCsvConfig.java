@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch05.fileaccess;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.batch.MyBatisCursorItemReader;
+import org.mybatis.spring.batch.builder.MyBatisCursorItemReaderBuilder;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.ShardedItemWriter;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.mst.CustomerToJaxb;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.CustomerKeyRangePartitioner;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.CustomerListResourceSuffixCreator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for JobWriteShardedCsv job.
+ * <p>
+ * Writes customer master data to 4 CSV files per partition by the charge branch, so that the customers of a branch are
+ * always in the files with the same suffix. The workers write their own files.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan({ "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module"})
+@MapperScan(basePackages = "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst", sqlSessionFactoryRef = "jobSqlSessionFactory")
+public class JobWriteShardedCsvConfig {
+
+    @Bean
+    @StepScope
+    public MyBatisCursorItemReader<CustomerToJaxb> reader(
+            @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory,
+            @Value("#{stepExecutionContext['lowChargeBranchId']}") String lowChargeBranchId,
+            @Value("#{stepExecutionContext['lowCustomerId']}") String lowCustomerId,
+            @Value("#{stepExecutionContext['highChargeBranchId']}") String highChargeBranchId,
+            @Value("#{stepExecutionContext['highCustomerId']}") String highCustomerId) {
+        Map<String, Object> parameterValues = new HashMap<>();
+        parameterValues.put("lowChargeBranchId", lowChargeBranchId);
+        parameterValues.put("lowCustomerId", lowCustomerId);
+        parameterValues.put("highChargeBranchId", highChargeBranchId);
+        parameterValues.put("highCustomerId", highCustomerId);
+        return new MyBatisCursorItemReaderBuilder<CustomerToJaxb>()
+                .sqlSessionFactory(jobSqlSessionFactory)
+                .queryId(
+                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst.CustomerRepository.findByKeyRange")
+                .parameterValues(parameterValues)
+                .build();
+    }
+
+    @Bean
+    public CustomerListResourceSuffixCreator customerListResourceSuffixCreator() {
+        return new CustomerListResourceSuffixCreator();
+    }
+
+    @Bean
+    @StepScope
+    public ShardedItemWriter<CustomerToJaxb> writer(
+            @Value("#{jobParameters['outputDir']}") String outputDir,
+            @Value("#{stepExecutionContext['partitionIndex']}") int partitionIndex,
+            CustomerListResourceSuffixCreator customerListResourceSuffixCreator) {
+        final BeanWrapperFieldExtractor<CustomerToJaxb> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(
+                new String[] { "customerId", "customerName", "customerAddress", "customerTel", "chargeBranchId" });
+        final DelimitedLineAggregator<CustomerToJaxb> lineAggregator = new DelimitedLineAggregator<>();
+        lineAggregator.setFieldExtractor(fieldExtractor);
+        ShardedItemWriter<CustomerToJaxb> writer = new ShardedItemWriter<>();
+        writer.setResource(new FileSystemResource(outputDir + partitionIndex + "_"));
+        writer.setResourceSuffixCreator(customerListResourceSuffixCreator);
+        writer.setShardCount(4);
+        writer.setKeyExtractor(CustomerToJaxb::getChargeBranchId);
+        writer.setEncoding("UTF-8");
+        writer.setLineAggregator(lineAggregator);
+        return writer;
+    }
+
+    @Bean
+    public Step stepWorker(JobRepository jobRepository,
+                           @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                           MyBatisCursorItemReader<CustomerToJaxb> reader,
+                           ShardedItemWriter<CustomerToJaxb> writer) {
+        return new StepBuilder("jobWriteShardedCsv.step01.worker",
+                jobRepository)
+                .<CustomerToJaxb, CustomerToJaxb> chunk(10, transactionManager)
+                .reader(reader)
+                .writer(writer)
+                .build();
+    }
+
+    @Bean
+    public PartitionHandler partitionHandler(
+            TaskExecutor parallelTaskExecutor,
+            @Value("${thread.size}") int threadSize,
+            @Qualifier("stepWorker") Step stepWorker) {
+        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        handler.setTaskExecutor(parallelTaskExecutor);
+        handler.setStep(stepWorker);
+        handler.setGridSize(threadSize);
+        return handler;
+    }
+
+    @Bean
+    public CustomerKeyRangePartitioner customerKeyRangePartitioner() {
+        return new CustomerKeyRangePartitioner();
+    }
+
+    @Bean
+    public Step stepManager(JobRepository jobRepository,
+                            CustomerKeyRangePartitioner customerKeyRangePartitioner,
+                            PartitionHandler partitionHandler) {
+        return new StepBuilder("jobWriteShardedCsv.step01.manager", jobRepository)
+                .partitioner("jobWriteShardedCsv.step01.worker", customerKeyRangePartitioner)
+                .partitionHandler(partitionHandler)
+                .build();
+    }
+
+    @Bean
+    public Job jobWriteShardedCsv(JobRepository jobRepository,
+                                  @Qualifier("stepManager") Step stepManager,
+                                  JobExecutionLoggingListener listener) {
+        return new JobBuilder("jobWriteShardedCsv", jobRepository)
+                .start(stepManager)
+                .listener(listener)
+                .build();
+    }
+
+    @Bean
+    public TaskExecutor parallelTaskExecutor(
+            @Value("${thread.size}") int threadSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadSize);
+        executor.setQueueCapacity(10);
+        return executor;
+    }
+}
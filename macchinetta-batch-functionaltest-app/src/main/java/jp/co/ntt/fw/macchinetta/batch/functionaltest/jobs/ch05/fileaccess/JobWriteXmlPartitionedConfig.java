@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch05.fileaccess;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.batch.MyBatisCursorItemReader;
+import org.mybatis.spring.batch.builder.MyBatisCursorItemReaderBuilder;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.xml.StaxEventItemWriter;
+import org.springframework.batch.item.xml.builder.StaxEventItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.XmlFragmentLineAggregator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.XmlFragmentMergeTasklet;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.mst.CustomerToJaxb;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.CustomerKeyRangePartitioner;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.WriteFooterStaxWriterCallback;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.WriteHeaderStaxWriterCallback;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for JobWriteXmlPartitioned job.
+ * <p>
+ * Writes the same file as JobWriteXmlWithHeaderAndFooter job. The workers marshal ranges of customer master data into
+ * fragment files in parallel, and the last step merges them between the header and the footer.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan({ "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module"})
+@MapperScan(basePackages = "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst", sqlSessionFactoryRef = "jobSqlSessionFactory")
+public class JobWriteXmlPartitionedConfig {
+
+    @Bean
+    public Jaxb2Marshaller marshaller() {
+        Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
+        marshaller.setClassesToBeBound(CustomerToJaxb.class);
+        return marshaller;
+    }
+
+    @Bean
+    @StepScope
+    public MyBatisCursorItemReader<CustomerToJaxb> reader(
+            @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory,
+            @Value("#{stepExecutionContext['lowChargeBranchId']}") String lowChargeBranchId,
+            @Value("#{stepExecutionContext['lowCustomerId']}") String lowCustomerId,
+            @Value("#{stepExecutionContext['highChargeBranchId']}") String highChargeBranchId,
+            @Value("#{stepExecutionContext['highCustomerId']}") String highCustomerId) {
+        Map<String, Object> parameterValues = new HashMap<>();
+        parameterValues.put("lowChargeBranchId", lowChargeBranchId);
+        parameterValues.put("lowCustomerId", lowCustomerId);
+        parameterValues.put("highChargeBranchId", highChargeBranchId);
+        parameterValues.put("highCustomerId", highCustomerId);
+        return new MyBatisCursorItemReaderBuilder<CustomerToJaxb>()
+                .sqlSessionFactory(jobSqlSessionFactory)
+                .queryId(
+                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.repository.mst.CustomerRepository.findByKeyRange")
+                .parameterValues(parameterValues)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public AsyncFileChannelItemWriter<CustomerToJaxb> writer(
+            @Value("#{jobParameters['outputFile']}") File outputFile,
+            @Value("#{stepExecutionContext['partitionIndex']}") int partitionIndex,
+            Jaxb2Marshaller marshaller) {
+        XmlFragmentLineAggregator<CustomerToJaxb> lineAggregator = new XmlFragmentLineAggregator<>();
+        lineAggregator.setMarshaller(marshaller);
+        AsyncFileChannelItemWriter<CustomerToJaxb> writer = new AsyncFileChannelItemWriter<>();
+        writer.setResource(new FileSystemResource(String.format("%s.%04d.part", outputFile, partitionIndex)));
+        writer.setEncoding("UTF-8");
+        writer.setLineSeparator("");
+        writer.setLineAggregator(lineAggregator);
+        return writer;
+    }
+
+    @Bean
+    @StepScope
+    public XmlFragmentMergeTasklet mergeTasklet(
+            @Value("#{jobParameters['outputFile']}") File outputFile,
+            @Value("${thread.size}") int threadSize,
+            WriteHeaderStaxWriterCallback writeHeaderStaxWriterCallback,
+            WriteFooterStaxWriterCallback writeFooterStaxWriterCallback,
+            Jaxb2Marshaller marshaller) {
+        StaxEventItemWriter<CustomerToJaxb> frameWriter = new StaxEventItemWriterBuilder<CustomerToJaxb>()
+                .name(ClassUtils.getShortName(StaxEventItemWriter.class))
+                .encoding("UTF-8")
+                .rootTagName("records")
+                .headerCallback(writeHeaderStaxWriterCallback)
+                .footerCallback(writeFooterStaxWriterCallback)
+                .marshaller(marshaller)
+                .build();
+        XmlFragmentMergeTasklet tasklet = new XmlFragmentMergeTasklet();
+        tasklet.setResource(new FileSystemResource(outputFile));
+        tasklet.setFrameWriter(frameWriter);
+        tasklet.setFragmentPathFormat(outputFile + ".%04d.part");
+        tasklet.setPartitionCount(threadSize);
+        return tasklet;
+    }
+
+    @Bean
+    public Step stepWorker(JobRepository jobRepository,
+                           @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                           MyBatisCursorItemReader<CustomerToJaxb> reader,
+                           AsyncFileChannelItemWriter<CustomerToJaxb> writer) {
+        return new StepBuilder("jobWriteXmlPartitioned.step01.worker",
+                jobRepository)
+                .<CustomerToJaxb, CustomerToJaxb> chunk(10, transactionManager)
+                .reader(reader)
+                .writer(writer)
+                .build();
+    }
+
+    @Bean
+    public PartitionHandler partitionHandler(
+            TaskExecutor parallelTaskExecutor,
+            @Value("${thread.size}") int threadSize,
+            @Qualifier("stepWorker") Step stepWorker) {
+        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        handler.setTaskExecutor(parallelTaskExecutor);
+        handler.setStep(stepWorker);
+        handler.setGridSize(threadSize);
+        return handler;
+    }
+
+    @Bean
+    public CustomerKeyRangePartitioner customerKeyRangePartitioner() {
+        return new CustomerKeyRangePartitioner();
+    }
+
+    @Bean
+    public Step stepManager(JobRepository jobRepository,
+                            CustomerKeyRangePartitioner customerKeyRangePartitioner,
+                            PartitionHandler partitionHandler) {
+        return new StepBuilder("jobWriteXmlPartitioned.step01.manager", jobRepository)
+                .partitioner("jobWriteXmlPartitioned.step01.worker", customerKeyRangePartitioner)
+                .partitionHandler(partitionHandler)
+                .build();
+    }
+
+    @Bean
+    public Step step02(JobRepository jobRepository,
+                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                       XmlFragmentMergeTasklet mergeTasklet) {
+        return new StepBuilder("jobWriteXmlPartitioned.step02", jobRepository)
+                .tasklet(mergeTasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job jobWriteXmlPartitioned(JobRepository jobRepository,
+                                      @Qualifier("stepManager") Step stepManager,
+                                      @Qualifier("step02") Step step02,
+                                      JobExecutionLoggingListener listener) {
+        return new JobBuilder("jobWriteXmlPartitioned", jobRepository)
+                .start(stepManager)
+                .next(step02)
+                .listener(listener)
+                .build();
+    }
+
+    @Bean
+    public TaskExecutor parallelTaskExecutor(
+            @Value("${thread.size}") int threadSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadSize);
+        executor.setQueueCapacity(10);
+        return executor;
+    }
+}
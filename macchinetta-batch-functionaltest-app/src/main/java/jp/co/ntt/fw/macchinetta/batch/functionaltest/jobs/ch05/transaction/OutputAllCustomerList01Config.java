@@ -34,8 +34,6 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -47,6 +45,8 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.DirectDelimitedLineAggregator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldExtractor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.mst.Customer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.transaction.component.RetrieveBranchFromContextItemProcessor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.transaction.listener.BranchMasterReadStepListener;
@@ -81,9 +81,9 @@ public class OutputAllCustomerList01Config {
     @StepScope
     public FlatFileItemWriter<Customer> writer(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
-        BeanWrapperFieldExtractor<Customer> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        GeneratedFieldExtractor<Customer> fieldExtractor = new GeneratedFieldExtractor<>();
         fieldExtractor.setNames(new String[] {"customerId", "customerName", "customerAddress", "customerTel", "branch.branchId", "branch.branchName"});
-        DelimitedLineAggregator<Customer> lineAggregator = new DelimitedLineAggregator<>();
+        DirectDelimitedLineAggregator<Customer> lineAggregator = new DirectDelimitedLineAggregator<>();
         lineAggregator.setFieldExtractor(fieldExtractor);
         return new FlatFileItemWriterBuilder<Customer>()
                 .name(ClassUtils.getShortName(FlatFileItemWriter.class))
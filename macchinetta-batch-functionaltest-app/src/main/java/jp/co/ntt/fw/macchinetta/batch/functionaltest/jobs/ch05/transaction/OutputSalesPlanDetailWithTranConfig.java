@@ -32,8 +32,6 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.batch.item.support.CompositeItemWriter;
@@ -48,6 +46,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AsyncFileChannelItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.transaction.component.CausingErrorItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -80,17 +79,17 @@ public class OutputSalesPlanDetailWithTranConfig {
     
     @Bean
     @StepScope
-    public FlatFileItemWriter<SalesPerformanceDetail> summaryWriter(
+    public AsyncFileChannelItemWriter<SalesPerformanceDetail> summaryWriter(
             @Value("#{jobParameters['outputFile']}") File outputFile) {
         BeanWrapperFieldExtractor<SalesPerformanceDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
         fieldExtractor.setNames(new String[] {"branchId", "year", "month", "customerId", "amount"});
         DelimitedLineAggregator<SalesPerformanceDetail> lineAggregator = new DelimitedLineAggregator<>();
         lineAggregator.setFieldExtractor(fieldExtractor);
-        return new FlatFileItemWriterBuilder<SalesPerformanceDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemWriter.class))
-                .resource(new FileSystemResource(outputFile))
-                .lineAggregator(lineAggregator)
-                .build();
+        final AsyncFileChannelItemWriter<SalesPerformanceDetail> writer = new AsyncFileChannelItemWriter<>();
+        writer.setName(ClassUtils.getShortName(AsyncFileChannelItemWriter.class));
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setLineAggregator(lineAggregator);
+        return writer;
     }
     
     @Bean
@@ -104,7 +103,7 @@ public class OutputSalesPlanDetailWithTranConfig {
     @Bean
     @StepScope
     public CompositeItemWriter<SalesPerformanceDetail> compositeWriter(
-            FlatFileItemWriter<SalesPerformanceDetail> summaryWriter,
+            AsyncFileChannelItemWriter<SalesPerformanceDetail> summaryWriter,
             CausingErrorItemWriter causingErrorItemWriter) {
         List<ItemWriter<? super SalesPerformanceDetail>> delegates = new ArrayList<>();
         delegates.add(summaryWriter);
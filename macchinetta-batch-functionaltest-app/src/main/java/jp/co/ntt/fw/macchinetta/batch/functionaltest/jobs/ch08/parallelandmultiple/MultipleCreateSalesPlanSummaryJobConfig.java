@@ -30,7 +30,6 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.partition.PartitionHandler;
-import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -50,6 +49,7 @@ import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanSum
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.listener.StepExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.AddProfitsItemProcessor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.SalesDataPartitioner;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.WorkStealingPartitionHandler;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
 /**
@@ -71,13 +71,13 @@ public class MultipleCreateSalesPlanSummaryJobConfig {
             @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory,
             @Value("#{jobParameters['year']}") Integer year,
             @Value("#{jobParameters['month']}") Integer month,
-            @Value("#{stepExecutionContext['dataSize']}") Integer dataSize,
-            @Value("#{stepExecutionContext['offset']}") Integer offset) {
+            @Value("#{stepExecutionContext['lowKey']}") String lowKey,
+            @Value("#{stepExecutionContext['highKey']}") String highKey) {
         Map<String, Object> parameterValues = new HashMap<>();
         parameterValues.put("year", year);
         parameterValues.put("month", month);
-        parameterValues.put("dataSize", dataSize);
-        parameterValues.put("offset", offset);
+        parameterValues.put("lowKey", lowKey);
+        parameterValues.put("highKey", highKey);
         return new MyBatisCursorItemReaderBuilder<SalesPerformanceSummary>()
                 .sqlSessionFactory(jobSqlSessionFactory)
                 .queryId(
@@ -119,10 +119,12 @@ public class MultipleCreateSalesPlanSummaryJobConfig {
     public PartitionHandler partitionHandler(
             TaskExecutor parallelTaskExecutor,
             @Value("${grid.size}") int gridSize,
+            @Value("${thread.size}") int threadSize,
             @Qualifier("stepWorker") Step stepWorker) {
-        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        WorkStealingPartitionHandler handler = new WorkStealingPartitionHandler();
         handler.setTaskExecutor(parallelTaskExecutor);
         handler.setStep(stepWorker);
+        handler.setConcurrency(threadSize);
         handler.setGridSize(gridSize);
         return handler;
     }
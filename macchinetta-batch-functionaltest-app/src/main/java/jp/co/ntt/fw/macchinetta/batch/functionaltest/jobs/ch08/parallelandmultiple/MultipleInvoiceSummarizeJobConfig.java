@@ -16,6 +16,7 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch08.parallelandmultiple;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -27,10 +28,11 @@ import org.mybatis.spring.batch.builder.MyBatisBatchItemWriterBuilder;
 import org.mybatis.spring.batch.builder.MyBatisCursorItemReaderBuilder;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.partition.PartitionHandler;
-import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemReader;
@@ -45,10 +47,13 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AdaptiveCompletionPolicy;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.listener.StepExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.BranchPartitioner;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.BranchRange;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.WorkStealingPartitionHandler;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
 /**
@@ -70,13 +75,13 @@ public class MultipleInvoiceSummarizeJobConfig {
     @StepScope
     public MyBatisCursorItemReader<SalesPerformanceDetail> reader(
             @Qualifier("jobSqlSessionFactory") SqlSessionFactory jobSqlSessionFactory,
-            @Value("#{stepExecutionContext['branchId']}") String branchId) {
+            @Value("#{stepExecutionContext['branchRanges']}") List<BranchRange> branchRanges) {
         final Map<String, Object> parameterValues = new LinkedHashMap<>();
-        parameterValues.put("branchId", branchId);
+        parameterValues.put("branchRanges", branchRanges);
         return new MyBatisCursorItemReaderBuilder<SalesPerformanceDetail>()
                 .sqlSessionFactory(jobSqlSessionFactory)
                 .queryId(
-                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.repository.performance.InvoiceRepository.summarizeInvoice")
+                        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.repository.InvoiceSummaryRepository.summarizeInvoice")
                 .parameterValues(parameterValues)
                 .build();
     }
@@ -91,17 +96,29 @@ public class MultipleInvoiceSummarizeJobConfig {
                 .build();
     }
 
+    @Bean
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy(JobExplorer jobExplorer,
+            @Value("${adaptive-chunk.target-latency-millis:1000}") long targetLatencyMillis) {
+        AdaptiveCompletionPolicy completionPolicy = new AdaptiveCompletionPolicy();
+        completionPolicy.setJobExplorer(jobExplorer);
+        completionPolicy.setTargetLatencyMillis(targetLatencyMillis);
+        return completionPolicy;
+    }
+
     @Bean
     public Step step1(JobRepository jobRepository,
                       StepExecutionLoggingListener listener,
+                      AdaptiveCompletionPolicy completionPolicy,
                       @Qualifier("reader") ItemReader<SalesPerformanceDetail> reader,
                       @Qualifier("writer") ItemWriter<SalesPerformanceDetail> writer,
                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager) {
         return new StepBuilder("multipleInvoiceSummarizeJob.worker",
                 jobRepository)
-                .<SalesPerformanceDetail, SalesPerformanceDetail> chunk(1,
+                .<SalesPerformanceDetail, SalesPerformanceDetail> chunk(completionPolicy,
                         transactionManager)
                 .listener(listener)
+                .listener((StepExecutionListener) completionPolicy)
                 .reader(reader)
                 .writer(writer)
                 .build();
@@ -111,10 +128,12 @@ public class MultipleInvoiceSummarizeJobConfig {
     public PartitionHandler partitionHandler(
             @Qualifier("parallelTaskExecutor") TaskExecutor taskExecutor,
             @Value("${grid.size}") int gridSize,
+            @Value("${thread.size}") int threadSize,
             @Qualifier("step1") Step step1) {
-        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        WorkStealingPartitionHandler handler = new WorkStealingPartitionHandler();
         handler.setTaskExecutor(taskExecutor);
         handler.setStep(step1);
+        handler.setConcurrency(threadSize);
         handler.setGridSize(gridSize);
         return handler;
     }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch08.parallelandmultiple;
+
+import java.io.File;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.FileRangeItemReader;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.FileSplitPartitioner;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.WorkStealingPartitionHandler;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.writer.LoggingItemWriter;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for MultiplePartitioningStepSplitFileJob.
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan(value = { "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.writer"}, scopedProxy = ScopedProxyMode.TARGET_CLASS)
+public class MultiplePartitioningStepSplitFileJobConfig {
+
+    @Bean
+    public TaskExecutor parallelTaskExecutor(
+            @Value("${thread.size}") int threadSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadSize);
+        executor.setQueueCapacity(200);
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public FileRangeItemReader<SalesPlanDetail> reader(
+            @Value("#{stepExecutionContext['fileName']}") Resource resource,
+            @Value("#{stepExecutionContext['startOffset']}") long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") long endOffset) {
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
+        tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
+        final BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SalesPlanDetail.class);
+        final DefaultLineMapper<SalesPlanDetail> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        final FileRangeItemReader<SalesPlanDetail> reader = new FileRangeItemReader<>();
+        reader.setName(ClassUtils.getShortName(FileRangeItemReader.class));
+        reader.setResource(resource);
+        reader.setStartOffset(startOffset);
+        reader.setEndOffset(endOffset);
+        reader.setLineMapper(lineMapper);
+        reader.setRecordSeparatorPolicy(new DefaultRecordSeparatorPolicy());
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public FileSplitPartitioner partitioner(
+            @Value("#{jobParameters['inputFile']}") File inputFile) {
+        FileSplitPartitioner partitioner = new FileSplitPartitioner();
+        partitioner.setResources(new Resource[] { new FileSystemResource(inputFile) });
+        partitioner.setLinesToSkip(1);
+        return partitioner;
+    }
+
+    @Bean
+    public Step stepWorker(JobRepository jobRepository,
+                            FileRangeItemReader<SalesPlanDetail> reader,
+                            LoggingItemWriter writer,
+                            @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager) {
+        return new StepBuilder("multiplePartitioningStepSplitFileJob.worker", jobRepository)
+                .<SalesPlanDetail, SalesPlanDetail> chunk(20,
+                        transactionManager)
+                .reader(reader)
+                .writer(writer)
+                .build();
+    }
+
+    @Bean
+    public PartitionHandler partitionHandler(
+            TaskExecutor parallelTaskExecutor,
+            @Value("${thread.size}") int threadSize,
+            @Qualifier("stepWorker") Step stepWorker) {
+        WorkStealingPartitionHandler handler = new WorkStealingPartitionHandler();
+        handler.setTaskExecutor(parallelTaskExecutor);
+        handler.setStep(stepWorker);
+        handler.setConcurrency(threadSize);
+        handler.setGridSize(threadSize);
+        return handler;
+    }
+
+    @Bean
+    public Step stepManager(JobRepository jobRepository,
+                            FileSplitPartitioner partitioner,
+                            PartitionHandler partitionHandler) {
+        return new StepBuilder("multiplePartitioningStepSplitFileJob.manager", jobRepository)
+                .partitioner("multiplePartitioningStepSplitFileJob.worker", partitioner)
+                .partitionHandler(partitionHandler)
+                .build();
+    }
+
+    @Bean
+    public Job multiplePartitioningStepSplitFileJob(JobRepository jobRepository,
+                                                    @Qualifier("stepManager") Step stepManager) {
+        return new JobBuilder("multiplePartitioningStepSplitFileJob", jobRepository)
+                .start(stepManager)
+                .build();
+    }
+}
@@ -23,7 +23,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.partition.PartitionHandler;
 import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
-import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
@@ -48,6 +47,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.WorkStealingPartitionHandler;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.writer.LoggingItemWriter;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
@@ -117,10 +117,12 @@ public class MultiplePartitioninglStepFileJobConfig {
     @Bean
     public PartitionHandler partitionHandler(
             TaskExecutor parallelTaskExecutor,
+            @Value("${thread.size}") int threadSize,
             @Qualifier("stepWorker") Step stepWorker) {
-        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        WorkStealingPartitionHandler handler = new WorkStealingPartitionHandler();
         handler.setTaskExecutor(parallelTaskExecutor);
         handler.setStep(stepWorker);
+        handler.setConcurrency(threadSize);
         handler.setGridSize(0);
         return handler;
     }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.ch08.parallelandmultiple;
+
+import java.io.File;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.PipelinedChunkTasklet;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.processor.LoggingItemProcessor;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.writer.LoggingItemWriter;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
+
+/**
+ * JavaConfig class for ParallelProcessItemsJob.
+ *
+ * @since 2.7.0
+ */
+@Configuration
+@Import(JobBaseContextConfig.class)
+@ComponentScan(value = { "jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.processor",
+        "jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.writer"}, scopedProxy = ScopedProxyMode.TARGET_CLASS)
+public class ParallelProcessItemsJobConfig {
+
+    @Bean
+    public TaskExecutor parallelTaskExecutor(
+            @Value("${thread.size}") int threadSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadSize);
+        executor.setQueueCapacity(200);
+        return executor;
+    }
+
+    @Bean
+    public TaskExecutor readerTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemReader<SalesPlanDetail> reader(
+            @Value("#{jobParameters['inputFile']}") File inputFile) {
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
+        tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
+        final BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SalesPlanDetail.class);
+        final DefaultLineMapper<SalesPlanDetail> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        return new FlatFileItemReaderBuilder<SalesPlanDetail>()
+                .name(ClassUtils.getShortName(FlatFileItemReader.class))
+                .resource(new FileSystemResource(inputFile))
+                .linesToSkip(1)
+                .lineMapper(lineMapper)
+                .recordSeparatorPolicy(new DefaultRecordSeparatorPolicy())
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public PipelinedChunkTasklet<Object, Object> pipelinedChunkTasklet(
+            FlatFileItemReader<SalesPlanDetail> reader,
+            LoggingItemProcessor processor,
+            LoggingItemWriter writer,
+            @Qualifier("parallelTaskExecutor") TaskExecutor parallelTaskExecutor,
+            @Qualifier("readerTaskExecutor") TaskExecutor readerTaskExecutor) {
+        final PipelinedChunkTasklet<Object, Object> tasklet = new PipelinedChunkTasklet<>();
+        tasklet.setReader(reader);
+        tasklet.setProcessor(processor);
+        tasklet.setWriter(writer);
+        tasklet.setTaskExecutor(parallelTaskExecutor);
+        tasklet.setReaderTaskExecutor(readerTaskExecutor);
+        tasklet.setChunkSize(10);
+        return tasklet;
+    }
+
+    @Bean
+    public Step step01(JobRepository jobRepository,
+                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
+                       PipelinedChunkTasklet<Object, Object> tasklet) {
+        return new StepBuilder("parallelProcessItemsJob.step01", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job parallelProcessItemsJob(JobRepository jobRepository,
+                                       @Qualifier("step01") Step step01) {
+        return new JobBuilder("parallelProcessItemsJob", jobRepository)
+                .start(step01)
+                .build();
+    }
+}
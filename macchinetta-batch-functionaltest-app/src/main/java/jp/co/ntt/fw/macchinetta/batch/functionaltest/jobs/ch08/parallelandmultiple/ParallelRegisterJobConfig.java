@@ -24,7 +24,9 @@ import org.mybatis.spring.batch.MyBatisBatchItemWriter;
 import org.mybatis.spring.batch.builder.MyBatisBatchItemWriterBuilder;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.job.flow.Flow;
@@ -35,9 +37,8 @@ import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -46,10 +47,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AdaptiveCompletionPolicy;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AdmissionControlledTaskExecutor;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldSetMapper;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.listener.StepExecutionLoggingListener;
@@ -74,11 +78,11 @@ public class ParallelRegisterJobConfig {
     @Bean
     @StepScope
     public FlatFileItemReader<SalesPlanDetail> planReader(
-            @Value("#{jobParameters['planInputFile']}") File inputFile) {
-        DelimitedLineTokenizer lineTokenizer = new DelimitedLineTokenizer();
+            @Value("#{jobParameters['planInputFile']}") File inputFile,
+            @Value("${field-set-mapper.generated.enabled:false}") boolean generatedMapper) throws Exception {
+        LightweightDelimitedLineTokenizer lineTokenizer = new LightweightDelimitedLineTokenizer();
         lineTokenizer.setNames("branchId", "year", "month", "customerId", "amount");
-        BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(SalesPlanDetail.class);
+        FieldSetMapper<SalesPlanDetail> fieldSetMapper = GeneratedFieldSetMapper.of(SalesPlanDetail.class, generatedMapper);
         DefaultLineMapper<SalesPlanDetail> lineMapper = new DefaultLineMapper<>();
         lineMapper.setLineTokenizer(lineTokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
@@ -92,11 +96,11 @@ public class ParallelRegisterJobConfig {
     @Bean
     @StepScope
     public FlatFileItemReader<SalesPerformanceDetail> performanceReader(
-            @Value("#{jobParameters['performanceInputFile']}") File inputFile) {
-        DelimitedLineTokenizer lineTokenizer = new DelimitedLineTokenizer();
+            @Value("#{jobParameters['performanceInputFile']}") File inputFile,
+            @Value("${field-set-mapper.generated.enabled:false}") boolean generatedMapper) throws Exception {
+        LightweightDelimitedLineTokenizer lineTokenizer = new LightweightDelimitedLineTokenizer();
         lineTokenizer.setNames("branchId", "year", "month", "customerId", "amount");
-        BeanWrapperFieldSetMapper<SalesPerformanceDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(SalesPerformanceDetail.class);
+        FieldSetMapper<SalesPerformanceDetail> fieldSetMapper = GeneratedFieldSetMapper.of(SalesPerformanceDetail.class, generatedMapper);
         DefaultLineMapper<SalesPerformanceDetail> lineMapper = new DefaultLineMapper<>();
         lineMapper.setLineTokenizer(lineTokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
@@ -142,16 +146,28 @@ public class ParallelRegisterJobConfig {
                 .build();
     }
     
+    @Bean
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy(JobExplorer jobExplorer,
+            @Value("${adaptive-chunk.target-latency-millis:1000}") long targetLatencyMillis) {
+        AdaptiveCompletionPolicy completionPolicy = new AdaptiveCompletionPolicy();
+        completionPolicy.setJobExplorer(jobExplorer);
+        completionPolicy.setTargetLatencyMillis(targetLatencyMillis);
+        return completionPolicy;
+    }
+
     @Bean
     public Step stepPlan(JobRepository jobRepository,
                       StepExecutionLoggingListener listener,
+                      AdaptiveCompletionPolicy completionPolicy,
                       @Qualifier("planReader") ItemReader<SalesPlanDetail> reader,
                       @Qualifier("planWriter") ItemWriter<SalesPlanDetail> writer,
                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager) {
         return new StepBuilder("parallelRegisterJob.step.plan", jobRepository)
-                .<SalesPlanDetail, SalesPlanDetail> chunk(1,
+                .<SalesPlanDetail, SalesPlanDetail> chunk(completionPolicy,
                         transactionManager)
                 .listener(listener)
+                .listener((StepExecutionListener) completionPolicy)
                 .reader(reader)
                 .writer(writer)
                 .build();
@@ -160,14 +176,16 @@ public class ParallelRegisterJobConfig {
     @Bean
     public Step stepPerformance(JobRepository jobRepository,
                       StepExecutionLoggingListener listener,
+                      AdaptiveCompletionPolicy completionPolicy,
                       @Qualifier("performanceReader") ItemReader<SalesPerformanceDetail> reader,
                       @Qualifier("performanceWriter") ItemWriter<SalesPerformanceDetail> writer,
                       @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager) {
         return new StepBuilder("parallelRegisterJob.step.performance",
                 jobRepository)
-                .<SalesPerformanceDetail, SalesPerformanceDetail> chunk(1,
+                .<SalesPerformanceDetail, SalesPerformanceDetail> chunk(completionPolicy,
                         transactionManager)
                 .listener(listener)
+                .listener((StepExecutionListener) completionPolicy)
                 .reader(reader)
                 .writer(writer)
                 .build();
@@ -211,9 +229,12 @@ public class ParallelRegisterJobConfig {
     }
     
     @Bean
-    public TaskExecutor parallelTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public TaskExecutor parallelTaskExecutor(
+            @Value("${parallel-task-executor.virtual-threads.enabled:false}") boolean virtualThreads) {
+        AdmissionControlledTaskExecutor executor = new AdmissionControlledTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
         executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(10);
         executor.setQueueCapacity(10);
         return executor;
     }
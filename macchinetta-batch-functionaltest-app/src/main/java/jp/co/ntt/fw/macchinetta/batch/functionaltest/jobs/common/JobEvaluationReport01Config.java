@@ -33,8 +33,6 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -48,6 +46,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.DirectDelimitedLineAggregator;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldExtractor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.evaluation.EvaluationItemProcessor;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.evaluation.EvaluationReportPartitioner;
@@ -90,11 +90,11 @@ public class JobEvaluationReport01Config {
     public FlatFileItemWriter<EvaluationReport> writer(
             @Value("#{jobParameters['outputPath']}") File outputPath,
             @Value("#{stepExecutionContext['branch'].branchId}") String branchId) {
-        final BeanWrapperFieldExtractor<EvaluationReport> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        final GeneratedFieldExtractor<EvaluationReport> fieldExtractor = new GeneratedFieldExtractor<>();
         fieldExtractor.setNames(
                 new String[] { "branchId", "branchName", "year",
                         "month", "evaluation", "ratio" });
-        final DelimitedLineAggregator<EvaluationReport> lineAggregator = new DelimitedLineAggregator<>();
+        final DirectDelimitedLineAggregator<EvaluationReport> lineAggregator = new DirectDelimitedLineAggregator<>();
         lineAggregator.setFieldExtractor(fieldExtractor);
         return new FlatFileItemWriterBuilder<EvaluationReport>()
                 .name(ClassUtils.getShortName(FlatFileItemWriter.class))
@@ -16,6 +16,7 @@
 package jp.co.ntt.fw.macchinetta.batch.functionaltest.jobs.common;
 
 import java.io.File;
+import java.util.List;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -28,11 +29,8 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -43,8 +41,12 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.FileRangeItemReader;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldSetMapper;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.JobExecutionLoggingListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.PipelinedChunkTasklet;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
 
@@ -61,20 +63,21 @@ public class JobSalesPerformance01Config {
 
     @Bean
     @StepScope
-    public FlatFileItemReader<SalesPerformanceDetail> detailCSVReader(
-            @Value("#{jobParameters['inputFile']}") File inputFile) {
-        final DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    public FileRangeItemReader<SalesPerformanceDetail> detailCSVReader(
+            @Value("#{jobParameters['inputFile']}") File inputFile,
+            @Value("${field-set-mapper.generated.enabled:false}") boolean generatedMapper) throws Exception {
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
         tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
-        final BeanWrapperFieldSetMapper<SalesPerformanceDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<SalesPerformanceDetail>();
-        fieldSetMapper.setTargetType(SalesPerformanceDetail.class);
+        final FieldSetMapper<SalesPerformanceDetail> fieldSetMapper = GeneratedFieldSetMapper.of(SalesPerformanceDetail.class, generatedMapper);
         final DefaultLineMapper<SalesPerformanceDetail> lineMapper = new DefaultLineMapper<SalesPerformanceDetail>();
         lineMapper.setLineTokenizer(tokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
-        return new FlatFileItemReaderBuilder<SalesPerformanceDetail>()
-                .name(ClassUtils.getShortName(FlatFileItemReader.class))
-                .resource(new FileSystemResource(inputFile))
-                .lineMapper(lineMapper)
-                .build();
+        final FileRangeItemReader<SalesPerformanceDetail> reader = new FileRangeItemReader<>();
+        reader.setName(ClassUtils.getShortName(FileRangeItemReader.class));
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setEncoding("UTF-8");
+        reader.setLineMapper(lineMapper);
+        return reader;
     }
 
     @Bean
@@ -89,18 +92,26 @@ public class JobSalesPerformance01Config {
                 .build();
     }
 
+    @Bean
+    @StepScope
+    public PipelinedChunkTasklet<SalesPerformanceDetail, SalesPerformanceDetail> pipelinedChunkTasklet(
+            FileRangeItemReader<SalesPerformanceDetail> reader,
+            MyBatisBatchItemWriter<SalesPerformanceDetail> writer,
+            LoggingItemReaderListener listener) {
+        final PipelinedChunkTasklet<SalesPerformanceDetail, SalesPerformanceDetail> tasklet = new PipelinedChunkTasklet<>();
+        tasklet.setReader(reader);
+        tasklet.setWriter(writer);
+        tasklet.setReadListeners(List.of(listener));
+        tasklet.setChunkSize(10);
+        return tasklet;
+    }
+
     @Bean
     public Step step01(JobRepository jobRepository,
                        @Qualifier("jobTransactionManager") PlatformTransactionManager transactionManager,
-                       FlatFileItemReader<SalesPerformanceDetail> reader,
-                       MyBatisBatchItemWriter<SalesPerformanceDetail> writer,
-                       LoggingItemReaderListener listener) {
+                       PipelinedChunkTasklet<SalesPerformanceDetail, SalesPerformanceDetail> tasklet) {
         return new StepBuilder("jobSalesPerformance01.step01", jobRepository)
-                .<SalesPerformanceDetail, SalesPerformanceDetail>chunk(10,
-                        transactionManager)
-                .reader(reader)
-                .writer(writer)
-                .listener(listener)
+                .tasklet(tasklet, transactionManager)
                 .build();
     }
 
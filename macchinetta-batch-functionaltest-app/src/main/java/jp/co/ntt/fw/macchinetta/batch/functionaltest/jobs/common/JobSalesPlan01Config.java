@@ -30,9 +30,8 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -43,6 +42,8 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.GeneratedFieldSetMapper;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LightweightDelimitedLineTokenizer;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.config.JobBaseContextConfig;
@@ -61,11 +62,11 @@ public class JobSalesPlan01Config {
     @Bean
     @StepScope
     public FlatFileItemReader<SalesPlanDetail> detailCSVReader(
-            @Value("#{jobParameters['inputFile']}") File inputFile) {
-        final DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+            @Value("#{jobParameters['inputFile']}") File inputFile,
+            @Value("${field-set-mapper.generated.enabled:false}") boolean generatedMapper) throws Exception {
+        final LightweightDelimitedLineTokenizer tokenizer = new LightweightDelimitedLineTokenizer();
         tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
-        final BeanWrapperFieldSetMapper<SalesPlanDetail> fieldSetMapper = new BeanWrapperFieldSetMapper<SalesPlanDetail>();
-        fieldSetMapper.setTargetType(SalesPlanDetail.class);
+        final FieldSetMapper<SalesPlanDetail> fieldSetMapper = GeneratedFieldSetMapper.of(SalesPlanDetail.class, generatedMapper);
         final DefaultLineMapper<SalesPlanDetail> lineMapper = new DefaultLineMapper<SalesPlanDetail>();
         lineMapper.setLineTokenizer(tokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
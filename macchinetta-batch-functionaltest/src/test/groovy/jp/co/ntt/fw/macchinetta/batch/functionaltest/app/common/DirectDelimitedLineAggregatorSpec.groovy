@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common
+
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator
+import org.springframework.batch.item.file.transform.PassThroughFieldExtractor
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * Specification of DirectDelimitedLineAggregator, which must write the same lines as the aggregators it replaces.
+ *
+ * @since 2.7.0
+ */
+class DirectDelimitedLineAggregatorSpec extends Specification {
+
+    @Shared
+    def items = [
+            ["a", "b", "c"],
+            ["a", null, "c"],
+            [null],
+            ["", null, ""],
+            [1, -2L, 3.5G, true],
+            [Integer.MIN_VALUE, Long.MAX_VALUE],
+            ["a,b", "c\td", "e|f"],
+            ["\"", "a\"b", "\"\"", "'a'"],
+            ["a\r\nb", "c\nd", "e\rf"],
+            [new StringBuilder("sb,\"")],
+            []
+    ].collect { it as Object[] }
+
+    def "Lines without enclosure are the same as DelimitedLineAggregator."() {
+        setup:
+        def expected = new DelimitedLineAggregator<Object[]>()
+        expected.fieldExtractor = new PassThroughFieldExtractor<Object[]>()
+        expected.delimiter = delimiter
+        expected.quoteCharacter = quoteCharacter
+        def actual = new DirectDelimitedLineAggregator<Object[]>()
+        actual.fieldExtractor = new PassThroughFieldExtractor<Object[]>()
+        actual.delimiter = delimiter
+        actual.quoteCharacter = quoteCharacter
+
+        expect:
+        items.each { Object[] item ->
+            def line = new StringBuilder("prefix")
+            actual.aggregate(item, line)
+            assert line.toString() == "prefix" + expected.aggregate(item)
+            assert actual.aggregate(item) == expected.aggregate(item)
+        }
+
+        where:
+        delimiter | quoteCharacter
+        ","       | ""
+        "\t"      | ""
+        "||"      | ""
+        ","       | "\""
+        ", "      | "'"
+    }
+
+    def "Lines with enclosure are the same as EnclosableDelimitedLineAggregator."() {
+        setup:
+        def expected = new EnclosableDelimitedLineAggregator<Object[]>()
+        expected.fieldExtractor = new PassThroughFieldExtractor<Object[]>()
+        expected.delimiter = delimiter
+        expected.enclosure = enclosure
+        expected.allEnclosing = allEnclosing
+        def actual = new DirectDelimitedLineAggregator<Object[]>()
+        actual.fieldExtractor = new PassThroughFieldExtractor<Object[]>()
+        actual.delimiter = String.valueOf(delimiter)
+        actual.enclosure = enclosure
+        actual.allEnclosing = allEnclosing
+
+        expect:
+        items.each { Object[] item ->
+            def line = new StringBuilder("prefix")
+            actual.aggregate(item, line)
+            assert line.toString() == "prefix" + expected.aggregate(item)
+            assert actual.aggregate(item) == expected.aggregate(item)
+        }
+
+        where:
+        delimiter | enclosure | allEnclosing
+        ',' as char  | '"' as char  | false
+        ',' as char  | '"' as char  | true
+        '\t' as char | '"' as char  | false
+        '|' as char  | '\'' as char | false
+        '|' as char  | '\'' as char | true
+    }
+
+    def "A multi-character delimiter is rejected with enclosure."() {
+        setup:
+        def aggregator = new DirectDelimitedLineAggregator<Object[]>()
+        aggregator.fieldExtractor = new PassThroughFieldExtractor<Object[]>()
+        aggregator.delimiter = "||"
+        aggregator.enclosure = '"' as char
+
+        when:
+        aggregator.aggregate(["a", "b"] as Object[])
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper
+import org.springframework.batch.item.file.mapping.FieldSetMapper
+import org.springframework.batch.item.file.transform.DefaultFieldSet
+import org.springframework.beans.NotWritablePropertyException
+import org.springframework.core.convert.support.DefaultConversionService
+import org.springframework.validation.BindException
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * Specification of GeneratedFieldSetMapper, which must map the same items as BeanWrapperFieldSetMapper.
+ *
+ * @since 2.7.0
+ */
+class GeneratedFieldSetMapperSpec extends Specification {
+
+    @Shared
+    def lines = [
+            ["a", "1", "2", "3", "4.5", "true", "false", "0.5"],
+            [" a ", " 1 ", " -2 ", " 3 ", " 4.50 ", " on ", " off ", " 1e3 "],
+            ["", "0", "9223372036854775807", "", "", "yes", "", "-0.0"],
+            [null, null, null, null, null, null, null, null],
+            ["a", "", "2", "3", "4", "1", "0", "1"],
+            ["a", "x", "2", "3", "4", "true", "true", "1"],
+            ["a", "2147483648", "9223372036854775808", "3", "4", "true", "true", "1"],
+            ["a", "1", "2", "3.5", "four", "maybe", "nope", "x"],
+            ["a", "0x1F", "#10", "1,000", "1e2", "TRUE", "No", "NaN"]
+    ]
+
+    def "Simple properties are converted in the same way as BeanWrapperFieldSetMapper. (conversionService:#conversion)"() {
+        setup:
+        def expected = mapper(BeanWrapperFieldSetMapper, conversion)
+        def actual = mapper(GeneratedFieldSetMapper, conversion)
+        def names = ["name", "count", "total", "rank", "amount", "active", "flag", "ratio"] as String[]
+
+        expect:
+        lines.each { List<String> values ->
+            def fieldSet = new DefaultFieldSet(values as String[], names)
+            assert map(actual, fieldSet) == map(expected, fieldSet)
+        }
+        // The fields are set by the generated setters, not by the delegate.
+        actual.@binding.setters != null
+
+        where:
+        conversion << [false, true]
+    }
+
+    def "Nested properties are mapped in the same way as BeanWrapperFieldSetMapper."() {
+        setup:
+        def expected = mapper(BeanWrapperFieldSetMapper, false)
+        def actual = mapper(GeneratedFieldSetMapper, false)
+        def names = ["name", "address.city", "address.zip"] as String[]
+
+        expect:
+        [["a", "Tokyo", "100"], ["b", " Osaka ", " 530 "], ["c", "Nagoya", "zip"]].each { List<String> values ->
+            def fieldSet = new DefaultFieldSet(values as String[], names)
+            assert map(actual, fieldSet) == map(expected, fieldSet)
+        }
+    }
+
+    def "A field that is not a property fails in the same way as BeanWrapperFieldSetMapper."() {
+        setup:
+        def expected = mapper(BeanWrapperFieldSetMapper, false)
+        def actual = mapper(GeneratedFieldSetMapper, false)
+        def fieldSet = new DefaultFieldSet(["a", "1", "x"] as String[], ["name", "count", "unknown"] as String[])
+
+        when:
+        def result = map(actual, fieldSet)
+
+        then:
+        result == map(expected, fieldSet)
+        result[0] == NotWritablePropertyException
+    }
+
+    def "A type that is not visible from the class loader of the mapper is mapped by BeanWrapperFieldSetMapper."() {
+        setup:
+        def type = new GroovyClassLoader().parseClass("class HiddenItem { String name; int count }")
+        def mapper = new GeneratedFieldSetMapper(targetType: type)
+        mapper.afterPropertiesSet()
+
+        when:
+        def item = mapper.mapFieldSet(new DefaultFieldSet(["a", " 1 "] as String[], ["name", "count"] as String[]))
+
+        then:
+        item.class == type
+        item.name == "a"
+        item.count == 1
+        mapper.@binding.setters == null
+    }
+
+    private static FieldSetMapper<Item> mapper(Class<?> type, boolean conversion) {
+        def mapper = type.getDeclaredConstructor().newInstance()
+        mapper.targetType = Item
+        if (conversion) {
+            mapper.conversionService = new DefaultConversionService()
+        }
+        mapper.afterPropertiesSet()
+        mapper
+    }
+
+    private static map(FieldSetMapper<Item> mapper, DefaultFieldSet fieldSet) {
+        try {
+            def item = mapper.mapFieldSet(fieldSet)
+            [item.name, item.count, item.total, item.rank, item.amount, item.active, item.flag, item.ratio,
+             item.address.city, item.address.zip]
+        } catch (BindException e) {
+            // BeanWrapperFieldSetMapper reports the errors in no particular order.
+            [BindException, e.fieldErrors.collect { [it.field, it.code, it.rejectedValue] }.sort { it[0] }]
+        } catch (Exception e) {
+            [e.class, e.message]
+        }
+    }
+
+    static class Item {
+        String name
+        int count
+        long total
+        Integer rank
+        BigDecimal amount
+        boolean active
+        Boolean flag
+        Double ratio
+        Address address = new Address()
+    }
+
+    static class Address {
+        String city
+        int zip
+    }
+}
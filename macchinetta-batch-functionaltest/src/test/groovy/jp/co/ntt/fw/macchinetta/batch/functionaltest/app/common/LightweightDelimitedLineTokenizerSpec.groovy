@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common
+
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer
+import org.springframework.batch.item.file.transform.LineTokenizer
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * Specification of LightweightDelimitedLineTokenizer, which must create the same field sets as DelimitedLineTokenizer.
+ *
+ * @since 2.7.0
+ */
+class LightweightDelimitedLineTokenizerSpec extends Specification {
+
+    @Shared
+    def lines = [
+            null,
+            "",
+            "a",
+            "a,b,c",
+            "a,b,c,d,e",
+            " a , b ,c ",
+            ",,",
+            "\"a,b\",c,d",
+            "\"a\"\"b\",c,\"d\"",
+            "\"\"\"\",\"\",",
+            " \"a\" ,b, \"c\"",
+            "\"a\r\nb\",c",
+            "x\"y,z",
+            "\"a\"b,c",
+            "\"unterminated,a,b"
+    ]
+
+    def "Field sets are the same as DelimitedLineTokenizer."() {
+        setup:
+        def expected = new DelimitedLineTokenizer()
+        def actual = new LightweightDelimitedLineTokenizer()
+        [expected, actual].each { DelimitedLineTokenizer tokenizer ->
+            tokenizer.delimiter = delimiter
+            tokenizer.quoteCharacter = quote as char
+            tokenizer.strict = strict
+            if (names != null) {
+                tokenizer.names = names as String[]
+            }
+            if (includedFields != null) {
+                tokenizer.includedFields = includedFields as int[]
+            }
+        }
+
+        expect:
+        lines.each { String line ->
+            def converted = line?.replace(",", delimiter)?.replace("\"", quote)
+            assert tokenize(actual, converted) == tokenize(expected, converted)
+        }
+
+        where:
+        delimiter | quote | strict | names           | includedFields
+        ","       | "\""  | true   | null            | null
+        ","       | "\""  | false  | null            | null
+        ","       | "\""  | true   | ["a", "b", "c"] | null
+        ","       | "\""  | false  | ["a", "b", "c"] | null
+        ","       | "\""  | true   | ["a", "b"]      | [0, 2]
+        ","       | "\""  | false  | ["a", "b"]      | [0, 2]
+        ","       | "\""  | false  | null            | [1, 3]
+        ","       | "'"   | false  | null            | null
+        "\t"      | "\""  | true   | ["a", "b", "c"] | null
+        "||"      | "\""  | false  | null            | null
+        "||"      | "'"   | true   | ["a", "b", "c"] | null
+        "::"      | "\""  | false  | ["a", "b"]      | [0, 2]
+    }
+
+    def "A field set is equal to a field set of the same tokenizer with the same tokens."() {
+        setup:
+        def tokenizer = new LightweightDelimitedLineTokenizer()
+
+        expect:
+        tokenizer.tokenize("a,b") == tokenizer.tokenize("a,b")
+        tokenizer.tokenize("a,b").hashCode() == new DelimitedLineTokenizer().tokenize("a,b").hashCode()
+        tokenizer.tokenize("a,b") != tokenizer.tokenize("a,c")
+    }
+
+    private static tokenize(LineTokenizer tokenizer, String line) {
+        try {
+            def fieldSet = tokenizer.tokenize(line)
+            [fieldSet.values as List, fieldSet.hasNames() ? fieldSet.properties : null]
+        } catch (Exception e) {
+            [e.class, e.message]
+        }
+    }
+}
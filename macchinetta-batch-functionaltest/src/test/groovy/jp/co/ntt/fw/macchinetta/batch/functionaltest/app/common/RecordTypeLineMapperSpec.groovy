@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common
+
+import org.springframework.batch.item.file.mapping.FieldSetMapper
+import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer
+import org.springframework.batch.item.file.transform.LineAggregator
+import org.springframework.batch.item.file.transform.LineTokenizer
+import spock.lang.Specification
+
+/**
+ * Specification of RecordTypeLineMapper and RecordTypeLineAggregator, which must dispatch the records of a multi
+ * format file in the same way as PatternMatchingCompositeLineMapper.
+ *
+ * @since 2.7.0
+ */
+class RecordTypeLineMapperSpec extends Specification {
+
+    def tokenizers = [
+            H: tokenizer("record", "description"),
+            D: tokenizer("record", "branchId", "year", "month", "customerId", "amount"),
+            T: tokenizer("record", "branchId", "number", "total"),
+            E: tokenizer("record", "headNum", "trailerNum", "total")]
+
+    def "Items are the same as PatternMatchingCompositeLineMapper."() {
+        setup:
+        def expected = new PatternMatchingCompositeLineMapper<List>()
+        expected.tokenizers = tokenizers.collectEntries { type, tokenizer -> [(type + "*"): tokenizer] }
+        expected.fieldSetMappers = tokenizers.collectEntries { type, tokenizer -> [(type + "*"): mapper(type)] }
+        expected.afterPropertiesSet()
+        def actual = new RecordTypeLineMapper<List>()
+        actual.tokenizers = tokenizers
+        actual.fieldSetMappers = tokenizers.collectEntries { type, tokenizer -> [(type): mapper(type)] }
+        actual.afterPropertiesSet()
+
+        expect:
+        def lines = new File("files/test/input/ch05/fileaccess/sales_plan_detail_17.csv").readLines()
+        lines.size() == 16
+        lines.eachWithIndex { String line, int i ->
+            assert actual.mapLine(line, i + 1) == expected.mapLine(line, i + 1)
+        }
+    }
+
+    def "The record type is read at recordTypeIndex."() {
+        setup:
+        def lineMapper = new RecordTypeLineMapper<List>()
+        lineMapper.recordTypeIndex = 2
+        lineMapper.tokenizers = [A: tokenizer("id", "record"), B: tokenizer("id", "record", "value")]
+        lineMapper.fieldSetMappers = [A: mapper("A"), B: mapper("B")]
+        lineMapper.afterPropertiesSet()
+
+        expect:
+        lineMapper.mapLine("1,A", 1) == ["A", "1", "A"]
+        lineMapper.mapLine("2,B,x", 2) == ["B", "2", "B", "x"]
+    }
+
+    def "A line without a known record type is an error. (line=#line)"() {
+        setup:
+        def lineMapper = new RecordTypeLineMapper<List>()
+        lineMapper.tokenizers = tokenizers
+        lineMapper.fieldSetMappers = tokenizers.collectEntries { type, tokenizer -> [(type): mapper(type)] }
+        lineMapper.afterPropertiesSet()
+
+        when:
+        lineMapper.mapLine(line, 3)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "Could not find a record type at index 0. line:3"
+
+        where:
+        line << ["", "X,unknown", "h,lower case", "あ,not ASCII"]
+    }
+
+    def "Record types must be one ASCII character and have both a tokenizer and a mapper. (types=#tokenizerTypes, #mapperTypes)"() {
+        setup:
+        def lineMapper = new RecordTypeLineMapper<List>()
+        lineMapper.tokenizers = tokenizerTypes.collectEntries { [(it): tokenizer("record")] }
+        lineMapper.fieldSetMappers = mapperTypes.collectEntries { [(it): mapper(it)] }
+
+        when:
+        lineMapper.afterPropertiesSet()
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == message
+
+        where:
+        tokenizerTypes | mapperTypes || message
+        ["H", "D"]     | ["H"]        || "tokenizers and fieldSetMappers must have the same record types."
+        ["HD"]         | ["HD"]       || "record type must be one ASCII character. [HD]"
+        ["あ"]     | ["あ"]   || "record type must be one ASCII character. [あ]"
+    }
+
+    def "Lines must not be mapped before afterPropertiesSet."() {
+        setup:
+        def lineMapper = new RecordTypeLineMapper<List>()
+        lineMapper.tokenizers = tokenizers
+        lineMapper.fieldSetMappers = tokenizers.collectEntries { type, tokenizer -> [(type): mapper(type)] }
+
+        when:
+        lineMapper.mapLine("H,header", 1)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "afterPropertiesSet() must be called before mapping a line."
+    }
+
+    def "Items are aggregated by the aggregator of their record type."() {
+        setup:
+        def lineAggregator = new RecordTypeLineAggregator<Record>()
+        lineAggregator.recordTypePropertyName = "record"
+        lineAggregator.aggregators = [
+                H: { Record item -> "header:" + item.value } as LineAggregator<Record>,
+                D: { Record item -> "data:" + item.value } as LineAggregator<Record>]
+        lineAggregator.afterPropertiesSet()
+
+        expect:
+        lineAggregator.aggregate(new Record(record: "H", value: "a")) == "header:a"
+        lineAggregator.aggregate(new Record(record: "D", value: "b")) == "data:b"
+
+        when:
+        lineAggregator.aggregate(new Record(record: "T", value: "c"))
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message.startsWith("Could not find a record type at index 0.")
+    }
+
+    private static LineTokenizer tokenizer(String... names) {
+        def tokenizer = new DelimitedLineTokenizer()
+        tokenizer.names = names
+        tokenizer
+    }
+
+    private static FieldSetMapper<List> mapper(String type) {
+        { fieldSet -> [type] + (fieldSet.values as List) } as FieldSetMapper<List>
+    }
+
+    static class Record {
+        String record
+        String value
+    }
+}
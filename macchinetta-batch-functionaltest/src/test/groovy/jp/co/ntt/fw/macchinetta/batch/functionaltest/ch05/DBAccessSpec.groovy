@@ -17,6 +17,7 @@ package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05
 
 import groovy.util.logging.Slf4j
 import org.springframework.batch.core.launch.support.CommandLineJobRunner
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer
 import org.springframework.batch.core.step.AbstractStep
 import org.springframework.dao.InvalidDataAccessResourceUsageException
 import org.springframework.dao.TransientDataAccessResourceException
@@ -197,6 +198,14 @@ class DBAccessSpec extends Specification {
                 message: ~/UpdateItemFromDBProcessor is called./))
         log.size() > 0
 
+        def lookupLog = mongoUtil.find(new LogCondition(
+                level: 'INFO',
+                message: ~/Customer lookup for a chunk\. .*, round trips:1$/))
+        lookupLog.size() > 0
+        mongoUtil.find(new LogCondition(
+                level: 'INFO',
+                message: ~/Customer lookup for a chunk\. /)).size() == lookupLog.size()
+
         def actualTable = jobDB.getTable("sales_plan_detail")
         def expectTable = expectSalesPLanDetailDataSet.getTable("sales_plan_detail")
         DBUnitUtil.assertEquals(expectTable, actualTable)
@@ -276,6 +285,91 @@ class DBAccessSpec extends Specification {
         log.get(0).throwable.message == 'Batch execution returned invalid results. Expected 1 but number of BatchResult objects returned was 2'
     }
 
+    // Testcase 3 No.5
+    def "Join a sorted file and customer master by SortMergeJoinItemReader (joinMode=#joinMode)"() {
+        setup:
+        jobDB.insert(initCustomerMstDataSet)
+        def inputFile = new File("files/test/input/ch05/dbaccess/sales_performance_detail_sorted_by_customer.csv")
+
+        when:
+        int exitCode = launcher.syncJob(new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('DBAccessBySortMergeJoin'),
+                jobName: 'DBAccessBySortMergeJoin',
+                jobParameter: "inputFile=${inputFile.path} joinMode=${joinMode}"))
+
+        then:
+        exitCode == 0
+
+        def actualTable = jobDB.getTable("sales_plan_detail")
+        (0..<actualTable.rowCount).collect {
+            "${actualTable.getValue(it, 'branch_id')},${actualTable.getValue(it, 'month')},${actualTable.getValue(it, 'customer_id')}".toString()
+        }.sort() == expectRows.sort()
+
+        where:
+        joinMode || expectRows
+        "INNER"  || ["01,1,1000000000", "01,2,1000000000", "02,1,2000000000", "03,1,3000000000"]
+        "LEFT"   || ["01,1,1000000000", "01,2,1000000000", "02,1,2000000000", "000009,1,2500000000", "03,1,3000000000"]
+        "ANTI"   || ["000009,1,2500000000"]
+    }
+
+    // Testcase 3 No.6
+    def "Evict the least recently used customers from the cache and load the missed ones."() {
+
+        setup:
+        adminDB.dropAndCreateTable()
+        jobDB.insert(DBUnitUtil.createDataSet {
+            customer_mst {
+                customer_id | customer_name | customer_address | customer_tel | charge_branch_id | create_date | update_date
+                "1000000000" | "CustomerName001" | "CustomerAddress001" | "11111111111" | "01" | "[now]" | "[now]"
+                "2000000000" | "CustomerName002" | "CustomerAddress002" | "11111111111" | "02" | "[now]" | "[now]"
+                "3000000000" | "CustomerName003" | "CustomerAddress003" | "11111111111" | "03" | "[now]" | "[now]"
+                "4000000000" | "CustomerName004" | "CustomerAddress004" | "11111111111" | "04" | "[now]" | "[now]"
+            }
+            sales_performance_detail {
+                branch_id | year | month | customer_id | amount
+                "000001" | 2017 | 1 | "1000000000" | 1000
+                "000002" | 2017 | 1 | "2000000000" | 1000
+                "000003" | 2017 | 1 | "3000000000" | 1000
+                "000003" | 2017 | 2 | "3000000000" | 2000
+                "000004" | 2017 | 1 | "4000000000" | 1000
+                "000004" | 2017 | 2 | "4000000000" | 2000
+            }
+        })
+
+        when:
+        // The cache holds only 2 customers, so the 1st access to customer 3 and 4 misses and evicts another customer.
+        int exitCode = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: launcher.getBeanDefinitionPath('DBAccessByItemListener'),
+                    jobName: 'DBAccessByItemListener')
+            arg.sysprop = ["customer-cache.maximum-size=2"] as String[]
+        }
+
+        then:
+        exitCode == 0
+
+        mongoUtil.find(new LogCondition(
+                level: 'INFO',
+                message: 'Customer cache is full. Stop preloading at 2 customers.')).size() == 1
+        mongoUtil.find(new LogCondition(
+                level: 'INFO',
+                message: 'Customer cache statistics. hit:4, miss:2, eviction:2')).size() == 1
+
+        def stepExecutionContext = adminDB.getTable("batch_step_execution_context")
+        stepExecutionContext.rowCount == 1
+        def shortContext = new DefaultExecutionContextSerializer().deserialize(
+                new ByteArrayInputStream(stepExecutionContext.getValue(0, 'short_context').getBytes()))
+        shortContext.get("customerCache.hitCount") == 4
+        shortContext.get("customerCache.missCount") == 2
+        shortContext.get("customerCache.evictionCount") == 2
+
+        def actualTable = jobDB.getTable("sales_plan_detail")
+        (0..<actualTable.rowCount).collect {
+            "${actualTable.getValue(it, 'branch_id')},${actualTable.getValue(it, 'month')},${actualTable.getValue(it, 'customer_id')},${actualTable.getValue(it, 'amount')}".toString()
+        }.sort() == ["01,1,1000000000,1000", "02,1,2000000000,1000", "03,1,3000000000,1000",
+                     "03,2,3000000000,2000", "04,1,4000000000,1000", "04,2,4000000000,2000"]
+    }
+
     // Testcase 4 No.1
     def "Using CompositeItemWriter [success]"() {
         setup:
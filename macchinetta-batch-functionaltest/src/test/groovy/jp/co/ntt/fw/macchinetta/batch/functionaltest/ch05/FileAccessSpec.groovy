@@ -17,10 +17,12 @@ package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05
 
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.FileUtil
 import org.slf4j.LoggerFactory
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer
 import org.springframework.batch.item.file.FlatFileParseException
 import org.springframework.batch.item.file.transform.IncorrectLineLengthException
 import org.springframework.oxm.UnmarshallingFailureException
 import org.springframework.validation.BindException
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.ExternalSortTasklet
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.LoggingItemReaderListener
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.jaxb.customer.CustomerValidationEventHandler
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.module.LoggingHeaderRecordItemProcessor
@@ -36,8 +38,10 @@ import spock.lang.Requires
 import spock.lang.Specification
 
 import java.nio.charset.Charset
+import java.nio.charset.MalformedInputException
 import java.nio.file.Files
 import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
 /**
  * Function test of file access.
  *
@@ -64,6 +68,8 @@ A list of test cases is shown below.
 2.1.1 Record is separated by newlines. Encoding = MS932. Including surrogate pair.
 2.1.2 No record delimiter. Encoding = MS932. Including surrogate pair.
 2.1.3 No record delimiter. Error. Including surrogate pair and line break.
+2.1.5 No record delimiter. Encoding = MS932. Double-byte and half-width kana fields cut by byte position. Error. A field splits a double-byte character.
+2.1.6 No record delimiter. Encoding = UTF-8. Including surrogate pair. Fields cut by byte position.
 2.2. Test of fixed length records output.
 2.2.1 Records separated by newlines. Single-byte double-byte mixed. Encoding = MS932. Including surrogate pair. Format using FiedlExtactor and FiedlExtactor.
 2.2.2 Records are not separated. Single-byte double-byte mixed. Encoding = MS932. Including surrogate pair. Format using FiedlExtactor and FiedlExtactor.
@@ -93,6 +99,8 @@ A list of test cases is shown below.
 7.1 Multi format file input, Record pattern : (Header->Data->Trailer)*N->Footer, Each record has a different format.
 7.2 Multi format file output, Record pattern : (Header->Data->Trailer)*N->Footer, Each record has a different format.
 8. Control break.
+8.1 Control break of unsorted input sorted by ExternalSortTasklet.
+8.2 Restart of a multi-level control break in the middle of a group.
 """)
 class FileAccessSpec extends Specification {
 
@@ -540,6 +548,84 @@ class FileAccessSpec extends Specification {
         throwableCursor.throwable.cause.message == "Line is longer than max range 29"
     }
 
+    // 2.1.5
+    def "Reading fixed byte length file with MS932 multibyte fields by byte position."() {
+        setup:
+        // branchId(1-6), year(7-10), month(11-12), customerId(13-22), amount(23-32)
+        def records = [
+                "売上01" + "2016" + " 1" + "顧客000001" + "0000001000",
+                "ｳﾘｱｹﾞ1" + "2017" + " 2" + "ｺｷｬｸ000002" + "0000002000",
+                "売上03" + "2018" + " 3" + "①②000003" + "0000003000",
+                // The lead byte of 顧 is the last byte of customerId.
+                "売上04" + "2019" + " 4" + "000000000顧" + "000000400"]
+        def inputFile = new File(outputDir, "sales_plan_detail_ms932.txt")
+        inputFile.bytes = records.join("").getBytes("MS932")
+
+        when:
+        int exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobReadFixedLengthSeparateFixedLength'),
+                jobName: 'jobReadFixedLengthSeparateFixedLength',
+                jobParameter: "inputFile=" + inputFile.path + " readCharsetName=MS932 tokenizeCharsetName=MS932"))
+
+        then:
+        records.every { it.getBytes("MS932").length == 32 }
+        exitCode == 255
+
+        def cursorFind = mongoUtil.find(
+                new LogCondition(
+                        logger: LoggingItemReaderListener.class.name,
+                        level: 'INFO'
+                ))
+        cursorFind.size() == 3
+
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='売上01', year=2016, month=1, customerId='顧客000001', amount=1000}" }
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='ｳﾘｱｹﾞ1', year=2017, month=2, customerId='ｺｷｬｸ000002', amount=2000}" }
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='売上03', year=2018, month=3, customerId='①②000003', amount=3000}" }
+
+        def throwableCursor = mongoUtil.findOne(
+                new LogCondition(
+                        logger: LoggingItemReaderListener.class.name,
+                        level: 'ERROR'
+                ))
+        throwableCursor.throwable._class == FlatFileParseException
+        throwableCursor.throwable.message.startsWith("Parsing error at record: 4 in resource=")
+        throwableCursor.throwable.message.endsWith(", range=[13-22]")
+        throwableCursor.throwable.cause._class == MalformedInputException
+    }
+
+    // 2.1.6
+    def "Reading fixed byte length file including surrogate pair by byte position."() {
+        setup:
+        def records = [
+                "𠮷01" + "2016" + " 1" + "𠮷𠮷01" + "0000001000",
+                "𠮷02" + "2017" + " 2" + "𠮷𠮷02" + "0000002000",
+                "𠮷03" + "2018" + " 3" + "𠮷𠮷03" + "0000003000"]
+        def inputFile = new File(outputDir, "sales_plan_detail_surrogate_pair.txt")
+        inputFile.bytes = records.join("").getBytes("UTF-8")
+
+        when:
+        int exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobReadFixedLengthSeparateFixedLength'),
+                jobName: 'jobReadFixedLengthSeparateFixedLength',
+                jobParameter: "inputFile=" + inputFile.path + " readCharsetName=UTF-8 tokenizeCharsetName=UTF-8"))
+
+        then:
+        records.every { it.getBytes("UTF-8").length == 32 }
+        exitCode == 0
+
+        def cursorFind = mongoUtil.find(
+                new LogCondition(
+                        logger: LoggingItemReaderListener.class.name,
+                        level: 'INFO'
+                ))
+        cursorFind.size() == 3
+
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='𠮷01', year=2016, month=1, customerId='𠮷𠮷01', amount=1000}" }
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='𠮷02', year=2017, month=2, customerId='𠮷𠮷02', amount=2000}" }
+        cursorFind.any{ it.message == "Read item: SalesPlanDetail{branchId='𠮷03', year=2018, month=3, customerId='𠮷𠮷03', amount=3000}" }
+        jobDBUnitUtil.getTable("sales_plan_detail").rowCount == 3
+    }
+
     // 2.2.1
     def "Writing fixed byte length file. Line endings is linebreak."() {
         setup:
@@ -1279,6 +1365,107 @@ class FileAccessSpec extends Specification {
 
     }
 
+    // 8.1
+    def "Control break of unsorted input sorted by ExternalSortTasklet (runSize=#runSize, mergeFanIn=#mergeFanIn)"() {
+        setup:
+        def inputFileName = "./files/test/input/ch05/fileaccess/sales_performance_detail_02.csv"
+        def outputFileName = "./files/test/output/ch05/fileaccess/sales_performance_detail_control_break_02.csv"
+        def expectFileName = "./files/expect/output/ch05/fileaccess/sales_performance_detail_control_break_02.csv"
+
+        def outputFile = new File(outputFileName)
+        def expectFile = new File(expectFileName)
+
+        Files.deleteIfExists(outputFile.toPath())
+
+        when:
+        def exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobControlBreakWithExternalSort'),
+                jobName: 'jobControlBreakWithExternalSort',
+                jobParameter: "inputFile=${inputFileName} outputFile=${outputFileName} runSize=${runSize} mergeFanIn=${mergeFanIn}"
+        ))
+
+        then:
+        exitCode == 0
+        outputFile.readLines() == expectFile.readLines()
+
+        def cursorFind = mongoUtil.find(
+                new LogCondition(
+                        logger: ExternalSortTasklet.class.name,
+                        level: 'INFO',
+                        message: ~/Sorted items into runs/
+                ))
+        cursorFind.size() == 1
+        cursorFind.get(0).message.contains("runs:${runs}, ")
+        cursorFind.get(0).message.contains("merge passes:${mergePasses}, ")
+
+        cleanup:
+        Files.deleteIfExists(outputFile.toPath())
+
+        where:
+        runSize | mergeFanIn || runs | mergePasses
+        100000  | 64         || 1    | 0
+        4       | 64         || 5    | 0
+        1       | 64         || 17   | 0
+        4       | 2          || 5    | 2
+        1       | 2          || 17   | 4
+    }
+
+    // 8.2
+    def "Control break restarted in the middle of a group keeps the summaries of all levels"() {
+        setup:
+        def inputLines = new File("./files/test/input/ch05/fileaccess/sales_performance_detail_01.csv").readLines()
+        def inputFile = new File(outputDir, "sales_performance_detail_control_break_restart.csv")
+        def outputFile = new File(outputDir, "sales_performance_detail_control_break_03.csv")
+        def expectLines = new File("./files/expect/output/ch05/fileaccess/sales_performance_detail_control_break_01.csv").readLines()
+        // The 8th line fails in the 4th flush, after the group of branch id 0001 has summarized 6000.
+        inputFile.text = inputLines.withIndex().collect { line, i -> i == 7 ? line.replace(",1000", ",invalid") : line }.join("\n") + "\n"
+
+        def sysprop = ["control-break.flush-size=4"] as String[]
+
+        when:
+        def exitCode1 = jobLauncher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: jobLauncher.getBeanDefinitionPath('jobControlBreak'),
+                    jobName: 'jobControlBreak',
+                    jobParameter: "inputFile=${inputFile.path} outputFile=${outputFile.path}")
+            arg.sysprop = sysprop
+        }
+        def outputLines1 = outputFile.readLines()
+        def contextTable = adminDBUnitUtil.getTable("batch_step_execution_context")
+        def context = new DefaultExecutionContextSerializer().deserialize(
+                new ByteArrayInputStream(contextTable.getValue(0, 'short_context').getBytes()))
+
+        inputFile.text = inputLines.join("\n") + "\n"
+        def exitCode2 = jobLauncher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: jobLauncher.getBeanDefinitionPath('jobControlBreak'),
+                    jobName: 'jobControlBreak',
+                    jobParameter: '-restart')
+            arg.sysprop = sysprop
+        }
+
+        then:
+        exitCode1 == 255
+        exitCode2 == 0
+
+        // 1st execution: 3 flushes are committed, and the last one closes the groups of month 2 and year 2016 together.
+        outputLines1 == expectLines.subList(0, 13)
+        (context.get("controlBreak.previousKeys") as List) == ["0001", 2016, 2]
+        (context.get("controlBreak.summaries") as List) == [6000, 0, 0]
+
+        // Restart: the open group of branch id 0001 is summarized from the saved value, and the groups of all levels
+        // closed at the end of a branch are totaled correctly.
+        outputFile.readLines() == expectLines
+        def summaries = outputFile.readLines().findAll { it.startsWith("Summary") }
+        summaries.findAll { it.startsWith("Summary Branch Id") } == [
+                "Summary Branch Id : 0001,0,0,,9000",
+                "Summary Branch Id : 0002,0,0,,6000",
+                "Summary Branch Id : 0003,0,0,,6000",
+                "Summary Branch Id : 0004,0,0,,12000"]
+        summaries.findAll { it.startsWith("Summary Year") }.collect { it.split(",")[4] as int }.sum() == 33000
+        summaries.findAll { it.startsWith("Summary Month") }.collect { it.split(",")[4] as int }.sum() == 33000
+    }
+
     // 9.1
     def "Check the default value of FlatFileItemReader encoding."() {
         setup:
@@ -1378,4 +1565,185 @@ class FileAccessSpec extends Specification {
 
         actual == expect
     }
+
+    // 10.1
+    def "Reading gzip, deflate and uncompressed CSV files using MultiResourceItemReader."() {
+        when:
+        int exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobReadMultipleCsv'),
+                jobName: 'jobReadMultipleCsv',
+                jobParameter: "inputFiles=files/test/input/ch05/fileaccess/compressed_sales_plan_detail_*"))
+
+        then:
+        exitCode == 0
+
+        def cursorFind = mongoUtil.find(
+                new LogCondition(
+                        logger: LoggingItemReaderListener.class.name,
+                        level: 'INFO'
+                ))
+        cursorFind.size() == 9
+
+        def messages = new ArrayList()
+        cursorFind.forEach { logCursor -> messages.add(logCursor.message) }
+        messages.contains("Read item: SalesPlanDetail{branchId='000001', year=2016, month=1, customerId='0000000001', amount=1000000000}")
+        messages.contains("Read item: SalesPlanDetail{branchId='000005', year=2020, month=5, customerId='0000000005', amount=5000000000}")
+        messages.contains("Read item: SalesPlanDetail{branchId='000009', year=2024, month=9, customerId='0000000009', amount=9000000000}")
+    }
+
+    // 10.2
+    def "Writing gzip CSV file using ParallelGzipItemWriter."() {
+        setup:
+        def inputFile = new File("files/test/input/ch05/fileaccess/sales_plan_detail_20.csv")
+        def outputFile = new File("files/test/output/ch05/fileaccess/sales_plan_detail_20.csv.gz")
+
+        when:
+        int exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobWriteCompressedCsv'),
+                jobName: "jobWriteCompressedCsv",
+                jobParameter: "inputFile=" + inputFile.path + " outputFile=" + outputFile.path))
+
+        then:
+        exitCode == 0
+
+        def actual = new GZIPInputStream(new FileInputStream(outputFile)).withReader("UTF-8") { it.readLines() }
+        def expect = new File("files/expect/output/ch05/fileaccess/sales_plan_detail_20.csv").readLines("UTF-8")
+
+        actual == expect
+    }
+
+    // 10.3
+    def "Writing XML file with header and footer by merging the fragments of partitions."() {
+        setup:
+        jobDBUnitUtil.insert(simpleInitCustomerMstDataSet)
+
+        def outputPath = outputDir + "/customer_list.xml"
+
+        when:
+        int exitCode = jobLauncher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: jobLauncher.getBeanDefinitionPath('jobWriteXmlPartitioned'),
+                    jobName: 'jobWriteXmlPartitioned',
+                    jobParameter: "outputFile=" + outputPath)
+            arg.env = ["thread.size=${threadSize}"] as String[]
+        }
+
+        then:
+        exitCode == 0
+
+        def actual = new File(outputPath).readLines()
+        def expect = new File("files/expect/output/ch05/fileaccess/customer_list_11.xml").readLines()
+        actual == expect
+        new File(outputDir).list().findAll { it.endsWith(".part") || it.endsWith(".frame") }.isEmpty()
+
+        where:
+        threadSize << [1, 4]
+    }
+
+    // 10.3
+    def "Fragments left by another execution are not merged into the XML file."() {
+        setup:
+        jobDBUnitUtil.insert(simpleInitCustomerMstDataSet)
+
+        def outputPath = outputDir + "/customer_list.xml"
+        def staleFragment = new File(outputPath + ".0004.part")
+        staleFragment.text = "<stale/>"
+
+        when:
+        int exitCode = jobLauncher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: jobLauncher.getBeanDefinitionPath('jobWriteXmlPartitioned'),
+                    jobName: 'jobWriteXmlPartitioned',
+                    jobParameter: "outputFile=" + outputPath)
+            arg.env = ["thread.size=2"] as String[]
+        }
+
+        then:
+        exitCode == 0
+
+        def actual = new File(outputPath).readLines()
+        def expect = new File("files/expect/output/ch05/fileaccess/customer_list_11.xml").readLines()
+        actual == expect
+        staleFragment.exists()
+    }
+
+    // 10.4
+    def "Writing CSV files sharded by charge branch in partitions."() {
+        setup:
+        def initCustomerMstDataSet = DBUnitUtil.createDataSet {
+            customer_mst {
+                customer_id | customer_name | customer_address | customer_tel | charge_branch_id | create_date | update_date
+                "001" | "CustomerName001" | "CustomerAddress001" | "11111111111" | "001" | "[now]" | "[now]"
+                "002" | "CustomerName002" | "CustomerAddress002" | "11111111111" | "001" | "[now]" | "[now]"
+                "003" | "CustomerName003" | "CustomerAddress003" | "11111111111" | "001" | "[now]" | "[now]"
+                "004" | "CustomerName004" | "CustomerAddress004" | "11111111111" | "001" | "[now]" | "[now]"
+                "005" | "CustomerName005" | "CustomerAddress005" | "11111111111" | "002" | "[now]" | "[now]"
+                "006" | "CustomerName006" | "CustomerAddress006" | "11111111111" | "002" | "[now]" | "[now]"
+                "007" | "CustomerName007" | "CustomerAddress007" | "11111111111" | "002" | "[now]" | "[now]"
+                "008" | "CustomerName008" | "CustomerAddress008" | "11111111111" | "002" | "[now]" | "[now]"
+                "009" | "CustomerName009" | "CustomerAddress009" | "11111111111" | "003" | "[now]" | "[now]"
+                "010" | "CustomerName010" | "CustomerAddress010" | "11111111111" | "003" | "[now]" | "[now]"
+                "011" | "CustomerName011" | "CustomerAddress011" | "11111111111" | "003" | "[now]" | "[now]"
+                "012" | "CustomerName012" | "CustomerAddress012" | "11111111111" | "003" | "[now]" | "[now]"
+                "013" | "CustomerName013" | "CustomerAddress013" | "11111111111" | "004" | "[now]" | "[now]"
+                "014" | "CustomerName014" | "CustomerAddress014" | "11111111111" | "004" | "[now]" | "[now]"
+                "015" | "CustomerName015" | "CustomerAddress015" | "11111111111" | "004" | "[now]" | "[now]"
+                "016" | "CustomerName016" | "CustomerAddress016" | "11111111111" | "004" | "[now]" | "[now]"
+                "017" | "CustomerName017" | "CustomerAddress017" | "11111111111" | "005" | "[now]" | "[now]"
+                "018" | "CustomerName018" | "CustomerAddress018" | "11111111111" | "005" | "[now]" | "[now]"
+                "019" | "CustomerName019" | "CustomerAddress019" | "11111111111" | "005" | "[now]" | "[now]"
+                "020" | "CustomerName020" | "CustomerAddress020" | "11111111111" | "005" | "[now]" | "[now]"
+            }
+        }
+        jobDBUnitUtil.insert(initCustomerMstDataSet)
+
+        def outputPath = outputDir + "/customer_shard_"
+
+        when:
+        int exitCode = jobLauncher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: jobLauncher.getBeanDefinitionPath('jobWriteShardedCsv'),
+                    jobName: 'jobWriteShardedCsv',
+                    jobParameter: "outputDir=" + outputPath)
+            arg.env = ["thread.size=${threadSize}"] as String[]
+        }
+
+        then:
+        exitCode == 0
+
+        def files = new File(outputDir).listFiles().findAll { it.name.startsWith("customer_shard_") }
+        files.every { it.name ==~ /customer_shard_\d+_0[0-3]\.csv/ }
+        def lines = files.collectMany { it.readLines() }
+        lines.size() == 20
+        lines.toSorted() == (1..20).collect {
+            String.format("%03d,CustomerName%03d,CustomerAddress%03d,11111111111,%03d", it, it, it, (it - 1).intdiv(4) + 1)
+        }
+        def shardsOfBranch = [:].withDefault { [] as Set }
+        files.each { file -> file.readLines().each { shardsOfBranch[it.split(",")[4]] << file.name[-6..-1] } }
+        shardsOfBranch.size() == 5
+        shardsOfBranch.values().every { it.size() == 1 }
+
+        where:
+        threadSize << [1, 4]
+    }
+
+    // 10.5
+    def "Reading and writing CSV file with footer record read from the end of the file."() {
+        setup:
+        def inputPath = "files/test/input/ch05/fileaccess/sales_plan_detail_15.csv"
+        def outputPath = outputDir + "/sales_plan_detail.csv"
+
+        when:
+        int exitCode = jobLauncher.syncJob(new JobRequest(
+                jobFilePath: jobLauncher.getBeanDefinitionPath('jobReadAndWriteCsvWithTrailingFooter'),
+                jobName: 'jobReadAndWriteCsvWithTrailingFooter',
+                jobParameter: "inputFile=" + inputPath + " outputFile=" + outputPath))
+
+        then:
+        exitCode == 0
+
+        def actualOutput = new File(outputPath).readLines()
+        def expectOutput = new File("files/expect/output/ch05/fileaccess/sales_plan_detail_06.csv").readLines()
+        actualOutput == expectOutput
+    }
 }
@@ -320,6 +320,60 @@ class TransactionSpec extends Specification {
         Files.deleteIfExists(outputFile.toPath())
     }
 
+    // Testcase 1.3, test no.3
+    def "Transaction control at file output, restart after rollback with transaction enabled"() {
+        setup:
+        jobDB.deleteAll(["customer_mst", "invoice"] as String[])
+        jobDB.insert(DBUnitUtil.createDataSetFormCSV("./files/test/input/ch05/transaction/case_1_3"))
+
+        def outputFileName = "./files/test/output/ch05/transaction/sales_plan_branch_0003_output_tran_restart.csv"
+        def outputFile = new File(outputFileName)
+        def backupFile = new File("${outputFileName}.bak")
+        Files.deleteIfExists(outputFile.toPath())
+        Files.deleteIfExists(backupFile.toPath())
+        def expectBefore = new File("./files/expect/output/ch05/transaction/sales_plan_detail_branch_0003_expect_tran_enabled.csv")
+        def expectAfter = new File("./files/expect/output/ch05/transaction/sales_plan_detail_branch_0003_expect_tran_enabled_restart.csv")
+
+        when:
+        def exitValue1 = launcher.syncJob(new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('outputSalesPlanDetailWithTran'),
+                jobName: 'outputSalesPlanDetailWithTran',
+                jobParameter: "branchId=0003 outputFile=${outputFileName}"
+        ))
+        Files.copy(outputFile.toPath(), backupFile.toPath())
+        // Since the output result is reused at restart, the output file should not be deleted
+
+        def exitValue2 = launcher.syncJob(new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('outputSalesPlanDetailWithTran'),
+                jobName: 'outputSalesPlanDetailWithTran',
+                jobParameter: '-restart'
+        ))
+
+        then:
+        exitValue1 == 255
+        exitValue2 == 0
+        // The lines of the rolled back chunk are truncated, and the restart continues from the last commit.
+        backupFile.readLines() == expectBefore.readLines()
+        outputFile.readLines() == expectAfter.readLines()
+
+        def stepExecution = adminDB.getTable("batch_step_execution")
+        stepExecution.rowCount == 2
+        stepExecution.getValue(0, 'status') == 'FAILED'
+        stepExecution.getValue(0, 'commit_count') == 2
+        stepExecution.getValue(0, 'read_count') == 30
+        stepExecution.getValue(0, 'write_count') == 20
+        stepExecution.getValue(0, 'rollback_count') == 1
+        stepExecution.getValue(1, 'status') == 'COMPLETED'
+        stepExecution.getValue(1, 'commit_count') == 2
+        stepExecution.getValue(1, 'read_count') == 16
+        stepExecution.getValue(1, 'write_count') == 16
+        stepExecution.getValue(1, 'rollback_count') == 0
+
+        cleanup:
+        Files.deleteIfExists(outputFile.toPath())
+        Files.deleteIfExists(backupFile.toPath())
+    }
+
     // Testcase 2.1, test no.1
     def "Multiple data source: acquisition of accompanying data before step execution"() {
         setup:
@@ -24,6 +24,7 @@ import org.springframework.batch.core.repository.dao.DefaultExecutionContextSeri
 import org.springframework.context.ApplicationContext
 import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.context.support.ClassPathXmlApplicationContext
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.FileRangeItemReader
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.DBUnitUtil
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.JobLauncher
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.JobRequest
@@ -34,6 +35,7 @@ import spock.lang.Shared
 import spock.lang.Specification
 
 import java.nio.file.Files
+import java.util.concurrent.TimeUnit
 
 
 /**
@@ -334,6 +336,82 @@ class ReProcessingSpec extends Specification {
         context.close()
     }
 
+    // Testcase 2, test no.4
+    def "Restart a flat file read from the saved byte offset (file replaced=#replaced)"() {
+        setup:
+        def outputDir = new File("./files/test/output/ch06/reprocessing")
+        outputDir.mkdirs()
+        def inputFile = new File(outputDir, "sales_performance_restart.csv")
+        Files.deleteIfExists(inputFile.toPath())
+        inputFile << new File("./files/test/input/ch04/asyncjobwithdb/sales_performance_correct.csv").readBytes()
+
+        // The 2nd chunk fails on the duplicate of cust15.
+        def duplicateDataSet = DBUnitUtil.createDataSet {
+            sales_performance_detail {
+                branch_id | year | month | customer_id | amount
+                "0001"    | 2016 | 11    | "cust15"    | 9999
+            }
+        }
+        jobDB.deleteAll(["sales_performance_detail"] as String[])
+        jobDB.insert(duplicateDataSet)
+
+        when:
+        def exitValue1 = launcher.syncJob(new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('jobSalesPerformance01'),
+                jobName: 'jobSalesPerformance01',
+                jobParameter: "inputFile=${inputFile.path}"
+        ))
+        def contextTable = adminDB.getTable("batch_step_execution_context")
+        def failedContext = new DefaultExecutionContextSerializer().deserialize(
+                new ByteArrayInputStream(contextTable.getValue(0, 'short_context').getBytes()))
+
+        jobDB.delete(duplicateDataSet)
+        if (replaced) {
+            // The same records, but the fingerprint of the file no longer matches.
+            inputFile.setLastModified(inputFile.lastModified() - TimeUnit.DAYS.toMillis(1))
+        }
+        mongoUtil.deleteAll()
+
+        def exitValue2 = launcher.syncJob(new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('jobSalesPerformance01'),
+                jobName: 'jobSalesPerformance01',
+                jobParameter: '-restart'
+        ))
+        def stepExecution = adminDB.getTable("batch_step_execution")
+
+        then:
+        exitValue1 == 255
+        exitValue2 == 0
+
+        // The byte offset of the 11th record is saved with the commit of the 1st chunk.
+        failedContext.getLong("FileRangeItemReader.byte.offset") == inputFile.readLines().take(10).sum { it.length() + 1 }
+        failedContext.getLong("FileRangeItemReader.read.count") == 10
+
+        stepExecution.rowCount == 2
+        stepExecution.getValue(0, 'status') == 'FAILED'
+        stepExecution.getValue(0, 'write_count') == 10
+        stepExecution.getValue(1, 'status') == 'COMPLETED'
+        stepExecution.getValue(1, 'read_count') == 20
+        stepExecution.getValue(1, 'write_count') == 20
+        jobDB.getTable("sales_performance_detail").rowCount == 30
+
+        def readLogs = mongoUtil.find(new LogCondition(message: ~/Read item: SalesPerformanceDetail/)).sort { l, r -> l.timestamp <=> r.timestamp }
+        readLogs.size() == 20
+        readLogs.get(0).message.indexOf("cust11") != -1
+
+        // The restart seeks to the saved offset only if the file is unchanged. Otherwise the records read are skipped.
+        mongoUtil.find(new LogCondition(
+                logger: FileRangeItemReader.class.name,
+                level: 'WARN',
+                message: ~/The file has changed since the last execution/)).size() == (replaced ? 1 : 0)
+
+        cleanup:
+        Files.deleteIfExists(inputFile.toPath())
+
+        where:
+        replaced << [false, true]
+    }
+
     // utils
     def setupIncorrectDataOnNumber() {
         jobDB.deleteAll(["sales_plan_detail"] as String[])
@@ -17,6 +17,19 @@ package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08
 
 import groovy.util.logging.Slf4j
 import org.apache.commons.collections.ListUtils
+import org.springframework.batch.core.BatchStatus
+import org.springframework.batch.core.ExitStatus
+import org.springframework.batch.core.JobExecution
+import org.springframework.batch.core.JobInstance
+import org.springframework.batch.core.JobParameters
+import org.springframework.batch.core.Step
+import org.springframework.batch.core.StepExecution
+import org.springframework.batch.core.partition.StepExecutionSplitter
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer
+import org.springframework.core.task.TaskExecutor
+import org.springframework.core.task.TaskRejectedException
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common.AdaptiveCompletionPolicy
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.WorkStealingPartitionHandler
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.DBUnitUtil
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.JobLauncher
 import jp.co.ntt.fw.macchinetta.batch.functionaltest.util.JobRequest
@@ -29,6 +42,7 @@ import spock.lang.Unroll
 
 import java.nio.file.Files
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Function test of parallel and multiple.
@@ -358,6 +372,145 @@ class ParallelAndMultipleSpec extends Specification {
         jobExecution.getValue(0, "exit_code") == 'COMPLETED'
     }
 
+    // Testcase 1, test no.4
+    @Unroll
+    def "Execute a job that processes the items of each chunk in parallel. (#description)"() {
+        setup:
+        def inputFile = "./files/test/input/ch08/parallelandmultiple/salesPlanDetail_split.csv"
+
+        when:
+        def exitValue = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: launcher.getBeanDefinitionPath('parallelProcessItemsJob'),
+                    jobName: 'parallelProcessItemsJob',
+                    jobParameter: "inputFile=${inputFile}"
+            )
+            arg.env = ["thread.size=${threadSize}"] as String[]
+        }
+
+        then:
+        exitValue == 0
+
+        def processorThreads = []
+        def processorLog = mongoUtil.find(new LogCondition(message: ~/Item Processor/))
+        processorLog.each { processorThreads << (it.message =~ /Item Processor \[([^\]]+)\]/)[0][1] }
+        processorThreads.size() == 30
+        processorThreads.every { it ==~ /parallelTaskExecutor-\d+/ }
+        processorThreads.unique().size() <= threadSize
+
+        def customerIds = []
+        def itemLog = mongoUtil.find(new LogCondition(message: ~/Item Writer/))
+        itemLog.each { customerIds << (it.message =~ /customerId='(\d+)'/)[0][1] }
+        customerIds == (1..30).collect { String.format("%010d", it) }
+
+        def stepExecution = adminDB.getTable("batch_step_execution")
+        stepExecution.getValue(0, "read_count") == 30
+        stepExecution.getValue(0, "write_count") == 30
+        stepExecution.getValue(0, "commit_count") == 4
+
+        where:
+        description                 | threadSize
+        "processed on 1 thread"     | 1
+        "processed on 3 threads"    | 3
+    }
+
+    // Testcase 1, test no.5
+    def "The commit interval of a parallel processing job adapts to the chunk latency and is inherited"() {
+        setup:
+        jobDB.deleteAll(["sales_plan_detail", "sales_performance_detail"] as String[])
+        def outputDir = new File("./files/test/output/ch08/parallelandmultiple")
+        outputDir.mkdirs()
+        def lines = (1..65).collect { String.format("0001,2016,12,C%04d,1000", it) }
+        def planInputFile = new File(outputDir, "adaptivePlanData.csv")
+        def performanceInputFile = new File(outputDir, "adaptivePerformanceData.csv")
+        // The 36th line fails in the 3rd chunk of the plan step.
+        planInputFile.text = lines.withIndex().collect { line, i -> i == 35 ? line.replace(",1000", ",invalid") : line }.join("\n") + "\n"
+        performanceInputFile.text = lines.join("\n") + "\n"
+
+        def jobRequest = new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('parallelRegisterJob'),
+                jobName: 'parallelRegisterJob',
+                jobParameter: "planInputFile=${planInputFile.path} performanceInputFile=${performanceInputFile.path}"
+        )
+        def restartRequest = new JobRequest(
+                jobFilePath: launcher.getBeanDefinitionPath('parallelRegisterJob'),
+                jobName: 'parallelRegisterJob',
+                jobParameter: '-restart'
+        )
+        // A long target latency doubles the interval after every chunk regardless of the speed of the environment.
+        def sysprop = ["adaptive-chunk.target-latency-millis=60000"] as String[]
+
+        when:
+        def exitValue1 = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = jobRequest
+            arg.sysprop = sysprop
+        }
+        planInputFile.text = lines.join("\n") + "\n"
+        def exitValue2 = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = restartRequest
+            arg.sysprop = sysprop
+        }
+        def exitValue3 = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = jobRequest
+            arg.sysprop = sysprop
+        }
+
+        then:
+        exitValue1 == 255
+        exitValue2 == 0
+        exitValue3 == 0
+
+        jobDB.getTable("sales_plan_detail").rowCount == 65
+        jobDB.getTable("sales_performance_detail").rowCount == 65
+
+        def serializer = new DefaultExecutionContextSerializer()
+        def contextTable = adminDB.getTable("batch_step_execution_context")
+        def intervals = [:]
+        for (int i in 0..<contextTable.rowCount) {
+            def context = serializer.deserialize(new ByteArrayInputStream(contextTable.getValue(i, 'short_context').getBytes()))
+            intervals[contextTable.getValue(i, 'step_execution_id')] = context.get(AdaptiveCompletionPolicy.INTERVAL_KEY)
+        }
+        def stepTable = adminDB.getTable("batch_step_execution")
+        def steps = (0..<stepTable.rowCount).collect {
+            [name    : stepTable.getValue(it, 'step_name'),
+             status  : stepTable.getValue(it, 'status'),
+             read    : stepTable.getValue(it, 'read_count'),
+             write   : stepTable.getValue(it, 'write_count'),
+             commit  : stepTable.getValue(it, 'commit_count'),
+             interval: intervals[stepTable.getValue(it, 'step_execution_id')]]
+        }
+        def planSteps = steps.findAll { it.name == 'parallelRegisterJob.step.plan' }
+        def performanceSteps = steps.findAll { it.name == 'parallelRegisterJob.step.performance' }
+
+        // 1st execution: the chunks grow from 10 to 20 and 40 items, and the interval is saved in the execution context.
+        performanceSteps.get(0).subMap(['status', 'read', 'write', 'commit', 'interval']) ==
+                [status: 'COMPLETED', read: 65, write: 65, commit: 3, interval: 80]
+        planSteps.get(0).subMap(['status', 'write', 'commit', 'interval']) ==
+                [status: 'FAILED', write: 30, commit: 2, interval: 40]
+
+        // Restart: the failed step resumes with the saved interval and writes the remaining 35 items in one chunk.
+        planSteps.get(1).subMap(['status', 'read', 'write', 'commit', 'interval']) ==
+                [status: 'COMPLETED', read: 35, write: 35, commit: 1, interval: 80]
+
+        // Next job instance: each step inherits the interval of the same step of the previous job instance.
+        planSteps.get(2).subMap(['status', 'read', 'write', 'commit', 'interval']) ==
+                [status: 'COMPLETED', read: 65, write: 65, commit: 1, interval: 160]
+        performanceSteps.get(1).subMap(['status', 'read', 'write', 'commit', 'interval']) ==
+                [status: 'COMPLETED', read: 65, write: 65, commit: 1, interval: 160]
+        planSteps.size() == 3
+        performanceSteps.size() == 2
+
+        def startedLog = mongoUtil.find(new LogCondition(
+                logger: AdaptiveCompletionPolicy.class.name,
+                message: ~/Adaptive chunk started\./)).collect { it.message }
+        startedLog.sort() == [
+                'Adaptive chunk started. step:parallelRegisterJob.step.performance, interval:10, inherited:false',
+                'Adaptive chunk started. step:parallelRegisterJob.step.performance, interval:80, inherited:true',
+                'Adaptive chunk started. step:parallelRegisterJob.step.plan, interval:10, inherited:false',
+                'Adaptive chunk started. step:parallelRegisterJob.step.plan, interval:40, inherited:true',
+                'Adaptive chunk started. step:parallelRegisterJob.step.plan, interval:80, inherited:true']
+    }
+
     // Testcase 2, test no.1-2
     @Unroll
     def "Execute a job that performs multiple processing with unknown number of partitions[#description]"() {
@@ -643,4 +796,304 @@ class ParallelAndMultipleSpec extends Specification {
         "inputFile is equal to threadSize"  | 2        | 2          || 2             | true
         "inputFile is less than threadSize" | 2        | 3          || 2             | true
     }
+
+    // Testcase 2, test no.7
+    @Unroll
+    def "Execute a job that processes one file split into byte ranges. (#description)"() {
+        setup:
+        def inputFile = "./files/test/input/ch08/parallelandmultiple/salesPlanDetail_split.csv"
+
+        when:
+        def exitValue = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: launcher.getBeanDefinitionPath('multiplePartitioningStepSplitFileJob'),
+                    jobName: 'multiplePartitioningStepSplitFileJob',
+                    jobParameter: "inputFile=${inputFile}"
+            )
+            arg.env = ["thread.size=${threadSize}"] as String[]
+        }
+
+        then:
+        exitValue == 0
+
+        mongoUtil.find(new LogCondition(message: ~/partition:\d+ fileName:/)).size() == threadSize
+
+        def customerIds = []
+        def itemLog = mongoUtil.find(new LogCondition(message: ~/Item Writer/))
+        itemLog.each { customerIds << (it.message =~ /customerId='(\d+)'/)[0][1] }
+        customerIds.size() == 30
+        customerIds.unique().size() == 30
+
+        def quotedLog = mongoUtil.find(new LogCondition(message: ~/customerId='0000000016'/))
+        quotedLog.size() == 1
+        quotedLog[0].message.contains("branchId='100\n016'")
+
+        where:
+        description                 | threadSize
+        "file is not split"         | 1
+        "file is split into 2"      | 2
+        "file is split into 3"      | 3
+    }
+
+    // Testcase 2, test no.8
+    def "Execute a job that performs multiple processing with more partitions than the concurrency of the partition handler"() {
+        setup:
+        jobDB.deleteAll(["sales_plan_summary", "sales_performance_summary"] as String[])
+        jobDB.insert(DBUnitUtil.createDataSet({
+            sales_performance_summary {
+                branch_id | year | month | amount
+                "0001"    | 2016 | 12    | 1000
+                "0002"    | 2016 | 12    | 1000
+                "0003"    | 2016 | 12    | 1000
+                "0004"    | 2016 | 12    | 1000
+                "0005"    | 2016 | 12    | 1000
+                "0006"    | 2016 | 12    | 1000
+                "0007"    | 2016 | 12    | 1000
+                "0008"    | 2016 | 12    | 1000
+                "0009"    | 2016 | 12    | 1000
+                "0010"    | 2016 | 12    | 1000
+            }
+        }))
+        def expectData = DBUnitUtil.createDataSet({
+            sales_plan_summary {
+                branch_id | year | month | amount
+                "0001"    | 2017 | 12    | 1500
+                "0002"    | 2017 | 12    | 1500
+                "0003"    | 2017 | 12    | 1500
+                "0004"    | 2017 | 12    | 1500
+                "0005"    | 2017 | 12    | 1500
+                "0006"    | 2017 | 12    | 1500
+                "0007"    | 2017 | 12    | 1500
+                "0008"    | 2017 | 12    | 1500
+                "0009"    | 2017 | 12    | 1500
+                "0010"    | 2017 | 12    | 1500
+            }
+        })
+
+        when:
+        def exitValue = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: launcher.getBeanDefinitionPath('multipleCreateSalesPlanSummaryJob'),
+                    jobName: 'multipleCreateSalesPlanSummaryJob',
+                    jobParameter: 'year=2016 month=12'
+            )
+            arg.env = ["grid.size=10", "thread.size=2"] as String[]
+            arg.timeout = 120 * 1000L
+            arg.timeUnit = TimeUnit.MILLISECONDS
+        }
+
+        then:
+        exitValue == 0
+
+        DBUnitUtil.assertEquals(expectData.getTable("sales_plan_summary"), jobDB.getTable("sales_plan_summary"))
+
+        // Only 2 workers are submitted to the executor, and they execute the 10 partitions.
+        def workerStepLog = mongoUtil.find(new LogCondition(message: ~/step started./))
+        workerStepLog.size() == 10
+        workerStepLog.collect { it.thread }.unique().sort() == ['parallelTaskExecutor-1', 'parallelTaskExecutor-2']
+
+        def summaryLog = mongoUtil.find(new LogCondition(
+                logger: WorkStealingPartitionHandler.class.name,
+                level: 'INFO',
+                message: ~/Partitions of multipleCreateSalesPlanSummaryJob.worker finished. partitions:10, /))
+        summaryLog.size() == 1
+
+        def stepExecution = adminDB.getTable("batch_step_execution")
+        stepExecution.rowCount == 11
+        (0..<11).every { stepExecution.getValue(it, "exit_code") == 'COMPLETED' }
+        def jobExecution = adminDB.getTable("batch_job_execution")
+        jobExecution.getValue(0, "exit_code") == 'COMPLETED'
+    }
+
+    // Testcase 2, test no.9
+    @Unroll
+    def "Execute partitions on the calling thread when the task executor rejects the workers. (#description)"() {
+        setup:
+        def callingThread = Thread.currentThread().name
+        def executedThreads = Collections.synchronizedList([])
+        def workerStep = [
+                getName: { 'worker' },
+                execute: { StepExecution stepExecution ->
+                    executedThreads << Thread.currentThread().name
+                    stepExecution.status = BatchStatus.COMPLETED
+                    stepExecution.exitStatus = ExitStatus.COMPLETED
+                }
+        ] as Step
+
+        // Executor that runs the first workers on new threads and rejects the others as if its queue were full
+        def submitted = new AtomicInteger()
+        def workerThreads = Collections.synchronizedList([])
+        def taskExecutor = { Runnable task ->
+            def index = submitted.getAndIncrement()
+            if (index >= accepted) {
+                throw new TaskRejectedException("The executor is saturated.")
+            }
+            def thread = new Thread(task, "saturatedExecutor-${index + 1}")
+            workerThreads << thread
+            thread.start()
+        } as TaskExecutor
+
+        def jobExecution = new JobExecution(new JobInstance(1L, 'job'), new JobParameters())
+        def managerStepExecution = new StepExecution('manager', jobExecution)
+        def partitions = (0..<7).collect { new StepExecution("worker:partition${it}", jobExecution) } as Set
+        def splitter = [
+                getStepName: { 'worker' },
+                split      : { StepExecution stepExecution, int gridSize -> partitions }
+        ] as StepExecutionSplitter
+        def handler = new WorkStealingPartitionHandler(taskExecutor: taskExecutor, step: workerStep, concurrency: 3)
+
+        when:
+        def result = handler.handle(splitter, managerStepExecution)
+        workerThreads*.join()
+
+        then:
+        result as Set == partitions
+        result.every { it.status == BatchStatus.COMPLETED }
+        executedThreads.size() == 7
+        executedThreads.every { it == callingThread || it.startsWith('saturatedExecutor-') }
+        executedThreads.contains(callingThread)
+        executedThreads.every { it == callingThread } == (accepted == 0)
+
+        where:
+        description                          | accepted
+        "all workers are rejected"           | 0
+        "some workers are rejected"          | 1
+    }
+
+    // Testcase 2, test no.10
+    def "Execute a job that performs multiple processing with partitions balanced by the number of invoices"() {
+        setup:
+        jobDB.deleteAll(["sales_performance_detail", "invoice", "branch_mst", "customer_mst"] as String[])
+        // Branch 0001 has 18 of the 24 invoices, so it is divided into ranges of customer id.
+        def customers = [
+                "C0001": "0001",
+                "C0002": "0002",
+                "C0003": "0003",
+                "C0004": "0001",
+                "C0007": "0001",
+                "C0008": "0001",
+                "C0009": "0001",
+                "C0010": "0001"
+        ]
+        jobDB.insert(DBUnitUtil.createDataSet({
+            branch_mst {
+                branch_id | branch_name | branch_address | branch_tel | create_date
+                "0001"    | "Tokyo"     | "DUMMY"        | "DUMMY"    | '[now]'
+                "0002"    | "Osaka"     | "DUMMY"        | "DUMMY"    | '[now]'
+                "0003"    | "Nagoya"    | "DUMMY"        | "DUMMY"    | '[now]'
+            }
+            customer_mst {
+                customer_id | customer_name | customer_address | customer_tel | charge_branch_id | create_date
+                "C0001"     | "CUSTOMER01"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+                "C0002"     | "CUSTOMER02"  | "DUMMY"          | "DUMMY"      | "0002"           | '[now]'
+                "C0003"     | "CUSTOMER03"  | "DUMMY"          | "DUMMY"      | "0003"           | '[now]'
+                "C0004"     | "CUSTOMER04"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+                "C0007"     | "CUSTOMER07"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+                "C0008"     | "CUSTOMER08"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+                "C0009"     | "CUSTOMER09"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+                "C0010"     | "CUSTOMER10"  | "DUMMY"          | "DUMMY"      | "0001"           | '[now]'
+            }
+            invoice {
+                invoice_no   | invoice_date | invoice_amount | customer_id
+                "INVOICE011" | '2016-12-01' | 1100           | "C0001"
+                "INVOICE012" | '2016-11-02' | 1200           | "C0001"
+                "INVOICE013" | '2016-10-03' | 1300           | "C0001"
+                "INVOICE021" | '2016-12-01' | 2100           | "C0002"
+                "INVOICE022" | '2016-11-02' | 2200           | "C0002"
+                "INVOICE023" | '2016-10-03' | 2300           | "C0002"
+                "INVOICE031" | '2016-12-01' | 3100           | "C0003"
+                "INVOICE032" | '2016-11-02' | 3200           | "C0003"
+                "INVOICE033" | '2016-10-03' | 3300           | "C0003"
+                "INVOICE041" | '2016-12-01' | 4100           | "C0004"
+                "INVOICE042" | '2016-11-02' | 4200           | "C0004"
+                "INVOICE043" | '2016-10-03' | 4300           | "C0004"
+                "INVOICE071" | '2016-12-01' | 7100           | "C0007"
+                "INVOICE072" | '2016-11-02' | 7200           | "C0007"
+                "INVOICE073" | '2016-10-03' | 7300           | "C0007"
+                "INVOICE081" | '2016-12-01' | 8100           | "C0008"
+                "INVOICE082" | '2016-11-02' | 8200           | "C0008"
+                "INVOICE083" | '2016-10-03' | 8300           | "C0008"
+                "INVOICE091" | '2016-12-01' | 9100           | "C0009"
+                "INVOICE092" | '2016-11-02' | 9200           | "C0009"
+                "INVOICE093" | '2016-10-03' | 9300           | "C0009"
+                "INVOICE101" | '2016-12-01' | 10100          | "C0010"
+                "INVOICE102" | '2016-11-02' | 10200          | "C0010"
+                "INVOICE103" | '2016-10-03' | 10300          | "C0010"
+            }
+        }))
+
+        def expectData = DBUnitUtil.createDataSet({
+            sales_performance_detail {
+                branch_id | year | month | customer_id | amount
+                "0001"    | 2016 | 10    | "C0001"     | 1300
+                "0001"    | 2016 | 10    | "C0004"     | 4300
+                "0001"    | 2016 | 10    | "C0007"     | 7300
+                "0001"    | 2016 | 10    | "C0008"     | 8300
+                "0001"    | 2016 | 10    | "C0009"     | 9300
+                "0001"    | 2016 | 10    | "C0010"     | 10300
+                "0001"    | 2016 | 11    | "C0001"     | 1200
+                "0001"    | 2016 | 11    | "C0004"     | 4200
+                "0001"    | 2016 | 11    | "C0007"     | 7200
+                "0001"    | 2016 | 11    | "C0008"     | 8200
+                "0001"    | 2016 | 11    | "C0009"     | 9200
+                "0001"    | 2016 | 11    | "C0010"     | 10200
+                "0001"    | 2016 | 12    | "C0001"     | 1100
+                "0001"    | 2016 | 12    | "C0004"     | 4100
+                "0001"    | 2016 | 12    | "C0007"     | 7100
+                "0001"    | 2016 | 12    | "C0008"     | 8100
+                "0001"    | 2016 | 12    | "C0009"     | 9100
+                "0001"    | 2016 | 12    | "C0010"     | 10100
+                "0002"    | 2016 | 10    | "C0002"     | 2300
+                "0002"    | 2016 | 11    | "C0002"     | 2200
+                "0002"    | 2016 | 12    | "C0002"     | 2100
+                "0003"    | 2016 | 10    | "C0003"     | 3300
+                "0003"    | 2016 | 11    | "C0003"     | 3200
+                "0003"    | 2016 | 12    | "C0003"     | 3100
+            }
+        })
+
+        when:
+        def exitValue = launcher.syncJob { JobLauncher.SyncJobArg arg ->
+            arg.jobRequest = new JobRequest(
+                    jobFilePath: launcher.getBeanDefinitionPath('multipleInvoiceSummarizeJob'),
+                    jobName: 'multipleInvoiceSummarizeJob'
+            )
+            arg.env = ["grid.size=3", "thread.size=3"] as String[]
+            arg.timeout = 120 * 1000L
+            arg.timeUnit = TimeUnit.MILLISECONDS
+        }
+
+        then:
+        exitValue == 0
+
+        DBUnitUtil.assertEquals(expectData.getTable("sales_performance_detail"), jobDB.getTable("sales_performance_detail"))
+
+        def partitionLog = mongoUtil.find(new LogCondition(
+                logger: 'jp.co.ntt.fw.macchinetta.batch.functionaltest.ch08.parallelandmultiple.multiple.BranchPartitioner',
+                level: 'INFO',
+                message: ~/partition\d+ cost:/))
+        partitionLog.size() == 3
+        partitionLog.collect { (it.message =~ /cost:(\d+)/)[0][1] as int }.sort() == [6, 9, 9]
+
+        // Every invoice is in exactly one range of customer id [lowKey, highKey) of its branch.
+        def ranges = partitionLog.collectMany { log ->
+            (log.message =~ /(\d{4})\[([^,]*),([^)]*)\)/).collect { [branchId: it[1], lowKey: it[2], highKey: it[3]] }
+        }
+        ranges.count { it.branchId == '0001' } == 3
+        customers.every { customerId, branchId ->
+            ranges.count {
+                it.branchId == branchId && (it.lowKey.isEmpty() || customerId >= it.lowKey) &&
+                        (it.highKey.isEmpty() || customerId < it.highKey)
+            } == 1
+        }
+
+        def stepExecution = adminDB.getTable("batch_step_execution")
+        stepExecution.rowCount == 4
+        def workerReadCounts = (0..<4).findAll { stepExecution.getValue(it, "step_name") != 'multipleInvoiceSummarizeJob.manager' }
+                .collect { stepExecution.getValue(it, "read_count") as int }
+        workerReadCounts.sort() == [6, 9, 9]
+        (0..<4).every { stepExecution.getValue(it, "exit_code") == 'COMPLETED' }
+        def jobExecution = adminDB.getTable("batch_job_execution")
+        jobExecution.getValue(0, "exit_code") == 'COMPLETED'
+    }
 }
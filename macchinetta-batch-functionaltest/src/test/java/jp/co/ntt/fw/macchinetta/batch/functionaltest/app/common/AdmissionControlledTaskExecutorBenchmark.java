@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the job concurrency of {@link AdmissionControlledTaskExecutor}.
+ * <p>
+ * Each benchmark runs {@value #JOBS} jobs. A job executes {@value #STATEMENTS_PER_JOB} statements, and each statement
+ * waits {@code latencyMillis} to simulate the round trip to the database.
+ * </p>
+ * <ul>
+ * <li>{@code jdbcBound} holds a connection of a {@link BasicDataSource} whose {@code maxTotal} is the same as
+ * {@code jobDataSource} during the statement.</li>
+ * <li>{@code ioBound} waits without a connection, as the reference without the connection pool.</li>
+ * </ul>
+ * <p>
+ * The time of {@code jdbcBound} stops decreasing when {@code concurrency} exceeds {@code maxTotal} for both platform
+ * threads and virtual threads, because additional jobs only wait for a connection. Virtual threads pay off only in
+ * {@code ioBound}, or when {@code maxTotal} is raised together with {@code concurrency}.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="AdmissionControlledTaskExecutorBenchmark"} on Java 21 or later. Add {@code -p virtualThreads=false}
+ * on an earlier version.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AdmissionControlledTaskExecutorBenchmark {
+
+    /**
+     * Number of jobs per invocation.
+     */
+    private static final int JOBS = 400;
+
+    /**
+     * Number of statements per job.
+     */
+    private static final int STATEMENTS_PER_JOB = 5;
+
+    /**
+     * Number of concurrent jobs.
+     */
+    @Param({ "5", "10", "20", "50", "200" })
+    int concurrency;
+
+    /**
+     * Maximum number of connections.
+     */
+    @Param({ "10" })
+    int maxTotal;
+
+    /**
+     * Latency of a statement in milliseconds.
+     */
+    @Param({ "2" })
+    long latencyMillis;
+
+    /**
+     * Whether jobs run on virtual threads.
+     */
+    @Param({ "false", "true" })
+    boolean virtualThreads;
+
+    private BasicDataSource dataSource;
+
+    private AdmissionControlledTaskExecutor executor;
+
+    /**
+     * Create the data source and the executor.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setMaxTotal(maxTotal);
+        dataSource.setMaxIdle(maxTotal);
+        dataSource.setMaxWait(Duration.ofMinutes(1L));
+        dataSource.setDefaultAutoCommit(false);
+
+        executor = new AdmissionControlledTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(JOBS);
+        executor.setThreadNamePrefix("benchmark-");
+        executor.initialize();
+    }
+
+    /**
+     * Shut down the executor and close the data source.
+     *
+     * @throws SQLException Exception that occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        executor.shutdown();
+        dataSource.close();
+    }
+
+    /**
+     * Jobs that hold a connection during each statement.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void jdbcBound() throws Exception {
+        runJobs(() -> {
+            for (int i = 0; i < STATEMENTS_PER_JOB; i++) {
+                try (Connection connection = dataSource.getConnection();
+                        Statement statement = connection.createStatement();
+                        ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                    resultSet.next();
+                    TimeUnit.MILLISECONDS.sleep(latencyMillis);
+                    connection.commit();
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Jobs that wait without a connection.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void ioBound() throws Exception {
+        runJobs(() -> {
+            for (int i = 0; i < STATEMENTS_PER_JOB; i++) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+            return null;
+        });
+    }
+
+    private void runJobs(Callable<Void> job) throws Exception {
+        List<Future<Void>> futures = new ArrayList<>(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            futures.add(executor.submit(job));
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark of reading and writing a gzip CSV against the uncompressed CSV of {@code jobWriteCompressedCsv}.
+ * <p>
+ * Every case counts the uncompressed bytes in {@link UncompressedBytes}, so that JMH reports the throughput of the
+ * compressed and uncompressed paths in MB/s of the same content. The reader cases read the lines of a file through
+ * {@link FlatFileItemReader}, with or without {@link CompressedResource}. The writer cases write each chunk in a
+ * transaction with {@link FlatFileItemWriter} or {@link ParallelGzipItemWriter}.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="CompressedFlatFileBenchmark"}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressedFlatFileBenchmark {
+
+    /**
+     * Number of items to read and write.
+     */
+    @Param({ "200000" })
+    int records;
+
+    /**
+     * Number of items in a chunk. A chunk of 10000 items is split into several blocks of 128KB.
+     */
+    @Param({ "1000", "10000" })
+    int commitInterval;
+
+    /**
+     * Number of compression threads of {@link ParallelGzipItemWriter}.
+     */
+    @Param({ "1", "4" })
+    int threads;
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(
+            new ResourcelessTransactionManager());
+
+    private List<Chunk<SalesPlanDetail>> chunks;
+
+    private File plainFile;
+
+    private File gzipFile;
+
+    private File outputFile;
+
+    private double megabytes;
+
+    /**
+     * Uncompressed megabytes processed in an iteration, reported as MB/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class UncompressedBytes {
+
+        /**
+         * Uncompressed megabytes.
+         */
+        public double megabytes;
+
+        /**
+         * Reset the counter.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+    }
+
+    /**
+     * Create the items and the input files.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        chunks = new ArrayList<>();
+        Chunk<SalesPlanDetail> chunk = new Chunk<>();
+        for (int i = 0; i < records; i++) {
+            SalesPlanDetail item = new SalesPlanDetail();
+            item.setBranchId(String.format("%06d", i % 1000));
+            item.setYear(2016);
+            item.setMonth(i % 12 + 1);
+            item.setCustomerId(String.format("%010d", i));
+            item.setAmount(BigDecimal.valueOf(i % 100000));
+            chunk.add(item);
+            if (chunk.size() == commitInterval) {
+                chunks.add(chunk);
+                chunk = new Chunk<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        plainFile = File.createTempFile("sales_plan_detail", ".csv");
+        gzipFile = File.createTempFile("sales_plan_detail", ".csv.gz");
+        outputFile = File.createTempFile("sales_plan_detail", ".out");
+        writeAll(new FlatFileItemWriterBuilder<SalesPlanDetail>()
+                .name("benchmarkWriter")
+                .resource(new FileSystemResource(plainFile))
+                .lineAggregator(lineAggregator())
+                .build());
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipFile.toPath()))) {
+            Files.copy(plainFile.toPath(), out);
+        }
+        megabytes = plainFile.length() / (1024.0 * 1024.0);
+    }
+
+    /**
+     * Delete the files.
+     *
+     * @throws IOException Exception that occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(plainFile.toPath());
+        Files.deleteIfExists(gzipFile.toPath());
+        Files.deleteIfExists(outputFile.toPath());
+    }
+
+    /**
+     * Read the uncompressed file.
+     *
+     * @param counter Counter of uncompressed bytes.
+     * @return Number of lines.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int readPlain(UncompressedBytes counter) throws Exception {
+        return readAll(new FileSystemResource(plainFile), counter);
+    }
+
+    /**
+     * Read the gzip file through {@link CompressedResource}.
+     *
+     * @param counter Counter of uncompressed bytes.
+     * @return Number of lines.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int readGzip(UncompressedBytes counter) throws Exception {
+        return readAll(new CompressedResource(new FileSystemResource(gzipFile)), counter);
+    }
+
+    /**
+     * Write the uncompressed file with {@link FlatFileItemWriter}.
+     *
+     * @param counter Counter of uncompressed bytes.
+     */
+    @Benchmark
+    public void writePlain(UncompressedBytes counter) {
+        writeAll(new FlatFileItemWriterBuilder<SalesPlanDetail>()
+                .name("benchmarkWriter")
+                .resource(new FileSystemResource(outputFile))
+                .lineAggregator(lineAggregator())
+                .build());
+        counter.megabytes += megabytes;
+    }
+
+    /**
+     * Write the gzip file with {@link ParallelGzipItemWriter}.
+     *
+     * @param counter Counter of uncompressed bytes.
+     */
+    @Benchmark
+    public void writeGzip(UncompressedBytes counter) {
+        ParallelGzipItemWriter<SalesPlanDetail> writer = new ParallelGzipItemWriter<>();
+        writer.setName("benchmarkWriter");
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setLineAggregator(lineAggregator());
+        writer.setThreads(threads);
+        writeAll(writer);
+        counter.megabytes += megabytes;
+    }
+
+    private int readAll(Resource resource, UncompressedBytes counter) throws Exception {
+        FlatFileItemReader<String> reader = new FlatFileItemReaderBuilder<String>()
+                .name("benchmarkReader")
+                .resource(resource)
+                .lineMapper((line, lineNumber) -> line)
+                .build();
+        reader.open(new ExecutionContext());
+        int count = 0;
+        try {
+            while (reader.read() != null) {
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        counter.megabytes += megabytes;
+        return count;
+    }
+
+    private void writeAll(ItemStreamWriter<SalesPlanDetail> writer) {
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        try {
+            for (Chunk<SalesPlanDetail> chunk : chunks) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        writer.write(chunk);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    writer.update(executionContext);
+                });
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private DelimitedLineAggregator<SalesPlanDetail> lineAggregator() {
+        BeanWrapperFieldExtractor<SalesPlanDetail> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(new String[] { "branchId", "year", "month", "customerId", "amount" });
+        DelimitedLineAggregator<SalesPlanDetail> lineAggregator = new DelimitedLineAggregator<>();
+        lineAggregator.setFieldExtractor(fieldExtractor);
+        return lineAggregator;
+    }
+}
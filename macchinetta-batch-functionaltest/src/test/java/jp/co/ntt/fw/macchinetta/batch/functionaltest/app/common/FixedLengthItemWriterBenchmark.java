@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.plan.SalesPlanFixedLengthFieldExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.transform.FormatterLineAggregator;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing the fixed length file of {@code jobWriteFixedLengthSeparateFixedLength} with
+ * {@link FixedLengthItemWriter} against {@code FlatFileItemWriter} with {@code FormatterLineAggregator} and
+ * {@code SalesPlanFixedLengthFieldExtractor}.
+ * <p>
+ * Each operation writes {@code records} records in chunks of {@code commitInterval}, cycling over 1000 prepared items
+ * with multi-byte customer IDs. The throughput in records per second is {@code records} divided by the score.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="FixedLengthItemWriterBenchmark"}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FixedLengthItemWriterBenchmark {
+
+    private static final int ITEM_COUNT = 1000;
+
+    /**
+     * Number of records of an operation.
+     */
+    @Param({ "10000000" })
+    int records;
+
+    /**
+     * Number of items in a chunk.
+     */
+    @Param({ "1000" })
+    int commitInterval;
+
+    private List<Chunk<SalesPlanDetail>> chunks;
+
+    private Path outputFile;
+
+    /**
+     * Create the chunks and the output file.
+     *
+     * @throws IOException Exception that occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<SalesPlanDetail> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            SalesPlanDetail item = new SalesPlanDetail();
+            item.setBranchId(String.format("%06d", i % 100));
+            item.setYear(2016 + i % 3);
+            item.setMonth(i % 12 + 1);
+            item.setCustomerId("顧客" + String.format("%04d", i));
+            item.setAmount(BigDecimal.valueOf(1000 + i));
+            items.add(item);
+        }
+        chunks = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i += commitInterval) {
+            chunks.add(new Chunk<>(items.subList(i, Math.min(ITEM_COUNT, i + commitInterval))));
+        }
+        outputFile = Files.createTempFile("customer_list", ".txt");
+    }
+
+    /**
+     * Delete the output file.
+     *
+     * @throws IOException Exception that occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    /**
+     * Current writer of {@code jobWriteFixedLengthSeparateFixedLength}.
+     *
+     * @return Size of the file.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public long flatFileItemWriter() throws Exception {
+        FormatterLineAggregator<SalesPlanDetail> lineAggregator = new FormatterLineAggregator<>();
+        lineAggregator.setFieldExtractor(new SalesPlanFixedLengthFieldExtractor());
+        lineAggregator.setFormat("%s%4s%2s%s%10s");
+        FlatFileItemWriter<SalesPlanDetail> writer = new FlatFileItemWriter<>();
+        writer.setName("benchmarkWriter");
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setEncoding("MS932");
+        writer.setLineSeparator("");
+        writer.setLineAggregator(lineAggregator);
+        return writeAll(writer);
+    }
+
+    /**
+     * Fields encoded and padded by {@link FixedLengthItemWriter}.
+     *
+     * @return Size of the file.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public long fixedLengthItemWriter() throws Exception {
+        FixedLengthItemWriter<SalesPlanDetail> writer = new FixedLengthItemWriter<>();
+        writer.setResource(new FileSystemResource(outputFile));
+        writer.setTransactional(false);
+        writer.setEncoding("MS932");
+        writer.setLineSeparator("");
+        writer.setLengths(6, 4, 2, 10, 10);
+        writer.setFieldExtractor(item -> new Object[] { item.getBranchId(), item.getYear(), item.getMonth(), item
+                .getCustomerId(), item.getAmount() });
+        return writeAll(writer);
+    }
+
+    private long writeAll(ItemStreamWriter<SalesPlanDetail> writer) throws Exception {
+        writer.open(new ExecutionContext());
+        try {
+            for (int written = 0; written < records; written += commitInterval) {
+                writer.write(chunks.get(written % ITEM_COUNT / commitInterval));
+            }
+        } finally {
+            writer.close();
+        }
+        return Files.size(outputFile);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link GeneratedFieldSetMapper} against {@code BeanWrapperFieldSetMapper}.
+ * <p>
+ * Both mappers map the same field sets of {@link SalesPlanDetail}, tokenized in advance with the tokenizer of
+ * {@code jobSalesPlan01}, so that only the mapping is measured.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="GeneratedFieldSetMapperBenchmark"}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratedFieldSetMapperBenchmark {
+
+    /**
+     * Number of field sets.
+     */
+    private static final int FIELD_SETS = 1024;
+
+    private FieldSet[] fieldSets;
+
+    private FieldSetMapper<SalesPlanDetail> beanWrapperMapper;
+
+    private FieldSetMapper<SalesPlanDetail> generatedMapper;
+
+    private int index;
+
+    /**
+     * Tokenize the lines and create the mappers.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("branchId", "year", "month", "customerId", "amount");
+        fieldSets = new FieldSet[FIELD_SETS];
+        for (int i = 0; i < FIELD_SETS; i++) {
+            fieldSets[i] = tokenizer.tokenize(String.format("%06d,2016,%d,%010d,%d", i % 100, i % 12 + 1, i,
+                    i * 1000L));
+        }
+        beanWrapperMapper = GeneratedFieldSetMapper.of(SalesPlanDetail.class, false);
+        generatedMapper = GeneratedFieldSetMapper.of(SalesPlanDetail.class, true);
+    }
+
+    /**
+     * Map a field set with {@code BeanWrapperFieldSetMapper}.
+     *
+     * @param blackhole Blackhole.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void beanWrapper(Blackhole blackhole) throws Exception {
+        blackhole.consume(beanWrapperMapper.mapFieldSet(next()));
+    }
+
+    /**
+     * Map a field set with {@link GeneratedFieldSetMapper}.
+     *
+     * @param blackhole Blackhole.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void generated(Blackhole blackhole) throws Exception {
+        blackhole.consume(generatedMapper.mapFieldSet(next()));
+    }
+
+    private FieldSet next() {
+        index = (index + 1) & (FIELD_SETS - 1);
+        return fieldSets[index];
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.plan.SalesPlanDetail;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of {@link PipelinedChunkTasklet} against {@code StepBuilder.chunk} on the import of
+ * {@link SalesPlanDetail}.
+ * <p>
+ * Both steps read a CSV file with {@link FlatFileItemReader} and insert into H2 with a JDBC batch writer, in the same
+ * way as {@code jobSalesPlan01}. {@code writeLatencyMillis} is added to every chunk to simulate the round trip to a
+ * remote database, which is the time the pipelined step overlaps with parsing.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="PipelinedChunkTaskletBenchmark"}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PipelinedChunkTaskletBenchmark {
+
+    /**
+     * Number of records in the input file.
+     */
+    @Param({ "50000" })
+    int records;
+
+    /**
+     * Number of items per chunk.
+     */
+    @Param({ "100" })
+    int chunkSize;
+
+    /**
+     * Additional latency of each chunk write in milliseconds.
+     */
+    @Param({ "0", "5" })
+    long writeLatencyMillis;
+
+    private final AtomicLong runId = new AtomicLong();
+
+    private BasicDataSource dataSource;
+
+    private JdbcTransactionManager transactionManager;
+
+    private JobRepository jobRepository;
+
+    private TaskExecutorJobLauncher jobLauncher;
+
+    private File inputFile;
+
+    /**
+     * Create the database, the job repository and the input file.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:pipeline;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=YEAR,MONTH,VALUE");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        new ResourceDatabasePopulator(new ClassPathResource("org/springframework/batch/core/schema-h2.sql"))
+                .execute(dataSource);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE sales_plan_detail (branch_id VARCHAR(20), "
+                + "year INT, month INT, customer_id VARCHAR(20), amount NUMERIC(10))");
+
+        transactionManager = new JdbcTransactionManager(dataSource);
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setTransactionManager(transactionManager);
+        factory.afterPropertiesSet();
+        jobRepository = factory.getObject();
+        jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+
+        inputFile = File.createTempFile("sales_plan_detail", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(inputFile.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < records; i++) {
+                writer.write(String.format("%03d,2016,%d,cust%05d,%d", i % 100, i % 12 + 1, i, i % 10000));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Delete the input file and close the database.
+     *
+     * @throws IOException Exception that occurred.
+     * @throws SQLException Exception that occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        Files.deleteIfExists(inputFile.toPath());
+        dataSource.close();
+    }
+
+    /**
+     * Clear the table.
+     */
+    @Setup(Level.Invocation)
+    public void clear() {
+        new JdbcTemplate(dataSource).execute("TRUNCATE TABLE sales_plan_detail");
+    }
+
+    /**
+     * Current chunk step.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void chunk() throws Exception {
+        Step step = new StepBuilder("benchmark.chunk", jobRepository)
+                .<SalesPlanDetail, SalesPlanDetail> chunk(chunkSize, transactionManager)
+                .reader(reader())
+                .writer(writer())
+                .build();
+        run(step);
+    }
+
+    /**
+     * Pipelined step.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void pipelined() throws Exception {
+        PipelinedChunkTasklet<SalesPlanDetail, SalesPlanDetail> tasklet = new PipelinedChunkTasklet<>();
+        tasklet.setReader(reader());
+        tasklet.setWriter(writer());
+        tasklet.setChunkSize(chunkSize);
+        tasklet.setQueueCapacity(chunkSize * 2);
+        Step step = new StepBuilder("benchmark.pipelined", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+        run(step);
+    }
+
+    private void run(Step step) throws Exception {
+        Job job = new JobBuilder("pipelinedChunkTaskletBenchmark", jobRepository).start(step).build();
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run", runId.incrementAndGet()).toJobParameters());
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("Job failed. " + jobExecution.getAllFailureExceptions());
+        }
+    }
+
+    private FlatFileItemReader<SalesPlanDetail> reader() {
+        return new FlatFileItemReaderBuilder<SalesPlanDetail>()
+                .name("benchmarkReader")
+                .resource(new FileSystemResource(inputFile))
+                .delimited()
+                .names("branchId", "year", "month", "customerId", "amount")
+                .targetType(SalesPlanDetail.class)
+                .build();
+    }
+
+    private ItemWriter<SalesPlanDetail> writer() {
+        JdbcBatchItemWriter<SalesPlanDetail> delegate = new JdbcBatchItemWriterBuilder<SalesPlanDetail>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO sales_plan_detail (branch_id, year, month, customer_id, amount) "
+                        + "VALUES (:branchId, :year, :month, :customerId, :amount)")
+                .beanMapped()
+                .build();
+        delegate.afterPropertiesSet();
+        return (Chunk<? extends SalesPlanDetail> chunk) -> {
+            delegate.write(chunk);
+            if (writeLatencyMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(writeLatencyMillis);
+            }
+        };
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.app.common;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.jaxb.Customer;
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.model.plan.SalesPlanDetailToJaxb;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.xml.StaxEventItemReader;
+import org.springframework.batch.item.xml.builder.StaxEventItemReaderBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link StaxCursorItemReader} against {@link StaxEventItemReader} reading the fragments of
+ * {@code jobReadXml} and {@code jobReadXmlWithSchemaValidation}.
+ * <p>
+ * Each invocation reads {@code partitions} files on as many threads, in the same way as a partitioned step. The
+ * current readers create a {@link Jaxb2Marshaller} for each reader as the step scoped beans do, and the cursor readers
+ * share one {@link JaxbUnmarshallerPool} created at setup.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="StaxCursorItemReaderBenchmark"}.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StaxCursorItemReaderBenchmark {
+
+    /**
+     * Number of fragments in a file.
+     */
+    @Param({ "1000", "50000" })
+    int fragments;
+
+    /**
+     * Number of files read in parallel.
+     */
+    @Param({ "1", "4" })
+    int partitions;
+
+    private final FileSystemResource schema = new FileSystemResource(
+            "files/test/input/ch05/fileaccess/customer.xsd");
+
+    private File salesPlanDetailFile;
+
+    private File customerFile;
+
+    private JaxbUnmarshallerPool salesPlanDetailPool;
+
+    private JaxbUnmarshallerPool customerPool;
+
+    private ExecutorService executor;
+
+    /**
+     * Create the input files and the pools.
+     *
+     * @throws Exception Exception that occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        salesPlanDetailFile = File.createTempFile("sales_plan_detail", ".xml");
+        try (Writer writer = Files.newBufferedWriter(salesPlanDetailFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<records>\n");
+            for (int i = 0; i < fragments; i++) {
+                writer.write(String.format("    <SalesPlanDetail>\n        <branchId>支店%02d</branchId>\n"
+                        + "        <year>2016</year>\n        <month>%d</month>\n"
+                        + "        <customerId>%010d</customerId>\n        <amount>%d</amount>\n"
+                        + "    </SalesPlanDetail>\n", i % 100, i % 12 + 1, i, i * 1000L));
+            }
+            writer.write("</records>\n");
+        }
+        customerFile = File.createTempFile("customer", ".xml");
+        try (Writer writer = Files.newBufferedWriter(customerFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<records>\n");
+            for (int i = 0; i < fragments; i++) {
+                writer.write(String.format("    <customer>\n        <name>Data %05d</name>\n        <phoneNumbers>\n"
+                        + "            <phone-number>%011d</phone-number>\n"
+                        + "            <phone-number>%011d</phone-number>\n        </phoneNumbers>\n"
+                        + "    </customer>\n", i % 100000, i * 2L, i * 2L + 1));
+            }
+            writer.write("</records>\n");
+        }
+        salesPlanDetailPool = new JaxbUnmarshallerPool();
+        salesPlanDetailPool.setClassesToBeBound(SalesPlanDetailToJaxb.class);
+        salesPlanDetailPool.afterPropertiesSet();
+        customerPool = new JaxbUnmarshallerPool();
+        customerPool.setClassesToBeBound(Customer.class);
+        customerPool.setSchema(schema);
+        customerPool.afterPropertiesSet();
+        executor = Executors.newFixedThreadPool(partitions);
+    }
+
+    /**
+     * Delete the input files.
+     *
+     * @throws IOException Exception that occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        Files.deleteIfExists(salesPlanDetailFile.toPath());
+        Files.deleteIfExists(customerFile.toPath());
+    }
+
+    /**
+     * Current reader of {@code jobReadXml}.
+     *
+     * @return Number of items.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int staxEventItemReader() throws Exception {
+        return readPartitions(() -> {
+            Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller();
+            unmarshaller.setClassesToBeBound(SalesPlanDetailToJaxb.class);
+            unmarshaller.afterPropertiesSet();
+            return eventReader(salesPlanDetailFile, "SalesPlanDetail", unmarshaller);
+        });
+    }
+
+    /**
+     * Cursor reader of {@code jobReadXml}.
+     *
+     * @return Number of items.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int staxCursorItemReader() throws Exception {
+        return readPartitions(() -> cursorReader(salesPlanDetailFile, "SalesPlanDetail", salesPlanDetailPool));
+    }
+
+    /**
+     * Current reader of {@code jobReadXmlWithSchemaValidation}.
+     *
+     * @return Number of items.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int staxEventItemReaderWithSchema() throws Exception {
+        return readPartitions(() -> {
+            Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller();
+            unmarshaller.setClassesToBeBound(Customer.class);
+            unmarshaller.setSchema(schema);
+            unmarshaller.afterPropertiesSet();
+            return eventReader(customerFile, "customer", unmarshaller);
+        });
+    }
+
+    /**
+     * Cursor reader of {@code jobReadXmlWithSchemaValidation}.
+     *
+     * @return Number of items.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public int staxCursorItemReaderWithSchema() throws Exception {
+        return readPartitions(() -> cursorReader(customerFile, "customer", customerPool));
+    }
+
+    private StaxEventItemReader<Object> eventReader(File file, String fragment, Jaxb2Marshaller unmarshaller) {
+        return new StaxEventItemReaderBuilder<Object>()
+                .name("benchmarkReader")
+                .unmarshaller(unmarshaller)
+                .resource(new FileSystemResource(file))
+                .encoding("UTF-8")
+                .addFragmentRootElements(fragment)
+                .strict(true)
+                .build();
+    }
+
+    private StaxCursorItemReader<Object> cursorReader(File file, String fragment, JaxbUnmarshallerPool pool) {
+        StaxCursorItemReader<Object> reader = new StaxCursorItemReader<>();
+        reader.setResource(new FileSystemResource(file));
+        reader.setFragmentRootElementName(fragment);
+        reader.setUnmarshallerPool(pool);
+        return reader;
+    }
+
+    private int readPartitions(ReaderFactory factory) throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            futures.add(executor.submit(() -> readAll(factory.create())));
+        }
+        int count = 0;
+        for (Future<Integer> future : futures) {
+            count += future.get();
+        }
+        return count;
+    }
+
+    private int readAll(ItemStreamReader<Object> reader) throws Exception {
+        reader.open(new ExecutionContext());
+        int count = 0;
+        try {
+            while (reader.read() != null) {
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        return count;
+    }
+
+    /**
+     * Factory of the reader of a partition.
+     */
+    @FunctionalInterface
+    private interface ReaderFactory {
+
+        /**
+         * Create a reader.
+         *
+         * @return Reader.
+         * @throws Exception Exception that occurred.
+         */
+        ItemStreamReader<Object> create() throws Exception;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2026 NTT Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package jp.co.ntt.fw.macchinetta.batch.functionaltest.ch05.fileaccess.controlbreak;
+
+import jp.co.ntt.fw.macchinetta.batch.functionaltest.app.model.performance.SalesPerformanceDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.item.support.SingleItemPeekableItemReader;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ControlBreakTasklet} against the former implementation that buffered a whole branch.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ * -Dexec.args="ControlBreakTaskletBenchmark -prof gc"}. The gc profiler shows the allocation that grows with the
+ * branch size.
+ * </p>
+ *
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ControlBreakTaskletBenchmark {
+
+    /**
+     * Number of details per branch.
+     */
+    @Param({ "1200", "120000" })
+    int itemsPerBranch;
+
+    /**
+     * Sorted input.
+     */
+    private List<SalesPerformanceDetail> input;
+
+    /**
+     * Create the sorted input of 10 branches.
+     */
+    @Setup
+    public void setUp() {
+        input = new ArrayList<>();
+        int perMonth = Math.max(1, itemsPerBranch / 24);
+        for (int branch = 0; branch < 10; branch++) {
+            for (int year = 2016; year < 2018; year++) {
+                for (int month = 1; month <= 12; month++) {
+                    for (int i = 0; i < perMonth; i++) {
+                        SalesPerformanceDetail data = new SalesPerformanceDetail();
+                        data.setBranchId(String.format("%03d", branch));
+                        data.setYear(year);
+                        data.setMonth(month);
+                        data.setCustomerId(String.format("%010d", i));
+                        data.setAmount(BigDecimal.valueOf(i));
+                        input.add(data);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Current implementation.
+     *
+     * @param blackhole Blackhole.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws Exception {
+        ControlBreakTasklet tasklet = new ControlBreakTasklet();
+        tasklet.reader = peekableReader();
+        tasklet.writer = new BlackholeWriter(blackhole);
+
+        StepExecution stepExecution = new StepExecution("benchmark", new JobExecution(1L));
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        tasklet.beforeStep(stepExecution);
+        while (tasklet.execute(new StepContribution(stepExecution), chunkContext) == RepeatStatus.CONTINUABLE) {
+            // process until the input is exhausted
+        }
+        tasklet.afterStep(stepExecution);
+    }
+
+    /**
+     * Former implementation.
+     *
+     * @param blackhole Blackhole.
+     * @throws Exception Exception that occurred.
+     */
+    @Benchmark
+    public void bufferedByBranch(Blackhole blackhole) throws Exception {
+        new LegacyControlBreak(peekableReader(), new BlackholeWriter(blackhole)).execute();
+    }
+
+    private SingleItemPeekableItemReader<SalesPerformanceDetail> peekableReader() {
+        SingleItemPeekableItemReader<SalesPerformanceDetail> reader = new SingleItemPeekableItemReader<>();
+        reader.setDelegate(new ListItemReader<>(input));
+        return reader;
+    }
+
+    /**
+     * Writer that hands over items to the blackhole.
+     */
+    private static class BlackholeWriter implements ItemStreamWriter<SalesPerformanceDetail> {
+
+        private final Blackhole blackhole;
+
+        BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(Chunk<? extends SalesPerformanceDetail> chunk) {
+            for (SalesPerformanceDetail item : chunk) {
+                blackhole.consume(item);
+            }
+        }
+    }
+
+    /**
+     * Logic of the former {@code ControlBreakTasklet}, kept as the baseline.
+     */
+    private static class LegacyControlBreak {
+
+        private final SingleItemPeekableItemReader<SalesPerformanceDetail> reader;
+
+        private final ItemStreamWriter<SalesPerformanceDetail> writer;
+
+        LegacyControlBreak(SingleItemPeekableItemReader<SalesPerformanceDetail> reader,
+                ItemStreamWriter<SalesPerformanceDetail> writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        void execute() throws Exception {
+            reader.open(new ExecutionContext());
+            SalesPerformanceDetail previousData = null;
+            BigDecimal[] summaries = { new BigDecimal(0), new BigDecimal(0), new BigDecimal(0) };
+            List<SalesPerformanceDetail> items = new ArrayList<>();
+
+            while (reader.peek() != null) {
+                SalesPerformanceDetail data = reader.read();
+                if (isBreakByBranchId(previousData, data)) {
+                    items.add(create("Header Branch Id : " + data.getBranchId(), null));
+                }
+                if (isBreakByYear(previousData, data)) {
+                    items.add(create("Header Year : " + data.getYear(), null));
+                }
+                if (isBreakByMonth(previousData, data)) {
+                    items.add(create("Header Month : " + data.getMonth(), null));
+                }
+                items.add(data);
+
+                SalesPerformanceDetail nextData = reader.peek();
+                summaries[2] = summaries[2].add(data.getAmount());
+                if (isBreakByMonth(nextData, data)) {
+                    items.add(create("Summary Month : " + data.getMonth(), summaries[2]));
+                    summaries[1] = summaries[1].add(summaries[2]);
+                    summaries[2] = new BigDecimal(0);
+                }
+                if (isBreakByYear(nextData, data)) {
+                    items.add(create("Summary Year : " + data.getYear(), summaries[1]));
+                    summaries[0] = summaries[0].add(summaries[1]);
+                    summaries[1] = new BigDecimal(0);
+                }
+                if (isBreakByBranchId(nextData, data)) {
+                    items.add(create("Summary Branch Id : " + data.getBranchId(), summaries[0]));
+                    summaries[0] = new BigDecimal(0);
+                    writer.write(new Chunk<>(items));
+                    items.clear();
+                }
+                previousData = data;
+            }
+            reader.close();
+        }
+
+        private static SalesPerformanceDetail create(String title, BigDecimal amount) {
+            SalesPerformanceDetail data = new SalesPerformanceDetail();
+            data.setBranchId(title);
+            data.setAmount(amount);
+            return data;
+        }
+
+        private static boolean isBreakByBranchId(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
+            return (o1 == null || !o1.getBranchId().equals(o2.getBranchId()));
+        }
+
+        private static boolean isBreakByYear(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
+            return isBreakByBranchId(o1, o2) || o1.getYear() != o2.getYear();
+        }
+
+        private static boolean isBreakByMonth(SalesPerformanceDetail o1, SalesPerformanceDetail o2) {
+            return isBreakByYear(o1, o2) || o1.getMonth() != o2.getMonth();
+        }
+    }
+}